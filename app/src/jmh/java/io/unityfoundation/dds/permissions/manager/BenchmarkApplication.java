@@ -0,0 +1,57 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.filters.SecurityFilter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Starts the application context on the in-memory H2 database, configured as the tests are, for benchmarks that go
+ * through the real services and queries. No HTTP server is started; {@link #as} runs a call as if it were a request
+ * made by a user. Benchmarks that fill the database with millions of rows need a larger heap than the default, which
+ * they ask for in their {@code @Fork}.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ApplicationContext start(Map<String, Object> properties) {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("datasources.default.db-type", "h2");
+        configuration.put("micronaut.security.token.jwt.signatures.secret.generator.secret", "pleaseChangeThisSecretForANewOne");
+        configuration.put("micronaut.security.token.jwt.generator.refresh-token.secret", "pleaseChangeThisSecretForANewOneRefresh");
+        configuration.put("permissions-manager.application.jwt.signature.public", "publickey.crt");
+        configuration.put("permissions-manager.application.jwt.signature.private", "pkcs8.key");
+        configuration.put("permissions-manager.application.passphrase.salt", "changeme");
+        configuration.putAll(properties);
+        return ApplicationContext.builder()
+                .environments("h2")
+                .properties(configuration)
+                .start();
+    }
+
+    public static <T> T as(String email, Supplier<T> call) {
+        HttpRequest<?> request = HttpRequest.GET("/api")
+                .setAttribute(SecurityFilter.AUTHENTICATION, Authentication.build(email));
+        return ServerRequestContext.with(request, call);
+    }
+}
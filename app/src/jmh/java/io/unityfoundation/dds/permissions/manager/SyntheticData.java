@@ -0,0 +1,140 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the database with synthetic rows over plain JDBC batches, which is far faster than going through the services
+ * and keeps setup time out of the way of large data sets. Rows written this way bypass the change log, so they are
+ * seen by queries but not by the in-memory indexes that follow it.
+ */
+public final class SyntheticData {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final DataSource dataSource;
+
+    public SyntheticData(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public long user(String email, boolean admin) throws SQLException {
+        insert("INSERT INTO permissions_user (email, admin) VALUES (?, ?)", 1, (statement, i) -> {
+            statement.setString(1, email);
+            statement.setBoolean(2, admin);
+        });
+        return ids("SELECT id FROM permissions_user WHERE email = ?", email).get(0);
+    }
+
+    public List<Long> users(String emailPrefix, int count) throws SQLException {
+        insert("INSERT INTO permissions_user (email, admin) VALUES (?, FALSE)", count,
+                (statement, i) -> statement.setString(1, emailPrefix + i + "@benchmark.test"));
+        return ids("SELECT id FROM permissions_user WHERE email LIKE ? ORDER BY id", emailPrefix + "%");
+    }
+
+    public long group(String name, boolean makePublic) throws SQLException {
+        insert("INSERT INTO permissions_group (name, description, make_public) VALUES (?, ?, ?)", 1, (statement, i) -> {
+            statement.setString(1, name);
+            statement.setString(2, "Synthetic group " + name);
+            statement.setBoolean(3, makePublic);
+        });
+        return ids("SELECT id FROM permissions_group WHERE name = ?", name).get(0);
+    }
+
+    public List<Long> topics(long groupId, String namePrefix, int count, boolean makePublic) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        insert("INSERT INTO permissions_topic (name, kind, description, make_public, date_created, date_updated, " +
+                "permissions_group_id) VALUES (?, 0, ?, ?, ?, ?, ?)", count, (statement, i) -> {
+            statement.setString(1, namePrefix + i);
+            statement.setString(2, "Synthetic topic " + i);
+            statement.setBoolean(3, makePublic);
+            statement.setTimestamp(4, now);
+            statement.setTimestamp(5, now);
+            statement.setLong(6, groupId);
+        });
+        return ids("SELECT id FROM permissions_topic WHERE permissions_group_id = ? ORDER BY id", groupId);
+    }
+
+    public List<Long> applications(long groupId, String namePrefix, int count, boolean makePublic) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        insert("INSERT INTO permissions_application (name, description, make_public, date_created, date_updated, " +
+                "permissions_group_id) VALUES (?, ?, ?, ?, ?, ?)", count, (statement, i) -> {
+            statement.setString(1, namePrefix + i);
+            statement.setString(2, "Synthetic application " + i);
+            statement.setBoolean(3, makePublic);
+            statement.setTimestamp(4, now);
+            statement.setTimestamp(5, now);
+            statement.setLong(6, groupId);
+        });
+        return ids("SELECT id FROM permissions_application WHERE permissions_group_id = ? ORDER BY id", groupId);
+    }
+
+    // one grant per application, held by the application's own group
+    public void grants(long groupId, List<Long> applicationIds) throws SQLException {
+        insert("INSERT INTO permissions_application_grant (name, permissions_application_id, permissions_group_id) " +
+                "VALUES (?, ?, ?)", applicationIds.size(), (statement, i) -> {
+            statement.setString(1, "Grant" + i);
+            statement.setLong(2, applicationIds.get(i));
+            statement.setLong(3, groupId);
+        });
+    }
+
+    public void members(long groupId, List<Long> userIds) throws SQLException {
+        insert("INSERT INTO permissions_group_user (permissions_group_id, permissions_user_id, group_admin, " +
+                "topic_admin, application_admin) VALUES (?, ?, FALSE, FALSE, FALSE)", userIds.size(), (statement, i) -> {
+            statement.setLong(1, groupId);
+            statement.setLong(2, userIds.get(i));
+        });
+    }
+
+    private void insert(String sql, int count, RowWriter writer) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(statement, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private List<Long> ids(String sql, Object parameter) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, parameter);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    ids.add(rows.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private interface RowWriter {
+        void write(PreparedStatement statement, int i) throws SQLException;
+    }
+}
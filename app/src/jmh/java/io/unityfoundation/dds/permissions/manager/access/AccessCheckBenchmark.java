@@ -0,0 +1,108 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.unityfoundation.dds.permissions.manager.model.action.PubSubEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the lookup {@link PermissionAccessIndex} does per check, over a synthetic fleet. Sample mode reports the
+ * percentiles, which is where the p99 for {@code /api/access/check} comes from. Run with {@code ./gradlew :app:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessCheckBenchmark {
+
+    private static final String[] PARTITIONS = {"fleet", "fleet-*", "depot?", "maintenance"};
+
+    @Param({"1000", "10000"})
+    int applications;
+
+    @Param({"20"})
+    int actionsPerApplication;
+
+    @Param({"5"})
+    int topicsPerAction;
+
+    private final Map<Long, CompiledPermissions> compiled = new ConcurrentHashMap<>();
+    private final Instant now = Instant.now();
+
+    @Setup
+    public void setup() {
+        Instant start = now.minus(1, ChronoUnit.DAYS);
+        Instant end = now.plus(1, ChronoUnit.DAYS);
+        for (long applicationId = 0; applicationId < applications; applicationId++) {
+            CompiledPermissions.Builder builder = new CompiledPermissions.Builder();
+            for (int action = 0; action < actionsPerApplication; action++) {
+                List<String> topics = new ArrayList<>();
+                for (int topic = 0; topic < topicsPerAction; topic++) {
+                    topics.add(topic(applicationId, action, topic));
+                }
+                List<String> partitions = action % 2 == 0 ? List.of() : List.of(PARTITIONS[action % PARTITIONS.length]);
+                builder.add(action % 3 == 0, topics, partitions, start, end);
+            }
+            compiled.put(applicationId, builder.build());
+        }
+    }
+
+    @Benchmark
+    public boolean allowedCheck() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long applicationId = random.nextLong(applications);
+        int action = 1 + 2 * random.nextInt(actionsPerApplication / 2);
+        String partition = action % PARTITIONS.length == 1 ? "fleet-" + random.nextInt(100) : "maintenance";
+        return check(applicationId, topic(applicationId, action, random.nextInt(topicsPerAction)),
+                action % 3 == 0 ? PubSubEnum.PUBLISH : PubSubEnum.SUBSCRIBE, partition);
+    }
+
+    @Benchmark
+    public boolean deniedCheck() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long applicationId = random.nextLong(applications);
+        return check(applicationId, topic(applicationId, random.nextInt(actionsPerApplication), topicsPerAction),
+                PubSubEnum.PUBLISH, "fleet");
+    }
+
+    private boolean check(long applicationId, String topic, PubSubEnum action, String partition) {
+        CompiledPermissions permissions = compiled.get(applicationId);
+        return permissions != null && permissions.allows(topic, action, partition, now);
+    }
+
+    private static String topic(long applicationId, int action, int topic) {
+        return "B." + (applicationId % 50) + ".Topic" + action + "_" + topic;
+    }
+}
@@ -0,0 +1,122 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.data.model.Page;
+import io.micronaut.data.model.Pageable;
+import io.unityfoundation.dds.permissions.manager.BenchmarkApplication;
+import io.unityfoundation.dds.permissions.manager.SyntheticData;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationDTO;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationService;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times one page of the topic and application lists over 100k rows of each, unfiltered and with a filter broad
+ * enough to match most rows, for an administrator and for a member of a tenth of the groups. A broad filter is where
+ * fetching every matching id before paging used to hurt. Run with {@code ./gradlew :app:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListingBenchmark {
+
+    private static final String ADMIN = "admin@benchmark.test";
+    private static final String MEMBER = "member@benchmark.test";
+    private static final String BROAD_FILTER = "1";
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000"})
+    int rows;
+
+    @Param({"100"})
+    int groups;
+
+    private ApplicationContext context;
+    private TopicService topicService;
+    private ApplicationService applicationService;
+
+    @Setup
+    public void setup() throws SQLException {
+        context = BenchmarkApplication.start(Map.of());
+        topicService = context.getBean(TopicService.class);
+        applicationService = context.getBean(ApplicationService.class);
+
+        SyntheticData data = new SyntheticData(context.getBean(DataSource.class));
+        data.user(ADMIN, true);
+        List<Long> member = List.of(data.user(MEMBER, false));
+        int rowsPerGroup = rows / groups;
+        for (int g = 0; g < groups; g++) {
+            long groupId = data.group("Group " + g, false);
+            data.topics(groupId, "Topic", rowsPerGroup, false);
+            data.applications(groupId, "Application", rowsPerGroup, false);
+            if (g % 10 == 0) {
+                data.members(groupId, member);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TopicDTO> adminTopics() {
+        return BenchmarkApplication.as(ADMIN, () -> topicService.findAll(randomPage(), null, null));
+    }
+
+    @Benchmark
+    public Page<TopicDTO> adminTopicsBroadFilter() {
+        return BenchmarkApplication.as(ADMIN, () -> topicService.findAll(randomPage(), BROAD_FILTER, null));
+    }
+
+    @Benchmark
+    public Page<TopicDTO> memberTopicsBroadFilter() {
+        return BenchmarkApplication.as(MEMBER, () -> topicService.findAll(randomPage(), BROAD_FILTER, null));
+    }
+
+    @Benchmark
+    public Page<ApplicationDTO> memberApplicationsBroadFilter() {
+        return BenchmarkApplication.as(MEMBER, () -> applicationService.findAll(randomPage(), BROAD_FILTER, null, null));
+    }
+
+    // the first pages, which every filter fills
+    private static Pageable randomPage() {
+        return Pageable.from(ThreadLocalRandom.current().nextInt(10), PAGE_SIZE);
+    }
+}
@@ -0,0 +1,104 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.group;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.data.model.Page;
+import io.micronaut.data.model.Pageable;
+import io.unityfoundation.dds.permissions.manager.BenchmarkApplication;
+import io.unityfoundation.dds.permissions.manager.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times one page of the groups list over groups that each hold thousands of topics, applications, grants and
+ * members, for an administrator and for a member of every group. The gc profiler the build enables reports the bytes
+ * allocated per page, which grows with the size of the groups if their collections are loaded. Run with
+ * {@code ./gradlew :app:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GroupListBenchmark {
+
+    private static final String ADMIN = "admin@benchmark.test";
+    private static final String MEMBER = "member@benchmark.test";
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100"})
+    int groups;
+
+    @Param({"1000", "5000"})
+    int rowsPerGroup;
+
+    private ApplicationContext context;
+    private GroupService groupService;
+
+    @Setup
+    public void setup() throws SQLException {
+        context = BenchmarkApplication.start(Map.of());
+        groupService = context.getBean(GroupService.class);
+
+        SyntheticData data = new SyntheticData(context.getBean(DataSource.class));
+        data.user(ADMIN, true);
+        long member = data.user(MEMBER, false);
+        List<Long> users = data.users("user", rowsPerGroup - 1);
+        users.add(member);
+        for (int g = 0; g < groups; g++) {
+            long groupId = data.group("Group " + g, g % 2 == 0);
+            data.topics(groupId, "Topic", rowsPerGroup, true);
+            data.grants(groupId, data.applications(groupId, "Application", rowsPerGroup, true));
+            data.members(groupId, users);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<DetailedGroupDTO> adminPage() {
+        return BenchmarkApplication.as(ADMIN, () -> groupService.findAll(randomPage(), null));
+    }
+
+    @Benchmark
+    public Page<DetailedGroupDTO> memberPage() {
+        return BenchmarkApplication.as(MEMBER, () -> groupService.findAll(randomPage(), null));
+    }
+
+    private Pageable randomPage() {
+        return Pageable.from(ThreadLocalRandom.current().nextInt(groups / PAGE_SIZE), PAGE_SIZE);
+    }
+}
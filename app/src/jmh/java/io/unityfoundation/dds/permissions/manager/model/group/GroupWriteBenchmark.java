@@ -0,0 +1,105 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.group;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.MutableHttpResponse;
+import io.unityfoundation.dds.permissions.manager.BenchmarkApplication;
+import io.unityfoundation.dds.permissions.manager.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the group-wide writes: making a public group with thousands of public applications and topics private, and
+ * deleting a group whose thousands of members belong to no other group, so their users are deleted with it. Each
+ * measurement is a single operation on groups seeded just before it. Run with {@code ./gradlew :app:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GroupWriteBenchmark {
+
+    private static final String ADMIN = "admin@benchmark.test";
+
+    @Param({"5000"})
+    int applications;
+
+    @Param({"10000"})
+    int members;
+
+    private ApplicationContext context;
+    private GroupService groupService;
+    private SyntheticData data;
+    private int iteration;
+    private long publicGroupId;
+    private long crowdedGroupId;
+
+    @Setup
+    public void setup() throws SQLException {
+        context = BenchmarkApplication.start(Map.of());
+        groupService = context.getBean(GroupService.class);
+        data = new SyntheticData(context.getBean(DataSource.class));
+        data.user(ADMIN, true);
+    }
+
+    @Setup(Level.Iteration)
+    public void seedGroups() throws SQLException {
+        iteration++;
+        publicGroupId = data.group(publicGroupName(), true);
+        data.applications(publicGroupId, "Application", applications, true);
+        data.topics(publicGroupId, "Topic", applications, true);
+
+        crowdedGroupId = data.group("Crowded " + iteration, false);
+        data.members(crowdedGroupId, data.users("member" + iteration + "-", members));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MutableHttpResponse<?> makeGroupPrivate() {
+        SimpleGroupDTO group = new SimpleGroupDTO(publicGroupId, publicGroupName(), null, false);
+        return BenchmarkApplication.as(ADMIN, () -> groupService.save(group));
+    }
+
+    @Benchmark
+    public MutableHttpResponse<?> deleteGroupWithMembers() {
+        return BenchmarkApplication.as(ADMIN, () -> groupService.deleteById(crowdedGroupId));
+    }
+
+    private String publicGroupName() {
+        return "Public " + iteration;
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.security;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.security.authentication.Authentication;
+import io.unityfoundation.dds.permissions.manager.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the lookup {@link RefreshTokenPersistenceImpl} makes on every refresh, by hash, against a table holding
+ * millions of historical tokens spread over the last month, a tenth of them revoked. Sample mode reports the
+ * percentiles. Run with {@code ./gradlew :app:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RefreshTokenBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param({"100000", "2000000"})
+    int tokens;
+
+    private ApplicationContext context;
+    private RefreshTokenPersistenceImpl refreshTokenPersistence;
+
+    @Setup
+    public void setup() throws SQLException {
+        // long enough that none of the historical tokens expire or are purged while the benchmark runs
+        context = BenchmarkApplication.start(Map.of("permissions-manager.refresh-token.max-age", "3650d"));
+        refreshTokenPersistence = context.getBean(RefreshTokenPersistenceImpl.class);
+
+        long now = System.currentTimeMillis();
+        long month = Duration.ofDays(30).toMillis();
+        try (Connection connection = context.getBean(DataSource.class).getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO refresh_token (username, refresh_token, revoked, date_created) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < tokens; i++) {
+                insert.setString(1, String.valueOf(i % 5000));
+                insert.setString(2, RefreshTokenPersistenceImpl.hash(token(i)));
+                insert.setBoolean(3, i % 10 == 9);
+                insert.setTimestamp(4, new Timestamp(now - month * i / tokens));
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Publisher<Authentication> refresh() {
+        // skip the revoked tokens, which are refused with an exception
+        int i = 10 * ThreadLocalRandom.current().nextInt(tokens / 10) + ThreadLocalRandom.current().nextInt(9);
+        return refreshTokenPersistence.getAuthentication(token(i));
+    }
+
+    private static String token(int i) {
+        return "historical-refresh-token-" + i;
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.rules.SecurityRule;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.access.AccessCheckBatchDTO;
+import io.unityfoundation.dds.permissions.manager.access.AccessCheckDTO;
+import io.unityfoundation.dds.permissions.manager.access.AccessCheckResultDTO;
+import io.unityfoundation.dds.permissions.manager.access.AccessCheckService;
+import io.unityfoundation.dds.permissions.manager.datasource.FleetTraffic;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@Controller("/api/access")
+@Secured(SecurityRule.IS_AUTHENTICATED)
+@Tag(name = "access")
+public class AccessController {
+
+    private final AccessCheckService accessCheckService;
+
+    public AccessController(AccessCheckService accessCheckService) {
+        this.accessCheckService = accessCheckService;
+    }
+
+    @Post("/check")
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
+    public AccessCheckResultDTO check(@Valid @Body AccessCheckDTO check) {
+        return accessCheckService.check(check);
+    }
+
+    @Post("/check/batch")
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
+    public List<AccessCheckResultDTO> checkAll(@Valid @Body AccessCheckBatchDTO batch) {
+        return accessCheckService.checkAll(batch.getChecks());
+    }
+}
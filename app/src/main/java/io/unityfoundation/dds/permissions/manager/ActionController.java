@@ -23,6 +23,7 @@ import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.action.ActionService;
 import io.unityfoundation.dds.permissions.manager.model.action.PubSubEnum;
 import io.unityfoundation.dds.permissions.manager.model.action.dto.ActionDTO;
@@ -50,6 +51,13 @@ public class ActionController {
         return actionService.findAll(pageable, filter, grantId, pubsub);
     }
 
+    @Get("/cursor{?filter,grantId,pubsub,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<ActionDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter,
+                                       @Nullable Long grantId, @Nullable PubSubEnum pubsub) {
+        return actionService.findAllAfter(cursor, CursorPage.size(size), filter, grantId, pubsub);
+    }
+
     @Get("/{actionId}")
     @ExecuteOn(TaskExecutors.IO)
     public ActionDTO getById(@NotNull Long actionId) {
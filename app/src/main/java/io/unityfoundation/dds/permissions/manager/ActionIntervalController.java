@@ -23,6 +23,7 @@ import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.dto.CreateActionIntervalDTO;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.dto.ActionIntervalDTO;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.ActionIntervalService;
@@ -47,6 +48,12 @@ public class ActionIntervalController {
         return actionIntervalService.findAll(pageable, filter, group);
     }
 
+    @Get("/cursor{?filter,group,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<ActionIntervalDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter, @Nullable Long group) {
+        return actionIntervalService.findAllAfter(cursor, CursorPage.size(size), filter, group);
+    }
+
     @Get("/{actionIntervalId}")
     @ExecuteOn(TaskExecutors.IO)
     public ActionIntervalDTO getById(@NotNull Long actionIntervalId) {
@@ -31,6 +31,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.unityfoundation.dds.permissions.manager.exception.DPMErrorResponse;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.user.AdminDTO;
 import io.unityfoundation.dds.permissions.manager.model.user.UserService;
 import io.unityfoundation.dds.permissions.manager.security.UserIsAdmin;
@@ -55,6 +56,12 @@ public class AdminController {
         return userService.findAll(pageable, filter);
     }
 
+    @Get("/cursor{?filter,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<AdminDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter) {
+        return userService.findAllAfter(cursor, CursorPage.size(size), filter);
+    }
+
     @Post("/save")
     @ExecuteOn(TaskExecutors.IO)
     @Consumes(MediaType.APPLICATION_JSON)
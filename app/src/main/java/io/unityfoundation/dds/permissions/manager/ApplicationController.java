@@ -29,8 +29,10 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.datasource.FleetTraffic;
 import io.unityfoundation.dds.permissions.manager.exception.DPMErrorResponse;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationDTO;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationService;
 import org.bouncycastle.mail.smime.SMIMEException;
@@ -60,6 +62,12 @@ public class ApplicationController {
         return applicationService.findAll(pageable, filter, applicationId, group);
     }
 
+    @Get("/cursor{?filter,group,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<ApplicationDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter, @Nullable Long group) {
+        return applicationService.findAllAfter(cursor, CursorPage.size(size), filter, group);
+    }
+
     @Get("/show/{id}")
     @ApiResponse(
             responseCode = "200",
@@ -118,7 +126,8 @@ public class ApplicationController {
     @Get("/identity_ca.pem")
     @Produces(MediaType.TEXT_PLAIN)
     @Secured("APPLICATION")
-    @ExecuteOn(TaskExecutors.IO)
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
     public HttpResponse<?> getIdentityCACertificate(@Nullable @Header(E_TAG_HEADER_NAME) String etag) {
         return applicationService.getIdentityCACertificate(etag);
     }
@@ -126,7 +135,8 @@ public class ApplicationController {
     @Get("/permissions_ca.pem")
     @Produces(MediaType.TEXT_PLAIN)
     @Secured("APPLICATION")
-    @ExecuteOn(TaskExecutors.IO)
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
     public HttpResponse<?> getPermissionsCACertificate(@Nullable @Header(E_TAG_HEADER_NAME) String etag) {
         return applicationService.getPermissionsCACertificate(etag);
     }
@@ -134,14 +144,16 @@ public class ApplicationController {
     @Get("/governance.xml.p7s")
     @Produces(MediaType.TEXT_PLAIN)
     @Secured("APPLICATION")
-    @ExecuteOn(TaskExecutors.IO)
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
     public HttpResponse<?> getGovernanceFile(@Nullable @Header(E_TAG_HEADER_NAME) String etag) {
         return applicationService.getGovernanceFile(etag);
     }
 
     @Get("/key_pair{?nonce}")
     @Secured("APPLICATION")
-    @ExecuteOn(TaskExecutors.IO)
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
     public HttpResponse<?> getPrivateKeyAndClientCertificate(@Nullable String nonce) throws IOException, OperatorCreationException, GeneralSecurityException {
         checkNonceValidFormat(nonce);
         return applicationService.getApplicationPrivateKeyAndClientCertificate(nonce);
@@ -150,7 +162,8 @@ public class ApplicationController {
     @Get("/permissions.xml.p7s{?nonce}")
     @Produces(MediaType.TEXT_PLAIN)
     @Secured("APPLICATION")
-    @ExecuteOn(TaskExecutors.IO)
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
     public HttpResponse<?> getPermissionsFile(@Nullable String nonce) throws IOException, OperatorCreationException, GeneralSecurityException, MessagingException, SMIMEException {
         checkNonceValidFormat(nonce);
         return applicationService.getPermissionsFile(nonce);
@@ -158,7 +171,8 @@ public class ApplicationController {
 
     @Get("/permissions.json")
     @Secured("APPLICATION")
-    @ExecuteOn(TaskExecutors.IO)
+    @ExecuteOn(FleetTraffic.EXECUTOR)
+    @FleetTraffic
     public HttpResponse<?> getPermissionsJson(@Nullable @Header(E_TAG_HEADER_NAME) String etag) throws NoSuchAlgorithmException {
         return applicationService.getPermissionJson(etag);
     }
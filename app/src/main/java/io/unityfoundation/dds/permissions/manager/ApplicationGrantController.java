@@ -23,6 +23,7 @@ import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.DetailedGrantDTO;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.GrantDTO;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrantService;
@@ -52,6 +53,12 @@ public class ApplicationGrantController {
         return applicationGrantService.findAll(pageable, filter, group);
     }
 
+    @Get("/cursor{?filter,group,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<GrantDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter, @Nullable Long group) {
+        return applicationGrantService.findAllAfter(cursor, CursorPage.size(size), filter, group);
+    }
+
     @Get("/application/{applicationId}")
     @ExecuteOn(TaskExecutors.IO)
     public Page<DetailedGrantDTO> indexByApplicationId(@Valid Pageable pageable, @NotNull Long applicationId) {
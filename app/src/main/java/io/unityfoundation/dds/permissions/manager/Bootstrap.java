@@ -35,13 +35,17 @@ import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.transaction.Transactional;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Requires(property = "dpm.bootstrap.data.enabled", value = StringUtils.TRUE)
 @ConfigurationProperties("dpm.bootstrap")
@@ -63,17 +67,20 @@ public class Bootstrap {
     }
 
     @EventListener
+    @Transactional
     public void devData(ServerStartupEvent event) {
         if(data != null) {
+            List<User> users = new ArrayList<>();
             if(data.containsKey("admin-users")) {
                 ((List<String>) data.get("admin-users")).stream().forEach(email -> {
                         LOG.info(email + " is now a super admin");
-                        userRepository.save(new User(email, true));
+                        users.add(new User(email, true));
                     });
             }
             if(data.containsKey("non-admin-users")) {
-                ((List<String>) data.get("non-admin-users")).stream().forEach(email -> userRepository.save(new User(email)));
+                ((List<String>) data.get("non-admin-users")).stream().forEach(email -> users.add(new User(email)));
             }
+            userRepository.saveAll(users);
 
             if(data.containsKey("groups")) {
                 ((List<Map<String, ?>>) data.get("groups")).stream().forEach(groupMap -> {
@@ -83,10 +90,15 @@ public class Bootstrap {
                     Group group = groupRepository.save(new Group(groupName, groupDescription, groupIsPublic));
 
                     if (groupMap.containsKey("users")) {
-                        List<Map> users = (List<Map>) groupMap.get("users");
-                        users.stream().forEach((Map user) -> {
+                        List<Map> groupUsers = (List<Map>) groupMap.get("users");
+                        Map<String, User> usersByEmail = userRepository.findByEmailIn(groupUsers.stream()
+                                        .map(user -> (String) user.get("email"))
+                                        .collect(Collectors.toSet())).stream()
+                                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+                        List<GroupUser> memberships = new ArrayList<>();
+                        groupUsers.stream().forEach((Map user) -> {
                             String email = (String) user.get("email");
-                            GroupUser groupUser = new GroupUser(group, userRepository.findByEmail(email).get());
+                            GroupUser groupUser = new GroupUser(group, usersByEmail.get(email));
 
                             if(user.containsKey("admin-flags")) {
                                 List<String> adminFlags = (List<String>) user.get("admin-flags");
@@ -95,8 +107,9 @@ public class Bootstrap {
                                 groupUser.setTopicAdmin(adminFlags.contains("topic"));
                             }
 
-                            groupUserRepository.save(groupUser);
+                            memberships.add(groupUser);
                         });
+                        groupUserRepository.saveAll(memberships);
                     }
 
                     if (groupMap.containsKey("topics")) {
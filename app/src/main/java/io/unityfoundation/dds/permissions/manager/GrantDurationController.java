@@ -23,6 +23,7 @@ import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDurationService;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.dto.CreateGrantDurationDTO;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.dto.GrantDurationDTO;
@@ -47,6 +48,12 @@ public class GrantDurationController {
         return grantDurationService.findAll(pageable, filter, group);
     }
 
+    @Get("/cursor{?filter,group,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<GrantDurationDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter, @Nullable Long group) {
+        return grantDurationService.findAllAfter(cursor, CursorPage.size(size), filter, group);
+    }
+
     @Get("/{durationId}")
     @ExecuteOn(TaskExecutors.IO)
     public GrantDurationDTO getById(@NotNull Long durationId) {
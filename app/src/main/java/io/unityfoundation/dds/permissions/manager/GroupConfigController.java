@@ -0,0 +1,53 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.core.io.Writable;
+import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.rules.SecurityRule;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.model.groupconfig.GroupConfigImportResult;
+import io.unityfoundation.dds.permissions.manager.model.groupconfig.GroupConfigService;
+
+import javax.validation.constraints.NotNull;
+import java.io.InputStream;
+
+@Controller("/api/group_config")
+@Secured(SecurityRule.IS_AUTHENTICATED)
+@Tag(name = "group configuration")
+public class GroupConfigController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final GroupConfigService groupConfigService;
+
+    public GroupConfigController(GroupConfigService groupConfigService) {
+        this.groupConfigService = groupConfigService;
+    }
+
+    @Get(uri = "/{groupId}", produces = NDJSON)
+    @ExecuteOn(TaskExecutors.IO)
+    public Writable export(@NotNull Long groupId) {
+        return groupConfigService.export(groupId);
+    }
+
+    @Post(uri = "/{groupId}", consumes = NDJSON)
+    @ExecuteOn(TaskExecutors.IO)
+    public GroupConfigImportResult importConfig(@NotNull Long groupId, @Body InputStream document) {
+        return groupConfigService.importConfig(groupId, document);
+    }
+}
@@ -30,6 +30,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.unityfoundation.dds.permissions.manager.exception.DPMErrorResponse;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.group.*;
 import io.unityfoundation.dds.permissions.manager.security.UserIsAdmin;
 
@@ -52,6 +53,12 @@ public class GroupController {
         return groupService.findAll(pageable, filter);
     }
 
+    @Get("/cursor{?filter,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<DetailedGroupDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter) {
+        return groupService.findAllAfter(cursor, CursorPage.size(size), filter);
+    }
+
     @Get("/search/{text}{?role}")
     @ExecuteOn(TaskExecutors.IO)
     public Page<SimpleGroupDTO> search(@NonNull String text, @Nullable GroupAdminRole role, @Valid Pageable pageable) {
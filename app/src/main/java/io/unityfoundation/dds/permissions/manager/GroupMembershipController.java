@@ -28,6 +28,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.unityfoundation.dds.permissions.manager.exception.DPMErrorResponse;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUser;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserDTO;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserResponseDTO;
@@ -53,6 +54,12 @@ public class GroupMembershipController {
         return groupUserService.findAll(pageable, filter, group);
     }
 
+    @Get("/cursor{?filter,group,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<GroupUserResponseDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter, @Nullable Long group) {
+        return groupUserService.findAllAfter(cursor, CursorPage.size(size), filter, group);
+    }
+
     @Post
     @ExecuteOn(TaskExecutors.IO)
     @ApiResponse(
@@ -16,6 +16,7 @@ package io.unityfoundation.dds.permissions.manager;
 public interface ResponseStatusCodes {
     // generic
     String UNAUTHORIZED = "unauthorized";
+    String INVALID_CURSOR = "pagination.cursor.is-not-valid";
 
     // email
     String INVALID_EMAIL_FORMAT = "email.is-not-format";
@@ -36,6 +37,9 @@ public interface ResponseStatusCodes {
     String GROUP_NAME_CANNOT_BE_LESS_THAN_THREE_CHARACTERS = "group.name.cannot-be-less-than-three-characters";
     String GROUP_DESCRIPTION_CANNOT_BE_MORE_THAN_FOUR_THOUSAND_CHARACTERS = "group.name.cannot-be-more-than-four-thousand-characters";
 
+    // group configuration documents
+    String GROUP_CONFIG_RECORD_IS_NOT_VALID = "group-config.record.is-not-valid";
+
     // application
     String APPLICATION_NOT_FOUND = "application.not-found";
     String APPLICATION_REQUIRES_GROUP_ASSOCIATION = "application.requires-group-association";
@@ -23,6 +23,7 @@ import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
 import io.unityfoundation.dds.permissions.manager.model.topicset.TopicSetService;
 import io.unityfoundation.dds.permissions.manager.model.topicset.dto.CreateTopicSetDTO;
 import io.unityfoundation.dds.permissions.manager.model.topicset.dto.TopicSetDTO;
@@ -48,6 +49,12 @@ public class TopicSetController {
         return topicSetService.findAll(pageable, filter, group);
     }
 
+    @Get("/cursor{?filter,group,cursor,size}")
+    @ExecuteOn(TaskExecutors.IO)
+    public CursorPage<TopicSetDTO> cursor(@Nullable String cursor, @Nullable Integer size, @Nullable String filter, @Nullable Long group) {
+        return topicSetService.findAllAfter(cursor, CursorPage.size(size), filter, group);
+    }
+
     @Get("/{topicSetId}")
     @ExecuteOn(TaskExecutors.IO)
     public TopicSetDTO getByTopicId(@NotNull Long topicSetId) {
@@ -0,0 +1,46 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.micronaut.core.annotation.Introspected;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+@Introspected
+public class AccessCheckBatchDTO {
+
+    @NotNull
+    @Size(max = 1000)
+    @Valid
+    private List<AccessCheckDTO> checks = new ArrayList<>();
+
+    public AccessCheckBatchDTO() {
+    }
+
+    public AccessCheckBatchDTO(List<AccessCheckDTO> checks) {
+        this.checks = checks;
+    }
+
+    public List<AccessCheckDTO> getChecks() {
+        return checks;
+    }
+
+    public void setChecks(List<AccessCheckDTO> checks) {
+        this.checks = checks;
+    }
+}
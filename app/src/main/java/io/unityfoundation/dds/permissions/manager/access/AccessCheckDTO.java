@@ -0,0 +1,81 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.unityfoundation.dds.permissions.manager.model.action.PubSubEnum;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+@Introspected
+public class AccessCheckDTO {
+
+    @NotNull
+    private Long applicationId;
+
+    // canonical topic name, as in the permissions document
+    @NotBlank
+    private String topic;
+
+    @NotNull
+    private PubSubEnum action;
+
+    @Nullable
+    private String partition;
+
+    public AccessCheckDTO() {
+    }
+
+    public AccessCheckDTO(Long applicationId, String topic, PubSubEnum action, @Nullable String partition) {
+        this.applicationId = applicationId;
+        this.topic = topic;
+        this.action = action;
+        this.partition = partition;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public PubSubEnum getAction() {
+        return action;
+    }
+
+    public void setAction(PubSubEnum action) {
+        this.action = action;
+    }
+
+    @Nullable
+    public String getPartition() {
+        return partition;
+    }
+
+    public void setPartition(@Nullable String partition) {
+        this.partition = partition;
+    }
+}
@@ -0,0 +1,38 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public class AccessCheckResultDTO extends AccessCheckDTO {
+
+    private boolean allowed;
+
+    public AccessCheckResultDTO() {
+    }
+
+    public AccessCheckResultDTO(AccessCheckDTO check, boolean allowed) {
+        super(check.getApplicationId(), check.getTopic(), check.getAction(), check.getPartition());
+        this.allowed = allowed;
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public void setAllowed(boolean allowed) {
+        this.allowed = allowed;
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.micronaut.http.HttpStatus;
+import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Singleton
+public class AccessCheckService {
+
+    private final PermissionAccessIndex permissionAccessIndex;
+    private final SecurityUtil securityUtil;
+
+    public AccessCheckService(PermissionAccessIndex permissionAccessIndex, SecurityUtil securityUtil) {
+        this.permissionAccessIndex = permissionAccessIndex;
+        this.securityUtil = securityUtil;
+    }
+
+    public AccessCheckResultDTO check(AccessCheckDTO check) {
+        checkCallerMayAsk(List.of(check));
+        return evaluate(check, Instant.now());
+    }
+
+    public List<AccessCheckResultDTO> checkAll(List<AccessCheckDTO> checks) {
+        checkCallerMayAsk(checks);
+        Instant now = Instant.now();
+        return checks.stream()
+                .map(check -> evaluate(check, now))
+                .collect(Collectors.toList());
+    }
+
+    private AccessCheckResultDTO evaluate(AccessCheckDTO check, Instant now) {
+        boolean allowed = permissionAccessIndex.isAllowed(check.getApplicationId(), check.getTopic(), check.getAction(),
+                check.getPartition(), now);
+        return new AccessCheckResultDTO(check, allowed);
+    }
+
+    // applications may only ask about themselves; admins may ask about any application
+    private void checkCallerMayAsk(List<AccessCheckDTO> checks) {
+        if (securityUtil.isCurrentApplication()) {
+            Long applicationId = securityUtil.getCurrentApplicationId();
+            if (checks.stream().anyMatch(check -> !applicationId.equals(check.getApplicationId()))) {
+                throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+            }
+        } else if (!securityUtil.isCurrentUserAdmin()) {
+            throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.micronaut.core.annotation.Nullable;
+import io.unityfoundation.dds.permissions.manager.model.action.PubSubEnum;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * One application's actions, flattened into the canonical topic names each may publish or subscribe to so a check
+ * is a map lookup plus a scan of the few rules granted on that topic.
+ */
+public final class CompiledPermissions {
+
+    private final Map<String, Rule[]> publishes;
+    private final Map<String, Rule[]> subscribes;
+
+    private CompiledPermissions(Map<String, Rule[]> publishes, Map<String, Rule[]> subscribes) {
+        this.publishes = publishes;
+        this.subscribes = subscribes;
+    }
+
+    public boolean allows(String topic, PubSubEnum action, @Nullable String partition, Instant now) {
+        Rule[] rules = (action == PubSubEnum.PUBLISH ? publishes : subscribes).get(topic);
+        if (rules == null) {
+            return false;
+        }
+        String requested = partition == null ? "" : partition;
+        long millis = now.toEpochMilli();
+        for (Rule rule : rules) {
+            if (rule.allows(requested, millis)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return publishes.isEmpty() && subscribes.isEmpty();
+    }
+
+    public static class Builder {
+
+        private final Map<String, List<Rule>> publishes = new HashMap<>();
+        private final Map<String, List<Rule>> subscribes = new HashMap<>();
+
+        public Builder add(boolean canPublish, Collection<String> topics, Collection<String> partitions,
+                           @Nullable Instant start, @Nullable Instant end) {
+            Rule rule = new Rule(partitions, start, end);
+            Map<String, List<Rule>> rules = canPublish ? publishes : subscribes;
+            for (String topic : topics) {
+                rules.computeIfAbsent(topic, t -> new ArrayList<>()).add(rule);
+            }
+            return this;
+        }
+
+        public CompiledPermissions build() {
+            return new CompiledPermissions(toArrays(publishes), toArrays(subscribes));
+        }
+
+        private static Map<String, Rule[]> toArrays(Map<String, List<Rule>> rules) {
+            Map<String, Rule[]> arrays = new HashMap<>();
+            rules.forEach((topic, list) -> arrays.put(topic, list.toArray(new Rule[0])));
+            return arrays;
+        }
+    }
+
+    private static final class Rule {
+
+        private final long start;
+        private final long end;
+        private final Set<String> partitions = new HashSet<>();
+        private final Pattern[] patterns;
+
+        // an action without partitions grants the default partition, as in the permissions document
+        Rule(Collection<String> names, @Nullable Instant start, @Nullable Instant end) {
+            this.start = start == null ? Long.MIN_VALUE : start.toEpochMilli();
+            this.end = end == null ? Long.MAX_VALUE : end.toEpochMilli();
+            List<Pattern> globs = new ArrayList<>();
+            if (names.isEmpty()) {
+                partitions.add("");
+            }
+            for (String name : names) {
+                if (name.indexOf('*') >= 0 || name.indexOf('?') >= 0) {
+                    globs.add(toPattern(name));
+                } else {
+                    partitions.add(name);
+                }
+            }
+            this.patterns = globs.toArray(new Pattern[0]);
+        }
+
+        boolean allows(String partition, long now) {
+            if (now < start || now > end) {
+                return false;
+            }
+            if (partitions.contains(partition)) {
+                return true;
+            }
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(partition).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Pattern toPattern(String glob) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (char c : glob.toCharArray()) {
+                if (c == '*' || c == '?') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            return Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import io.micronaut.scheduling.annotation.Async;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.unityfoundation.dds.permissions.manager.impact.ApplicationsAffectedEvent;
+import io.unityfoundation.dds.permissions.manager.model.action.PubSubEnum;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers access checks from each application's {@link CompiledPermissions}, without touching the database.
+ * <p>
+ * Everything is compiled in the background once the server has started; until that finishes each check compiles only
+ * the application it asks about. After that only the applications named in an {@link ApplicationsAffectedEvent} are
+ * recompiled, so the index trails the database by the impact index's refresh interval. A periodic full rebuild picks
+ * up changes written around the application.
+ */
+@Singleton
+public class PermissionAccessIndex implements ApplicationEventListener<ApplicationsAffectedEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PermissionAccessIndex.class);
+
+    private final PermissionCompiler permissionCompiler;
+
+    private final Object buildMonitor = new Object();
+    private volatile Map<Long, CompiledPermissions> compiled;
+
+    public PermissionAccessIndex(PermissionCompiler permissionCompiler) {
+        this.permissionCompiler = permissionCompiler;
+    }
+
+    public boolean isAllowed(Long applicationId, String topic, PubSubEnum action, @Nullable String partition, Instant now) {
+        Map<Long, CompiledPermissions> current = compiled;
+        CompiledPermissions permissions = current != null ? current.get(applicationId) :
+                permissionCompiler.compile(List.of(applicationId)).get(applicationId);
+        return permissions != null && permissions.allows(topic, action, partition, now);
+    }
+
+    @EventListener
+    @Async
+    public void buildOnStartup(ServerStartupEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelay = "${permissions-manager.access-index.rebuild-interval:10m}",
+            initialDelay = "${permissions-manager.access-index.rebuild-interval:10m}")
+    public void rebuild() {
+        synchronized (buildMonitor) {
+            Map<Long, CompiledPermissions> rebuilt = new ConcurrentHashMap<>();
+            permissionCompiler.compileAll().forEach((applicationId, permissions) -> {
+                if (!permissions.isEmpty()) {
+                    rebuilt.put(applicationId, permissions);
+                }
+            });
+            compiled = rebuilt;
+            LOG.debug("Rebuilt permission access index with {} applications", rebuilt.size());
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationsAffectedEvent event) {
+        if (event.getApplicationIds().isEmpty()) {
+            return;
+        }
+        synchronized (buildMonitor) {
+            // before the first build there is nothing to patch; the build reads the changes itself
+            if (compiled == null) {
+                return;
+            }
+            permissionCompiler.compile(event.getApplicationIds()).forEach((applicationId, permissions) -> {
+                if (permissions.isEmpty()) {
+                    compiled.remove(applicationId);
+                } else {
+                    compiled.put(applicationId, permissions);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.access;
+
+import io.unityfoundation.dds.permissions.manager.model.AssociationLoader;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
+import jakarta.inject.Singleton;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Singleton
+public class PermissionCompiler {
+
+    private final EntityManager entityManager;
+    private final AssociationLoader associationLoader;
+
+    public PermissionCompiler(EntityManager entityManager, AssociationLoader associationLoader) {
+        this.entityManager = entityManager;
+        this.associationLoader = associationLoader;
+    }
+
+    @Transactional
+    public Map<Long, CompiledPermissions> compileAll() {
+        List<Long> applicationIds = entityManager.createQuery("SELECT a.id FROM Application a", Long.class)
+                .getResultList();
+        return compile(applicationIds);
+    }
+
+    // every requested application gets an entry, empty when it has no actions or no longer exists
+    @Transactional
+    public Map<Long, CompiledPermissions> compile(Collection<Long> applicationIds) {
+        Map<Long, List<Object[]>> actions = associationLoader.load(
+                "SELECT g.permissionsApplication.id, a.id, a.canPublish, i.startDate, i.endDate FROM Action a " +
+                        "JOIN a.applicationGrant g JOIN a.actionInterval i WHERE g.permissionsApplication.id IN (:ownerIds)",
+                applicationIds, row -> row);
+        Set<Long> actionIds = actions.values().stream()
+                .flatMap(List::stream)
+                .map(row -> (Long) row[1])
+                .collect(Collectors.toSet());
+
+        Map<Long, List<String>> topics = associationLoader.load(
+                "SELECT at.permissionsAction.id, tp.kind, tp.permissionsGroup.id, tp.name FROM ActionTopic at " +
+                        "JOIN at.permissionsTopic tp WHERE at.permissionsAction.id IN (:ownerIds)",
+                actionIds, PermissionCompiler::canonicalName);
+        Map<Long, List<String>> topicSetTopics = associationLoader.load(
+                "SELECT a.id, tp.kind, tp.permissionsGroup.id, tp.name FROM Action a JOIN a.topicSets ts, " +
+                        "TopicSetTopic tst JOIN tst.permissionsTopic tp " +
+                        "WHERE tst.permissionsTopicSet.id = ts.id AND a.id IN (:ownerIds)",
+                actionIds, PermissionCompiler::canonicalName);
+        Map<Long, List<String>> partitions = associationLoader.load(
+                "SELECT p.action.id, p.partitionName FROM ActionPartition p WHERE p.action.id IN (:ownerIds)",
+                actionIds, row -> (String) row[1]);
+
+        Map<Long, CompiledPermissions> compiled = new HashMap<>();
+        for (Long applicationId : applicationIds) {
+            CompiledPermissions.Builder builder = new CompiledPermissions.Builder();
+            for (Object[] action : actions.getOrDefault(applicationId, List.of())) {
+                Long actionId = (Long) action[1];
+                Set<String> actionTopics = new HashSet<>(topics.getOrDefault(actionId, List.of()));
+                actionTopics.addAll(topicSetTopics.getOrDefault(actionId, List.of()));
+                builder.add(Boolean.TRUE.equals(action[2]), actionTopics, partitions.getOrDefault(actionId, List.of()),
+                        (Instant) action[3], (Instant) action[4]);
+            }
+            compiled.put(applicationId, builder.build());
+        }
+        return compiled;
+    }
+
+    private static String canonicalName(Object[] row) {
+        return Topic.canonicalName((TopicKind) row[1], (Long) row[2], (String) row[3]);
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micronaut.configuration.jdbc.hikari.DatasourceConfiguration;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A second pool on the primary database reserved for {@link FleetTraffic} endpoints, so a burst of admin work that
+ * exhausts the default pool cannot hold up applications downloading their permissions. It is off unless
+ * {@code pool-size} is above zero, as it adds that many connections to the ones {@code datasources.default} opens;
+ * every other setting is taken from {@code datasources.default}.
+ */
+@Singleton
+@Requires(property = "permissions-manager.fleet.pool-size", notEquals = "0")
+public class FleetConnectionPool {
+
+    private final DatasourceConfiguration defaultConfiguration;
+
+    @Property(name = "permissions-manager.fleet.pool-size", defaultValue = "0")
+    protected int poolSize;
+
+    private final AtomicLong servedConnections = new AtomicLong();
+    private HikariDataSource dataSource;
+
+    public FleetConnectionPool(@Named("default") DatasourceConfiguration defaultConfiguration) {
+        this.defaultConfiguration = defaultConfiguration;
+    }
+
+    @PostConstruct
+    void start() {
+        HikariConfig config = new HikariConfig();
+        defaultConfiguration.copyStateTo(config);
+        // when these are not configured, the default configuration works them out from db-type instead of its fields
+        config.setJdbcUrl(defaultConfiguration.getUrl());
+        config.setUsername(defaultConfiguration.getUsername());
+        config.setPassword(defaultConfiguration.getPassword());
+        if (StringUtils.hasText(defaultConfiguration.getDriverClassName())) {
+            config.setDriverClassName(defaultConfiguration.getDriverClassName());
+        }
+        config.setPoolName("fleet");
+        config.setMaximumPoolSize(poolSize);
+        config.setInitializationFailTimeout(-1);
+        dataSource = new HikariDataSource(config);
+    }
+
+    @PreDestroy
+    void close() {
+        dataSource.close();
+    }
+
+    Connection getConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        servedConnections.incrementAndGet();
+        return connection;
+    }
+
+    long getServedConnections() {
+        return servedConnections.get();
+    }
+
+    HikariDataSource getDataSource() {
+        return dataSource;
+    }
+}
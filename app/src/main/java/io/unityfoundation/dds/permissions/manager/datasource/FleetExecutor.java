@@ -0,0 +1,59 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Property;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads {@link FleetTraffic} endpoints run on, kept apart from the IO executor the admin endpoints share. The
+ * pool is created here rather than under {@code micronaut.executors} so its queue can be reported as is.
+ */
+@Factory
+public class FleetExecutor {
+
+    private final ThreadPoolExecutor threadPool;
+
+    public FleetExecutor(@Property(name = "permissions-manager.fleet.threads", defaultValue = "16") int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "fleet-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        threadPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    @Singleton
+    @Named(FleetTraffic.EXECUTOR)
+    @Bean(preDestroy = "shutdown")
+    ExecutorService fleetExecutorService() {
+        return threadPool;
+    }
+
+    public ThreadPoolExecutor getThreadPool() {
+        return threadPool;
+    }
+}
@@ -0,0 +1,37 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks an endpoint called by deployed applications rather than by the web UI. Its database work uses the fleet
+ * connection pool; pair it with {@code @ExecuteOn(FleetTraffic.EXECUTOR)} so it also runs on the fleet threads.
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+@Around
+public @interface FleetTraffic {
+
+    String EXECUTOR = "fleet";
+}
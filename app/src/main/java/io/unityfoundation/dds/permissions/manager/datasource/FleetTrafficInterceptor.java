@@ -0,0 +1,46 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+@Singleton
+@InterceptorBean(FleetTraffic.class)
+public class FleetTrafficInterceptor implements MethodInterceptor<Object, Object> {
+
+    private static final ThreadLocal<Boolean> FLEET_TRAFFIC = new ThreadLocal<>();
+
+    static boolean isFleetTraffic() {
+        return Boolean.TRUE.equals(FLEET_TRAFFIC.get());
+    }
+
+    @Nullable
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (isFleetTraffic()) {
+            return context.proceed();
+        }
+
+        FLEET_TRAFFIC.set(true);
+        try {
+            return context.proceed();
+        } finally {
+            FLEET_TRAFFIC.remove();
+        }
+    }
+}
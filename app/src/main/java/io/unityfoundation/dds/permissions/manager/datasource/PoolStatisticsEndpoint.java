@@ -0,0 +1,112 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Reports how busy the admin and fleet executors and connection pools are. A pool is saturated when requests are
+ * waiting for it: {@code queued} tasks for an executor, {@code awaiting} threads for a connection pool.
+ */
+@Endpoint(id = "poolstats")
+public class PoolStatisticsEndpoint {
+
+    private final DataSource dataSource;
+    private final ExecutorService ioExecutor;
+    private final FleetExecutor fleetExecutor;
+    private final FleetConnectionPool fleetConnectionPool;
+    private final ReadReplica readReplica;
+
+    public PoolStatisticsEndpoint(DataSource dataSource, @Named(TaskExecutors.IO) ExecutorService ioExecutor,
+                                  FleetExecutor fleetExecutor, @Nullable FleetConnectionPool fleetConnectionPool,
+                                  @Nullable ReadReplica readReplica) {
+        this.dataSource = dataSource;
+        this.ioExecutor = ioExecutor;
+        this.fleetExecutor = fleetExecutor;
+        this.fleetConnectionPool = fleetConnectionPool;
+        this.readReplica = readReplica;
+    }
+
+    @Read
+    public Map<String, Object> statistics() {
+        Map<String, Object> admin = new LinkedHashMap<>();
+        if (ioExecutor instanceof ThreadPoolExecutor) {
+            admin.put("executor", executorStatistics((ThreadPoolExecutor) ioExecutor));
+        }
+        admin.put("connections", connectionStatistics(primaryPool()));
+
+        Map<String, Object> fleet = new LinkedHashMap<>();
+        fleet.put("executor", executorStatistics(fleetExecutor.getThreadPool()));
+        if (fleetConnectionPool == null) {
+            fleet.put("connections", "shared with admin");
+        } else {
+            Map<String, Object> connections = connectionStatistics(fleetConnectionPool.getDataSource());
+            connections.put("served", fleetConnectionPool.getServedConnections());
+            fleet.put("connections", connections);
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("admin", admin);
+        statistics.put("fleet", fleet);
+        if (readReplica != null) {
+            statistics.put("replica", Map.of("connections", connectionStatistics(readReplica.getDataSource())));
+        }
+        return statistics;
+    }
+
+    @Nullable
+    private HikariDataSource primaryPool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Object> executorStatistics(ThreadPoolExecutor executor) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("active", executor.getActiveCount());
+        statistics.put("threads", executor.getPoolSize());
+        statistics.put("maxThreads", executor.getMaximumPoolSize());
+        statistics.put("queued", executor.getQueue().size());
+        statistics.put("completed", executor.getCompletedTaskCount());
+        return statistics;
+    }
+
+    private static Map<String, Object> connectionStatistics(@Nullable HikariDataSource pool) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        HikariPoolMXBean bean = pool == null ? null : pool.getHikariPoolMXBean();
+        if (bean != null) {
+            statistics.put("active", bean.getActiveConnections());
+            statistics.put("idle", bean.getIdleConnections());
+            statistics.put("total", bean.getTotalConnections());
+            statistics.put("max", pool.getMaximumPoolSize());
+            statistics.put("awaiting", bean.getThreadsAwaitingConnection());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.transaction.annotation.TransactionalAdvice;
+import jakarta.inject.Singleton;
+
+/**
+ * Records whether the outermost transactional method on the thread is read-only, before its transaction opens a
+ * connection. Nested transactional methods keep the outer route, and repository methods called outside of a service
+ * transaction always use the primary.
+ */
+@Singleton
+@Requires(property = "permissions-manager.read-replica.enabled", value = StringUtils.TRUE)
+@InterceptorBean(TransactionalAdvice.class)
+public class ReadOnlyRoutingInterceptor implements MethodInterceptor<Object, Object>, Ordered {
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    static boolean isReadOnly() {
+        return Boolean.TRUE.equals(READ_ONLY.get());
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.TRANSACTION.getPosition() - 1;
+    }
+
+    @Nullable
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (READ_ONLY.get() != null || context.hasStereotype(Repository.class)) {
+            return context.proceed();
+        }
+
+        READ_ONLY.set(context.booleanValue(TransactionalAdvice.class, "readOnly").orElse(false));
+        try {
+            return context.proceed();
+        } finally {
+            READ_ONLY.remove();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The optional read-only copy of the database. Read-only transactions are served from it while the newest heartbeat
+ * it has replicated is no older than {@code max-lag}; otherwise, or when it cannot be reached, they use the primary.
+ */
+@Singleton
+@Requires(property = "permissions-manager.read-replica.enabled", value = StringUtils.TRUE)
+public class ReadReplica {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplica.class);
+
+    @Property(name = "permissions-manager.read-replica.url")
+    protected String url;
+
+    @Property(name = "permissions-manager.read-replica.username", defaultValue = "")
+    protected String username;
+
+    @Property(name = "permissions-manager.read-replica.password", defaultValue = "")
+    protected String password;
+
+    @Property(name = "permissions-manager.read-replica.driver-class-name", defaultValue = "")
+    protected String driverClassName;
+
+    @Property(name = "permissions-manager.read-replica.maximum-pool-size", defaultValue = "10")
+    protected int maximumPoolSize;
+
+    @Property(name = "permissions-manager.read-replica.max-lag", defaultValue = "5s")
+    protected Duration maxLag;
+
+    private final AtomicLong servedConnections = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    // epoch millis of the newest heartbeat read back from the replica, 0 until one has been seen
+    private volatile long freshAsOf;
+    private volatile boolean wasUsable;
+    private HikariDataSource dataSource;
+
+    @PostConstruct
+    void start() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("read-replica");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (StringUtils.hasText(driverClassName)) {
+            config.setDriverClassName(driverClassName);
+        }
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setReadOnly(true);
+        // an unreachable replica must not stop the application from starting
+        config.setInitializationFailTimeout(-1);
+        dataSource = new HikariDataSource(config);
+    }
+
+    @PreDestroy
+    void close() {
+        dataSource.close();
+    }
+
+    public boolean isUsable() {
+        return System.currentTimeMillis() - freshAsOf <= maxLag.toMillis();
+    }
+
+    Connection getConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        servedConnections.incrementAndGet();
+        return connection;
+    }
+
+    HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    void fellBack() {
+        fallbacks.incrementAndGet();
+    }
+
+    void markUnavailable(SQLException e) {
+        freshAsOf = 0;
+        LOG.warn("Read replica is unavailable, read-only transactions use the primary: {}", e.getMessage());
+    }
+
+    // reads back the heartbeat the primary last wrote, as far as it has replicated
+    void refresh() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT beat_at FROM permissions_replica_heartbeat WHERE id = 1")) {
+            freshAsOf = resultSet.next() ? resultSet.getLong(1) : 0;
+        } catch (SQLException e) {
+            freshAsOf = 0;
+            LOG.debug("Could not read the replica heartbeat", e);
+        }
+
+        boolean usable = isUsable();
+        if (usable != wasUsable) {
+            wasUsable = usable;
+            if (usable) {
+                LOG.info("Read replica is within {} of the primary, routing read-only transactions to it", maxLag);
+            } else {
+                LOG.warn("Read replica is more than {} behind the primary, routing read-only transactions to the primary", maxLag);
+            }
+        }
+    }
+
+    public long getServedConnections() {
+        return servedConnections.get();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("usable", isUsable());
+        status.put("lagMillis", freshAsOf == 0 ? null : System.currentTimeMillis() - freshAsOf);
+        status.put("maxLagMillis", maxLag.toMillis());
+        status.put("servedConnections", servedConnections.get());
+        status.put("fallbacks", fallbacks.get());
+        return status;
+    }
+}
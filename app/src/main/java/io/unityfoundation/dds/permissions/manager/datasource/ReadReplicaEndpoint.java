@@ -0,0 +1,36 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.Map;
+
+@Endpoint(id = "readreplica")
+@Requires(beans = ReadReplica.class)
+public class ReadReplicaEndpoint {
+
+    private final ReadReplica readReplica;
+
+    public ReadReplicaEndpoint(ReadReplica readReplica) {
+        this.readReplica = readReplica;
+    }
+
+    @Read
+    public Map<String, Object> status() {
+        return readReplica.getStatus();
+    }
+}
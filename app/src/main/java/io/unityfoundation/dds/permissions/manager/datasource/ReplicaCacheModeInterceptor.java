@@ -0,0 +1,62 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.transaction.annotation.TransactionalAdvice;
+import jakarta.inject.Singleton;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Stops read-only transactions from putting what they read into the second-level cache. They may be served by a
+ * replica that is up to {@code max-lag} behind, and a row put from it would outlive the change log eviction that was
+ * meant to remove it, for as long as the cached entries live. Cached entries are still read; only writes through
+ * the primary fill the cache.
+ */
+@Singleton
+@Requires(property = "permissions-manager.read-replica.enabled", value = StringUtils.TRUE)
+@InterceptorBean(TransactionalAdvice.class)
+public class ReplicaCacheModeInterceptor implements MethodInterceptor<Object, Object>, Ordered {
+
+    private final EntityManager entityManager;
+
+    public ReplicaCacheModeInterceptor(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int getOrder() {
+        // inside the transaction, so the session it opened is the current one
+        return InterceptPhase.TRANSACTION.getPosition() + 1;
+    }
+
+    @Nullable
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (ReadOnlyRoutingInterceptor.isReadOnly()) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+        return context.proceed();
+    }
+}
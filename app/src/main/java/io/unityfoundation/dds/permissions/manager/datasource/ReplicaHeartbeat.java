@@ -0,0 +1,67 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Writes the current time to the primary and reads back what the replica has of it. The replica is as fresh as the
+ * newest heartbeat it returns, so its staleness is measured without database specific replication views.
+ */
+@Singleton
+@Requires(property = "permissions-manager.read-replica.enabled", value = StringUtils.TRUE)
+public class ReplicaHeartbeat {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaHeartbeat.class);
+
+    private final DataSource dataSource;
+    private final ReadReplica readReplica;
+
+    public ReplicaHeartbeat(DataSource dataSource, ReadReplica readReplica) {
+        this.dataSource = dataSource;
+        this.readReplica = readReplica;
+    }
+
+    @Scheduled(fixedDelay = "${permissions-manager.read-replica.heartbeat-interval:1s}")
+    public void beat() {
+        write(System.currentTimeMillis());
+        readReplica.refresh();
+    }
+
+    // outside of a transaction, so always on the primary
+    public void write(long beatAt) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE permissions_replica_heartbeat SET beat_at = ? WHERE id = 1")) {
+            statement.setLong(1, beatAt);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            LOG.warn("Could not write the replica heartbeat", e);
+        }
+    }
+
+    public void check() {
+        readReplica.refresh();
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.core.annotation.Nullable;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * Hands out replica connections to read-only transactions while the replica is fresh enough, fleet pool connections
+ * to the endpoints applications call, and primary connections to everything else.
+ */
+class RoutingDataSource implements DataSource {
+
+    private final DataSource primary;
+    private final ReadReplica readReplica;
+    private final FleetConnectionPool fleetConnectionPool;
+
+    RoutingDataSource(DataSource primary, @Nullable ReadReplica readReplica, @Nullable FleetConnectionPool fleetConnectionPool) {
+        this.primary = primary;
+        this.readReplica = readReplica;
+        this.fleetConnectionPool = fleetConnectionPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readReplica != null && ReadOnlyRoutingInterceptor.isReadOnly()) {
+            if (readReplica.isUsable()) {
+                try {
+                    return readReplica.getConnection();
+                } catch (SQLException e) {
+                    readReplica.markUnavailable(e);
+                }
+            }
+            readReplica.fellBack();
+        }
+        if (fleetConnectionPool != null && FleetTrafficInterceptor.isFleetTraffic()) {
+            return fleetConnectionPool.getConnection();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
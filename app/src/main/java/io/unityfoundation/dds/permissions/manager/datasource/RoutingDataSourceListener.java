@@ -0,0 +1,47 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.datasource;
+
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the replica and fleet pool routing in front of the default datasource, so Hibernate and everything else that
+ * injects it keep using a single {@link DataSource}. Without either of them the datasource is left as it is.
+ */
+@Singleton
+public class RoutingDataSourceListener implements BeanCreatedEventListener<DataSource> {
+
+    private final ReadReplica readReplica;
+    private final FleetConnectionPool fleetConnectionPool;
+
+    public RoutingDataSourceListener(@Nullable ReadReplica readReplica, @Nullable FleetConnectionPool fleetConnectionPool) {
+        this.readReplica = readReplica;
+        this.fleetConnectionPool = fleetConnectionPool;
+    }
+
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        DataSource dataSource = event.getBean();
+        if ((readReplica == null && fleetConnectionPool == null) ||
+                !"default".equals(event.getBeanIdentifier().getName()) || dataSource instanceof RoutingDataSource) {
+            return dataSource;
+        }
+        return new RoutingDataSource(dataSource, readReplica, fleetConnectionPool);
+    }
+}
@@ -43,4 +43,8 @@ public class DPMException extends RuntimeException {
     public void setHttpStatus(HttpStatus httpStatus) {
         this.httpStatus = httpStatus;
     }
+
+    public DPMErrorResponse toErrorResponse(String errorId) {
+        return new DPMErrorResponse(errorId, responseStatusCode);
+    }
 }
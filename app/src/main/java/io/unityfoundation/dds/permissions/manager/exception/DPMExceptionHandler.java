@@ -52,7 +52,7 @@ public class DPMExceptionHandler implements ExceptionHandler<DPMException, HttpR
 
         String errorId = passphraseGenerator.generatePassphrase();
         String code = exception.getResponseStatusCode();
-        response.body(List.of(new DPMErrorResponse(errorId, code)));
+        response.body(List.of(exception.toErrorResponse(errorId)));
 
         LOG.error("Id: {} Code: {}. See exception below", errorId, code, exception);
         return response;
@@ -0,0 +1,39 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.impact;
+
+import java.util.Set;
+
+/**
+ * Published once the changes up to a revision have been applied to the {@link PermissionImpactIndex}, with the
+ * applications whose permissions documents those changes may have altered.
+ */
+public class ApplicationsAffectedEvent {
+
+    private final Set<Long> applicationIds;
+    private final long revision;
+
+    public ApplicationsAffectedEvent(Set<Long> applicationIds, long revision) {
+        this.applicationIds = applicationIds;
+        this.revision = revision;
+    }
+
+    public Set<Long> getApplicationIds() {
+        return applicationIds;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+}
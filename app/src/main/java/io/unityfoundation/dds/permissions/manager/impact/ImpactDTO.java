@@ -0,0 +1,51 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.impact;
+
+import io.micronaut.core.annotation.Introspected;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+
+import java.util.List;
+
+@Introspected
+public class ImpactDTO {
+
+    private final ChangeLogEntityType entityType;
+    private final Long entityId;
+    private final long revision;
+    private final List<Long> applicationIds;
+
+    public ImpactDTO(ChangeLogEntityType entityType, Long entityId, long revision, List<Long> applicationIds) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.revision = revision;
+        this.applicationIds = applicationIds;
+    }
+
+    public ChangeLogEntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public List<Long> getApplicationIds() {
+        return applicationIds;
+    }
+}
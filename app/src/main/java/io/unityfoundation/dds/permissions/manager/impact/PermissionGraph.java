@@ -0,0 +1,218 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.impact;
+
+import io.micronaut.core.annotation.Nullable;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The references between the entities an application's permissions are built from, each kept in both directions
+ * so the applications depending on an entity are found by walking back from it.
+ */
+class PermissionGraph {
+
+    private final Edges actionGrant = new Edges();
+    private final Edges actionInterval = new Edges();
+    private final Edges actionTopic = new Edges();
+    private final Edges actionTopicSet = new Edges();
+    private final Edges topicSetTopic = new Edges();
+    private final Edges grantApplication = new Edges();
+    private final Edges grantDuration = new Edges();
+    private final Edges grantGroup = new Edges();
+    private final Edges applicationGroup = new Edges();
+
+    void addAction(Long actionId, Long grantId, Long intervalId) {
+        actionGrant.add(actionId, grantId);
+        actionInterval.add(actionId, intervalId);
+    }
+
+    void addActionTopic(Long actionId, Long topicId) {
+        actionTopic.add(actionId, topicId);
+    }
+
+    void addActionTopicSet(Long actionId, Long topicSetId) {
+        actionTopicSet.add(actionId, topicSetId);
+    }
+
+    void addTopicSetTopic(Long topicSetId, Long topicId) {
+        topicSetTopic.add(topicSetId, topicId);
+    }
+
+    void addGrant(Long grantId, Long applicationId, Long groupId, @Nullable Long durationId) {
+        grantApplication.add(grantId, applicationId);
+        grantGroup.add(grantId, groupId);
+        if (durationId != null) {
+            grantDuration.add(grantId, durationId);
+        }
+    }
+
+    void addApplication(Long applicationId, Long groupId) {
+        applicationGroup.add(applicationId, groupId);
+    }
+
+    int actionCount() {
+        return actionGrant.targets.size();
+    }
+
+    Set<Long> applications(ChangeLogEntityType entityType, Long id) {
+        Set<Long> ids = Set.of(id);
+        switch (entityType) {
+            case APPLICATION:
+                return new HashSet<>(ids);
+            case APPLICATION_GRANT:
+                return grantApplication.targets(ids);
+            case GRANT_DURATION:
+                return grantApplication.targets(grantDuration.sources(ids));
+            case ACTION:
+                return actionApplications(ids);
+            case ACTION_INTERVAL:
+                return actionApplications(actionInterval.sources(ids));
+            case TOPIC_SET:
+                return actionApplications(actionTopicSet.sources(ids));
+            case TOPIC:
+                return actionApplications(actionsOfTopics(ids));
+            case GROUP:
+                Set<Long> applications = applicationGroup.sources(ids);
+                applications.addAll(grantApplication.targets(grantGroup.sources(ids)));
+                return applications;
+            default:
+                // memberships and the legacy application permissions play no part in permissions documents
+                return new HashSet<>();
+        }
+    }
+
+    // the sources whose references a change to the entity may have altered, including those removed by cascades
+    void collectStale(ChangeLogEntityType entityType, Long id, StaleSources stale) {
+        Set<Long> ids = Set.of(id);
+        switch (entityType) {
+            case APPLICATION:
+                Set<Long> grants = grantApplication.sources(ids);
+                stale.applicationIds.add(id);
+                stale.grantIds.addAll(grants);
+                stale.actionIds.addAll(actionGrant.sources(grants));
+                break;
+            case APPLICATION_GRANT:
+                stale.grantIds.add(id);
+                stale.actionIds.addAll(actionGrant.sources(ids));
+                break;
+            case GRANT_DURATION:
+                stale.grantIds.addAll(grantDuration.sources(ids));
+                break;
+            case ACTION:
+                stale.actionIds.add(id);
+                break;
+            case ACTION_INTERVAL:
+                stale.actionIds.addAll(actionInterval.sources(ids));
+                break;
+            case TOPIC_SET:
+                stale.topicSetIds.add(id);
+                stale.actionIds.addAll(actionTopicSet.sources(ids));
+                break;
+            case TOPIC:
+                stale.topicSetIds.addAll(topicSetTopic.sources(ids));
+                stale.actionIds.addAll(actionTopic.sources(ids));
+                break;
+            default:
+                break;
+        }
+    }
+
+    // replaces the references of the stale sources with those reloaded into the patch
+    void replace(StaleSources stale, PermissionGraph patch) {
+        for (Long actionId : stale.actionIds) {
+            actionGrant.replace(actionId, patch.actionGrant.targets(actionId));
+            actionInterval.replace(actionId, patch.actionInterval.targets(actionId));
+            actionTopic.replace(actionId, patch.actionTopic.targets(actionId));
+            actionTopicSet.replace(actionId, patch.actionTopicSet.targets(actionId));
+        }
+        for (Long topicSetId : stale.topicSetIds) {
+            topicSetTopic.replace(topicSetId, patch.topicSetTopic.targets(topicSetId));
+        }
+        for (Long grantId : stale.grantIds) {
+            grantApplication.replace(grantId, patch.grantApplication.targets(grantId));
+            grantDuration.replace(grantId, patch.grantDuration.targets(grantId));
+            grantGroup.replace(grantId, patch.grantGroup.targets(grantId));
+        }
+        for (Long applicationId : stale.applicationIds) {
+            applicationGroup.replace(applicationId, patch.applicationGroup.targets(applicationId));
+        }
+    }
+
+    private Set<Long> actionsOfTopics(Set<Long> topicIds) {
+        Set<Long> actions = actionTopic.sources(topicIds);
+        actions.addAll(actionTopicSet.sources(topicSetTopic.sources(topicIds)));
+        return actions;
+    }
+
+    private Set<Long> actionApplications(Set<Long> actionIds) {
+        return grantApplication.targets(actionGrant.targets(actionIds));
+    }
+
+    static class StaleSources {
+        final Set<Long> actionIds = new HashSet<>();
+        final Set<Long> topicSetIds = new HashSet<>();
+        final Set<Long> grantIds = new HashSet<>();
+        final Set<Long> applicationIds = new HashSet<>();
+
+        boolean isEmpty() {
+            return actionIds.isEmpty() && topicSetIds.isEmpty() && grantIds.isEmpty() && applicationIds.isEmpty();
+        }
+    }
+
+    private static class Edges {
+        private final Map<Long, Set<Long>> targets = new HashMap<>();
+        private final Map<Long, Set<Long>> sources = new HashMap<>();
+
+        void add(Long source, Long target) {
+            targets.computeIfAbsent(source, id -> new HashSet<>()).add(target);
+            sources.computeIfAbsent(target, id -> new HashSet<>()).add(source);
+        }
+
+        void replace(Long source, Set<Long> replacements) {
+            Set<Long> previous = targets.remove(source);
+            if (previous != null) {
+                for (Long target : previous) {
+                    Set<Long> targetSources = sources.get(target);
+                    targetSources.remove(source);
+                    if (targetSources.isEmpty()) {
+                        sources.remove(target);
+                    }
+                }
+            }
+            replacements.forEach(target -> add(source, target));
+        }
+
+        Set<Long> targets(Long source) {
+            return targets.getOrDefault(source, Set.of());
+        }
+
+        Set<Long> targets(Collection<Long> sourceIds) {
+            Set<Long> found = new HashSet<>();
+            sourceIds.forEach(source -> found.addAll(targets(source)));
+            return found;
+        }
+
+        Set<Long> sources(Collection<Long> targetIds) {
+            Set<Long> found = new HashSet<>();
+            targetIds.forEach(target -> found.addAll(sources.getOrDefault(target, Set.of())));
+            return found;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.impact;
+
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads the references of a {@link PermissionGraph} with one query per kind of reference. The reads go to the
+ * primary, so the graph is never behind the change log it is replayed from.
+ */
+@Singleton
+public class PermissionGraphLoader {
+
+    // keeps IN lists well below the bind parameter limits of the supported databases
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    public PermissionGraphLoader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // every reference when stale is null, otherwise only those of the stale sources
+    @Transactional
+    PermissionGraph load(@Nullable PermissionGraph.StaleSources stale) {
+        PermissionGraph graph = new PermissionGraph();
+        forEachRow("SELECT a.id, a.applicationGrant.id, a.actionInterval.id FROM Action a", "a.id",
+                stale == null ? null : stale.actionIds,
+                row -> graph.addAction((Long) row[0], (Long) row[1], (Long) row[2]));
+        forEachRow("SELECT t.permissionsAction.id, t.permissionsTopic.id FROM ActionTopic t", "t.permissionsAction.id",
+                stale == null ? null : stale.actionIds,
+                row -> graph.addActionTopic((Long) row[0], (Long) row[1]));
+        forEachRow("SELECT a.id, ts.id FROM Action a JOIN a.topicSets ts", "a.id",
+                stale == null ? null : stale.actionIds,
+                row -> graph.addActionTopicSet((Long) row[0], (Long) row[1]));
+        forEachRow("SELECT tst.permissionsTopicSet.id, tst.permissionsTopic.id FROM TopicSetTopic tst", "tst.permissionsTopicSet.id",
+                stale == null ? null : stale.topicSetIds,
+                row -> graph.addTopicSetTopic((Long) row[0], (Long) row[1]));
+        forEachRow("SELECT g.id, g.permissionsApplication.id, g.permissionsGroup.id, d.id FROM ApplicationGrant g LEFT JOIN g.grantDuration d", "g.id",
+                stale == null ? null : stale.grantIds,
+                row -> graph.addGrant((Long) row[0], (Long) row[1], (Long) row[2], (Long) row[3]));
+        forEachRow("SELECT a.id, a.permissionsGroup.id FROM Application a", "a.id",
+                stale == null ? null : stale.applicationIds,
+                row -> graph.addApplication((Long) row[0], (Long) row[1]));
+        return graph;
+    }
+
+    private void forEachRow(String query, String idPath, @Nullable Set<Long> ids, Consumer<Object[]> consumer) {
+        if (ids == null) {
+            entityManager.createQuery(query, Object[].class).getResultList().forEach(consumer);
+            return;
+        }
+
+        List<Long> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = remaining.subList(from, Math.min(from + ID_BATCH_SIZE, remaining.size()));
+            entityManager.createQuery(query + " WHERE " + idPath + " IN :ids", Object[].class)
+                    .setParameter("ids", batch)
+                    .getResultList()
+                    .forEach(consumer);
+        }
+    }
+}
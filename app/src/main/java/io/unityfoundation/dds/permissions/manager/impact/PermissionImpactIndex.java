@@ -0,0 +1,174 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.impact;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntry;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Answers which applications' permissions depend on an entity, walking back from topics, topic sets, action intervals
+ * and grant durations through actions and grants.
+ * <p>
+ * The graph is loaded once and then kept current by replaying the change log: for each entry only the references the
+ * change may have touched are reloaded, and the applications depending on the entity before and after the change are
+ * published in an {@link ApplicationsAffectedEvent}. Deleting a group reloads the whole graph, since the database
+ * cascades the delete without logging what it removed.
+ */
+@Singleton
+public class PermissionImpactIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PermissionImpactIndex.class);
+
+    @Property(name = "permissions-manager.impact-index.batch-size", defaultValue = "500")
+    protected int batchSize;
+
+    private final ChangeLog changeLog;
+    private final PermissionGraphLoader permissionGraphLoader;
+    private final ApplicationEventPublisher<ApplicationsAffectedEvent> eventPublisher;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshMonitor = new Object();
+    private PermissionGraph graph;
+    private long revision;
+
+    public PermissionImpactIndex(ChangeLog changeLog, PermissionGraphLoader permissionGraphLoader,
+                                 ApplicationEventPublisher<ApplicationsAffectedEvent> eventPublisher) {
+        this.changeLog = changeLog;
+        this.permissionGraphLoader = permissionGraphLoader;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ImpactDTO findImpact(ChangeLogEntityType entityType, Long id) {
+        refresh();
+        lock.readLock().lock();
+        try {
+            List<Long> applicationIds = graph.applications(entityType, id).stream()
+                    .sorted()
+                    .collect(Collectors.toList());
+            return new ImpactDTO(entityType, id, revision, applicationIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelay = "${permissions-manager.impact-index.refresh-interval:1s}")
+    public void refresh() {
+        synchronized (refreshMonitor) {
+            if (graph == null) {
+                rebuild();
+            }
+
+            long head = changeLog.head();
+            while (revision < head) {
+                List<ChangeLogEntry> entries = changeLog.read(revision, head, batchSize);
+                if (entries.isEmpty()) {
+                    install(graph, head);
+                } else {
+                    replay(entries);
+                }
+            }
+        }
+    }
+
+    // reloads everything, for changes written around the application
+    public void rebuild() {
+        synchronized (refreshMonitor) {
+            // changes committing while the rows are read are replayed afterwards, which reloads the same references
+            long head = changeLog.head();
+            PermissionGraph rebuilt = permissionGraphLoader.load(null);
+            install(rebuilt, head);
+            LOG.debug("Rebuilt permission impact index with {} actions at revision {}", rebuilt.actionCount(), head);
+        }
+    }
+
+    private void replay(List<ChangeLogEntry> entries) {
+        long last = entries.get(entries.size() - 1).getRevision();
+        Set<Long> affected = new HashSet<>();
+        PermissionGraph.StaleSources stale = new PermissionGraph.StaleSources();
+        boolean groupDeleted = false;
+
+        lock.readLock().lock();
+        try {
+            for (ChangeLogEntry entry : entries) {
+                if (entry.getEntityType() == ChangeLogEntityType.GROUP) {
+                    // a group's own fields are not part of any permissions document
+                    if (entry.getOperation() == ChangeLogOperation.DELETE) {
+                        affected.addAll(graph.applications(ChangeLogEntityType.GROUP, entry.getEntityId()));
+                        groupDeleted = true;
+                    }
+                } else {
+                    affected.addAll(graph.applications(entry.getEntityType(), entry.getEntityId()));
+                    graph.collectStale(entry.getEntityType(), entry.getEntityId(), stale);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (groupDeleted) {
+            install(permissionGraphLoader.load(null), last);
+        } else if (stale.isEmpty()) {
+            install(graph, last);
+        } else {
+            PermissionGraph patch = permissionGraphLoader.load(stale);
+            lock.writeLock().lock();
+            try {
+                graph.replace(stale, patch);
+                revision = last;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            for (ChangeLogEntry entry : entries) {
+                if (entry.getEntityType() != ChangeLogEntityType.GROUP) {
+                    affected.addAll(graph.applications(entry.getEntityType(), entry.getEntityId()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (!affected.isEmpty()) {
+            eventPublisher.publishEvent(new ApplicationsAffectedEvent(affected, last));
+        }
+    }
+
+    private void install(PermissionGraph installed, long installedRevision) {
+        lock.writeLock().lock();
+        try {
+            graph = installed;
+            revision = installedRevision;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
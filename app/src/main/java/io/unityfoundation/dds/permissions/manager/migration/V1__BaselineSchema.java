@@ -0,0 +1,125 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.util.List;
+
+/**
+ * Creates the tables as Hibernate created them before the schema was owned by migrations, so every later migration
+ * runs against the same schema whether the database is new or not. Databases created by Hibernate are baselined at
+ * this version instead of running it.
+ */
+public class V1__BaselineSchema extends BaseJavaMigration {
+
+    private static final List<String> DDL = List.of(
+            "create table permissions_user (id {id}, admin {boolean} not null, email varchar(255), " +
+                    "permissions_last_updated bigint, primary key (id), " +
+                    "constraint uk_user_email unique (email)){options}",
+            "create table permissions_group (id {id}, description TEXT, make_public {boolean} not null, " +
+                    "name varchar(255), primary key (id), constraint uk_group_name unique (name)){options}",
+            "create table permissions_group_user (id {id}, application_admin {boolean} not null, " +
+                    "group_admin {boolean} not null, topic_admin {boolean} not null, " +
+                    "permissions_group_id bigint not null, permissions_user_id bigint not null, primary key (id)){options}",
+            "create table permissions_topic (id {id}, date_created {timestamp}, date_updated {timestamp}, " +
+                    "description TEXT, kind integer, make_public {boolean} not null, name varchar(255), " +
+                    "permissions_group_id bigint not null, primary key (id)){options}",
+            "create table permissions_application (id {id}, date_created {timestamp}, date_updated {timestamp}, " +
+                    "description TEXT, encrypted_password varchar(255), make_public {boolean} not null, " +
+                    "name varchar(255), permissions_group_id bigint not null, primary key (id)){options}",
+            "create table permissions_topic_set (id {id}, date_created {timestamp}, date_updated {timestamp}, " +
+                    "name varchar(255), permissions_group_id bigint not null, primary key (id)){options}",
+            "create table permissions_topic_set_topic (id {id}, permissions_topic_id bigint not null, " +
+                    "permissions_topic_set_id bigint not null, primary key (id)){options}",
+            "create table permissions_action_interval (id {id}, end_date {timestamp}, name varchar(255), " +
+                    "start_date {timestamp}, permissions_group_id bigint not null, primary key (id)){options}",
+            "create table permissions_grant_duration (id {id}, duration_in_milliseconds bigint, " +
+                    "duration_metadata varchar(255), name varchar(255), permissions_group_id bigint not null, " +
+                    "primary key (id)){options}",
+            "create table permissions_application_grant (id {id}, name varchar(255), grant_duration_id bigint, " +
+                    "permissions_application_id bigint not null, permissions_group_id bigint not null, " +
+                    "primary key (id)){options}",
+            "create table permissions_application_permission (id {id}, permission_read {boolean} not null, " +
+                    "permission_write {boolean} not null, permissions_application_id bigint not null, " +
+                    "permissions_topic_id bigint not null, primary key (id)){options}",
+            "create table permissions_partition (id {id}, partition_name varchar(255), " +
+                    "r_application_permission_id bigint, w_application_permission_id bigint, primary key (id)){options}",
+            "create table permissions_action (id {id}, can_publish {boolean}, date_created {timestamp}, " +
+                    "date_updated {timestamp}, action_interval_id bigint not null, " +
+                    "application_grant_id bigint not null, primary key (id)){options}",
+            "create table permissions_action_partition (id {id}, partition_name varchar(255), action_id bigint, " +
+                    "primary key (id)){options}",
+            "create table permissions_action_topic (id {id}, permissions_action_id bigint not null, " +
+                    "permissions_topic_id bigint not null, primary key (id)){options}",
+            "create table permissions_action_permissions_topic_set (action_id bigint not null, " +
+                    "topic_sets_id bigint not null, primary key (action_id, topic_sets_id)){options}",
+            "create table refresh_token (id {id}, date_created {timestamp}, refresh_token varchar(255), " +
+                    "revoked {boolean}, username varchar(255), primary key (id)){options}",
+
+            foreignKey("fk_group_user_group", "permissions_group_user", "permissions_group_id", "permissions_group", false),
+            foreignKey("fk_group_user_user", "permissions_group_user", "permissions_user_id", "permissions_user", false),
+            foreignKey("fk_topic_group", "permissions_topic", "permissions_group_id", "permissions_group", true),
+            foreignKey("fk_application_group", "permissions_application", "permissions_group_id", "permissions_group", true),
+            foreignKey("fk_topic_set_group", "permissions_topic_set", "permissions_group_id", "permissions_group", true),
+            foreignKey("fk_topic_set_topic_topic_set", "permissions_topic_set_topic", "permissions_topic_set_id",
+                    "permissions_topic_set", false),
+            foreignKey("fk_topic_set_topic_topic", "permissions_topic_set_topic", "permissions_topic_id",
+                    "permissions_topic", false),
+            foreignKey("fk_action_interval_group", "permissions_action_interval", "permissions_group_id",
+                    "permissions_group", true),
+            foreignKey("fk_grant_duration_group", "permissions_grant_duration", "permissions_group_id",
+                    "permissions_group", true),
+            foreignKey("fk_application_grant_group", "permissions_application_grant", "permissions_group_id",
+                    "permissions_group", true),
+            foreignKey("fk_application_grant_application", "permissions_application_grant",
+                    "permissions_application_id", "permissions_application", false),
+            foreignKey("fk_application_grant_grant_duration", "permissions_application_grant", "grant_duration_id",
+                    "permissions_grant_duration", false),
+            foreignKey("fk_application_permission_application", "permissions_application_permission",
+                    "permissions_application_id", "permissions_application", false),
+            foreignKey("fk_application_permission_topic", "permissions_application_permission", "permissions_topic_id",
+                    "permissions_topic", false),
+            foreignKey("fk_partition_read_permission", "permissions_partition", "r_application_permission_id",
+                    "permissions_application_permission", true),
+            foreignKey("fk_partition_write_permission", "permissions_partition", "w_application_permission_id",
+                    "permissions_application_permission", true),
+            foreignKey("fk_action_action_interval", "permissions_action", "action_interval_id",
+                    "permissions_action_interval", false),
+            foreignKey("fk_action_application_grant", "permissions_action", "application_grant_id",
+                    "permissions_application_grant", false),
+            foreignKey("fk_action_partition_action", "permissions_action_partition", "action_id", "permissions_action", true),
+            foreignKey("fk_action_topic_action", "permissions_action_topic", "permissions_action_id",
+                    "permissions_action", false),
+            foreignKey("fk_action_topic_topic", "permissions_action_topic", "permissions_topic_id",
+                    "permissions_topic", false),
+            foreignKey("fk_action_topic_set_action", "permissions_action_permissions_topic_set", "action_id",
+                    "permissions_action", false),
+            foreignKey("fk_action_topic_set_topic_set", "permissions_action_permissions_topic_set", "topic_sets_id",
+                    "permissions_topic_set", false)
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        VendorDdl.of(context.getConnection()).execute(context.getConnection(), DDL);
+    }
+
+    // the cascades are the ones the entities declare with @OnDelete; V3 adds the rest
+    private static String foreignKey(String name, String table, String column, String referencedTable,
+                                     boolean cascade) {
+        return "alter table " + table + " add constraint " + name + " foreign key (" + column + ") references " +
+                referencedTable + " (id)" + (cascade ? " on delete cascade" : "");
+    }
+}
@@ -0,0 +1,101 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recreates every foreign key that references one of the tables below with {@code ON DELETE CASCADE}, so deleting a
+ * group, application or topic removes what depends on it in the same statement. Schemas that Hibernate created before
+ * the migrations name the constraints with generated names, so they are looked up in the database metadata rather
+ * than named here.
+ * <p>
+ * The tables a group delete reaches through are included too, which changes their direct deletes: deleting a topic
+ * set removes it from every action instead of failing. Action intervals and grant durations in use are still refused
+ * by their services, but the database no longer backs that check.
+ */
+public class V3__CascadeDeletes extends BaseJavaMigration {
+
+    private static final List<String> PARENT_TABLES = List.of(
+            "permissions_group",
+            "permissions_application",
+            "permissions_topic",
+            "permissions_topic_set",
+            "permissions_grant_duration",
+            "permissions_action_interval",
+            "permissions_application_grant",
+            "permissions_application_permission",
+            "permissions_action"
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+        String dropConstraint = metaData.getDatabaseProductName().toLowerCase().matches(".*(mysql|mariadb).*") ?
+                " DROP FOREIGN KEY " : " DROP CONSTRAINT ";
+
+        for (String parentTable : PARENT_TABLES) {
+            try (Statement statement = connection.createStatement()) {
+                for (ForeignKey foreignKey : foreignKeysReferencing(connection, metaData, parentTable)) {
+                    statement.execute("ALTER TABLE " + foreignKey.table + dropConstraint + foreignKey.name);
+                    statement.execute("ALTER TABLE " + foreignKey.table + " ADD CONSTRAINT " + foreignKey.name +
+                            " FOREIGN KEY (" + foreignKey.column + ") REFERENCES " + foreignKey.referencedTable +
+                            " (" + foreignKey.referencedColumn + ") ON DELETE CASCADE");
+                }
+            }
+        }
+    }
+
+    private static List<ForeignKey> foreignKeysReferencing(Connection connection, DatabaseMetaData metaData,
+                                                           String table) throws SQLException {
+        String identifier = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        List<ForeignKey> foreignKeys = new ArrayList<>();
+        try (ResultSet keys = metaData.getExportedKeys(connection.getCatalog(), connection.getSchema(), identifier)) {
+            while (keys.next()) {
+                if (keys.getShort("DELETE_RULE") == DatabaseMetaData.importedKeyCascade || keys.getShort("KEY_SEQ") > 1) {
+                    continue;
+                }
+                foreignKeys.add(new ForeignKey(keys.getString("FK_NAME"), keys.getString("FKTABLE_NAME"),
+                        keys.getString("FKCOLUMN_NAME"), keys.getString("PKTABLE_NAME"), keys.getString("PKCOLUMN_NAME")));
+            }
+        }
+        return foreignKeys;
+    }
+
+    private static class ForeignKey {
+        private final String name;
+        private final String table;
+        private final String column;
+        private final String referencedTable;
+        private final String referencedColumn;
+
+        ForeignKey(String name, String table, String column, String referencedTable, String referencedColumn) {
+            this.name = name;
+            this.table = table;
+            this.column = column;
+            this.referencedTable = referencedTable;
+            this.referencedColumn = referencedColumn;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.util.List;
+
+/**
+ * Creates the change log and seeds the single revision row every append locks until its transaction ends.
+ */
+public class V5__AddChangeLog extends BaseJavaMigration {
+
+    private static final List<String> DDL = List.of(
+            "create table permissions_change_log (revision bigint not null, changed_at {timestamp} not null, " +
+                    "entity_id bigint not null, entity_type varchar(255) not null, group_id bigint, " +
+                    "operation varchar(255) not null, primary key (revision)){options}",
+            "create table permissions_change_log_revision (id bigint not null, revision bigint not null, " +
+                    "primary key (id)){options}",
+            "insert into permissions_change_log_revision (id, revision) values (1, 0)"
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        VendorDdl.of(context.getConnection()).execute(context.getConnection(), DDL);
+    }
+}
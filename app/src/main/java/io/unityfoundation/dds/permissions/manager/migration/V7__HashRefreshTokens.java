@@ -0,0 +1,64 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.migration;
+
+import io.unityfoundation.dds.permissions.manager.security.RefreshTokenPersistenceImpl;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces the raw refresh tokens stored before tokens were kept by hash with their SHA-256, so they keep working
+ * after the upgrade and no raw token is left in the table. Rows that already hold a hash are left alone, and the
+ * table is walked in id order in batches, so a large table is never read or locked at once.
+ */
+public class V7__HashRefreshTokens extends BaseJavaMigration {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, refresh_token FROM refresh_token WHERE id > ? ORDER BY id");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE refresh_token SET refresh_token = ? WHERE id = ?")) {
+            select.setMaxRows(BATCH_SIZE);
+            long lastId = 0;
+            int read;
+            do {
+                read = 0;
+                select.setLong(1, lastId);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        read++;
+                        lastId = rows.getLong(1);
+                        String token = rows.getString(2);
+                        if (!HASH.matcher(token).matches()) {
+                            update.setString(1, RefreshTokenPersistenceImpl.hash(token));
+                            update.setLong(2, lastId);
+                            update.addBatch();
+                        }
+                    }
+                }
+                update.executeBatch();
+            } while (read == BATCH_SIZE);
+        }
+    }
+}
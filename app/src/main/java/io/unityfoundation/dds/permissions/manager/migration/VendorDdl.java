@@ -0,0 +1,61 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Runs DDL written with the placeholders {@code {id}}, {@code {boolean}}, {@code {timestamp}} and {@code {options}},
+ * replaced by the column types and table options Hibernate uses for the connected database, so the tables the
+ * migrations create match the ones Hibernate created before them.
+ */
+class VendorDdl {
+
+    private final String id;
+    private final String bool;
+    private final String timestamp;
+    private final String options;
+
+    private VendorDdl(String id, String bool, String timestamp, String options) {
+        this.id = id;
+        this.bool = bool;
+        this.timestamp = timestamp;
+        this.options = options;
+    }
+
+    static VendorDdl of(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
+        if (product.matches(".*(mysql|mariadb).*")) {
+            return new VendorDdl("bigint not null auto_increment", "bit", "datetime(6)", " engine=InnoDB");
+        } else if (product.contains("postgres")) {
+            return new VendorDdl("bigserial not null", "boolean", "timestamp", "");
+        }
+        return new VendorDdl("bigint generated by default as identity", "boolean", "timestamp", "");
+    }
+
+    void execute(Connection connection, List<String> statements) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql
+                        .replace("{id}", id)
+                        .replace("{boolean}", bool)
+                        .replace("{timestamp}", timestamp)
+                        .replace("{options}", options));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model;
+
+import jakarta.inject.Singleton;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Loads an association for many owners at once, so building DTOs for a page costs one query per
+ * association rather than one per row. Queries select the owner id first and take the owner ids
+ * as {@code :ownerIds}.
+ */
+@Singleton
+public class AssociationLoader {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    public AssociationLoader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    public <V> Map<Long, List<V>> load(String jpql, Collection<Long> ownerIds, Function<Object[], V> value) {
+        Map<Long, List<V>> values = new HashMap<>();
+        List<Long> ids = new ArrayList<>(ownerIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<?> rows = entityManager.createQuery(jpql)
+                    .setParameter("ownerIds", ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())))
+                    .getResultList();
+            for (Object row : rows) {
+                Object[] columns = (Object[]) row;
+                values.computeIfAbsent((Long) columns[0], id -> new ArrayList<>()).add(value.apply(columns));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A slice of a keyset-paginated listing. {@code nextCursor} is an opaque token for the following
+ * slice and is null once the listing is exhausted.
+ */
+@Introspected
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, @Nullable String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null);
+    }
+
+    public static int size(@Nullable Integer requested) {
+        if (requested == null) {
+            return MAX_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> function) {
+        return new CursorPage<>(content.stream().map(function).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Page;
+import io.micronaut.data.model.Pageable;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUser;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.util.List;
+
+/**
+ * Which groups a listing may return rows from. Non-admin users are restricted by membership, checked
+ * inside the listing query with an EXISTS on group_user ({@link #toPredicate}, or the {@code ...VisibleTo}
+ * repository queries picked by {@link #findSummaries}) instead of loading the user's group ids first.
+ */
+public class GroupVisibility {
+
+    private static final GroupVisibility ALL = new GroupVisibility(null, null, false);
+    private static final GroupVisibility NONE = new GroupVisibility(null, null, true);
+
+    private final Long groupId;
+    private final Long memberId;
+    private final boolean none;
+
+    private GroupVisibility(Long groupId, Long memberId, boolean none) {
+        this.groupId = groupId;
+        this.memberId = memberId;
+        this.none = none;
+    }
+
+    public static GroupVisibility all() {
+        return ALL;
+    }
+
+    public static GroupVisibility none() {
+        return NONE;
+    }
+
+    public static GroupVisibility group(Long groupId) {
+        return new GroupVisibility(groupId, null, false);
+    }
+
+    public static GroupVisibility memberOf(Long userId) {
+        return new GroupVisibility(null, userId, false);
+    }
+
+    public boolean isNone() {
+        return none;
+    }
+
+    @Nullable
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    @Nullable
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * One page of the repository's summaries in the visible groups, matching the filter when one is given.
+     */
+    public <S> Page<S> findSummaries(VisibleSummaries<S> repository, @Nullable String filter, Pageable pageable) {
+        if (none) {
+            return Page.empty();
+        }
+        if (memberId != null) {
+            return filter == null ?
+                    repository.findSummariesVisibleTo(memberId, pageable) :
+                    repository.findSummariesVisibleTo(filter, memberId, pageable);
+        }
+        if (groupId != null) {
+            return filter == null ?
+                    repository.findSummariesInGroups(List.of(groupId), pageable) :
+                    repository.findSummariesInGroups(filter, List.of(groupId), pageable);
+        }
+        return filter == null ? repository.findSummaries(pageable) : repository.findSummaries(filter, pageable);
+    }
+
+    /**
+     * Restriction on the given group path, or null when every group is visible.
+     */
+    @Nullable
+    public Predicate toPredicate(Path<Group> group, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (none) {
+            return cb.disjunction();
+        }
+        if (groupId != null) {
+            return cb.equal(group.get("id"), groupId);
+        }
+        if (memberId != null) {
+            Subquery<Long> membership = query.subquery(Long.class);
+            Root<GroupUser> groupUser = membership.from(GroupUser.class);
+            membership.select(groupUser.get("id")).where(
+                    cb.equal(groupUser.get("permissionsGroup"), group),
+                    cb.equal(groupUser.get("permissionsUser").get("id"), memberId));
+            return cb.exists(membership);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpStatus;
+import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import jakarta.inject.Singleton;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Seek-based pagination: each slice continues after the sort key values of the previous slice's last row
+ * instead of skipping an offset, and no total count is computed.
+ */
+@Singleton
+public class KeysetPaginator {
+
+    private static final TypeReference<List<Object>> CURSOR_TYPE = new TypeReference<>() {};
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public KeysetPaginator(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public <T> CursorPage<T> find(KeysetQuery<T> query, @Nullable String cursor, int size) {
+        if (query.getVisibility().isNone()) {
+            return CursorPage.empty();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<T> root = criteria.from(query.getEntityType());
+
+        List<Path<?>> keys = query.getSortPaths().stream().map(path -> path(root, path)).collect(Collectors.toList());
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root);
+        selections.addAll(keys);
+        criteria.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Path<Group> group = query.getGroupPath() == null ? (Path<Group>) root : (Path<Group>) path(root, query.getGroupPath());
+        Predicate visible = query.getVisibility().toPredicate(group, criteria, cb);
+        if (visible != null) {
+            predicates.add(visible);
+        }
+        for (Map.Entry<String, Object> equality : query.getEqualities().entrySet()) {
+            predicates.add(cb.equal(path(root, equality.getKey()), equality.getValue()));
+        }
+        if (query.getFilter() != null && !query.getFilterPaths().isEmpty()) {
+            String pattern = "%" + query.getFilter().toLowerCase() + "%";
+            predicates.add(cb.or(query.getFilterPaths().stream()
+                    .map(path -> cb.like(cb.lower(path(root, path).as(String.class)), pattern))
+                    .toArray(Predicate[]::new)));
+        }
+        if (cursor != null) {
+            predicates.add(after(cb, keys, decode(cursor, keys)));
+        }
+
+        criteria.where(predicates.toArray(new Predicate[0]));
+        criteria.orderBy(keys.stream().map(cb::asc).collect(Collectors.toList()));
+
+        List<Tuple> rows = entityManager.createQuery(criteria)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Tuple last = rows.get(size - 1);
+            List<Object> values = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                values.add(last.get(i + 1));
+            }
+            nextCursor = encode(values);
+        }
+
+        List<T> content = rows.stream()
+                .map(row -> query.getEntityType().cast(row.get(0)))
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    private static Path<?> path(Root<?> root, String dottedPath) {
+        Path<?> path = root;
+        for (String attribute : dottedPath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    // (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...
+    private static Predicate after(CriteriaBuilder cb, List<Path<?>> keys, List<Object> values) {
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                conjunction.add(cb.equal(keys.get(j), values.get(j)));
+            }
+            conjunction.add(greaterThan(cb, keys.get(i), values.get(i)));
+            alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate greaterThan(CriteriaBuilder cb, Path<?> key, Object value) {
+        return cb.greaterThan((Expression) key, (Comparable) value);
+    }
+
+    private String encode(List<Object> values) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Object> decode(String cursor, List<Path<?>> keys) {
+        List<Object> raw;
+        try {
+            raw = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CURSOR_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw invalidCursor();
+        }
+        if (raw == null || raw.size() != keys.size()) {
+            throw invalidCursor();
+        }
+
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            values.add(convert(raw.get(i), keys.get(i).getJavaType()));
+        }
+        return values;
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value instanceof Number && (type == Long.class || type == long.class)) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Number && (type == Integer.class || type == int.class)) {
+            return ((Number) value).intValue();
+        }
+        if (value != null && type.isInstance(value)) {
+            return value;
+        }
+        throw invalidCursor();
+    }
+
+    private static DPMException invalidCursor() {
+        return new DPMException(ResponseStatusCodes.INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,115 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes a listing for {@link KeysetPaginator}: the entity, its sort keys and the restrictions applied.
+ * Properties are given as dotted paths, e.g. {@code permissionsGroup.name}.
+ */
+public class KeysetQuery<T> {
+
+    private final Class<T> entityType;
+    private final List<String> sortPaths = new ArrayList<>();
+    private final Map<String, Object> equalities = new LinkedHashMap<>();
+    private String groupPath;
+    private GroupVisibility visibility = GroupVisibility.all();
+    private String filter;
+    private List<String> filterPaths = List.of();
+
+    private KeysetQuery(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <T> KeysetQuery<T> of(Class<T> entityType) {
+        return new KeysetQuery<>(entityType);
+    }
+
+    /**
+     * Sort keys, ascending. The entity id is always appended so the order is total.
+     */
+    public KeysetQuery<T> orderBy(String... paths) {
+        sortPaths.addAll(Arrays.asList(paths));
+        return this;
+    }
+
+    /**
+     * Restricts results to the visible groups. {@code groupPath} leads to the row's group; null when the
+     * listed entity is the group itself.
+     */
+    public KeysetQuery<T> visibleTo(@Nullable String groupPath, GroupVisibility visibility) {
+        this.groupPath = groupPath;
+        this.visibility = visibility;
+        return this;
+    }
+
+    /**
+     * Adds an equality restriction. Null values are ignored.
+     */
+    public KeysetQuery<T> where(String path, @Nullable Object value) {
+        if (value != null) {
+            equalities.put(path, value);
+        }
+        return this;
+    }
+
+    /**
+     * Case-insensitive contains match on any of the given paths. A null filter is ignored.
+     */
+    public KeysetQuery<T> filter(@Nullable String filter, String... paths) {
+        this.filter = filter;
+        this.filterPaths = Arrays.asList(paths);
+        return this;
+    }
+
+    Class<T> getEntityType() {
+        return entityType;
+    }
+
+    List<String> getSortPaths() {
+        List<String> paths = new ArrayList<>(sortPaths);
+        if (!paths.contains("id")) {
+            paths.add("id");
+        }
+        return paths;
+    }
+
+    Map<String, Object> getEqualities() {
+        return Collections.unmodifiableMap(equalities);
+    }
+
+    String getGroupPath() {
+        return groupPath;
+    }
+
+    GroupVisibility getVisibility() {
+        return visibility;
+    }
+
+    String getFilter() {
+        return filter;
+    }
+
+    List<String> getFilterPaths() {
+        return filterPaths;
+    }
+}
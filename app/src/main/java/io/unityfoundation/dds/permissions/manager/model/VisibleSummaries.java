@@ -0,0 +1,40 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model;
+
+import io.micronaut.data.model.Page;
+import io.micronaut.data.model.Pageable;
+
+import java.util.List;
+
+/**
+ * The summary listing queries a repository declares for each {@link GroupVisibility}, with and without a text filter.
+ * Repositories implement them with {@code @Query}; services list through {@link GroupVisibility#findSummaries}.
+ *
+ * @param <S> the summary projection
+ */
+public interface VisibleSummaries<S> {
+
+    Page<S> findSummaries(String filter, Pageable pageable);
+
+    Page<S> findSummaries(Pageable pageable);
+
+    Page<S> findSummariesInGroups(String filter, List<Long> groupIds, Pageable pageable);
+
+    Page<S> findSummariesInGroups(List<Long> groupIds, Pageable pageable);
+
+    Page<S> findSummariesVisibleTo(String filter, Long userId, Pageable pageable);
+
+    Page<S> findSummariesVisibleTo(Long userId, Pageable pageable);
+}
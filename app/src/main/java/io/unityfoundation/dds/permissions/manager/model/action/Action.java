@@ -49,10 +49,10 @@ public class Action {
     @ManyToOne(optional = false, fetch = FetchType.EAGER)
     private ActionInterval actionInterval;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     private Set<TopicSet> topicSets = new HashSet<>();
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true, mappedBy = "action")
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true, mappedBy = "action")
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Set<ActionPartition> partitions = new HashSet<>();
 
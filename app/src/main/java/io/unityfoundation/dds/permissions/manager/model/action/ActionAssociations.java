@@ -0,0 +1,58 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.action;
+
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import io.unityfoundation.dds.permissions.manager.model.topicset.TopicSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Topics, topic sets and partitions of a batch of actions, each association loaded with one query.
+ * See {@link ActionService#loadAssociations}.
+ */
+public class ActionAssociations {
+
+    private final Map<Long, List<Topic>> topics;
+    private final Map<Long, List<TopicSet>> topicSets;
+    private final Map<Long, List<String>> partitions;
+
+    ActionAssociations(Map<Long, List<Topic>> topics, Map<Long, List<TopicSet>> topicSets, Map<Long, List<String>> partitions) {
+        this.topics = topics;
+        this.topicSets = topicSets;
+        this.partitions = partitions;
+    }
+
+    public List<Topic> getTopics(Long actionId) {
+        return topics.getOrDefault(actionId, List.of());
+    }
+
+    public List<TopicSet> getTopicSets(Long actionId) {
+        return topicSets.getOrDefault(actionId, List.of());
+    }
+
+    public Set<Long> getAllTopicSetIds() {
+        return topicSets.values().stream()
+                .flatMap(List::stream)
+                .map(TopicSet::getId)
+                .collect(Collectors.toSet());
+    }
+
+    public Set<String> getPartitions(Long actionId) {
+        return Set.copyOf(partitions.getOrDefault(actionId, List.of()));
+    }
+}
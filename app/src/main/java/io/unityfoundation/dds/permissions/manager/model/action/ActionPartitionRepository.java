@@ -21,4 +21,5 @@ import java.util.List;
 @Repository
 public interface ActionPartitionRepository extends PageableRepository<ActionPartition, Long> {
     List<ActionPartition> findAllByActionId(Long actionId);
+    void deleteByActionId(Long actionId);
 }
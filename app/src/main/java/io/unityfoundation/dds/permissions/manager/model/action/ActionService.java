@@ -13,22 +13,32 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.action;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.AssociationLoader;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
 import io.unityfoundation.dds.permissions.manager.model.action.dto.ActionDTO;
 import io.unityfoundation.dds.permissions.manager.model.action.dto.CreateActionDTO;
 import io.unityfoundation.dds.permissions.manager.model.action.dto.UpdateActionDTO;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.ActionInterval;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.ActionIntervalRepository;
-import io.unityfoundation.dds.permissions.manager.model.actiontopic.ActionTopic;
 import io.unityfoundation.dds.permissions.manager.model.actiontopic.ActionTopicRepository;
+import io.unityfoundation.dds.permissions.manager.model.actiontopic.ActionTopicWriter;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrant;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrantRepository;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
 import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
@@ -39,6 +49,8 @@ import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
 import jakarta.inject.Singleton;
 
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import javax.transaction.Transactional;
 import javax.validation.constraints.NotNull;
 import java.util.*;
@@ -57,8 +69,12 @@ public class ActionService {
     private final ActionTopicRepository actionTopicRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
+    private final KeysetPaginator keysetPaginator;
+    private final ActionTopicWriter actionTopicWriter;
+    private final AssociationLoader associationLoader;
+    private final ChangeLog changeLog;
 
-    public ActionService(ActionRepository actionRepository, ApplicationGrantRepository applicationGrantRepository, ActionIntervalRepository actionIntervalRepository, TopicRepository topicRepository, TopicSetRepository topicSetRepository, ActionPartitionRepository actionPartitionRepository, GroupRepository groupRepository, ActionTopicRepository actionTopicRepository, SecurityUtil securityUtil, GroupUserService groupUserService) {
+    public ActionService(ActionRepository actionRepository, ApplicationGrantRepository applicationGrantRepository, ActionIntervalRepository actionIntervalRepository, TopicRepository topicRepository, TopicSetRepository topicSetRepository, ActionPartitionRepository actionPartitionRepository, GroupRepository groupRepository, ActionTopicRepository actionTopicRepository, SecurityUtil securityUtil, GroupUserService groupUserService, KeysetPaginator keysetPaginator, ActionTopicWriter actionTopicWriter, AssociationLoader associationLoader, ChangeLog changeLog) {
         this.actionRepository = actionRepository;
         this.applicationGrantRepository = applicationGrantRepository;
         this.actionIntervalRepository = actionIntervalRepository;
@@ -68,117 +84,56 @@ public class ActionService {
         this.actionTopicRepository = actionTopicRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
+        this.keysetPaginator = keysetPaginator;
+        this.actionTopicWriter = actionTopicWriter;
+        this.associationLoader = associationLoader;
+        this.changeLog = changeLog;
     }
 
+    @ReadOnly
     public Page<ActionDTO> findAll(Pageable pageable, String filter, Long grantId, PubSubEnum pubSubEnum) {
         return getGrantDurationDTOPage(getActionPage(pageable, filter, grantId, pubSubEnum));
     }
 
-    private Page<Action> getActionPage(Pageable pageable, String filter, Long grantId, PubSubEnum pubSubEnum) {
-
-        // todo: there's a lot of conditionals here. Can be improved with a table-driven approach
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (filter == null) {
-                if (grantId == null) {
-                    if (pubSubEnum == null) {
-                        return actionRepository.findAll(pageable);
-                    } else {
-                        if (pubSubEnum.equals(PubSubEnum.PUBLISH)) {
-                            return actionRepository.findAllByCanPublishTrue(pageable);
-                        } else {
-                            return actionRepository.findAllByCanPublishFalse(pageable);
-                        }
-                    }
-                }
-
-                if (pubSubEnum == null) {
-                    return actionRepository.findAllByApplicationGrantIdIn(List.of(grantId), pageable);
-                } else {
-                    if (pubSubEnum.equals(PubSubEnum.PUBLISH)) {
-                        return actionRepository.findAllByCanPublishTrueAndApplicationGrantIdIn(List.of(grantId), pageable);
-                    } else {
-                        return actionRepository.findAllByCanPublishFalseAndApplicationGrantIdIn(List.of(grantId), pageable);
-                    }
-                }
-            }
-
-            if (grantId == null) {
-                if (pubSubEnum == null) {
-                    return actionRepository.findAllByApplicationGrantNameContainsIgnoreCase(filter, pageable);
-                } else {
-                    if (pubSubEnum.equals(PubSubEnum.PUBLISH)) {
-                        return actionRepository.findAllByCanPublishTrueAndApplicationGrantNameContainsIgnoreCase(filter, pageable);
-                    } else {
-                        return actionRepository.findAllByCanPublishFalseAndApplicationGrantNameContainsIgnoreCase(filter, pageable);
-                    }
-                }
-            }
-
-            if (pubSubEnum == null) {
-                all = actionRepository.findIdByApplicationGrantNameContainsIgnoreCase(filter);
-            } else {
-                if (pubSubEnum.equals(PubSubEnum.PUBLISH)) {
-                    all = actionRepository.findIdByCanPublishTrueAndApplicationGrantNameContainsIgnoreCase(filter);
-                } else {
-                    all = actionRepository.findIdByCanPublishFalseAndApplicationGrantNameContainsIgnoreCase(filter);
-                }
-            }
-
-            return actionRepository.findAllByIdInAndApplicationGrantIdIn(all, List.of(grantId), pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-            if (groups.isEmpty()) {
-                return Page.empty();
-            }
+    @ReadOnly
+    public CursorPage<ActionDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long grantId, @Nullable PubSubEnum pubSubEnum) {
+        KeysetQuery<Action> query = KeysetQuery.of(Action.class)
+                .visibleTo("applicationGrant.permissionsGroup", groupUserService.getVisibility(null))
+                .where("applicationGrant.id", grantId)
+                .where("canPublish", pubSubEnum == null ? null : pubSubEnum.equals(PubSubEnum.PUBLISH))
+                .filter(filter, "applicationGrant.name");
+        CursorPage<Action> page = keysetPaginator.find(query, cursor, size);
+        return new CursorPage<>(createDTOs(page.getContent()), page.getNextCursor());
+    }
 
-            List<Long> userAccessibleGrants = applicationGrantRepository.findIdByPermissionsGroupIdIn(groups);
-            if (userAccessibleGrants.isEmpty()) {
-                return Page.empty();
-            }
+    private Page<Action> getActionPage(Pageable pageable, String filter, Long grantId, PubSubEnum pubSubEnum) {
+        GroupVisibility visibility = groupUserService.getVisibility(null);
+        if (visibility.isNone()) {
+            return Page.empty();
+        }
 
-            if (groups.isEmpty() || (grantId != null && !userAccessibleGrants.contains(grantId))) {
-                return Page.empty();
+        return actionRepository.findAll((root, query, cb) -> {
+            Path<ApplicationGrant> applicationGrant = root.get("applicationGrant");
+            List<Predicate> predicates = new ArrayList<>();
+            Predicate visible = visibility.toPredicate(applicationGrant.get("permissionsGroup"), query, cb);
+            if (visible != null) {
+                predicates.add(visible);
             }
-
             if (grantId != null) {
-                // implies grantId exists in member's accessible grants
-                userAccessibleGrants = List.of(grantId);
-            }
-
-            if (filter == null) {
-                if (pubSubEnum == null) {
-                    return actionRepository.findAllByApplicationGrantIdIn(userAccessibleGrants, pageable);
-                } else {
-                    if (pubSubEnum.equals(PubSubEnum.PUBLISH)) {
-                        return actionRepository.findAllByCanPublishTrueAndApplicationGrantIdIn(userAccessibleGrants, pageable);
-                    } else {
-                        return actionRepository.findAllByCanPublishFalseAndApplicationGrantIdIn(userAccessibleGrants, pageable);
-                    }
-                }
+                predicates.add(cb.equal(applicationGrant.get("id"), grantId));
             }
-
-            if (pubSubEnum == null) {
-                all = actionRepository.findIdByApplicationGrantNameContainsIgnoreCase(filter);
-            } else {
-                if (pubSubEnum.equals(PubSubEnum.PUBLISH)) {
-                    all = actionRepository.findIdByCanPublishTrueAndApplicationGrantNameContainsIgnoreCase(filter);
-                } else {
-                    all = actionRepository.findIdByCanPublishFalseAndApplicationGrantNameContainsIgnoreCase(filter);
-                }
+            if (pubSubEnum != null) {
+                predicates.add(cb.equal(root.get("canPublish"), pubSubEnum.equals(PubSubEnum.PUBLISH)));
             }
-            if (all.isEmpty()) {
-                return Page.empty();
+            if (filter != null) {
+                predicates.add(cb.like(cb.lower(applicationGrant.get("name")), "%" + filter.toLowerCase() + "%"));
             }
-
-            return actionRepository.findAllByIdInAndApplicationGrantIdIn(all, userAccessibleGrants, pageable);
-        }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        }, pageable);
     }
 
     private Page<ActionDTO> getGrantDurationDTOPage(Page<Action> page) {
-        return page.map(this::createDTO);
+        return Page.of(createDTOs(page.getContent()), page.getPageable(), page.getTotalSize());
     }
 
     public ActionDTO findById(Long actionId) {
@@ -212,22 +167,27 @@ public class ActionService {
         }
 
         Set<TopicSet> topicSets = validateTopicSetsExistenceAndInSameGroupAsGrant(applicationGrant.getPermissionsGroup().getId(), createActionDTO.getTopicSetIds());
-        Set<Topic> topics = validateTopicsExistenceAndInSameGroupAsGrant(applicationGrant.getPermissionsGroup().getId(), createActionDTO.getTopicIds());
+        Set<Long> topicIds = validateTopicsExistenceAndInSameGroupAsGrant(applicationGrant.getPermissionsGroup().getId(), createActionDTO.getTopicIds());
 
         Action newAction = new Action(applicationGrant, actionIntervalOptional.get(), createActionDTO.getPublishAction());
         newAction.setTopicSets(topicSets);
 
-        Action updateAction = persistNewAction(createActionDTO.getPartitions(), topics, newAction);
+        Action updateAction = persistNewAction(createActionDTO.getPartitions(), topicIds, newAction);
         return HttpResponse.ok(createDTO(updateAction));
     }
 
     @Transactional
-    public Action persistNewAction(Set<String> partitions, Set<Topic> topics, Action newAction) {
+    public Action persistNewAction(Set<String> partitions, Set<Long> topicIds, Action newAction) {
+        // partitions cascade from the action, so the action and its partitions are written by one save
+        if (partitions != null) {
+            newAction.setPartitions(partitions.stream()
+                    .map(partition -> new ActionPartition(newAction, partition))
+                    .collect(Collectors.toSet()));
+        }
         Action savedAction = actionRepository.save(newAction);
-        addPartitionsToAction(savedAction, partitions);
-        addTopicsToAction(savedAction, topics);
-
-        return actionRepository.update(savedAction);
+        actionTopicWriter.insert(savedAction.getId(), topicIds);
+        changeLog.append(ChangeLogEntityType.ACTION, savedAction.getId(), savedAction.getApplicationGrant().getPermissionsGroup().getId(), ChangeLogOperation.CREATE);
+        return savedAction;
     }
 
     public MutableHttpResponse<?> update(@NotNull Long actionId, UpdateActionDTO updateActionDTO) {
@@ -245,25 +205,26 @@ public class ActionService {
         }
 
         Set<TopicSet> topicSets = validateTopicSetsExistenceAndInSameGroupAsGrant(applicationGrant.getPermissionsGroup().getId(), updateActionDTO.getTopicSetIds());
-        Set<Topic> topics = validateTopicsExistenceAndInSameGroupAsGrant(applicationGrant.getPermissionsGroup().getId(), updateActionDTO.getTopicIds());
+        Set<Long> topicIds = validateTopicsExistenceAndInSameGroupAsGrant(applicationGrant.getPermissionsGroup().getId(), updateActionDTO.getTopicIds());
 
         Action action = actionOptional.get();
         action.setActionInterval(actionIntervalOptional.get());
         action.setTopicSets(topicSets);
 
-        Action persistedAction = persistExistingAction(updateActionDTO, topics, action, actionOptional);
+        Action persistedAction = persistExistingAction(updateActionDTO, topicIds, action, actionOptional);
         return HttpResponse.ok(createDTO(persistedAction));
     }
 
     @Transactional
-    public Action persistExistingAction(UpdateActionDTO updateActionDTO, Set<Topic> topics, Action action, Optional<Action> actionOptional) {
-        actionTopicRepository.deleteByPermissionsActionId(actionOptional.get().getId());
-        addTopicsToAction(action, topics);
+    public Action persistExistingAction(UpdateActionDTO updateActionDTO, Set<Long> topicIds, Action action, Optional<Action> actionOptional) {
+        actionTopicWriter.replace(actionOptional.get().getId(), topicIds);
 
-        actionPartitionRepository.deleteAll(actionOptional.get().getPartitions());
+        actionPartitionRepository.deleteByActionId(actionOptional.get().getId());
         addPartitionsToAction(action, updateActionDTO.getPartitions());
 
-        return actionRepository.update(action);
+        Action updatedAction = actionRepository.update(action);
+        changeLog.append(ChangeLogEntityType.ACTION, updatedAction.getId(), updatedAction.getApplicationGrant().getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
+        return updatedAction;
     }
 
     public HttpResponse deleteById(Long actionId) {
@@ -280,13 +241,31 @@ public class ActionService {
     public void deleteAction(Action action) {
         actionTopicRepository.deleteByPermissionsActionId(action.getId());
         actionRepository.delete(action);
+        changeLog.append(ChangeLogEntityType.ACTION, action.getId(), action.getApplicationGrant().getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
     }
 
     public ActionDTO createDTO(Action action) {
-        List<Topic> topicList =  actionTopicRepository.findPermissionsTopicByPermissionsAction(action);
-        Set<Map> topics = topicList.stream().map((Function<Topic, Map>) topic -> Map.of("id", topic.getId(), "name", topic.getName())).collect(Collectors.toSet());
-        Set<Map> topicSets = action.getTopicSets().stream().map((Function<TopicSet, Map>) topicSet -> Map.of("id", topicSet.getId(), "name", topicSet.getName())).collect(Collectors.toSet());
-        Set<String> partitions = action.getPartitions().stream().map(ActionPartition::getPartitionName).collect(Collectors.toSet());
+        return createDTOs(List.of(action)).get(0);
+    }
+
+    public List<ActionDTO> createDTOs(List<Action> actions) {
+        ActionAssociations associations = loadAssociations(actions.stream().map(Action::getId).collect(Collectors.toList()));
+        return actions.stream().map(action -> createDTO(action, associations)).collect(Collectors.toList());
+    }
+
+    public ActionAssociations loadAssociations(Collection<Long> actionIds) {
+        Map<Long, List<Topic>> topics = associationLoader.load("SELECT at.permissionsAction.id, at.permissionsTopic FROM ActionTopic at " +
+                "WHERE at.permissionsAction.id IN (:ownerIds)", actionIds, row -> (Topic) row[1]);
+        Map<Long, List<TopicSet>> topicSets = associationLoader.load("SELECT a.id, ts FROM Action a JOIN a.topicSets ts " +
+                "WHERE a.id IN (:ownerIds)", actionIds, row -> (TopicSet) row[1]);
+        Map<Long, List<String>> partitions = associationLoader.load("SELECT p.action.id, p.partitionName FROM ActionPartition p " +
+                "WHERE p.action.id IN (:ownerIds)", actionIds, row -> (String) row[1]);
+        return new ActionAssociations(topics, topicSets, partitions);
+    }
+
+    private ActionDTO createDTO(Action action, ActionAssociations associations) {
+        Set<Map> topics = associations.getTopics(action.getId()).stream().map((Function<Topic, Map>) topic -> Map.of("id", topic.getId(), "name", topic.getName())).collect(Collectors.toSet());
+        Set<Map> topicSets = associations.getTopicSets(action.getId()).stream().map((Function<TopicSet, Map>) topicSet -> Map.of("id", topicSet.getId(), "name", topicSet.getName())).collect(Collectors.toSet());
         return new ActionDTO(
                 action.getId(),
                 action.getApplicationGrant().getId(),
@@ -295,7 +274,7 @@ public class ActionService {
                 action.getCanPublish(),
                 topics,
                 topicSets,
-                partitions,
+                associations.getPartitions(action.getId()),
                 action.getDateCreated(),
                 action.getDateUpdated()
                 );
@@ -303,42 +282,39 @@ public class ActionService {
 
     private void addPartitionsToAction(Action action, Set<String> partitions) {
         if (partitions != null) {
-            action.setPartitions(partitions.stream()
-                    .map(p -> actionPartitionRepository.save(new ActionPartition(action, p)))
-                    .collect(Collectors.toSet()));
+            Set<ActionPartition> actionPartitions = partitions.stream()
+                    .map(p -> new ActionPartition(action, p))
+                    .collect(Collectors.toSet());
+            actionPartitionRepository.saveAll(actionPartitions);
+            action.setPartitions(actionPartitions);
         }
     }
 
-    private void addTopicsToAction(Action action, Set<Topic> topics) {
-        if (topics != null) {
-            topics.forEach(topic -> {
-                actionTopicRepository.save(new ActionTopic(action, topic));
-            });
+    // one query per entity type, however many ids the action references
+    private Set<Long> validateTopicsExistenceAndInSameGroupAsGrant(Long groupId, Set<Long> topicIds) {
+        if (topicIds == null || topicIds.isEmpty()) {
+            return Set.of();
         }
-    }
 
-    private Set<Topic> validateTopicsExistenceAndInSameGroupAsGrant(Long groupId, Set<Long> topicIds) {
-        Set<Optional<Topic>> optionalTopics = topicIds.stream()
-                .map(id -> topicRepository.findByIdAndPermissionsGroupId(id, groupId))
-                .collect(Collectors.toSet());
-
-        if (optionalTopics.stream().anyMatch(Optional::isEmpty)) {
+        Set<Long> found = new HashSet<>(topicRepository.findIdByIdInAndPermissionsGroupId(topicIds, groupId));
+        if (!found.containsAll(topicIds)) {
             throw new DPMException(ResponseStatusCodes.A_PROVIDED_TOPIC_WAS_NOT_FOUND_OR_DOES_NOT_BELONG_TO_SAME_GROUP, HttpStatus.NOT_FOUND);
         }
 
-        return optionalTopics.stream().map(Optional::get).collect(Collectors.toSet());
+        return found;
     }
 
     private Set<TopicSet> validateTopicSetsExistenceAndInSameGroupAsGrant(Long groupId, Set<Long> topicSetIds) {
-        Set<Optional<TopicSet>> optionalTopicSets = topicSetIds.stream()
-                .map(id -> topicSetRepository.findByIdAndPermissionsGroupId(id, groupId))
-                .collect(Collectors.toSet());
+        if (topicSetIds == null || topicSetIds.isEmpty()) {
+            return new HashSet<>();
+        }
 
-        if (optionalTopicSets.stream().anyMatch(Optional::isEmpty)) {
+        Set<TopicSet> found = new HashSet<>(topicSetRepository.findAllByIdInAndPermissionsGroupId(topicSetIds, groupId));
+        if (found.size() != topicSetIds.size()) {
             throw new DPMException(ResponseStatusCodes.A_PROVIDED_TOPIC_SET_WAS_NOT_FOUND_OR_DOES_NOT_BELONG_TO_SAME_GROUP, HttpStatus.NOT_FOUND);
         }
 
-        return optionalTopicSets.stream().map(Optional::get).collect(Collectors.toSet());
+        return found;
     }
 
     private void checkExistenceAndAdminAuthorization(Optional<Action> actionOptional) {
@@ -367,8 +343,11 @@ public class ActionService {
         }
     }
 
-    public List<Action> getAllByGrantId(Long applicationGrantId) {
-        return actionRepository.findAllByApplicationGrantId(applicationGrantId);
+    public List<Action> getAllByGrantIds(List<Long> applicationGrantIds) {
+        if (applicationGrantIds.isEmpty()) {
+            return List.of();
+        }
+        return actionRepository.findAllByApplicationGrantIdIn(applicationGrantIds);
     }
 
     @Transactional
@@ -376,5 +355,9 @@ public class ActionService {
         List<Action> allActionsByGrantId = actionRepository.findAllByApplicationGrantId(grantId);
         actionTopicRepository.deleteByPermissionsActionIdIn(allActionsByGrantId.stream().map(Action::getId).collect(Collectors.toList()));
         actionRepository.deleteAll(allActionsByGrantId);
+        if (!allActionsByGrantId.isEmpty()) {
+            changeLog.appendAll(ChangeLogEntityType.ACTION, allActionsByGrantId.stream().map(Action::getId).collect(Collectors.toList()),
+                    allActionsByGrantId.get(0).getApplicationGrant().getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
+        }
     }
 }
\ No newline at end of file
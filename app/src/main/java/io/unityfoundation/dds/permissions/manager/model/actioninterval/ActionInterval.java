@@ -17,6 +17,8 @@ package io.unityfoundation.dds.permissions.manager.model.actioninterval;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -26,6 +28,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "permissions_action_interval")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ActionInterval {
 
     @Id
@@ -13,26 +13,66 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.actioninterval;
 
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
+import io.unityfoundation.dds.permissions.manager.model.VisibleSummaries;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ActionIntervalRepository extends PageableRepository<ActionInterval, Long> {
-    Page<ActionInterval> findAllByPermissionsGroupIdIn(List<Long> groupIds, Pageable pageable);
+public interface ActionIntervalRepository extends PageableRepository<ActionInterval, Long>, VisibleSummaries<ActionIntervalSummary> {
 
-    Page<ActionInterval> findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName, Pageable pageable);
+    Optional<ActionInterval> findByNameAndPermissionsGroup(String name, Group group);
 
-    List<Long> findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName);
+    Optional<ActionInterval> findByIdAndPermissionsGroupId(Long actionIntervalId, Long groupId);
 
-    Page<ActionInterval> findAllByIdInAndPermissionsGroupIdIn(List<Long> actionIntervalIds, List<Long> groupIds, Pageable pageable);
+    String SUMMARY_SELECT = "SELECT actionInterval_.id AS id, " +
+            "actionInterval_.name AS name, " +
+            "actionInterval_.permissionsGroup.id AS groupId, " +
+            "actionInterval_.permissionsGroup.name AS groupName, " +
+            "actionInterval_.startDate AS startDate, " +
+            "actionInterval_.endDate AS endDate, " +
+            "(SELECT COUNT(a.id) FROM Action a WHERE a.actionInterval.id = actionInterval_.id) AS actionCount " +
+            "FROM ActionInterval actionInterval_ ";
 
-    Optional<ActionInterval> findByNameAndPermissionsGroup(String name, Group group);
+    String SUMMARY_COUNT = "SELECT COUNT(actionInterval_) FROM ActionInterval actionInterval_ ";
 
-    Optional<ActionInterval> findByIdAndPermissionsGroupId(Long actionIntervalId, Long groupId);
-}
\ No newline at end of file
+    String IN_GROUPS = "WHERE actionInterval_.permissionsGroup.id IN (:groupIds) ";
+
+    String VISIBLE_TO_USER = "WHERE EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = actionInterval_.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId) ";
+
+    String SUMMARY_FILTER = "(LOWER(actionInterval_.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(actionInterval_.permissionsGroup.name) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SUMMARY_FILTER, countQuery = SUMMARY_COUNT + "WHERE " + SUMMARY_FILTER)
+    @Override
+    Page<ActionIntervalSummary> findSummaries(String filter, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT, countQuery = SUMMARY_COUNT)
+    @Override
+    Page<ActionIntervalSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + IN_GROUPS + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<ActionIntervalSummary> findSummariesInGroups(String filter, List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS, countQuery = SUMMARY_COUNT + IN_GROUPS)
+    @Override
+    Page<ActionIntervalSummary> findSummariesInGroups(List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<ActionIntervalSummary> findSummariesVisibleTo(String filter, Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER, countQuery = SUMMARY_COUNT + VISIBLE_TO_USER)
+    @Override
+    Page<ActionIntervalSummary> findSummariesVisibleTo(Long userId, Pageable pageable);
+}
@@ -13,16 +13,25 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.actioninterval;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
 import io.unityfoundation.dds.permissions.manager.model.action.ActionRepository;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.dto.CreateActionIntervalDTO;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.dto.ActionIntervalDTO;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
@@ -30,6 +39,7 @@ import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
 import jakarta.inject.Singleton;
 
+import javax.transaction.Transactional;
 import javax.validation.constraints.NotNull;
 import java.util.List;
 import java.util.Objects;
@@ -43,69 +53,37 @@ public class ActionIntervalService {
     private final ActionRepository actionRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
+    private final KeysetPaginator keysetPaginator;
+    private final ChangeLog changeLog;
 
-    public ActionIntervalService(ActionIntervalRepository actionIntervalRepository, GroupRepository groupRepository, ActionRepository actionRepository, SecurityUtil securityUtil, GroupUserService groupUserService) {
+    public ActionIntervalService(ActionIntervalRepository actionIntervalRepository, GroupRepository groupRepository, ActionRepository actionRepository, SecurityUtil securityUtil, GroupUserService groupUserService, KeysetPaginator keysetPaginator, ChangeLog changeLog) {
         this.actionIntervalRepository = actionIntervalRepository;
         this.groupRepository = groupRepository;
         this.actionRepository = actionRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
+        this.keysetPaginator = keysetPaginator;
+        this.changeLog = changeLog;
     }
 
+    @ReadOnly
     public Page<ActionIntervalDTO> findAll(Pageable pageable, String filter, Long groupId) {
-        return getActionIntervalDTOPage(getActionIntervalPage(pageable, filter, groupId));
-    }
-
-    private Page<ActionInterval> getActionIntervalPage(Pageable pageable, String filter, Long groupId) {
-
-        if(!pageable.isSorted()) {
+        if (!pageable.isSorted()) {
             pageable = pageable.order("name").order("permissionsGroup.name");
         }
 
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (filter == null) {
-                if (groupId == null) {
-                    return actionIntervalRepository.findAll(pageable);
-                }
-                return actionIntervalRepository.findAllByPermissionsGroupIdIn(List.of(groupId), pageable);
-            }
-
-            if (groupId == null) {
-                return actionIntervalRepository.findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, pageable);
-            }
-
-            all = actionIntervalRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-
-            return actionIntervalRepository.findAllByIdInAndPermissionsGroupIdIn(all, List.of(groupId), pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty() || (groupId != null && !groups.contains(groupId))) {
-                return Page.empty();
-            }
-
-            if (groupId != null) {
-                // implies groupId exists in member's groups
-                groups = List.of(groupId);
-            }
-
-            if (filter == null) {
-                return actionIntervalRepository.findAllByPermissionsGroupIdIn(groups, pageable);
-            }
-
-            all = actionIntervalRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-            if (all.isEmpty()) {
-                return Page.empty();
-            }
-
-            return actionIntervalRepository.findAllByIdInAndPermissionsGroupIdIn(all, groups, pageable);
-        }
+        GroupVisibility visibility = groupUserService.getVisibility(groupId);
+        Page<ActionIntervalSummary> page = visibility.findSummaries(actionIntervalRepository, filter, pageable);
+        return page.map(this::createDTO);
     }
 
-    private Page<ActionIntervalDTO> getActionIntervalDTOPage(Page<ActionInterval> page) {
-        return page.map(this::createDTO);
+    @ReadOnly
+    public CursorPage<ActionIntervalDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long groupId) {
+        KeysetQuery<ActionInterval> query = KeysetQuery.of(ActionInterval.class)
+                .orderBy("name", "permissionsGroup.name")
+                .visibleTo("permissionsGroup", groupUserService.getVisibility(groupId))
+                .filter(filter, "name", "permissionsGroup.name");
+        return keysetPaginator.find(query, cursor, size).map(this::createDTO);
     }
 
     public ActionIntervalDTO findById(Long actionIntervalId) {
@@ -116,6 +94,7 @@ public class ActionIntervalService {
         return createDTO(actionIntervalOptional.get());
     }
 
+    @Transactional
     public MutableHttpResponse<?> create(CreateActionIntervalDTO actionIntervalDTO) {
 
         Optional<Group> groupOptional = groupRepository.findById(actionIntervalDTO.getGroupId());
@@ -143,10 +122,14 @@ public class ActionIntervalService {
         newActionInterval.setStartDate(actionIntervalDTO.getStartDate());
         newActionInterval.setEndDate(actionIntervalDTO.getEndDate());
 
-        ActionIntervalDTO responseTopicDTO = createDTO(actionIntervalRepository.save(newActionInterval));
+        ActionInterval savedActionInterval = actionIntervalRepository.save(newActionInterval);
+        changeLog.append(ChangeLogEntityType.ACTION_INTERVAL, savedActionInterval.getId(), groupOptional.get().getId(), ChangeLogOperation.CREATE);
+
+        ActionIntervalDTO responseTopicDTO = createDTO(savedActionInterval);
         return HttpResponse.ok(responseTopicDTO);
     }
 
+    @Transactional
     public MutableHttpResponse<?> update(@NotNull Long topicSetId, ActionIntervalDTO actionIntervalDTO) {
         Optional<Group> groupOptional = groupRepository.findById(actionIntervalDTO.getGroupId());
 
@@ -174,9 +157,11 @@ public class ActionIntervalService {
         actionInterval.setEndDate(actionIntervalDTO.getEndDate());
 
         ActionIntervalDTO dto = createDTO(actionIntervalRepository.update(actionInterval));
+        changeLog.append(ChangeLogEntityType.ACTION_INTERVAL, topicSetId, actionInterval.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
         return HttpResponse.ok(dto);
     }
 
+    @Transactional
     public HttpResponse deleteById(Long actionIntervalId) {
 
         Optional<ActionInterval> actionIntervalOptional = actionIntervalRepository.findById(actionIntervalId);
@@ -188,6 +173,7 @@ public class ActionIntervalService {
         }
 
         actionIntervalRepository.delete(actionIntervalOptional.get());
+        changeLog.append(ChangeLogEntityType.ACTION_INTERVAL, actionIntervalId, actionIntervalOptional.get().getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
         return HttpResponse.noContent();
     }
 
@@ -209,6 +195,19 @@ public class ActionIntervalService {
                 actionCount);
     }
 
+    private ActionIntervalDTO createDTO(ActionIntervalSummary actionInterval) {
+        List<String> admins = groupUserService.getAllTopicAdminsOfGroup(actionInterval.getGroupId());
+        return new ActionIntervalDTO(
+                actionInterval.getId(),
+                actionInterval.getName(),
+                actionInterval.getGroupId(),
+                actionInterval.getGroupName(),
+                actionInterval.getStartDate(),
+                actionInterval.getEndDate(),
+                admins,
+                actionInterval.getActionCount().intValue());
+    }
+
     private void checkExistenceAndAdminAuthorization(Optional<ActionInterval> actionIntervalOptional) {
         if (actionIntervalOptional.isEmpty()) {
             throw new DPMException(ResponseStatusCodes.ACTION_INTERVAL_NOT_FOUND, HttpStatus.NOT_FOUND);
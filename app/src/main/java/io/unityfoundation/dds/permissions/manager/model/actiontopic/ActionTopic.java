@@ -17,11 +17,15 @@ package io.unityfoundation.dds.permissions.manager.model.actiontopic;
 import io.micronaut.core.annotation.NonNull;
 import io.unityfoundation.dds.permissions.manager.model.action.Action;
 import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
 @Table(name = "permissions_action_topic")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ActionTopic {
 
     @Id
@@ -15,15 +15,11 @@ package io.unityfoundation.dds.permissions.manager.model.actiontopic;
 
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.PageableRepository;
-import io.unityfoundation.dds.permissions.manager.model.action.Action;
-import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
 
 import java.util.List;
 
 @Repository
 public interface ActionTopicRepository extends PageableRepository<ActionTopic, Long> {
-    void deleteByPermissionsTopicId(Long topicId);
     void deleteByPermissionsActionId(Long actionId);
-    List<Topic> findPermissionsTopicByPermissionsAction(Action action);
     void deleteByPermissionsActionIdIn(List<Long> actionIds);
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.actiontopic;
+
+import jakarta.inject.Singleton;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.Collection;
+
+/**
+ * Links an action to its topics with a single INSERT ... SELECT. Ids are database generated (IDENTITY),
+ * so saving the join rows one entity at a time would cost one statement per topic.
+ */
+@Singleton
+public class ActionTopicWriter {
+
+    private final EntityManager entityManager;
+
+    public ActionTopicWriter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    public void insert(Long actionId, Collection<Long> topicIds) {
+        if (topicIds == null || topicIds.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery("INSERT INTO ActionTopic (permissionsAction, permissionsTopic) " +
+                        "SELECT a, t FROM Action a, Topic t WHERE a.id = :actionId AND t.id IN (:topicIds)")
+                .setParameter("actionId", actionId)
+                .setParameter("topicIds", topicIds)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public void replace(Long actionId, Collection<Long> topicIds) {
+        entityManager.createQuery("DELETE FROM ActionTopic at WHERE at.permissionsAction.id = :actionId")
+                .setParameter("actionId", actionId)
+                .executeUpdate();
+        insert(actionId, topicIds);
+    }
+}
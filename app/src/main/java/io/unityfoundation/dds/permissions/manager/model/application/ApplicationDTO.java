@@ -59,6 +59,17 @@ public class ApplicationDTO implements EntityDTO {
         this.groupName = app.getPermissionsGroup().getName();
     }
 
+    public ApplicationDTO(ApplicationSummary app) {
+        this.id = app.getId();
+        this.name = app.getName();
+        this.description = app.getDescription();
+        this.isPublic = app.getMakePublic();
+        this.dateCreated = app.getDateCreated();
+        this.dateUpdated = app.getDateUpdated();
+        this.group = app.getGroupId();
+        this.groupName = app.getGroupName();
+    }
+
     public Long getId() {
         return id;
     }
@@ -14,47 +14,108 @@
 package io.unityfoundation.dds.permissions.manager.model.application;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
+import io.unityfoundation.dds.permissions.manager.model.VisibleSummaries;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.search.SearchDocument;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApplicationRepository extends PageableRepository<Application, Long> {
+public interface ApplicationRepository extends PageableRepository<Application, Long>, VisibleSummaries<ApplicationSummary> {
     @NonNull
     Optional<Application> findByNameAndPermissionsGroup(@NotNull @NonNull String name, @NotNull @NonNull Group group);
 
-    Page<Application> findByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String application, String applicationDescription, String group, Pageable page);
-
     Optional<Application> findByNameEquals(@NotBlank String name);
 
     Page<Application> findById(Long id, Pageable pageable);
 
-    Page<Application> findAllByPermissionsGroupIdIn(List<Long> groups, Pageable pageable);
-
-    List<Long> findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String application, String applicationDescription, String group);
+    @Query("UPDATE Application a SET a.makePublic = false, a.dateUpdated = :updated " +
+            "WHERE a.permissionsGroup.id = :groupId AND a.makePublic = true")
+    void updateMakePublicFalseByPermissionsGroupId(Long groupId, Instant updated);
 
-    Page<Application> findAllByIdInAndPermissionsGroupIdIn(List<Long> all, List<Long> groups, Pageable pageable);
+    Page<Application> findAllByMakePublicTrue(Pageable pageable);
 
-    List<Long> findIdByPermissionsGroupIdIn(List<Long> groups);
+    long countByMakePublicTrue();
 
-    Page<Application> findAllByMakePublicTrue(Pageable pageable);
+    List<Application> findAllByMakePublicTrueAndIdIn(List<Long> entityIds);
 
-    List<Application> findTop50ByMakePublicTrue();
+    @Query("SELECT a.id AS id, a.name AS name, a.description AS description, a.permissionsGroup.id AS groupId " +
+            "FROM Application a WHERE a.makePublic = true")
+    List<SearchDocument> findPublicSearchDocuments();
 
-    List<Long> findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(String application, String applicationDescription);
+    @Query("SELECT application_.id AS id, application_.name AS name, application_.description AS description, application_.permissionsGroup.id AS groupId " +
+            "FROM Application application_ WHERE application_.makePublic = true")
+    List<SearchDocument> findPublicSearchDocuments(Pageable pageable);
 
-    Page<Application> findByMakePublicTrueAndIdIn(List<Long> entityIds, Pageable pageable);
+    @Query("SELECT a.id AS id, a.name AS name, a.description AS description, a.permissionsGroup.id AS groupId " +
+            "FROM Application a WHERE a.makePublic = true AND a.id IN (:ids)")
+    List<SearchDocument> findPublicSearchDocumentsByIdIn(Collection<Long> ids);
 
-    List<Application> findTop50ByMakePublicTrueAndIdIn(List<Long> entityIds);
+    @Query("SELECT a.id AS id, a.name AS name, a.description AS description, a.permissionsGroup.id AS groupId " +
+            "FROM Application a WHERE a.makePublic = true AND a.permissionsGroup.id IN (:groupIds)")
+    List<SearchDocument> findPublicSearchDocumentsByGroupIdIn(Collection<Long> groupIds);
 
     Page<Application> findByIdAndPermissionsGroupId(Long applicationId, Long groupId, Pageable pageable);
 
-    Page<Application> findByIdAndPermissionsGroupIdIn(Long applicationId, List<Long> groups, Pageable pageable);
-}
\ No newline at end of file
+    String SUMMARY_SELECT = "SELECT application_.id AS id, " +
+            "application_.name AS name, " +
+            "application_.description AS description, " +
+            "application_.makePublic AS makePublic, " +
+            "application_.permissionsGroup.id AS groupId, " +
+            "application_.permissionsGroup.name AS groupName, " +
+            "application_.dateCreated AS dateCreated, " +
+            "application_.dateUpdated AS dateUpdated " +
+            "FROM Application application_ ";
+
+    String SUMMARY_COUNT = "SELECT COUNT(application_) FROM Application application_ ";
+
+    String IN_GROUPS = "WHERE application_.permissionsGroup.id IN (:groupIds) ";
+
+    String VISIBLE_TO_USER = "WHERE EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = application_.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId) ";
+
+    String SUMMARY_FILTER = "(LOWER(application_.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(application_.description) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(application_.permissionsGroup.name) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = "SELECT application_ FROM Application application_ " + VISIBLE_TO_USER +
+            "AND application_.id = :applicationId",
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND application_.id = :applicationId")
+    Page<Application> findByIdVisibleTo(Long applicationId, Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SUMMARY_FILTER, countQuery = SUMMARY_COUNT + "WHERE " + SUMMARY_FILTER)
+    @Override
+    Page<ApplicationSummary> findSummaries(String filter, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT, countQuery = SUMMARY_COUNT)
+    @Override
+    Page<ApplicationSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + IN_GROUPS + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<ApplicationSummary> findSummariesInGroups(String filter, List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS, countQuery = SUMMARY_COUNT + IN_GROUPS)
+    @Override
+    Page<ApplicationSummary> findSummariesInGroups(List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<ApplicationSummary> findSummariesVisibleTo(String filter, Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER, countQuery = SUMMARY_COUNT + VISIBLE_TO_USER)
+    @Override
+    Page<ApplicationSummary> findSummariesVisibleTo(Long userId, Pageable pageable);
+}
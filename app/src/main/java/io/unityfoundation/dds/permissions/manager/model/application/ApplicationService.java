@@ -15,6 +15,7 @@ package io.unityfoundation.dds.permissions.manager.model.application;
 
 import com.nimbusds.jwt.JWTClaimsSet;
 import io.micronaut.context.annotation.Property;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
@@ -24,28 +25,34 @@ import io.micronaut.security.authentication.AuthenticationResponse;
 import io.micronaut.security.token.jwt.generator.JwtTokenGenerator;
 import io.micronaut.security.token.jwt.generator.claims.JWTClaimsSetGenerator;
 import io.micronaut.security.token.jwt.validator.AuthenticationJWTClaimsSetAdapter;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.model.AssociationLoader;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
 import io.unityfoundation.dds.permissions.manager.model.action.Action;
-import io.unityfoundation.dds.permissions.manager.model.action.ActionPartition;
+import io.unityfoundation.dds.permissions.manager.model.action.ActionAssociations;
 import io.unityfoundation.dds.permissions.manager.model.action.ActionService;
-import io.unityfoundation.dds.permissions.manager.model.actiontopic.ActionTopicRepository;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrant;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrantService;
-import io.unityfoundation.dds.permissions.manager.model.applicationpermission.ApplicationPermissionService;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDuration;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
 import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
-import io.unityfoundation.dds.permissions.manager.model.topicset.TopicSet;
-import io.unityfoundation.dds.permissions.manager.model.topicsettopic.TopicSetTopicRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.model.user.UserRole;
 import io.unityfoundation.dds.permissions.manager.security.ApplicationSecretsClient;
 import io.unityfoundation.dds.permissions.manager.security.BCryptPasswordEncoderService;
 import io.unityfoundation.dds.permissions.manager.security.PassphraseGenerator;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
+import io.unityfoundation.dds.permissions.manager.util.ReferenceDataCache;
 import io.unityfoundation.dds.permissions.manager.util.XMLEscaper;
 import jakarta.inject.Singleton;
 import org.bouncycastle.asn1.ASN1EncodableVector;
@@ -86,6 +93,7 @@ import javax.mail.Session;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMultipart;
 import javax.mail.internet.MimeMessage;
+import javax.transaction.Transactional;
 import javax.xml.bind.DatatypeConverter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -120,11 +128,8 @@ public class ApplicationService {
     protected Integer appGrantTokenExpiry;
     private final ApplicationRepository applicationRepository;
     private final GroupRepository groupRepository;
-    private final ActionTopicRepository actionTopicRepository;
-    private final TopicSetTopicRepository topicSetTopicRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
-    private final ApplicationPermissionService applicationPermissionService;
     private final ApplicationGrantService applicationGrantService;
     private final ActionService actionService;
     private final PassphraseGenerator passphraseGenerator;
@@ -135,20 +140,22 @@ public class ApplicationService {
     private final JWTClaimsSetGenerator jwtClaimsSetGenerator;
     private final XMLEscaper xmlEscaper;
     private final OnUpdateApplicationWebSocket onUpdateApplicationWebSocket;
+    private final KeysetPaginator keysetPaginator;
+    private final ReferenceDataCache referenceDataCache;
+    private final AssociationLoader associationLoader;
+    private final ChangeLog changeLog;
 
 
-    public ApplicationService(ApplicationRepository applicationRepository, GroupRepository groupRepository, ActionTopicRepository actionTopicRepository, TopicSetTopicRepository topicSetTopicRepository, ApplicationPermissionService applicationPermissionService,
+    public ApplicationService(ApplicationRepository applicationRepository, GroupRepository groupRepository,
                               SecurityUtil securityUtil, GroupUserService groupUserService, ApplicationGrantService applicationGrantService, ActionService actionService, PassphraseGenerator passphraseGenerator,
                               BCryptPasswordEncoderService passwordEncoderService, ApplicationSecretsClient applicationSecretsClient,
                               TemplateService templateService, JwtTokenGenerator jwtTokenGenerator,
-                              JWTClaimsSetGenerator jwtClaimsSetGenerator, XMLEscaper xmlEscaper, OnUpdateApplicationWebSocket onUpdateApplicationWebSocket) {
+                              JWTClaimsSetGenerator jwtClaimsSetGenerator, XMLEscaper xmlEscaper, OnUpdateApplicationWebSocket onUpdateApplicationWebSocket, KeysetPaginator keysetPaginator,
+                              ReferenceDataCache referenceDataCache, AssociationLoader associationLoader, ChangeLog changeLog) {
         this.applicationRepository = applicationRepository;
         this.groupRepository = groupRepository;
-        this.actionTopicRepository = actionTopicRepository;
-        this.topicSetTopicRepository = topicSetTopicRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
-        this.applicationPermissionService = applicationPermissionService;
         this.applicationGrantService = applicationGrantService;
         this.actionService = actionService;
         this.passphraseGenerator = passphraseGenerator;
@@ -159,8 +166,13 @@ public class ApplicationService {
         this.jwtClaimsSetGenerator = jwtClaimsSetGenerator;
         this.xmlEscaper = xmlEscaper;
         this.onUpdateApplicationWebSocket = onUpdateApplicationWebSocket;
+        this.keysetPaginator = keysetPaginator;
+        this.referenceDataCache = referenceDataCache;
+        this.associationLoader = associationLoader;
+        this.changeLog = changeLog;
     }
 
+    @ReadOnly
     public Page<ApplicationDTO> findAll(Pageable pageable, String filter, Long applicationId, Long groupId) {
         if(!pageable.isSorted()) {
             pageable = pageable.order("name").order("permissionsGroup.name");
@@ -170,78 +182,33 @@ public class ApplicationService {
             return getApplicationPage(pageable, applicationId, groupId).map(ApplicationDTO::new);
         }
 
-        return getApplicationPage(pageable, filter, groupId).map(ApplicationDTO::new);
+        GroupVisibility visibility = groupUserService.getVisibility(groupId);
+        Page<ApplicationSummary> page = visibility.findSummaries(applicationRepository, filter, pageable);
+        return page.map(ApplicationDTO::new);
     }
 
-    private Page<Application> getApplicationPage(Pageable pageable, String filter, Long groupId) {
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (filter == null) {
-                if (groupId == null) {
-                    return applicationRepository.findAll(pageable);
-                }
-                return applicationRepository.findAllByPermissionsGroupIdIn(List.of(groupId), pageable);
-            }
-
-            if (groupId == null) {
-                return applicationRepository.findByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, filter, pageable);
-            }
-
-            all = applicationRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, filter);
-
-            return applicationRepository.findAllByIdInAndPermissionsGroupIdIn(all, List.of(groupId), pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty() || (groupId != null && !groups.contains(groupId))) {
-                return Page.empty();
-            }
-
-            if (groupId != null) {
-                // implies groupId exists in member's groups
-                groups = List.of(groupId);
-            }
-
-            if (filter == null) {
-                return applicationRepository.findAllByPermissionsGroupIdIn(groups, pageable);
-            }
-
-            all = applicationRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, filter);
-            if (all.isEmpty()) {
-                return Page.empty();
-            }
-
-            return applicationRepository.findAllByIdInAndPermissionsGroupIdIn(all, groups, pageable);
-        }
+    @ReadOnly
+    public CursorPage<ApplicationDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long groupId) {
+        KeysetQuery<Application> query = KeysetQuery.of(Application.class)
+                .orderBy("name", "permissionsGroup.name")
+                .visibleTo("permissionsGroup", groupUserService.getVisibility(groupId))
+                .filter(filter, "name", "description", "permissionsGroup.name");
+        return keysetPaginator.find(query, cursor, size).map(ApplicationDTO::new);
     }
 
     private Page<Application> getApplicationPage(Pageable pageable, Long applicationId, Long groupId) {
-
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (groupId == null) {
-                return applicationRepository.findById(applicationId, pageable);
-            }
-
-            return applicationRepository.findByIdAndPermissionsGroupId(applicationId, groupId, pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty() || (groupId != null && !groups.contains(groupId))) {
-                return Page.empty();
-            }
-
-            if (groupId != null) {
-                // implies groupId exists in member's groups
-                groups = List.of(groupId);
-            }
-
-            return applicationRepository.findByIdAndPermissionsGroupIdIn(applicationId, groups, pageable);
+        GroupVisibility visibility = groupUserService.getVisibility(groupId);
+        if (visibility.isNone()) {
+            return Page.empty();
+        } else if (visibility.getMemberId() != null) {
+            return applicationRepository.findByIdVisibleTo(applicationId, visibility.getMemberId(), pageable);
+        } else if (visibility.getGroupId() != null) {
+            return applicationRepository.findByIdAndPermissionsGroupId(applicationId, visibility.getGroupId(), pageable);
         }
+        return applicationRepository.findById(applicationId, pageable);
     }
 
+    @Transactional
     public MutableHttpResponse<?> save(ApplicationDTO applicationDTO) {
         Optional<Group> groupOptional = groupRepository.findById(applicationDTO.getGroup());
 
@@ -281,6 +248,7 @@ public class ApplicationService {
             application.setMakePublic(isPublic);
 
             Application update = applicationRepository.update(application);
+            changeLog.append(ChangeLogEntityType.APPLICATION, update.getId(), update.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
             onUpdateApplicationWebSocket.broadcastResourceEvent(OnUpdateApplicationWebSocket.APPLICATION_UPDATED, update.getId());
             return HttpResponse.ok(new ApplicationDTO(update));
         } else {
@@ -297,7 +265,9 @@ public class ApplicationService {
             application.setId(applicationDTO.getId());
             Group group = groupOptional.get();
             application.setPermissionsGroup(group);
-            return HttpResponse.ok(new ApplicationDTO(applicationRepository.save(application)));
+            Application saved = applicationRepository.save(application);
+            changeLog.append(ChangeLogEntityType.APPLICATION, saved.getId(), group.getId(), ChangeLogOperation.CREATE);
+            return HttpResponse.ok(new ApplicationDTO(saved));
         }
     }
 
@@ -307,6 +277,7 @@ public class ApplicationService {
                 .orElse(false);
     }
 
+    @Transactional
     public HttpResponse deleteById(Long id) {
 
         Optional<Application> applicationOptional = applicationRepository.findById(id);
@@ -325,11 +296,10 @@ public class ApplicationService {
             throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
         }
 
-        // TODO - Need to investigate cascade management to eliminate this
-        applicationPermissionService.deleteAllByApplication(application);
-        applicationGrantService.deleteAllByApplication(application);
-
+        // the database cascades the delete to the application's permissions, grants and their actions
         applicationRepository.deleteById(id);
+        changeLog.append(ChangeLogEntityType.APPLICATION, id, application.getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
+        referenceDataCache.evictCascadedDeletes();
         onUpdateApplicationWebSocket.broadcastResourceEvent(OnUpdateApplicationWebSocket.APPLICATION_DELETED, id);
         return HttpResponse.seeOther(URI.create("/api/applications"));
     }
@@ -501,6 +471,7 @@ public class ApplicationService {
         return HttpResponse.notFound();
     }
 
+    @ReadOnly
     public HttpResponse<?> getPermissionsFile(String nonce) throws IOException, GeneralSecurityException, MessagingException, SMIMEException, OperatorCreationException {
         Optional<String> permissionsCAKey = applicationSecretsClient.getPermissionsCAKey();
         Optional<String> permissionsCACert = applicationSecretsClient.getPermissionsCACert();
@@ -532,6 +503,7 @@ public class ApplicationService {
         return HttpResponse.notFound();
     }
 
+    @ReadOnly
     public HttpResponse<?> getPermissionJson(String requestEtag) throws NoSuchAlgorithmException {
         Optional<Application> applicationOptional = securityUtil.getCurrentlyAuthenticatedApplication();
 
@@ -697,30 +669,17 @@ public class ApplicationService {
         }
 
         // for each grant and respective actions, derive Topics and Partitions
-        applicationGrants.forEach(applicationGrant -> {
-
-            List<Action> actions = actionService.getAllByGrantId(applicationGrant.getId());
-
-            actions.stream().filter(action -> Boolean.compare(publishing, action.getCanPublish()) == 0).forEach(action -> {
-
-                List<Topic> topicList = actionTopicRepository.findPermissionsTopicByPermissionsAction(action);
-                // collect all Topics
-                Set<Topic> actionTopics = new HashSet<>(topicList);
-                action.getTopicSets().forEach(topicSet -> {
-                    actionTopics.addAll(getAllTopicsByTopicSet(topicSet));
-                });
-                Set<String> topics = actionTopics.stream().map(this::buildCanonicalName).collect(Collectors.toSet());
+        forEachAction(applicationGrants, publishing, (action, actionTopics, actionPartitions) -> {
+            Set<String> topics = actionTopics.stream().map(this::buildCanonicalName).collect(Collectors.toSet());
 
-                Set<String> partitions = action.getPartitions().stream()
-                        .map(ActionPartition::getPartitionName)
-                        .map(xmlEscaper::escape)
-                        .collect(Collectors.toSet());
+            Set<String> partitions = actionPartitions.stream()
+                    .map(xmlEscaper::escape)
+                    .collect(Collectors.toSet());
 
 
-                String validityStart = action.getActionInterval().getStartDate().toString();
-                String validityEnd = action.getActionInterval().getEndDate().toString();
-                list.add(new PubSubEntry(topics, partitions, validityStart, validityEnd));
-            });
+            String validityStart = action.getActionInterval().getStartDate().toString();
+            String validityEnd = action.getActionInterval().getEndDate().toString();
+            list.add(new PubSubEntry(topics, partitions, validityStart, validityEnd));
         });
     }
 
@@ -751,38 +710,45 @@ public class ApplicationService {
         }
 
         // for each grant and respective actions, derive Topics and Partitions
-        applicationGrants.forEach(applicationGrant -> {
-
-            List<Action> actions = actionService.getAllByGrantId(applicationGrant.getId());
-
-            actions.stream().filter(action -> Boolean.compare(publishing, action.getCanPublish()) == 0).forEach(action -> {
-
-                List<Topic> topicList = actionTopicRepository.findPermissionsTopicByPermissionsAction(action);
-                // collect all Topics
-                Set<Topic> actionTopics = new HashSet<>(topicList);
-                action.getTopicSets().forEach(topicSet -> {
-                    actionTopics.addAll(getAllTopicsByTopicSet(topicSet));
-                });
-                Set<String> topics = actionTopics.stream().map(this::buildCanonicalName).collect(Collectors.toSet());
-
-                Set<String> partitions = action.getPartitions().stream()
-                        .map(ActionPartition::getPartitionName)
-                        .collect(Collectors.toSet());
-
-                String validityStart = action.getActionInterval().getStartDate().toString();
-                String validityEnd = action.getActionInterval().getEndDate().toString();
-                pubSubList.add(Map.of(
-                        "topics", topics,
-                        "partitions", partitions,
-                        "validityStart", validityStart,
-                        "validityEnd", validityEnd
-                ));
-            });
+        forEachAction(applicationGrants, publishing, (action, actionTopics, partitions) -> {
+            Set<String> topics = actionTopics.stream().map(this::buildCanonicalName).collect(Collectors.toSet());
+
+            String validityStart = action.getActionInterval().getStartDate().toString();
+            String validityEnd = action.getActionInterval().getEndDate().toString();
+            pubSubList.add(Map.of(
+                    "topics", topics,
+                    "partitions", partitions,
+                    "validityStart", validityStart,
+                    "validityEnd", validityEnd
+            ));
         });
     }
 
-    private Collection<? extends Topic> getAllTopicsByTopicSet(TopicSet topicSet) {
-        return topicSetTopicRepository.findPermissionsTopicByPermissionsTopicSet(topicSet);
+    // actions, their topics (direct and through topic sets) and partitions are loaded for all grants at once
+    private void forEachAction(List<ApplicationGrant> applicationGrants, boolean publishing, ActionVisitor visitor) {
+        List<Long> grantIds = applicationGrants.stream().map(ApplicationGrant::getId).collect(Collectors.toList());
+        Map<Long, List<Action>> actionsByGrant = actionService.getAllByGrantIds(grantIds).stream()
+                .filter(action -> Boolean.compare(publishing, action.getCanPublish()) == 0)
+                .collect(Collectors.groupingBy(action -> action.getApplicationGrant().getId()));
+
+        ActionAssociations associations = actionService.loadAssociations(actionsByGrant.values().stream()
+                .flatMap(List::stream)
+                .map(Action::getId)
+                .collect(Collectors.toList()));
+        Map<Long, List<Topic>> topicSetTopics = associationLoader.load("SELECT tst.permissionsTopicSet.id, tst.permissionsTopic " +
+                "FROM TopicSetTopic tst WHERE tst.permissionsTopicSet.id IN (:ownerIds)", associations.getAllTopicSetIds(), row -> (Topic) row[1]);
+
+        grantIds.forEach(grantId -> actionsByGrant.getOrDefault(grantId, List.of()).forEach(action -> {
+            // collect all Topics
+            Set<Topic> actionTopics = new HashSet<>(associations.getTopics(action.getId()));
+            associations.getTopicSets(action.getId()).forEach(topicSet ->
+                    actionTopics.addAll(topicSetTopics.getOrDefault(topicSet.getId(), List.of())));
+            visitor.visit(action, actionTopics, associations.getPartitions(action.getId()));
+        }));
+    }
+
+    private interface ActionVisitor {
+        void visit(Action action, Set<Topic> topics, Set<String> partitions);
     }
 
     private String buildCanonicalName(Topic permissionsTopic) {
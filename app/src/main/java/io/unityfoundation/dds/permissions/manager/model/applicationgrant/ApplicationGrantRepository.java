@@ -13,32 +13,78 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.applicationgrant;
 
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
+import io.unityfoundation.dds.permissions.manager.model.VisibleSummaries;
 import io.unityfoundation.dds.permissions.manager.model.application.Application;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDuration;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApplicationGrantRepository extends PageableRepository<ApplicationGrant, Long> {
+public interface ApplicationGrantRepository extends PageableRepository<ApplicationGrant, Long>, VisibleSummaries<ApplicationGrantSummary> {
     boolean existsByGrantDuration(GrantDuration grantDuration);
     Page<ApplicationGrant> findByPermissionsApplicationId(Long applicationId, Pageable pageable);
-    Page<ApplicationGrant> findAllByPermissionsApplicationIdAndPermissionsGroupIdIn(Long applicationId, List<Long> groups, Pageable pageable);
+
+    String SUMMARY_SELECT = "SELECT applicationGrant_.id AS id, " +
+            "applicationGrant_.name AS name, " +
+            "applicationGrant_.permissionsApplication.id AS applicationId, " +
+            "applicationGrant_.permissionsApplication.name AS applicationName, " +
+            "applicationGrant_.permissionsApplication.permissionsGroup.name AS applicationGroupName, " +
+            "applicationGrant_.permissionsGroup.id AS groupId, " +
+            "applicationGrant_.permissionsGroup.name AS groupName, " +
+            "applicationGrant_.grantDuration.durationInMilliseconds AS durationInMilliseconds, " +
+            "applicationGrant_.grantDuration.durationMetadata AS durationMetadata " +
+            "FROM ApplicationGrant applicationGrant_ ";
+
+    String SUMMARY_COUNT = "SELECT COUNT(applicationGrant_) FROM ApplicationGrant applicationGrant_ ";
+
+    String IN_GROUPS = "WHERE applicationGrant_.permissionsGroup.id IN (:groupIds) ";
+
+    String VISIBLE_TO_USER = "WHERE EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = applicationGrant_.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId) ";
+
+    String SUMMARY_FILTER = "(LOWER(applicationGrant_.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(applicationGrant_.permissionsGroup.name) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = "SELECT applicationGrant_ FROM ApplicationGrant applicationGrant_ " + VISIBLE_TO_USER +
+            "AND applicationGrant_.permissionsApplication.id = :applicationId",
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND applicationGrant_.permissionsApplication.id = :applicationId")
+    Page<ApplicationGrant> findByPermissionsApplicationIdVisibleTo(Long applicationId, Long userId, Pageable pageable);
+
     List<ApplicationGrant> findByPermissionsApplication(Application permissionsApplication);
     Page<ApplicationGrant> findByPermissionsApplicationIdAndPermissionsApplicationIdIn(Long applicationId, List<Long> groupsApplications, Pageable pageable);
-    void deleteByPermissionsApplicationEquals(Application permissionsApplication);
-    void deleteByPermissionsApplicationIdIn(Collection<Long> permissionsApplications);
-    Page<ApplicationGrant> findAllByPermissionsGroupIdIn(List<Long> groupId, Pageable pageable);
-    Page<ApplicationGrant> findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName, Pageable pageable);
-    List<Long> findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName);
-    Page<ApplicationGrant> findAllByIdInAndPermissionsGroupIdIn(List<Long> all, List<Long> groupId, Pageable pageable);
     Optional<ApplicationGrant> findByNameAndPermissionsGroup(String name, Group group);
-    List<Long> findIdByPermissionsGroupIdIn(List<Long> groups);
     Integer countByGrantDuration(GrantDuration grantDuration);
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SUMMARY_FILTER, countQuery = SUMMARY_COUNT + "WHERE " + SUMMARY_FILTER)
+    @Override
+    Page<ApplicationGrantSummary> findSummaries(String filter, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT, countQuery = SUMMARY_COUNT)
+    @Override
+    Page<ApplicationGrantSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + IN_GROUPS + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<ApplicationGrantSummary> findSummariesInGroups(String filter, List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS, countQuery = SUMMARY_COUNT + IN_GROUPS)
+    @Override
+    Page<ApplicationGrantSummary> findSummariesInGroups(List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<ApplicationGrantSummary> findSummariesVisibleTo(String filter, Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER, countQuery = SUMMARY_COUNT + VISIBLE_TO_USER)
+    @Override
+    Page<ApplicationGrantSummary> findSummariesVisibleTo(Long userId, Pageable pageable);
 }
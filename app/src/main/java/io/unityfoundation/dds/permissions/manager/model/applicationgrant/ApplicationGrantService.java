@@ -13,18 +13,19 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.applicationgrant;
 
-import com.nimbusds.jwt.JWT;
-import com.nimbusds.jwt.JWTParser;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
-import io.micronaut.security.token.jwt.generator.claims.JwtClaims;
-import io.micronaut.security.token.jwt.generator.claims.JwtClaimsSetAdapter;
-import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
 import io.unityfoundation.dds.permissions.manager.model.action.Action;
 import io.unityfoundation.dds.permissions.manager.model.action.ActionService;
 import io.unityfoundation.dds.permissions.manager.model.action.dto.ActionDTO;
@@ -34,18 +35,23 @@ import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.Det
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.GrantDTO;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.CreateGrantDTO;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.UpdateGrantDTO;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDuration;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDurationRepository;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.security.GrantTokenVerifier;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
 
-import java.text.ParseException;
+import javax.transaction.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -59,9 +65,11 @@ public class ApplicationGrantService {
     private final GrantDurationRepository grantDurationRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
-    private final JwtTokenValidator jwtTokenValidator;
+    private final GrantTokenVerifier grantTokenVerifier;
+    private final KeysetPaginator keysetPaginator;
+    private final ChangeLog changeLog;
 
-    public ApplicationGrantService(ApplicationGrantRepository applicationGrantRepository, ApplicationRepository applicationRepository, ActionService actionService, GroupRepository groupRepository, GrantDurationRepository grantDurationRepository, SecurityUtil securityUtil, GroupUserService groupUserService, JwtTokenValidator jwtTokenValidator) {
+    public ApplicationGrantService(ApplicationGrantRepository applicationGrantRepository, ApplicationRepository applicationRepository, ActionService actionService, GroupRepository groupRepository, GrantDurationRepository grantDurationRepository, SecurityUtil securityUtil, GroupUserService groupUserService, GrantTokenVerifier grantTokenVerifier, KeysetPaginator keysetPaginator, ChangeLog changeLog) {
         this.applicationGrantRepository = applicationGrantRepository;
         this.applicationRepository = applicationRepository;
         this.actionService = actionService;
@@ -69,60 +77,29 @@ public class ApplicationGrantService {
         this.grantDurationRepository = grantDurationRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
-        this.jwtTokenValidator = jwtTokenValidator;
+        this.grantTokenVerifier = grantTokenVerifier;
+        this.keysetPaginator = keysetPaginator;
+        this.changeLog = changeLog;
     }
 
-    public Page<GrantDTO> findAll(Pageable pageable, String filter, Long group) {
+    @ReadOnly
+    public Page<GrantDTO> findAll(Pageable pageable, String filter, Long groupId) {
         if (!pageable.isSorted()) {
             pageable = pageable.order("name").order("permissionsGroup.name");
         }
 
-        Page<ApplicationGrant> page = getApplicationGrantsPage(pageable, filter, group);
-
+        GroupVisibility visibility = groupUserService.getVisibility(groupId);
+        Page<ApplicationGrantSummary> page = visibility.findSummaries(applicationGrantRepository, filter, pageable);
         return page.map(this::createDTO);
     }
 
-    private Page<ApplicationGrant> getApplicationGrantsPage(Pageable pageable, String filter, Long groupId) {
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (filter == null) {
-                if (groupId == null) {
-                    return applicationGrantRepository.findAll(pageable);
-                }
-                return applicationGrantRepository.findAllByPermissionsGroupIdIn(List.of(groupId), pageable);
-            }
-
-            if (groupId == null) {
-                return applicationGrantRepository.findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, pageable);
-            }
-
-            all = applicationGrantRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-
-            return applicationGrantRepository.findAllByIdInAndPermissionsGroupIdIn(all, List.of(groupId), pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty() || (groupId != null && !groups.contains(groupId))) {
-                return Page.empty();
-            }
-
-            if (groupId != null) {
-                // implies groupId exists in member's groups
-                groups = List.of(groupId);
-            }
-
-            if (filter == null) {
-                return applicationGrantRepository.findAllByPermissionsGroupIdIn(groups, pageable);
-            }
-
-            all = applicationGrantRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-            if (all.isEmpty()) {
-                return Page.empty();
-            }
-
-            return applicationGrantRepository.findAllByIdInAndPermissionsGroupIdIn(all, groups, pageable);
-        }
+    @ReadOnly
+    public CursorPage<GrantDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long groupId) {
+        KeysetQuery<ApplicationGrant> query = KeysetQuery.of(ApplicationGrant.class)
+                .orderBy("name", "permissionsGroup.name")
+                .visibleTo("permissionsGroup", groupUserService.getVisibility(groupId))
+                .filter(filter, "name", "permissionsGroup.name");
+        return keysetPaginator.find(query, cursor, size).map(this::createDTO);
     }
 
     public Page<DetailedGrantDTO> findAllByApplicationId(Pageable pageable, Long applicationId) {
@@ -132,23 +109,16 @@ public class ApplicationGrantService {
 
         Page<ApplicationGrant> page = getApplicationGrantsPageByApplication(pageable, applicationId);
 
-        return page.map(this::createDetailedDTO);
+        return Page.of(createDetailedDTOs(page.getContent()), page.getPageable(), page.getTotalSize());
     }
 
     private Page<ApplicationGrant> getApplicationGrantsPageByApplication(Pageable pageable, Long applicationId) {
 
-        if (securityUtil.isCurrentUserAdmin()) {
-            return applicationGrantRepository.findByPermissionsApplicationId(applicationId, pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty()) {
-                return Page.empty();
-            }
-
-            return applicationGrantRepository.findAllByPermissionsApplicationIdAndPermissionsGroupIdIn(applicationId, groups, pageable);
+        GroupVisibility visibility = groupUserService.getVisibility(null);
+        if (visibility.getMemberId() != null) {
+            return applicationGrantRepository.findByPermissionsApplicationIdVisibleTo(applicationId, visibility.getMemberId(), pageable);
         }
+        return applicationGrantRepository.findByPermissionsApplicationId(applicationId, pageable);
     }
 
     public GrantDTO findById(Long grantId) {
@@ -173,24 +143,10 @@ public class ApplicationGrantService {
     }
 
     public Publisher<HttpResponse<GrantDTO>> create(String grantToken, CreateGrantDTO createGrantDTO) {
-        return Publishers.map(jwtTokenValidator.validateToken(grantToken, null), authentication -> {
-            JWT jwt;
-            JwtClaims claims;
-            try {
-                jwt = JWTParser.parse(grantToken);
-                claims = new JwtClaimsSetAdapter(jwt.getJWTClaimsSet());
-                if (claims.get(JwtClaims.SUBJECT) != null) {
-                    Long applicationId = Long.valueOf((String) claims.get(JwtClaims.SUBJECT));
-                    return create(applicationId, createGrantDTO);
-                } else {
-                    throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_TOKEN_PARSE_EXCEPTION, HttpStatus.BAD_REQUEST);
-                }
-            } catch (ParseException e) {
-                throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_TOKEN_PARSE_EXCEPTION, HttpStatus.BAD_REQUEST);
-            }
-        });
+        return Publishers.map(grantTokenVerifier.verify(grantToken), claims -> create(claims.getApplicationId(), createGrantDTO));
     }
 
+    @Transactional
     public HttpResponse<GrantDTO> create(Long applicationId, CreateGrantDTO createGrantDTO) {
 
         Optional<Group> groupOptional = groupRepository.findById(createGrantDTO.getGroupId());
@@ -230,6 +186,7 @@ public class ApplicationGrantService {
                 groupOptional.get(),
                 grantDurationOptional.get()
         ));
+        changeLog.append(ChangeLogEntityType.APPLICATION_GRANT, newGrant.getId(), groupOptional.get().getId(), ChangeLogOperation.CREATE);
 
         GrantDTO dto = createDTO(newGrant);
         return HttpResponse.created(dto);
@@ -249,10 +206,34 @@ public class ApplicationGrantService {
         );
     }
 
-    public DetailedGrantDTO createDetailedDTO(ApplicationGrant applicationGrant) {
-        List<Action> actions = actionService.getAllByGrantId(applicationGrant.getId());
-        List <ActionDTO> actionDTOs = actions.stream().map(actionService::createDTO).collect(Collectors.toList());
+    private GrantDTO createDTO(ApplicationGrantSummary applicationGrant) {
+        return new GrantDTO(
+                applicationGrant.getId(),
+                applicationGrant.getName(),
+                applicationGrant.getApplicationId(),
+                applicationGrant.getApplicationName(),
+                applicationGrant.getApplicationGroupName(),
+                applicationGrant.getGroupId(),
+                applicationGrant.getGroupName(),
+                applicationGrant.getDurationInMilliseconds(),
+                applicationGrant.getDurationMetadata()
+        );
+    }
+
+    // the actions of every grant are fetched and converted together
+    private List<DetailedGrantDTO> createDetailedDTOs(List<ApplicationGrant> applicationGrants) {
+        List<Action> actions = actionService.getAllByGrantIds(applicationGrants.stream()
+                .map(ApplicationGrant::getId)
+                .collect(Collectors.toList()));
+        Map<Long, List<ActionDTO>> actionDTOsByGrant = actionService.createDTOs(actions).stream()
+                .collect(Collectors.groupingBy(ActionDTO::getApplicationGrantId));
+
+        return applicationGrants.stream()
+                .map(applicationGrant -> createDetailedDTO(applicationGrant, actionDTOsByGrant.getOrDefault(applicationGrant.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
 
+    private DetailedGrantDTO createDetailedDTO(ApplicationGrant applicationGrant, List<ActionDTO> actionDTOs) {
         return new DetailedGrantDTO(
                 applicationGrant.getId(),
                 applicationGrant.getName(),
@@ -267,6 +248,7 @@ public class ApplicationGrantService {
         );
     }
 
+    @Transactional
     public HttpResponse deleteById(Long grantId) {
 
         Optional<ApplicationGrant> applicationGrantOptional = applicationGrantRepository.findById(grantId);
@@ -289,9 +271,11 @@ public class ApplicationGrantService {
 
         actionService.deleteAllActionsByApplicationGrantId(grantId);
         applicationGrantRepository.deleteById(grantId);
+        changeLog.append(ChangeLogEntityType.APPLICATION_GRANT, grantId, applicationGrantOptional.get().getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
         return HttpResponse.noContent();
     }
 
+    @Transactional
     public HttpResponse<GrantDTO> update(Long grantId, UpdateGrantDTO grantDTO) {
 
         Optional<ApplicationGrant> applicationGrantOptional = applicationGrantRepository.findById(grantId);
@@ -323,11 +307,9 @@ public class ApplicationGrantService {
         applicationGrant.setName(grantDTO.getName().trim());
         applicationGrant.setGrantDuration(grantDurationOptional.get());
 
-        return HttpResponse.ok(createDTO(applicationGrantRepository.update(applicationGrant)));
-    }
-
-    public void deleteAllByApplication(Application application) {
-        applicationGrantRepository.deleteByPermissionsApplicationEquals(application);
+        ApplicationGrant updatedGrant = applicationGrantRepository.update(applicationGrant);
+        changeLog.append(ChangeLogEntityType.APPLICATION_GRANT, grantId, updatedGrant.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
+        return HttpResponse.ok(createDTO(updatedGrant));
     }
 
     public List<ApplicationGrant> findAllByApplication(Application application) {
@@ -0,0 +1,105 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.applicationgrant;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public class ApplicationGrantSummary {
+
+    private Long id;
+    private String name;
+    private Long applicationId;
+    private String applicationName;
+    private String applicationGroupName;
+    private Long groupId;
+    private String groupName;
+    private Long durationInMilliseconds;
+    private String durationMetadata;
+
+    public ApplicationGrantSummary() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public void setApplicationName(String applicationName) {
+        this.applicationName = applicationName;
+    }
+
+    public String getApplicationGroupName() {
+        return applicationGroupName;
+    }
+
+    public void setApplicationGroupName(String applicationGroupName) {
+        this.applicationGroupName = applicationGroupName;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public void setGroupName(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public Long getDurationInMilliseconds() {
+        return durationInMilliseconds;
+    }
+
+    public void setDurationInMilliseconds(Long durationInMilliseconds) {
+        this.durationInMilliseconds = durationInMilliseconds;
+    }
+
+    public String getDurationMetadata() {
+        return durationMetadata;
+    }
+
+    public void setDurationMetadata(String durationMetadata) {
+        this.durationMetadata = durationMetadata;
+    }
+}
@@ -17,6 +17,7 @@ package io.unityfoundation.dds.permissions.manager.model.applicationpermission;
 import io.micronaut.core.annotation.NonNull;
 import io.unityfoundation.dds.permissions.manager.model.application.Application;
 import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -46,10 +47,12 @@ public class ApplicationPermission {
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true, mappedBy = "rApplicationPermission")
     @OnDelete(action = OnDeleteAction.CASCADE)
+    @BatchSize(size = 100)
     private Set<ReadPartition> readPartitions = new HashSet<>();
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true, mappedBy = "wApplicationPermission")
     @OnDelete(action = OnDeleteAction.CASCADE)
+    @BatchSize(size = 100)
     private Set<WritePartition> writePartitions = new HashSet<>();
 
 
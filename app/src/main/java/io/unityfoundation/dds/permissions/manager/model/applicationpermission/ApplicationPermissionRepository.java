@@ -13,6 +13,7 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.applicationpermission;
 
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
@@ -33,15 +34,29 @@ public interface ApplicationPermissionRepository extends PageableRepository<Appl
     Page<ApplicationPermission> findByPermissionsTopicId(Long topicId, Pageable pageable);
     Page<ApplicationPermission> findByPermissionsApplicationIdAndPermissionsTopicId(Long applicationId, Long topicId, Pageable pageable);
     Page<ApplicationPermission> findByPermissionsApplicationIdInOrPermissionsTopicIdIn(Collection<Long> permissionsTopic_id, Collection<Long> permissionsApplication_id, Pageable pageable);
-    Page<ApplicationPermission> findByPermissionsApplicationIdAndPermissionsApplicationIdIn(Long applicationId, List<Long> groupsApplications, Pageable pageable);
-    Page<ApplicationPermission> findByPermissionsTopicIdAndPermissionsTopicIdIn(Long topicId, List<Long> groupsTopics, Pageable pageable);
     Page<ApplicationPermission> findByPermissionsApplicationIdAndPermissionsTopicIdAndPermissionsApplicationIdInAndPermissionsTopicIdIn(Long applicationId, Long topicId, List<Long> groupsApplications, List<Long> groupsTopics, Pageable pageable);
     Page<ApplicationPermission> findByPermissionsApplicationMakePublicTrueAndPermissionsTopicMakePublicTrue(Pageable pageable);
     Page<ApplicationPermission> findByPermissionsApplicationMakePublicTrueAndPermissionsTopicMakePublicTrueAndPermissionsApplicationId(Long applicationId, Pageable pageable);
     Page<ApplicationPermission> findByPermissionsApplicationMakePublicTrueAndPermissionsTopicMakePublicTrueAndPermissionsTopicId(Long topicId, Pageable pageable);
     Page<ApplicationPermission> findByPermissionsApplicationMakePublicTrueAndPermissionsTopicMakePublicTrueAndPermissionsApplicationIdAndPermissionsTopicId(Long applicationId, Long topicId, Pageable pageable);
-    void deleteByPermissionsTopicEquals(Topic permissionsTopic);
-    void deleteByPermissionsApplicationEquals(Application permissionsApplication);
-    void deleteByPermissionsApplicationIdIn(Collection<Long> permissionsApplications);
-    void deleteByPermissionsTopicIdIn(Collection<Long> permissionsTopics);
+
+    @Query(value = "SELECT applicationPermission_ FROM ApplicationPermission applicationPermission_ " +
+            "WHERE applicationPermission_.permissionsApplication.id = :applicationId AND " +
+            "EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = applicationPermission_.permissionsApplication.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId)",
+            countQuery = "SELECT COUNT(applicationPermission_) FROM ApplicationPermission applicationPermission_ " +
+            "WHERE applicationPermission_.permissionsApplication.id = :applicationId AND " +
+            "EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = applicationPermission_.permissionsApplication.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId)")
+    Page<ApplicationPermission> findByPermissionsApplicationIdVisibleTo(Long applicationId, Long userId, Pageable pageable);
+
+    @Query(value = "SELECT applicationPermission_ FROM ApplicationPermission applicationPermission_ " +
+            "WHERE applicationPermission_.permissionsTopic.id = :topicId AND " +
+            "EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = applicationPermission_.permissionsTopic.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId)",
+            countQuery = "SELECT COUNT(applicationPermission_) FROM ApplicationPermission applicationPermission_ " +
+            "WHERE applicationPermission_.permissionsTopic.id = :topicId AND " +
+            "EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = applicationPermission_.permissionsTopic.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId)")
+    Page<ApplicationPermission> findByPermissionsTopicIdVisibleTo(Long topicId, Long userId, Pageable pageable);
 }
@@ -13,29 +13,28 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.applicationpermission;
 
-import com.nimbusds.jwt.JWT;
-import com.nimbusds.jwt.JWTParser;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
-import io.micronaut.security.token.jwt.generator.claims.JwtClaims;
-import io.micronaut.security.token.jwt.generator.claims.JwtClaimsSetAdapter;
-import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.model.application.Application;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
 import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.security.GrantTokenVerifier;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
 
-import java.text.ParseException;
+import javax.transaction.Transactional;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -51,12 +50,13 @@ public class ApplicationPermissionService {
     private final WritePartitionRepository writePartitionRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
-    private final JwtTokenValidator jwtTokenValidator;
+    private final GrantTokenVerifier grantTokenVerifier;
+    private final ChangeLog changeLog;
 
     public ApplicationPermissionService(ApplicationPermissionRepository applicationPermissionRepository,
                                         ApplicationRepository applicationRepository, TopicRepository topicRepository,
                                         ReadPartitionRepository readPartitionRepository, WritePartitionRepository writePartitionRepository,
-                                        SecurityUtil securityUtil, GroupUserService groupUserService, JwtTokenValidator jwtTokenValidator) {
+                                        SecurityUtil securityUtil, GroupUserService groupUserService, GrantTokenVerifier grantTokenVerifier, ChangeLog changeLog) {
         this.applicationPermissionRepository = applicationPermissionRepository;
         this.applicationRepository = applicationRepository;
         this.topicRepository = topicRepository;
@@ -64,7 +64,8 @@ public class ApplicationPermissionService {
         this.writePartitionRepository = writePartitionRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
-        this.jwtTokenValidator = jwtTokenValidator;
+        this.grantTokenVerifier = grantTokenVerifier;
+        this.changeLog = changeLog;
     }
 
     public Page<AccessPermissionDTO> indexByTopicId(Long topicId, Pageable pageable) {
@@ -147,18 +148,11 @@ public class ApplicationPermissionService {
             }
         } else {
             User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-            if (groups.isEmpty()) {
-                return Page.empty();
-            }
-
-            List<Long> groupsApplications = applicationRepository.findIdByPermissionsGroupIdIn(groups);
-            List<Long> groupsTopics = topicRepository.findIdByPermissionsGroupIdIn(groups);
 
             if (isTopic) {
-                return applicationPermissionRepository.findByPermissionsTopicIdAndPermissionsTopicIdIn(entityId, groupsTopics, pageable);
+                return applicationPermissionRepository.findByPermissionsTopicIdVisibleTo(entityId, user.getId(), pageable);
             } else {
-                return applicationPermissionRepository.findByPermissionsApplicationIdAndPermissionsApplicationIdIn(entityId, groupsApplications, pageable);
+                return applicationPermissionRepository.findByPermissionsApplicationIdVisibleTo(entityId, user.getId(), pageable);
             }
         }
     }
@@ -172,22 +166,7 @@ public class ApplicationPermissionService {
     }
 
     public Publisher<HttpResponse<AccessPermissionDTO>> addAccess(String grantToken, Long topicId, AccessPermissionBodyDTO accessPermissionBodyDTO) {
-        return Publishers.map(jwtTokenValidator.validateToken(grantToken, null), authentication -> {
-            JWT jwt;
-            JwtClaims claims;
-            try {
-                jwt = JWTParser.parse(grantToken);
-                claims = new JwtClaimsSetAdapter(jwt.getJWTClaimsSet());
-                if (claims.get(JwtClaims.SUBJECT) != null) {
-                    Long applicationId = Long.valueOf((String) claims.get(JwtClaims.SUBJECT));
-                    return addAccess(applicationId, topicId, accessPermissionBodyDTO);
-                } else {
-                    throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_TOKEN_PARSE_EXCEPTION, HttpStatus.BAD_REQUEST);
-                }
-            } catch (ParseException e) {
-                throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_TOKEN_PARSE_EXCEPTION, HttpStatus.BAD_REQUEST);
-            }
-        });
+        return Publishers.map(grantTokenVerifier.verify(grantToken), claims -> addAccess(claims.getApplicationId(), topicId, accessPermissionBodyDTO));
     }
 
     public HttpResponse<AccessPermissionDTO> addAccess(Long applicationId, Long topicId, AccessPermissionBodyDTO accessPermissionBodyDTO) {
@@ -223,6 +202,7 @@ public class ApplicationPermissionService {
         return HttpResponse.created(dto);
     }
 
+    @Transactional
     public ApplicationPermission saveNewPermission(Application application, Topic topic, AccessPermissionBodyDTO accessPermissionBodyDTO) {
         if (applicationPermissionRepository.existsByPermissionsApplicationAndPermissionsTopic(application, topic)) {
             throw new DPMException(ResponseStatusCodes.APPLICATION_PERMISSION_ALREADY_EXISTS);
@@ -231,6 +211,7 @@ public class ApplicationPermissionService {
                 new ApplicationPermission(application, topic, accessPermissionBodyDTO.isRead(), accessPermissionBodyDTO.isWrite())
         );
         addPartitionsToPermission(accessPermissionBodyDTO, applicationPermission);
+        changeLog.append(ChangeLogEntityType.APPLICATION_PERMISSION, applicationPermission.getId(), topic.getPermissionsGroup().getId(), ChangeLogOperation.CREATE);
 
         return applicationPermissionRepository.update(applicationPermission);
     }
@@ -263,6 +244,7 @@ public class ApplicationPermissionService {
         );
     }
 
+    @Transactional
     public HttpResponse deleteById(Long permissionId) {
 
         Optional<ApplicationPermission> applicationPermissionOptional = applicationPermissionRepository.findById(permissionId);
@@ -284,9 +266,12 @@ public class ApplicationPermissionService {
         }
 
         applicationPermissionRepository.deleteById(permissionId);
+        changeLog.append(ChangeLogEntityType.APPLICATION_PERMISSION, permissionId,
+                applicationPermissionOptional.get().getPermissionsTopic().getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
         return HttpResponse.noContent();
     }
 
+    @Transactional
     public HttpResponse<AccessPermissionDTO> updateAccess(Long permissionId, AccessPermissionBodyDTO accessPermissionBodyDTO) {
 
         Optional<ApplicationPermission> applicationPermissionOptional = applicationPermissionRepository.findById(permissionId);
@@ -309,6 +294,8 @@ public class ApplicationPermissionService {
         readPartitionRepository.deleteAll(applicationPermission.getReadPartitions());
         writePartitionRepository.deleteAll(applicationPermission.getWritePartitions());
         addPartitionsToPermission(accessPermissionBodyDTO, applicationPermission);
+        changeLog.append(ChangeLogEntityType.APPLICATION_PERMISSION, permissionId,
+                applicationPermission.getPermissionsTopic().getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
 
         return HttpResponse.ok(createDTO(applicationPermissionRepository.update(applicationPermission)));
     }
@@ -328,13 +315,6 @@ public class ApplicationPermissionService {
         }
     }
 
-    public void deleteAllByTopic(Topic topic) {
-        applicationPermissionRepository.deleteByPermissionsTopicEquals(topic);
-    }
-    public void deleteAllByApplication(Application application) {
-        applicationPermissionRepository.deleteByPermissionsApplicationEquals(application);
-    }
-
     public List<ApplicationPermission> findAllByApplicationAndReadEqualsTrue(Application application) {
         return applicationPermissionRepository.findByPermissionsApplicationAndPermissionReadTrue(application);
     }
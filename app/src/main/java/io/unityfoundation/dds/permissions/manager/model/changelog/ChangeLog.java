@@ -0,0 +1,140 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.changelog;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import io.micronaut.transaction.support.TransactionSynchronizationManager;
+import jakarta.inject.Singleton;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records every permission-affecting change. Entries are written in the transaction making the change, so an entry
+ * exists exactly when its change committed, and revisions are handed out under a row lock so they commit in order:
+ * once a reader has seen a revision, no lower revision can appear later.
+ * <p>
+ * Appends are held until the transaction is about to commit, whatever the caller does after them. The transaction's
+ * own writes are flushed first, so the revision row is always the last lock taken and is only held for the commit
+ * itself: two transactions touching the same rows cannot each hold a lock the other needs, and a long transaction does
+ * not keep every other writer waiting.
+ */
+@Singleton
+public class ChangeLog {
+
+    private final EntityManager entityManager;
+    private final ChangeLogEntryRepository changeLogEntryRepository;
+
+    public ChangeLog(EntityManager entityManager, ChangeLogEntryRepository changeLogEntryRepository) {
+        this.entityManager = entityManager;
+        this.changeLogEntryRepository = changeLogEntryRepository;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(ChangeLogEntityType entityType, Long entityId, @Nullable Long groupId, ChangeLogOperation operation) {
+        appendAll(entityType, List.of(entityId), groupId, operation);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void appendAll(ChangeLogEntityType entityType, Collection<Long> entityIds, @Nullable Long groupId, ChangeLogOperation operation) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+
+        Instant changedAt = Instant.now();
+        List<PendingChange> changes = new ArrayList<>(entityIds.size());
+        for (Long entityId : entityIds) {
+            changes.add(new PendingChange(entityType, entityId, groupId, operation, changedAt));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingAppends().changes.addAll(changes);
+        } else {
+            write(changes);
+        }
+    }
+
+    // reads go to the primary, so a reader never sees a head the entries have not reached yet
+    @Transactional
+    public long head() {
+        ChangeLogRevision revision = entityManager.find(ChangeLogRevision.class, ChangeLogRevision.ID);
+        return revision == null ? 0 : revision.getRevision();
+    }
+
+    @Transactional
+    public List<ChangeLogEntry> read(long after, long upTo, int size) {
+        return changeLogEntryRepository.findRange(after, upTo, Pageable.from(0, size));
+    }
+
+    private PendingAppends pendingAppends() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingAppends && ((PendingAppends) synchronization).owner == this) {
+                return (PendingAppends) synchronization;
+            }
+        }
+        PendingAppends pendingAppends = new PendingAppends(this);
+        TransactionSynchronizationManager.registerSynchronization(pendingAppends);
+        return pendingAppends;
+    }
+
+    private void write(List<PendingChange> changes) {
+        entityManager.flush();
+        // the revision row is seeded by V5__AddChangeLog
+        ChangeLogRevision revision = entityManager.find(ChangeLogRevision.class, ChangeLogRevision.ID, LockModeType.PESSIMISTIC_WRITE);
+        for (PendingChange change : changes) {
+            entityManager.persist(new ChangeLogEntry(revision.next(), change.entityType, change.entityId, change.groupId,
+                    change.operation, change.changedAt));
+        }
+        entityManager.flush();
+    }
+
+    private static class PendingAppends implements TransactionSynchronization {
+        private final ChangeLog owner;
+        private final List<PendingChange> changes = new ArrayList<>();
+
+        PendingAppends(ChangeLog owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!changes.isEmpty()) {
+                owner.write(changes);
+            }
+        }
+    }
+
+    private static class PendingChange {
+        private final ChangeLogEntityType entityType;
+        private final Long entityId;
+        private final Long groupId;
+        private final ChangeLogOperation operation;
+        private final Instant changedAt;
+
+        PendingChange(ChangeLogEntityType entityType, Long entityId, @Nullable Long groupId, ChangeLogOperation operation, Instant changedAt) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.groupId = groupId;
+            this.operation = operation;
+            this.changedAt = changedAt;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.changelog;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "permissions_change_log")
+public class ChangeLogEntry {
+
+    @Id
+    private Long revision;
+
+    @NonNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeLogEntityType entityType;
+
+    @NonNull
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Nullable
+    private Long groupId;
+
+    @NonNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeLogOperation operation;
+
+    @NonNull
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    public ChangeLogEntry() {
+    }
+
+    public ChangeLogEntry(@NonNull Long revision, @NonNull ChangeLogEntityType entityType, @NonNull Long entityId,
+                          @Nullable Long groupId, @NonNull ChangeLogOperation operation, @NonNull Instant changedAt) {
+        this.revision = revision;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.groupId = groupId;
+        this.operation = operation;
+        this.changedAt = changedAt;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    @NonNull
+    public ChangeLogEntityType getEntityType() {
+        return entityType;
+    }
+
+    @NonNull
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    @Nullable
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    @NonNull
+    public ChangeLogOperation getOperation() {
+        return operation;
+    }
+
+    @NonNull
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
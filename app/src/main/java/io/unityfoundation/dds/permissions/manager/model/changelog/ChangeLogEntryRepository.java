@@ -0,0 +1,28 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.changelog;
+
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogEntryRepository extends CrudRepository<ChangeLogEntry, Long> {
+
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.revision > :after AND e.revision <= :upTo ORDER BY e.revision")
+    List<ChangeLogEntry> findRange(long after, long upTo, Pageable pageable);
+}
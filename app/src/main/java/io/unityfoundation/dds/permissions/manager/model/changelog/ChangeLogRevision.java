@@ -0,0 +1,45 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.changelog;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The single row holding the last revision handed out, seeded by V5__AddChangeLog. Appending locks it from just
+ * before the transaction commits until it ends, so revisions become visible in the order they were assigned.
+ */
+@Entity
+@Table(name = "permissions_change_log_revision")
+public class ChangeLogRevision {
+
+    static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private long revision;
+
+    public ChangeLogRevision() {
+    }
+
+    long next() {
+        return ++revision;
+    }
+
+    long getRevision() {
+        return revision;
+    }
+}
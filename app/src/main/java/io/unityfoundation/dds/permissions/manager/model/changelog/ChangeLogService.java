@@ -0,0 +1,64 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.changelog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.io.Writable;
+import io.micronaut.http.HttpStatus;
+import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+@Singleton
+public class ChangeLogService {
+
+    @Property(name = "permissions-manager.change-log.batch-size", defaultValue = "500")
+    protected int batchSize;
+
+    private final ChangeLog changeLog;
+    private final SecurityUtil securityUtil;
+    private final ObjectMapper objectMapper;
+
+    public ChangeLogService(ChangeLog changeLog, SecurityUtil securityUtil, ObjectMapper objectMapper) {
+        this.changeLog = changeLog;
+        this.securityUtil = securityUtil;
+        this.objectMapper = objectMapper;
+    }
+
+    // streams the entries after the given revision up to the head at the time of the request, one short read per batch
+    public Writable stream(long after) {
+        if (!securityUtil.isCurrentUserAdmin()) {
+            throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+        }
+
+        long head = changeLog.head();
+        return out -> {
+            long from = after;
+            List<ChangeLogEntry> slice;
+            do {
+                slice = changeLog.read(from, head, batchSize);
+                for (ChangeLogEntry entry : slice) {
+                    out.write(objectMapper.writeValueAsString(entry));
+                    out.write('\n');
+                    from = entry.getRevision();
+                }
+            } while (slice.size() == batchSize);
+            out.flush();
+        };
+    }
+}
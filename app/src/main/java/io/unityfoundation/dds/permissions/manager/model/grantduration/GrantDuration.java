@@ -16,6 +16,8 @@ package io.unityfoundation.dds.permissions.manager.model.grantduration;
 
 import io.micronaut.core.annotation.NonNull;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -24,6 +26,8 @@ import javax.validation.constraints.Size;
 
 @Entity
 @Table(name = "permissions_grant_duration")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class GrantDuration {
 
     @Id
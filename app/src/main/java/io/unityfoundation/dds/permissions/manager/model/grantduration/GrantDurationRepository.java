@@ -13,24 +13,64 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.grantduration;
 
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
+import io.unityfoundation.dds.permissions.manager.model.VisibleSummaries;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface GrantDurationRepository extends PageableRepository<GrantDuration, Long> {
-    Page<GrantDuration> findAllByPermissionsGroupIdIn(List<Long> groupIds, Pageable pageable);
+public interface GrantDurationRepository extends PageableRepository<GrantDuration, Long>, VisibleSummaries<GrantDurationSummary> {
 
-    Page<GrantDuration> findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName, Pageable pageable);
+    Optional<GrantDuration> findByNameAndPermissionsGroup(String name, Group group);
 
-    List<Long> findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName);
+    String SUMMARY_SELECT = "SELECT grantDuration_.id AS id, " +
+            "grantDuration_.name AS name, " +
+            "grantDuration_.permissionsGroup.id AS groupId, " +
+            "grantDuration_.permissionsGroup.name AS groupName, " +
+            "grantDuration_.durationInMilliseconds AS durationInMilliseconds, " +
+            "grantDuration_.durationMetadata AS durationMetadata, " +
+            "(SELECT COUNT(ag.id) FROM ApplicationGrant ag WHERE ag.grantDuration.id = grantDuration_.id) AS grantCount " +
+            "FROM GrantDuration grantDuration_ ";
 
-    Page<GrantDuration> findAllByIdInAndPermissionsGroupIdIn(List<Long> grandDurationIds, List<Long> groupIds, Pageable pageable);
+    String SUMMARY_COUNT = "SELECT COUNT(grantDuration_) FROM GrantDuration grantDuration_ ";
 
-    Optional<GrantDuration> findByNameAndPermissionsGroup(String name, Group group);
-}
\ No newline at end of file
+    String IN_GROUPS = "WHERE grantDuration_.permissionsGroup.id IN (:groupIds) ";
+
+    String VISIBLE_TO_USER = "WHERE EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = grantDuration_.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId) ";
+
+    String SUMMARY_FILTER = "(LOWER(grantDuration_.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(grantDuration_.permissionsGroup.name) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SUMMARY_FILTER, countQuery = SUMMARY_COUNT + "WHERE " + SUMMARY_FILTER)
+    @Override
+    Page<GrantDurationSummary> findSummaries(String filter, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT, countQuery = SUMMARY_COUNT)
+    @Override
+    Page<GrantDurationSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + IN_GROUPS + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<GrantDurationSummary> findSummariesInGroups(String filter, List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS, countQuery = SUMMARY_COUNT + IN_GROUPS)
+    @Override
+    Page<GrantDurationSummary> findSummariesInGroups(List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<GrantDurationSummary> findSummariesVisibleTo(String filter, Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER, countQuery = SUMMARY_COUNT + VISIBLE_TO_USER)
+    @Override
+    Page<GrantDurationSummary> findSummariesVisibleTo(Long userId, Pageable pageable);
+}
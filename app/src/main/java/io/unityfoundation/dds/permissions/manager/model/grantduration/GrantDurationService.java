@@ -13,14 +13,23 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.grantduration;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrantRepository;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.dto.GrantDurationDTO;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.dto.CreateGrantDurationDTO;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
@@ -30,6 +39,7 @@ import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
 import jakarta.inject.Singleton;
 
+import javax.transaction.Transactional;
 import javax.validation.constraints.NotNull;
 import java.util.List;
 import java.util.Objects;
@@ -43,69 +53,37 @@ public class GrantDurationService {
     private final GroupRepository groupRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
+    private final KeysetPaginator keysetPaginator;
+    private final ChangeLog changeLog;
 
-    public GrantDurationService(GrantDurationRepository grantDurationRepository, ApplicationGrantRepository grantRepository, GroupRepository groupRepository, SecurityUtil securityUtil, GroupUserService groupUserService) {
+    public GrantDurationService(GrantDurationRepository grantDurationRepository, ApplicationGrantRepository grantRepository, GroupRepository groupRepository, SecurityUtil securityUtil, GroupUserService groupUserService, KeysetPaginator keysetPaginator, ChangeLog changeLog) {
         this.grantDurationRepository = grantDurationRepository;
         this.grantRepository = grantRepository;
         this.groupRepository = groupRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
+        this.keysetPaginator = keysetPaginator;
+        this.changeLog = changeLog;
     }
 
+    @ReadOnly
     public Page<GrantDurationDTO> findAll(Pageable pageable, String filter, Long groupId) {
-        return getGrantDurationDTOPage(getGrantDurationPage(pageable, filter, groupId));
-    }
-
-    private Page<GrantDuration> getGrantDurationPage(Pageable pageable, String filter, Long groupId) {
-
-        if(!pageable.isSorted()) {
+        if (!pageable.isSorted()) {
             pageable = pageable.order("name").order("permissionsGroup.name");
         }
 
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (filter == null) {
-                if (groupId == null) {
-                    return grantDurationRepository.findAll(pageable);
-                }
-                return grantDurationRepository.findAllByPermissionsGroupIdIn(List.of(groupId), pageable);
-            }
-
-            if (groupId == null) {
-                return grantDurationRepository.findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, pageable);
-            }
-
-            all = grantDurationRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-
-            return grantDurationRepository.findAllByIdInAndPermissionsGroupIdIn(all, List.of(groupId), pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty() || (groupId != null && !groups.contains(groupId))) {
-                return Page.empty();
-            }
-
-            if (groupId != null) {
-                // implies groupId exists in member's groups
-                groups = List.of(groupId);
-            }
-
-            if (filter == null) {
-                return grantDurationRepository.findAllByPermissionsGroupIdIn(groups, pageable);
-            }
-
-            all = grantDurationRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-            if (all.isEmpty()) {
-                return Page.empty();
-            }
-
-            return grantDurationRepository.findAllByIdInAndPermissionsGroupIdIn(all, groups, pageable);
-        }
+        GroupVisibility visibility = groupUserService.getVisibility(groupId);
+        Page<GrantDurationSummary> page = visibility.findSummaries(grantDurationRepository, filter, pageable);
+        return page.map(this::createDTO);
     }
 
-    private Page<GrantDurationDTO> getGrantDurationDTOPage(Page<GrantDuration> page) {
-        return page.map(this::createDTO);
+    @ReadOnly
+    public CursorPage<GrantDurationDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long groupId) {
+        KeysetQuery<GrantDuration> query = KeysetQuery.of(GrantDuration.class)
+                .orderBy("name", "permissionsGroup.name")
+                .visibleTo("permissionsGroup", groupUserService.getVisibility(groupId))
+                .filter(filter, "name", "permissionsGroup.name");
+        return keysetPaginator.find(query, cursor, size).map(this::createDTO);
     }
 
     public GrantDurationDTO findById(Long grantDurationId) {
@@ -116,6 +94,7 @@ public class GrantDurationService {
         return createDTO(grantDurationOptional.get());
     }
 
+    @Transactional
     public MutableHttpResponse<?> create(CreateGrantDurationDTO grantDurationDTO) {
 
         Optional<Group> groupOptional = groupRepository.findById(grantDurationDTO.getGroupId());
@@ -144,10 +123,14 @@ public class GrantDurationService {
                 );
         newGrantDuration.setDurationMetadata(grantDurationDTO.getDurationMetadata());
 
-        GrantDurationDTO responseTopicDTO = createDTO(grantDurationRepository.save(newGrantDuration));
+        GrantDuration savedGrantDuration = grantDurationRepository.save(newGrantDuration);
+        changeLog.append(ChangeLogEntityType.GRANT_DURATION, savedGrantDuration.getId(), groupOptional.get().getId(), ChangeLogOperation.CREATE);
+
+        GrantDurationDTO responseTopicDTO = createDTO(savedGrantDuration);
         return HttpResponse.ok(responseTopicDTO);
     }
 
+    @Transactional
     public MutableHttpResponse<?> update(@NotNull Long durationId, GrantDurationDTO grantDurationDTO) {
         Optional<Group> groupOptional = groupRepository.findById(grantDurationDTO.getGroupId());
 
@@ -175,9 +158,11 @@ public class GrantDurationService {
         grantDuration.setDurationMetadata(grantDurationDTO.getDurationMetadata());
 
         GrantDurationDTO dto = createDTO(grantDurationRepository.update(grantDuration));
+        changeLog.append(ChangeLogEntityType.GRANT_DURATION, durationId, grantDuration.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
         return HttpResponse.ok(dto);
     }
 
+    @Transactional
     public HttpResponse deleteById(Long grantDurationId) {
 
         Optional<GrantDuration> grantDurationOptional = grantDurationRepository.findById(grantDurationId);
@@ -189,6 +174,7 @@ public class GrantDurationService {
         }
 
         grantDurationRepository.delete(grantDurationOptional.get());
+        changeLog.append(ChangeLogEntityType.GRANT_DURATION, grantDurationId, grantDurationOptional.get().getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
         return HttpResponse.noContent();
     }
 
@@ -210,6 +196,19 @@ public class GrantDurationService {
                 );
     }
 
+    private GrantDurationDTO createDTO(GrantDurationSummary grantDuration) {
+        List<String> admins = groupUserService.getAllTopicAdminsOfGroup(grantDuration.getGroupId());
+        return new GrantDurationDTO(grantDuration.getId(),
+                grantDuration.getName(),
+                grantDuration.getGroupId(),
+                grantDuration.getGroupName(),
+                grantDuration.getDurationInMilliseconds(),
+                grantDuration.getDurationMetadata(),
+                admins,
+                grantDuration.getGrantCount().intValue()
+                );
+    }
+
     private void checkExistenceAndAdminAuthorization(Optional<GrantDuration> grantDurationOptional) {
         if (grantDurationOptional.isEmpty()) {
             throw new DPMException(ResponseStatusCodes.GRANT_DURATION_NOT_FOUND, HttpStatus.NOT_FOUND);
@@ -16,8 +16,6 @@ package io.unityfoundation.dds.permissions.manager.model.group;
 import io.micronaut.core.annotation.Introspected;
 import io.unityfoundation.dds.permissions.manager.model.EntityDTO;
 
-import java.util.Set;
-
 @Introspected
 public class DetailedGroupDTO implements EntityDTO {
 
@@ -25,8 +23,6 @@ public class DetailedGroupDTO implements EntityDTO {
     private String name;
     private String description;
     private Boolean isPublic;
-    private Set<Long> topics;
-    private Set<Long> applications;
     private int membershipCount;
     private int topicCount;
     private int applicationCount;
@@ -50,22 +46,6 @@ public class DetailedGroupDTO implements EntityDTO {
         return name;
     }
 
-    public Set<Long> getTopics() {
-        return topics;
-    }
-
-    public void setTopics(Set<Long> topics) {
-        this.topics = topics;
-    }
-
-    public Set<Long> getApplications() {
-        return applications;
-    }
-
-    public void setApplications(Set<Long> applications) {
-        this.applications = applications;
-    }
-
     public long getMembershipCount() {
         return membershipCount;
     }
@@ -0,0 +1,69 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.group;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public class GroupCounts {
+
+    private Long groupId;
+    private Long topicCount;
+    private Long applicationCount;
+    private Long grantCount;
+    private Long membershipCount;
+
+    public GroupCounts() {
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public Long getTopicCount() {
+        return topicCount;
+    }
+
+    public void setTopicCount(Long topicCount) {
+        this.topicCount = topicCount;
+    }
+
+    public Long getApplicationCount() {
+        return applicationCount;
+    }
+
+    public void setApplicationCount(Long applicationCount) {
+        this.applicationCount = applicationCount;
+    }
+
+    public Long getGrantCount() {
+        return grantCount;
+    }
+
+    public void setGrantCount(Long grantCount) {
+        this.grantCount = grantCount;
+    }
+
+    public Long getMembershipCount() {
+        return membershipCount;
+    }
+
+    public void setMembershipCount(Long membershipCount) {
+        this.membershipCount = membershipCount;
+    }
+}
@@ -14,12 +14,15 @@
 package io.unityfoundation.dds.permissions.manager.model.group;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
+import io.unityfoundation.dds.permissions.manager.search.SearchDocument;
 
 import javax.validation.constraints.NotNull;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,9 +31,35 @@ public interface GroupRepository extends PageableRepository<Group, Long> {
     Optional<Group> findByName(@NotNull @NonNull String name);
     Page<Group> findAllByIdIn(List<Long> groupIds, Pageable pageable);
     Page<Group> findAllByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(String groupName, String groupDescription, Pageable pageable);
-    List<Long> findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(String groupName, String groupDescription);
     Page<Group> findAllByMakePublicTrue(Pageable pageable);
-    List<Group> findTop50ByMakePublicTrue();
-    Page<Group> findByMakePublicTrueAndIdIn(List<Long> groupIds, Pageable pageable);
-    List<Group> findTop50ByMakePublicTrueAndIdIn(List<Long> groupIds);
+    long countByMakePublicTrue();
+    List<Group> findAllByMakePublicTrueAndIdIn(List<Long> groupIds);
+
+    @Query("SELECT g.id AS id, g.name AS name, g.description AS description, g.id AS groupId " +
+            "FROM io.unityfoundation.dds.permissions.manager.model.group.Group g WHERE g.makePublic = true")
+    List<SearchDocument> findPublicSearchDocuments();
+
+    @Query("SELECT group_.id AS id, group_.name AS name, group_.description AS description, group_.id AS groupId " +
+            "FROM io.unityfoundation.dds.permissions.manager.model.group.Group group_ WHERE group_.makePublic = true")
+    List<SearchDocument> findPublicSearchDocuments(Pageable pageable);
+
+    @Query("SELECT g.id AS id, g.name AS name, g.description AS description, g.id AS groupId " +
+            "FROM io.unityfoundation.dds.permissions.manager.model.group.Group g WHERE g.makePublic = true AND g.id IN (:ids)")
+    List<SearchDocument> findPublicSearchDocumentsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT g.id AS groupId, " +
+            "(SELECT COUNT(t.id) FROM Topic t WHERE t.permissionsGroup.id = g.id) AS topicCount, " +
+            "(SELECT COUNT(a.id) FROM Application a WHERE a.permissionsGroup.id = g.id) AS applicationCount, " +
+            "(SELECT COUNT(ag.id) FROM ApplicationGrant ag WHERE ag.permissionsGroup.id = g.id) AS grantCount, " +
+            "(SELECT COUNT(gu.id) FROM GroupUser gu WHERE gu.permissionsGroup.id = g.id) AS membershipCount " +
+            "FROM io.unityfoundation.dds.permissions.manager.model.group.Group g WHERE g.id IN (:groupIds)")
+    List<GroupCounts> findCountsByIdIn(List<Long> groupIds);
+
+    String SEARCH_IN_GROUPS = "FROM io.unityfoundation.dds.permissions.manager.model.group.Group group_ " +
+            "WHERE group_.id IN (:groupIds) " +
+            "AND (LOWER(group_.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(group_.description) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = "SELECT group_ " + SEARCH_IN_GROUPS, countQuery = "SELECT COUNT(group_) " + SEARCH_IN_GROUPS)
+    Page<Group> searchInGroups(String filter, List<Long> groupIds, Pageable pageable);
 }
@@ -13,26 +13,37 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.group;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.model.Sort;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
-import io.unityfoundation.dds.permissions.manager.model.application.Application;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
-import io.unityfoundation.dds.permissions.manager.model.applicationpermission.ApplicationPermissionRepository;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
-import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.search.PublicSearchIndex;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
+import io.unityfoundation.dds.permissions.manager.util.ReferenceDataCache;
 import jakarta.inject.Singleton;
 
+import javax.transaction.Transactional;
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Singleton
@@ -41,34 +52,66 @@ public class GroupService {
     private final GroupRepository groupRepository;
     private final ApplicationRepository applicationRepository;
     private final TopicRepository topicRepository;
-    private final ApplicationPermissionRepository applicationPermissionRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
+    private final KeysetPaginator keysetPaginator;
+    private final ReferenceDataCache referenceDataCache;
+    private final PublicSearchIndex publicSearchIndex;
+    private final ChangeLog changeLog;
 
 
-    public GroupService(GroupRepository groupRepository, ApplicationRepository applicationRepository, TopicRepository topicRepository, ApplicationPermissionRepository applicationPermissionRepository, SecurityUtil securityUtil,
-                        GroupUserService groupUserService) {
+    public GroupService(GroupRepository groupRepository, ApplicationRepository applicationRepository, TopicRepository topicRepository, SecurityUtil securityUtil,
+                        GroupUserService groupUserService, KeysetPaginator keysetPaginator, ReferenceDataCache referenceDataCache,
+                        PublicSearchIndex publicSearchIndex, ChangeLog changeLog) {
         this.groupRepository = groupRepository;
         this.applicationRepository = applicationRepository;
         this.topicRepository = topicRepository;
-        this.applicationPermissionRepository = applicationPermissionRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
+        this.keysetPaginator = keysetPaginator;
+        this.referenceDataCache = referenceDataCache;
+        this.publicSearchIndex = publicSearchIndex;
+        this.changeLog = changeLog;
     }
 
+    @ReadOnly
     public Page<DetailedGroupDTO> findAll(Pageable pageable, String filter) {
-        return getGroupPage(pageable, filter).map(group -> {
-            DetailedGroupDTO groupsResponseDTO = new DetailedGroupDTO();
-            groupsResponseDTO.setGroupFields(group);
-            groupsResponseDTO.setTopics(group.getTopics().stream().map(Topic::getId).collect(Collectors.toSet()));
-            groupsResponseDTO.setApplications(group.getApplications().stream().map(Application::getId).collect(Collectors.toSet()));
-            groupsResponseDTO.setTopicCount(group.getTopics().size());
-            groupsResponseDTO.setApplicationCount(group.getApplications().size());
-            groupsResponseDTO.setGrantCount(group.getApplicationGrants().size());
-            groupsResponseDTO.setMembershipCount(groupUserService.getMembershipCountByGroup(group));
-
-            return groupsResponseDTO;
-        });
+        Page<Group> page = getGroupPage(pageable, filter);
+        Map<Long, GroupCounts> countsByGroup = getCounts(page.getContent());
+        return page.map(group -> createDetailedDTO(group, countsByGroup.get(group.getId())));
+    }
+
+    @ReadOnly
+    public CursorPage<DetailedGroupDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter) {
+        KeysetQuery<Group> query = KeysetQuery.of(Group.class)
+                .orderBy("name")
+                .visibleTo(null, groupUserService.getVisibility(null))
+                .filter(filter, "name", "description");
+        CursorPage<Group> page = keysetPaginator.find(query, cursor, size);
+        Map<Long, GroupCounts> countsByGroup = getCounts(page.getContent());
+        return page.map(group -> createDetailedDTO(group, countsByGroup.get(group.getId())));
+    }
+
+    private Map<Long, GroupCounts> getCounts(List<Group> groups) {
+        if (groups.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> groupIds = groups.stream().map(Group::getId).collect(Collectors.toList());
+        return groupRepository.findCountsByIdIn(groupIds).stream()
+                .collect(Collectors.toMap(GroupCounts::getGroupId, Function.identity()));
+    }
+
+    private DetailedGroupDTO createDetailedDTO(Group group, GroupCounts counts) {
+        DetailedGroupDTO groupsResponseDTO = new DetailedGroupDTO();
+        groupsResponseDTO.setGroupFields(group);
+        if (counts != null) {
+            groupsResponseDTO.setTopicCount(counts.getTopicCount().intValue());
+            groupsResponseDTO.setApplicationCount(counts.getApplicationCount().intValue());
+            groupsResponseDTO.setGrantCount(counts.getGrantCount().intValue());
+            groupsResponseDTO.setMembershipCount(counts.getMembershipCount().intValue());
+        }
+
+        return groupsResponseDTO;
     }
 
     private Page<Group> getGroupPage(Pageable pageable, String filter) {
@@ -93,16 +136,11 @@ public class GroupService {
                 return groupRepository.findAllByIdIn(groupsList, pageable);
             }
 
-            List<Long> searchByNameOrDescription = groupRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(filter, filter);
-            List<Long> intersection = searchByNameOrDescription.stream()
-                    .distinct()
-                    .filter(groupsList::contains)
-                    .collect(Collectors.toList());
-
-            return groupRepository.findAllByIdIn(intersection, pageable);
+            return groupRepository.searchInGroups(filter, groupsList, pageable);
         }
     }
 
+    @Transactional
     public MutableHttpResponse<?> save(SimpleGroupDTO groupRequestDTO) {
 
         Optional<Group> searchGroupByName = groupRepository.findByName(groupRequestDTO.getName().trim());
@@ -118,6 +156,7 @@ public class GroupService {
             }
 
             group = groupRepository.save(new Group(groupRequestDTO.getName(), groupRequestDTO.getDescription(), isPublic));
+            changeLog.append(ChangeLogEntityType.GROUP, group.getId(), group.getId(), ChangeLogOperation.CREATE);
         } else {
             if (searchGroupByName.isPresent() && !searchGroupByName.get().getId().equals(groupRequestDTO.getId())) {
                 return HttpResponse.badRequest("Group with same name already exists");
@@ -140,28 +179,21 @@ public class GroupService {
             group.setMakePublic(isPublic);
 
             group = groupRepository.update(group);
+            changeLog.append(ChangeLogEntityType.GROUP, group.getId(), group.getId(), ChangeLogOperation.UPDATE);
         }
 
         return HttpResponse.ok(new SimpleGroupDTO(group.getId(), group.getName(), group.getDescription(), group.getMakePublic()));
     }
 
     private void cascadePrivate(Group group) {
-
-        if (group.getApplications() != null) {
-            group.getApplications().forEach(application -> {
-                application.setMakePublic(false);
-                applicationRepository.update(application);
-            });
-        }
-
-        if (group.getTopics() != null) {
-            group.getTopics().forEach(topic -> {
-                topic.setMakePublic(false);
-                topicRepository.update(topic);
-            });
-        }
+        Instant now = Instant.now();
+        applicationRepository.updateMakePublicFalseByPermissionsGroupId(group.getId(), now);
+        topicRepository.updateMakePublicFalseByPermissionsGroupId(group.getId(), now);
+        // the bulk updates bypass the search index listener
+        publicSearchIndex.removeGroup(group.getId());
     }
 
+    @Transactional
     public MutableHttpResponse<?> deleteById(Long id) {
         Optional<Group> groupOptional = groupRepository.findById(id);
         if (groupOptional.isEmpty()) {
@@ -170,9 +202,11 @@ public class GroupService {
 
         Group group = groupOptional.get();
         groupUserService.removeByGroup(group);
-        applicationPermissionRepository.deleteByPermissionsApplicationIdIn(group.getApplications().stream().map(Application::getId).collect(Collectors.toList()));
-        applicationPermissionRepository.deleteByPermissionsTopicIdIn(group.getTopics().stream().map(Topic::getId).collect(Collectors.toList()));
+        // the database cascades the delete to everything the group owns, so the one entry stands for all of it
         groupRepository.deleteById(id);
+        changeLog.append(ChangeLogEntityType.GROUP, id, id, ChangeLogOperation.DELETE);
+        referenceDataCache.evictCascadedDeletes();
+        publicSearchIndex.removeGroup(id);
 
         return HttpResponse.seeOther(URI.create("/api/groups"));
     }
@@ -0,0 +1,744 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.groupconfig;
+
+import io.micronaut.http.HttpStatus;
+import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.action.Action;
+import io.unityfoundation.dds.permissions.manager.model.action.ActionPartition;
+import io.unityfoundation.dds.permissions.manager.model.action.ActionRepository;
+import io.unityfoundation.dds.permissions.manager.model.actioninterval.ActionInterval;
+import io.unityfoundation.dds.permissions.manager.model.actioninterval.ActionIntervalRepository;
+import io.unityfoundation.dds.permissions.manager.model.actiontopic.ActionTopicWriter;
+import io.unityfoundation.dds.permissions.manager.model.application.Application;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
+import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrant;
+import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrantRepository;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
+import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDuration;
+import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDurationRepository;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
+import io.unityfoundation.dds.permissions.manager.model.topicset.TopicSet;
+import io.unityfoundation.dds.permissions.manager.model.topicset.TopicSetRepository;
+import io.unityfoundation.dds.permissions.manager.model.topicsettopic.TopicSetTopic;
+import io.unityfoundation.dds.permissions.manager.model.topicsettopic.TopicSetTopicRepository;
+import jakarta.inject.Singleton;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Applies and reads group configuration records one batch per transaction. Lookups for a batch are made with one
+ * query per entity type rather than one per record.
+ */
+@Singleton
+public class GroupConfigBatches {
+
+    private static final Map<GroupConfigRecordType, Class<?>> NAMED_TYPES = new EnumMap<>(Map.of(
+            GroupConfigRecordType.GRANT_DURATION, GrantDuration.class,
+            GroupConfigRecordType.ACTION_INTERVAL, ActionInterval.class,
+            GroupConfigRecordType.TOPIC, Topic.class,
+            GroupConfigRecordType.TOPIC_SET, TopicSet.class,
+            GroupConfigRecordType.APPLICATION, Application.class,
+            GroupConfigRecordType.GRANT, ApplicationGrant.class
+    ));
+
+    private static final Map<GroupConfigRecordType, ChangeLogEntityType> CHANGE_LOG_TYPES = new EnumMap<>(Map.of(
+            GroupConfigRecordType.GRANT_DURATION, ChangeLogEntityType.GRANT_DURATION,
+            GroupConfigRecordType.ACTION_INTERVAL, ChangeLogEntityType.ACTION_INTERVAL,
+            GroupConfigRecordType.TOPIC, ChangeLogEntityType.TOPIC,
+            GroupConfigRecordType.TOPIC_SET, ChangeLogEntityType.TOPIC_SET,
+            GroupConfigRecordType.APPLICATION, ChangeLogEntityType.APPLICATION,
+            GroupConfigRecordType.GRANT, ChangeLogEntityType.APPLICATION_GRANT,
+            GroupConfigRecordType.ACTION, ChangeLogEntityType.ACTION
+    ));
+
+    private final EntityManager entityManager;
+    private final GrantDurationRepository grantDurationRepository;
+    private final ActionIntervalRepository actionIntervalRepository;
+    private final TopicRepository topicRepository;
+    private final TopicSetRepository topicSetRepository;
+    private final TopicSetTopicRepository topicSetTopicRepository;
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationGrantRepository applicationGrantRepository;
+    private final ActionRepository actionRepository;
+    private final ActionTopicWriter actionTopicWriter;
+    private final ChangeLog changeLog;
+
+    public GroupConfigBatches(EntityManager entityManager, GrantDurationRepository grantDurationRepository,
+                              ActionIntervalRepository actionIntervalRepository, TopicRepository topicRepository,
+                              TopicSetRepository topicSetRepository, TopicSetTopicRepository topicSetTopicRepository,
+                              ApplicationRepository applicationRepository, ApplicationGrantRepository applicationGrantRepository,
+                              ActionRepository actionRepository, ActionTopicWriter actionTopicWriter, ChangeLog changeLog) {
+        this.entityManager = entityManager;
+        this.grantDurationRepository = grantDurationRepository;
+        this.actionIntervalRepository = actionIntervalRepository;
+        this.topicRepository = topicRepository;
+        this.topicSetRepository = topicSetRepository;
+        this.topicSetTopicRepository = topicSetTopicRepository;
+        this.applicationRepository = applicationRepository;
+        this.applicationGrantRepository = applicationGrantRepository;
+        this.actionRepository = actionRepository;
+        this.actionTopicWriter = actionTopicWriter;
+        this.changeLog = changeLog;
+    }
+
+    @Transactional
+    public void apply(ImportState state, List<GroupConfigRecord> records) {
+        Group group = entityManager.find(Group.class, state.groupId);
+        if (group == null) {
+            throw new DPMException(ResponseStatusCodes.GROUP_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        if (state.names.isEmpty()) {
+            loadNames(state);
+        }
+        preloadNamed(state, records);
+        Map<Long, Set<Long>> topicSetMembers = loadTopicSetMembers(state, records);
+        Map<Long, Set<ActionSignature>> actions = loadActionSignatures(state, records);
+        state.changes.clear();
+
+        for (int i = 0; i < records.size(); i++) {
+            GroupConfigRecord record = records.get(i);
+            state.applying = i;
+            switch (record.getType()) {
+                case GRANT_DURATION:
+                    applyGrantDuration(state, group, record);
+                    break;
+                case ACTION_INTERVAL:
+                    applyActionInterval(state, group, record);
+                    break;
+                case TOPIC:
+                    applyTopic(state, group, record);
+                    break;
+                case TOPIC_SET:
+                    applyTopicSet(state, group, record, topicSetMembers);
+                    break;
+                case APPLICATION:
+                    applyApplication(state, group, record);
+                    break;
+                case GRANT:
+                    applyGrant(state, group, record);
+                    break;
+                case ACTION:
+                    applyAction(state, record, actions);
+                    break;
+            }
+            state.result.setRecords(state.result.getRecords() + 1);
+        }
+        state.applying = -1;
+
+        // one revision lock per entity type and operation rather than one per record
+        state.changes.forEach((entityType, operations) -> operations.forEach((operation, ids) ->
+                changeLog.appendAll(entityType, ids, group.getId(), operation)));
+        state.changes.clear();
+        state.result.setBatches(state.result.getBatches() + 1);
+    }
+
+    @Transactional
+    public Slice read(Long groupId, GroupConfigRecordType type, long afterId, int size) {
+        if (type == GroupConfigRecordType.ACTION) {
+            return readActions(groupId, afterId, size);
+        }
+
+        List<?> rows = entityManager.createQuery("SELECT x FROM " + NAMED_TYPES.get(type).getName() + " x " +
+                        "WHERE x.permissionsGroup.id = :groupId AND x.id > :afterId ORDER BY x.id")
+                .setParameter("groupId", groupId)
+                .setParameter("afterId", afterId)
+                .setMaxResults(size)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return new Slice(List.of(), afterId);
+        }
+        long lastId = (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+                .getIdentifier(rows.get(rows.size() - 1));
+
+        switch (type) {
+            case GRANT_DURATION:
+                return new Slice(rows.stream().map(row -> toRecord((GrantDuration) row)).collect(Collectors.toList()), lastId);
+            case ACTION_INTERVAL:
+                return new Slice(rows.stream().map(row -> toRecord((ActionInterval) row)).collect(Collectors.toList()), lastId);
+            case TOPIC:
+                return new Slice(rows.stream().map(row -> toRecord((Topic) row)).collect(Collectors.toList()), lastId);
+            case TOPIC_SET:
+                return new Slice(toTopicSetRecords(rows), lastId);
+            case APPLICATION:
+                return new Slice(rows.stream().map(row -> toRecord((Application) row)).collect(Collectors.toList()), lastId);
+            default:
+                return new Slice(rows.stream().map(row -> toRecord((ApplicationGrant) row, groupId)).collect(Collectors.toList()), lastId);
+        }
+    }
+
+    private void loadNames(ImportState state) {
+        NAMED_TYPES.forEach((type, entityType) -> {
+            Map<String, Long> ids = new HashMap<>();
+            for (Object[] row : entityManager.createQuery("SELECT x.name, x.id FROM " + entityType.getName() + " x " +
+                            "WHERE x.permissionsGroup.id = :groupId", Object[].class)
+                    .setParameter("groupId", state.groupId)
+                    .getResultList()) {
+                ids.put((String) row[0], (Long) row[1]);
+            }
+            state.names.put(type, ids);
+        });
+    }
+
+    // brings the existing entities a batch updates into the persistence context with one query per type
+    private void preloadNamed(ImportState state, List<GroupConfigRecord> records) {
+        Map<GroupConfigRecordType, List<Long>> existing = new EnumMap<>(GroupConfigRecordType.class);
+        for (GroupConfigRecord record : records) {
+            Long id = state.id(record.getType(), record.getName());
+            if (id != null) {
+                existing.computeIfAbsent(record.getType(), type -> new ArrayList<>()).add(id);
+            }
+        }
+        existing.forEach((type, ids) -> entityManager.createQuery("SELECT x FROM " + NAMED_TYPES.get(type).getName() +
+                        " x WHERE x.id IN :ids")
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    private Map<Long, Set<Long>> loadTopicSetMembers(ImportState state, List<GroupConfigRecord> records) {
+        List<Long> topicSetIds = records.stream()
+                .filter(record -> record.getType() == GroupConfigRecordType.TOPIC_SET)
+                .map(record -> state.id(GroupConfigRecordType.TOPIC_SET, record.getName()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<Long, Set<Long>> members = new HashMap<>();
+        if (topicSetIds.isEmpty()) {
+            return members;
+        }
+        for (Object[] row : entityManager.createQuery("SELECT tst.permissionsTopicSet.id, tst.permissionsTopic.id " +
+                        "FROM TopicSetTopic tst WHERE tst.permissionsTopicSet.id IN :ids", Object[].class)
+                .setParameter("ids", topicSetIds)
+                .getResultList()) {
+            members.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        return members;
+    }
+
+    private Map<Long, Set<ActionSignature>> loadActionSignatures(ImportState state, List<GroupConfigRecord> records) {
+        List<Long> grantIds = records.stream()
+                .filter(record -> record.getType() == GroupConfigRecordType.ACTION)
+                .map(record -> state.id(GroupConfigRecordType.GRANT, record.getGrant()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Set<ActionSignature>> signatures = new HashMap<>();
+        if (grantIds.isEmpty()) {
+            return signatures;
+        }
+
+        List<Object[]> actions = entityManager.createQuery("SELECT a.id, a.applicationGrant.id, a.actionInterval.id, a.canPublish " +
+                        "FROM Action a WHERE a.applicationGrant.id IN :ids", Object[].class)
+                .setParameter("ids", grantIds)
+                .getResultList();
+        Map<Long, Set<Long>> topics = pairs("SELECT at.permissionsAction.id, at.permissionsTopic.id FROM ActionTopic at " +
+                "WHERE at.permissionsAction.applicationGrant.id IN :ids", grantIds);
+        Map<Long, Set<Long>> topicSets = pairs("SELECT a.id, ts.id FROM Action a JOIN a.topicSets ts " +
+                "WHERE a.applicationGrant.id IN :ids", grantIds);
+        Map<Long, Set<String>> partitions = pairs("SELECT p.action.id, p.partitionName FROM ActionPartition p " +
+                "WHERE p.action.applicationGrant.id IN :ids", grantIds);
+
+        for (Object[] action : actions) {
+            Long actionId = (Long) action[0];
+            signatures.computeIfAbsent((Long) action[1], id -> new HashSet<>()).add(new ActionSignature(
+                    (Long) action[2],
+                    Boolean.TRUE.equals(action[3]),
+                    topics.getOrDefault(actionId, Set.of()),
+                    topicSets.getOrDefault(actionId, Set.of()),
+                    partitions.getOrDefault(actionId, Set.of())));
+        }
+        return signatures;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> Map<Long, Set<V>> pairs(String query, List<Long> ids) {
+        Map<Long, Set<V>> values = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(query, Object[].class).setParameter("ids", ids).getResultList()) {
+            values.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((V) row[1]);
+        }
+        return values;
+    }
+
+    private void applyGrantDuration(ImportState state, Group group, GroupConfigRecord record) {
+        String name = requireName(record, ResponseStatusCodes.GRANT_DURATION_NAME_CANNOT_BE_BLANK_OR_NULL,
+                ResponseStatusCodes.GRANT_DURATION_NAME_CANNOT_BE_LESS_THAN_THREE_CHARACTERS);
+        Long duration = record.getDurationInMilliseconds();
+        if (duration == null) {
+            throw new DPMException(ResponseStatusCodes.GRANT_DURATION_DURATION_CANNOT_BE_BLANK_OR_NULL);
+        } else if (duration < 0) {
+            throw new DPMException(ResponseStatusCodes.GRANT_DURATION_DURATION_CANNOT_BE_A_NEGATIVE_VALUE);
+        }
+
+        GrantDuration grantDuration = existing(state, record, GrantDuration.class);
+        if (grantDuration == null) {
+            grantDuration = new GrantDuration(name, group, duration);
+            grantDuration.setDurationMetadata(record.getDurationMetadata());
+            created(state, record, grantDurationRepository.save(grantDuration).getId());
+        } else if (!duration.equals(grantDuration.getDurationInMilliseconds()) ||
+                !Objects.equals(record.getDurationMetadata(), grantDuration.getDurationMetadata())) {
+            grantDuration.setDurationInMilliseconds(duration);
+            grantDuration.setDurationMetadata(record.getDurationMetadata());
+            grantDurationRepository.update(grantDuration);
+            updated(state, record, grantDuration.getId());
+        } else {
+            unchanged(state);
+        }
+    }
+
+    private void applyActionInterval(ImportState state, Group group, GroupConfigRecord record) {
+        String name = requireName(record, ResponseStatusCodes.ACTION_INTERVAL_NAME_CANNOT_BE_BLANK_OR_NULL,
+                ResponseStatusCodes.ACTION_INTERVAL_NAME_CANNOT_BE_LESS_THAN_THREE_CHARACTERS);
+
+        ActionInterval actionInterval = existing(state, record, ActionInterval.class);
+        if (actionInterval == null) {
+            actionInterval = new ActionInterval(name, group);
+            actionInterval.setStartDate(record.getStartDate());
+            actionInterval.setEndDate(record.getEndDate());
+            created(state, record, actionIntervalRepository.save(actionInterval).getId());
+        } else if (!Objects.equals(record.getStartDate(), actionInterval.getStartDate()) ||
+                !Objects.equals(record.getEndDate(), actionInterval.getEndDate())) {
+            actionInterval.setStartDate(record.getStartDate());
+            actionInterval.setEndDate(record.getEndDate());
+            actionIntervalRepository.update(actionInterval);
+            updated(state, record, actionInterval.getId());
+        } else {
+            unchanged(state);
+        }
+    }
+
+    private void applyTopic(ImportState state, Group group, GroupConfigRecord record) {
+        String name = requireName(record, ResponseStatusCodes.TOPIC_NAME_CANNOT_BE_BLANK_OR_NULL,
+                ResponseStatusCodes.TOPIC_NAME_CANNOT_BE_LESS_THAN_THREE_CHARACTERS);
+        boolean isPublic = Boolean.TRUE.equals(record.getMakePublic());
+        if (isPublic && !group.getMakePublic()) {
+            throw new DPMException(ResponseStatusCodes.TOPIC_CANNOT_CREATE_NOR_UPDATE_UNDER_PRIVATE_GROUP);
+        }
+
+        Topic topic = existing(state, record, Topic.class);
+        if (topic == null) {
+            if (record.getKind() == null) {
+                throw new DPMException(ResponseStatusCodes.GROUP_CONFIG_RECORD_IS_NOT_VALID);
+            }
+            Topic newTopic = new Topic(name, record.getKind(), record.getDescription(), isPublic, group);
+            created(state, record, topicRepository.save(newTopic).getId());
+        } else if (record.getKind() != null && record.getKind() != topic.getKind()) {
+            throw new DPMException(ResponseStatusCodes.TOPIC_KIND_UPDATE_NOT_ALLOWED, HttpStatus.BAD_REQUEST);
+        } else if (!Objects.equals(record.getDescription(), topic.getDescription()) || isPublic != topic.getMakePublic()) {
+            topic.setDescription(record.getDescription());
+            topic.setMakePublic(isPublic);
+            topicRepository.update(topic);
+            updated(state, record, topic.getId());
+        } else {
+            unchanged(state);
+        }
+    }
+
+    private void applyTopicSet(ImportState state, Group group, GroupConfigRecord record, Map<Long, Set<Long>> topicSetMembers) {
+        String name = requireName(record, ResponseStatusCodes.TOPIC_SET_NAME_CANNOT_BE_BLANK_OR_NULL,
+                ResponseStatusCodes.TOPIC_SET_NAME_CANNOT_BE_LESS_THAN_THREE_CHARACTERS);
+        Set<Long> topicIds = resolve(state, GroupConfigRecordType.TOPIC, record.getTopics(),
+                ResponseStatusCodes.TOPIC_SET_AND_TOPIC_DOES_NOT_BELONG_TO_SAME_GROUP);
+
+        TopicSet topicSet = existing(state, record, TopicSet.class);
+        boolean created = topicSet == null;
+        if (created) {
+            topicSet = topicSetRepository.save(new TopicSet(name, group));
+            created(state, record, topicSet.getId());
+        }
+
+        Set<Long> current = topicSetMembers.getOrDefault(topicSet.getId(), Set.of());
+        Set<Long> added = new HashSet<>(topicIds);
+        added.removeAll(current);
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(topicIds);
+
+        if (!added.isEmpty()) {
+            TopicSet members = topicSet;
+            topicSetTopicRepository.saveAll(added.stream()
+                    .map(topicId -> new TopicSetTopic(members, entityManager.getReference(Topic.class, topicId)))
+                    .collect(Collectors.toList()));
+        }
+        if (!removed.isEmpty()) {
+            entityManager.createQuery("DELETE FROM TopicSetTopic tst WHERE tst.permissionsTopicSet.id = :topicSetId " +
+                            "AND tst.permissionsTopic.id IN :topicIds")
+                    .setParameter("topicSetId", topicSet.getId())
+                    .setParameter("topicIds", removed)
+                    .executeUpdate();
+        }
+        topicSetMembers.put(topicSet.getId(), topicIds);
+        if (!created) {
+            if (added.isEmpty() && removed.isEmpty()) {
+                unchanged(state);
+            } else {
+                topicSetRepository.update(topicSet);
+                updated(state, record, topicSet.getId());
+            }
+        }
+    }
+
+    private void applyApplication(ImportState state, Group group, GroupConfigRecord record) {
+        String name = requireName(record, ResponseStatusCodes.APPLICATION_NAME_CANNOT_BE_BLANK_OR_NULL,
+                ResponseStatusCodes.APPLICATION_NAME_CANNOT_BE_LESS_THAN_THREE_CHARACTERS);
+        boolean isPublic = Boolean.TRUE.equals(record.getMakePublic());
+        if (isPublic && !group.getMakePublic()) {
+            throw new DPMException(ResponseStatusCodes.APPLICATION_CANNOT_CREATE_NOR_UPDATE_UNDER_PRIVATE_GROUP);
+        }
+
+        Application application = existing(state, record, Application.class);
+        if (application == null) {
+            Application newApplication = new Application(name, group, record.getDescription(), isPublic);
+            created(state, record, applicationRepository.save(newApplication).getId());
+        } else if (!Objects.equals(record.getDescription(), application.getDescription()) || isPublic != application.getMakePublic()) {
+            application.setDescription(record.getDescription());
+            application.setMakePublic(isPublic);
+            applicationRepository.update(application);
+            updated(state, record, application.getId());
+        } else {
+            unchanged(state);
+        }
+    }
+
+    private void applyGrant(ImportState state, Group group, GroupConfigRecord record) {
+        String name = requireName(record, ResponseStatusCodes.APPLICATION_GRANT_NAME_CANNOT_BE_BLANK_OR_NULL,
+                ResponseStatusCodes.APPLICATION_GRANT_NAME_CANNOT_BE_LESS_THAN_THREE_CHARACTERS);
+        if (record.getGrantDuration() == null) {
+            throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_REQUIRES_DURATION_ASSOCIATION);
+        }
+        Long durationId = state.id(GroupConfigRecordType.GRANT_DURATION, record.getGrantDuration());
+        if (durationId == null) {
+            throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_GRANT_DURATION_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        GrantDuration grantDuration = entityManager.getReference(GrantDuration.class, durationId);
+        Application application = resolveApplication(state, group, record);
+
+        ApplicationGrant grant = existing(state, record, ApplicationGrant.class);
+        if (grant == null) {
+            ApplicationGrant newGrant = new ApplicationGrant(name, application, group, grantDuration);
+            created(state, record, applicationGrantRepository.save(newGrant).getId());
+        } else if (!grant.getPermissionsApplication().getId().equals(application.getId())) {
+            throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_ALREADY_EXISTS);
+        } else if (!durationId.equals(grant.getGrantDuration().getId())) {
+            grant.setGrantDuration(grantDuration);
+            applicationGrantRepository.update(grant);
+            updated(state, record, grant.getId());
+        } else {
+            unchanged(state);
+        }
+    }
+
+    // applications of other groups are granted through grant tokens, which only administrators may bypass
+    private Application resolveApplication(ImportState state, Group group, GroupConfigRecord record) {
+        if (record.getApplication() == null) {
+            throw new DPMException(ResponseStatusCodes.APPLICATION_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        if (record.getApplicationGroup() == null || record.getApplicationGroup().equals(group.getName())) {
+            Long applicationId = state.id(GroupConfigRecordType.APPLICATION, record.getApplication());
+            if (applicationId == null) {
+                throw new DPMException(ResponseStatusCodes.APPLICATION_NOT_FOUND, HttpStatus.NOT_FOUND);
+            }
+            return entityManager.getReference(Application.class, applicationId);
+        }
+        if (!state.admin) {
+            throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+        }
+
+        String key = record.getApplicationGroup() + "/" + record.getApplication();
+        Long applicationId = state.foreignApplications.computeIfAbsent(key, k -> entityManager.createQuery(
+                        "SELECT a.id FROM Application a WHERE a.name = :name AND a.permissionsGroup.name = :groupName", Long.class)
+                .setParameter("name", record.getApplication())
+                .setParameter("groupName", record.getApplicationGroup())
+                .getResultStream()
+                .findFirst()
+                .orElse(null));
+        if (applicationId == null) {
+            throw new DPMException(ResponseStatusCodes.APPLICATION_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        return entityManager.getReference(Application.class, applicationId);
+    }
+
+    // actions have no name, so one is only created when its grant holds no identical action
+    private void applyAction(ImportState state, GroupConfigRecord record, Map<Long, Set<ActionSignature>> actions) {
+        if (record.getGrant() == null) {
+            throw new DPMException(ResponseStatusCodes.ACTION_REQUIRES_APPLICATION_GRANT_ASSOCIATION, HttpStatus.NOT_FOUND);
+        }
+        Long grantId = state.id(GroupConfigRecordType.GRANT, record.getGrant());
+        if (grantId == null) {
+            throw new DPMException(ResponseStatusCodes.ACTION_REQUIRES_APPLICATION_GRANT_ASSOCIATION, HttpStatus.NOT_FOUND);
+        }
+        if (record.getActionInterval() == null) {
+            throw new DPMException(ResponseStatusCodes.ACTION_REQUIRES_INTERVAL_ASSOCIATION);
+        }
+        Long intervalId = state.id(GroupConfigRecordType.ACTION_INTERVAL, record.getActionInterval());
+        if (intervalId == null) {
+            throw new DPMException(ResponseStatusCodes.ACTION_INTERVAL_WAS_NOT_FOUND_OR_DOES_BELONG_TO_THE_SAME_GROUP_AS_APPLICATION_GRANT, HttpStatus.NOT_FOUND);
+        }
+        Set<Long> topicIds = resolve(state, GroupConfigRecordType.TOPIC, record.getTopics(),
+                ResponseStatusCodes.A_PROVIDED_TOPIC_WAS_NOT_FOUND_OR_DOES_NOT_BELONG_TO_SAME_GROUP);
+        Set<Long> topicSetIds = resolve(state, GroupConfigRecordType.TOPIC_SET, record.getTopicSets(),
+                ResponseStatusCodes.A_PROVIDED_TOPIC_SET_WAS_NOT_FOUND_OR_DOES_NOT_BELONG_TO_SAME_GROUP);
+        Set<String> partitions = record.getPartitions() == null ? Set.of() : record.getPartitions();
+        boolean canPublish = Boolean.TRUE.equals(record.getCanPublish());
+
+        ActionSignature signature = new ActionSignature(intervalId, canPublish, topicIds, topicSetIds, partitions);
+        if (!actions.computeIfAbsent(grantId, id -> new HashSet<>()).add(signature)) {
+            unchanged(state);
+            return;
+        }
+
+        Action action = new Action(entityManager.getReference(ApplicationGrant.class, grantId),
+                entityManager.getReference(ActionInterval.class, intervalId), canPublish);
+        action.setTopicSets(topicSetIds.stream()
+                .map(id -> entityManager.getReference(TopicSet.class, id))
+                .collect(Collectors.toSet()));
+        action.setPartitions(partitions.stream()
+                .map(partition -> new ActionPartition(action, partition))
+                .collect(Collectors.toSet()));
+        Action savedAction = actionRepository.save(action);
+        actionTopicWriter.insert(savedAction.getId(), topicIds);
+        changed(state, record, ChangeLogOperation.CREATE, savedAction.getId());
+        state.result.setCreated(state.result.getCreated() + 1);
+    }
+
+    private static String requireName(GroupConfigRecord record, String blankCode, String tooShortCode) {
+        String name = record.getName() == null ? null : record.getName().trim();
+        if (name == null || name.isEmpty()) {
+            throw new DPMException(blankCode);
+        } else if (name.length() < 3) {
+            throw new DPMException(tooShortCode);
+        }
+        record.setName(name);
+        return name;
+    }
+
+    private static Set<Long> resolve(ImportState state, GroupConfigRecordType type, Set<String> names, String missingCode) {
+        if (names == null) {
+            return Set.of();
+        }
+        Set<Long> ids = new HashSet<>();
+        for (String name : names) {
+            Long id = state.id(type, name);
+            if (id == null) {
+                throw new DPMException(missingCode, HttpStatus.NOT_FOUND);
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private <T> T existing(ImportState state, GroupConfigRecord record, Class<T> entityType) {
+        Long id = state.id(record.getType(), record.getName());
+        return id == null ? null : entityManager.find(entityType, id);
+    }
+
+    private static void created(ImportState state, GroupConfigRecord record, Long id) {
+        state.names.get(record.getType()).put(record.getName(), id);
+        changed(state, record, ChangeLogOperation.CREATE, id);
+        state.result.setCreated(state.result.getCreated() + 1);
+    }
+
+    private static void updated(ImportState state, GroupConfigRecord record, Long id) {
+        changed(state, record, ChangeLogOperation.UPDATE, id);
+        state.result.setUpdated(state.result.getUpdated() + 1);
+    }
+
+    private static void changed(ImportState state, GroupConfigRecord record, ChangeLogOperation operation, Long id) {
+        state.changes.computeIfAbsent(CHANGE_LOG_TYPES.get(record.getType()), type -> new EnumMap<>(ChangeLogOperation.class))
+                .computeIfAbsent(operation, op -> new ArrayList<>())
+                .add(id);
+    }
+
+    private static void unchanged(ImportState state) {
+        state.result.setUnchanged(state.result.getUnchanged() + 1);
+    }
+
+    private static GroupConfigRecord toRecord(GrantDuration grantDuration) {
+        GroupConfigRecord record = new GroupConfigRecord(GroupConfigRecordType.GRANT_DURATION, grantDuration.getName());
+        record.setDurationInMilliseconds(grantDuration.getDurationInMilliseconds());
+        record.setDurationMetadata(grantDuration.getDurationMetadata());
+        return record;
+    }
+
+    private static GroupConfigRecord toRecord(ActionInterval actionInterval) {
+        GroupConfigRecord record = new GroupConfigRecord(GroupConfigRecordType.ACTION_INTERVAL, actionInterval.getName());
+        record.setStartDate(actionInterval.getStartDate());
+        record.setEndDate(actionInterval.getEndDate());
+        return record;
+    }
+
+    private static GroupConfigRecord toRecord(Topic topic) {
+        GroupConfigRecord record = new GroupConfigRecord(GroupConfigRecordType.TOPIC, topic.getName());
+        record.setKind(topic.getKind());
+        record.setDescription(topic.getDescription());
+        record.setMakePublic(topic.getMakePublic());
+        return record;
+    }
+
+    private static GroupConfigRecord toRecord(Application application) {
+        GroupConfigRecord record = new GroupConfigRecord(GroupConfigRecordType.APPLICATION, application.getName());
+        record.setDescription(application.getDescription());
+        record.setMakePublic(application.getMakePublic());
+        return record;
+    }
+
+    private static GroupConfigRecord toRecord(ApplicationGrant grant, Long groupId) {
+        GroupConfigRecord record = new GroupConfigRecord(GroupConfigRecordType.GRANT, grant.getName());
+        Application application = grant.getPermissionsApplication();
+        record.setApplication(application.getName());
+        if (!application.getPermissionsGroup().getId().equals(groupId)) {
+            record.setApplicationGroup(application.getPermissionsGroup().getName());
+        }
+        if (grant.getGrantDuration() != null) {
+            record.setGrantDuration(grant.getGrantDuration().getName());
+        }
+        return record;
+    }
+
+    private List<GroupConfigRecord> toTopicSetRecords(List<?> rows) {
+        List<TopicSet> topicSets = rows.stream().map(TopicSet.class::cast).collect(Collectors.toList());
+        if (topicSets.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<String>> members = pairs("SELECT tst.permissionsTopicSet.id, tst.permissionsTopic.name FROM TopicSetTopic tst " +
+                "WHERE tst.permissionsTopicSet.id IN :ids", topicSets.stream().map(TopicSet::getId).collect(Collectors.toList()));
+        return topicSets.stream().map(topicSet -> {
+            GroupConfigRecord record = new GroupConfigRecord(GroupConfigRecordType.TOPIC_SET, topicSet.getName());
+            record.setTopics(new TreeSet<>(members.getOrDefault(topicSet.getId(), Set.of())));
+            return record;
+        }).collect(Collectors.toList());
+    }
+
+    // actions are read as projections so their eager collections are fetched with one query each per slice
+    private Slice readActions(Long groupId, long afterId, int size) {
+        List<Object[]> actions = entityManager.createQuery("SELECT a.id, a.applicationGrant.name, a.actionInterval.name, a.canPublish " +
+                        "FROM Action a WHERE a.applicationGrant.permissionsGroup.id = :groupId AND a.id > :afterId ORDER BY a.id", Object[].class)
+                .setParameter("groupId", groupId)
+                .setParameter("afterId", afterId)
+                .setMaxResults(size)
+                .getResultList();
+        if (actions.isEmpty()) {
+            return new Slice(List.of(), afterId);
+        }
+
+        List<Long> actionIds = actions.stream().map(action -> (Long) action[0]).collect(Collectors.toList());
+        Map<Long, Set<String>> topics = pairs("SELECT at.permissionsAction.id, at.permissionsTopic.name FROM ActionTopic at " +
+                "WHERE at.permissionsAction.id IN :ids", actionIds);
+        Map<Long, Set<String>> topicSets = pairs("SELECT a.id, ts.name FROM Action a JOIN a.topicSets ts " +
+                "WHERE a.id IN :ids", actionIds);
+        Map<Long, Set<String>> partitions = pairs("SELECT p.action.id, p.partitionName FROM ActionPartition p " +
+                "WHERE p.action.id IN :ids", actionIds);
+
+        return new Slice(actions.stream().map(action -> {
+            Long actionId = (Long) action[0];
+            GroupConfigRecord record = new GroupConfigRecord();
+            record.setType(GroupConfigRecordType.ACTION);
+            record.setGrant((String) action[1]);
+            record.setActionInterval((String) action[2]);
+            record.setCanPublish(Boolean.TRUE.equals(action[3]));
+            record.setTopics(new TreeSet<>(topics.getOrDefault(actionId, Set.of())));
+            record.setTopicSets(new TreeSet<>(topicSets.getOrDefault(actionId, Set.of())));
+            record.setPartitions(new TreeSet<>(partitions.getOrDefault(actionId, Set.of())));
+            return record;
+        }).collect(Collectors.toList()), actionIds.get(actionIds.size() - 1));
+    }
+
+    /**
+     * Progress of one import across its batches: the ids of the group's named entities and the running totals.
+     */
+    public static class ImportState {
+        private final Long groupId;
+        private final boolean admin;
+        private final Map<GroupConfigRecordType, Map<String, Long>> names = new EnumMap<>(GroupConfigRecordType.class);
+        private final Map<String, Long> foreignApplications = new HashMap<>();
+        private final GroupConfigImportResult result = new GroupConfigImportResult();
+        private final Map<ChangeLogEntityType, Map<ChangeLogOperation, List<Long>>> changes = new EnumMap<>(ChangeLogEntityType.class);
+        // index in the batch of the record being applied, -1 outside the record loop
+        private int applying = -1;
+
+        public ImportState(Long groupId, boolean admin) {
+            this.groupId = groupId;
+            this.admin = admin;
+        }
+
+        public GroupConfigImportResult getResult() {
+            return result;
+        }
+
+        public int getApplying() {
+            return applying;
+        }
+
+        private Long id(GroupConfigRecordType type, String name) {
+            Map<String, Long> ids = names.get(type);
+            return ids == null || name == null ? null : ids.get(name.trim());
+        }
+    }
+
+    /**
+     * Records read from one type, and the id to continue after.
+     */
+    public static class Slice {
+        private final List<GroupConfigRecord> records;
+        private final long lastId;
+
+        Slice(List<GroupConfigRecord> records, long lastId) {
+            this.records = records;
+            this.lastId = lastId;
+        }
+
+        public List<GroupConfigRecord> getRecords() {
+            return records;
+        }
+
+        public long getLastId() {
+            return lastId;
+        }
+    }
+
+    private static class ActionSignature {
+        private final Long intervalId;
+        private final boolean canPublish;
+        private final Set<Long> topicIds;
+        private final Set<Long> topicSetIds;
+        private final Set<String> partitions;
+
+        ActionSignature(Long intervalId, boolean canPublish, Set<Long> topicIds, Set<Long> topicSetIds, Set<String> partitions) {
+            this.intervalId = intervalId;
+            this.canPublish = canPublish;
+            this.topicIds = topicIds;
+            this.topicSetIds = topicSetIds;
+            this.partitions = partitions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ActionSignature)) return false;
+            ActionSignature that = (ActionSignature) o;
+            return canPublish == that.canPublish && intervalId.equals(that.intervalId) && topicIds.equals(that.topicIds) &&
+                    topicSetIds.equals(that.topicSetIds) && partitions.equals(that.partitions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(intervalId, canPublish, topicIds, topicSetIds, partitions);
+        }
+    }
+}
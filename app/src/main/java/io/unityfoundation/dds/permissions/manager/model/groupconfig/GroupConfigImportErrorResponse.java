@@ -0,0 +1,60 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.groupconfig;
+
+import io.micronaut.core.annotation.Introspected;
+import io.unityfoundation.dds.permissions.manager.exception.DPMErrorResponse;
+
+@Introspected
+public class GroupConfigImportErrorResponse extends DPMErrorResponse {
+
+    private int failedLine;
+    private int lastCommittedLine;
+    private GroupConfigImportResult committed;
+
+    public GroupConfigImportErrorResponse() {
+    }
+
+    public GroupConfigImportErrorResponse(String id, String code, int failedLine, int lastCommittedLine,
+                                          GroupConfigImportResult committed) {
+        super(id, code);
+        this.failedLine = failedLine;
+        this.lastCommittedLine = lastCommittedLine;
+        this.committed = committed;
+    }
+
+    public int getFailedLine() {
+        return failedLine;
+    }
+
+    public void setFailedLine(int failedLine) {
+        this.failedLine = failedLine;
+    }
+
+    public int getLastCommittedLine() {
+        return lastCommittedLine;
+    }
+
+    public void setLastCommittedLine(int lastCommittedLine) {
+        this.lastCommittedLine = lastCommittedLine;
+    }
+
+    public GroupConfigImportResult getCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(GroupConfigImportResult committed) {
+        this.committed = committed;
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.groupconfig;
+
+import io.unityfoundation.dds.permissions.manager.exception.DPMErrorResponse;
+import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+
+/**
+ * An import that stopped part way. The batches before {@code failedLine} stay committed, so the error tells the client
+ * where to resume along with what was applied.
+ */
+public class GroupConfigImportException extends DPMException {
+
+    private final int failedLine;
+    private final int lastCommittedLine;
+    private final GroupConfigImportResult committed;
+
+    public GroupConfigImportException(DPMException cause, int failedLine, int lastCommittedLine, GroupConfigImportResult committed) {
+        super(cause.getResponseStatusCode(), cause.getHttpStatus());
+        initCause(cause);
+        this.failedLine = failedLine;
+        this.lastCommittedLine = lastCommittedLine;
+        this.committed = committed;
+    }
+
+    public int getFailedLine() {
+        return failedLine;
+    }
+
+    public int getLastCommittedLine() {
+        return lastCommittedLine;
+    }
+
+    public GroupConfigImportResult getCommitted() {
+        return committed;
+    }
+
+    @Override
+    public DPMErrorResponse toErrorResponse(String errorId) {
+        return new GroupConfigImportErrorResponse(errorId, getResponseStatusCode(), failedLine, lastCommittedLine, committed);
+    }
+}
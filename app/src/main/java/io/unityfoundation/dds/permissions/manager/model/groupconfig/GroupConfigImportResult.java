@@ -0,0 +1,77 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.groupconfig;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public class GroupConfigImportResult {
+
+    private int records;
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int batches;
+
+    public GroupConfigImportResult() {
+    }
+
+    GroupConfigImportResult(GroupConfigImportResult other) {
+        this.records = other.records;
+        this.created = other.created;
+        this.updated = other.updated;
+        this.unchanged = other.unchanged;
+        this.batches = other.batches;
+    }
+
+    public int getRecords() {
+        return records;
+    }
+
+    public void setRecords(int records) {
+        this.records = records;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+}
@@ -0,0 +1,201 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.groupconfig;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micronaut.core.annotation.Introspected;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * One line of a group configuration document. Records refer to each other by name within the group, so a document
+ * exported from one environment can be imported into another. Only the fields relevant to the record type are set.
+ */
+@Introspected
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GroupConfigRecord {
+
+    private GroupConfigRecordType type;
+    private String name;
+    private String description;
+    private Boolean makePublic;
+    private TopicKind kind;
+    private Set<String> topics;
+    private Long durationInMilliseconds;
+    private String durationMetadata;
+    private Instant startDate;
+    private Instant endDate;
+    private String application;
+    private String applicationGroup;
+    private String grantDuration;
+    private String grant;
+    private String actionInterval;
+    private Boolean canPublish;
+    private Set<String> topicSets;
+    private Set<String> partitions;
+
+    public GroupConfigRecord() {
+    }
+
+    public GroupConfigRecord(GroupConfigRecordType type, String name) {
+        this.type = type;
+        this.name = name;
+    }
+
+    public GroupConfigRecordType getType() {
+        return type;
+    }
+
+    public void setType(GroupConfigRecordType type) {
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getMakePublic() {
+        return makePublic;
+    }
+
+    public void setMakePublic(Boolean makePublic) {
+        this.makePublic = makePublic;
+    }
+
+    public TopicKind getKind() {
+        return kind;
+    }
+
+    public void setKind(TopicKind kind) {
+        this.kind = kind;
+    }
+
+    public Set<String> getTopics() {
+        return topics;
+    }
+
+    public void setTopics(Set<String> topics) {
+        this.topics = topics;
+    }
+
+    public Long getDurationInMilliseconds() {
+        return durationInMilliseconds;
+    }
+
+    public void setDurationInMilliseconds(Long durationInMilliseconds) {
+        this.durationInMilliseconds = durationInMilliseconds;
+    }
+
+    public String getDurationMetadata() {
+        return durationMetadata;
+    }
+
+    public void setDurationMetadata(String durationMetadata) {
+        this.durationMetadata = durationMetadata;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    public String getApplicationGroup() {
+        return applicationGroup;
+    }
+
+    public void setApplicationGroup(String applicationGroup) {
+        this.applicationGroup = applicationGroup;
+    }
+
+    public String getGrantDuration() {
+        return grantDuration;
+    }
+
+    public void setGrantDuration(String grantDuration) {
+        this.grantDuration = grantDuration;
+    }
+
+    public String getGrant() {
+        return grant;
+    }
+
+    public void setGrant(String grant) {
+        this.grant = grant;
+    }
+
+    public String getActionInterval() {
+        return actionInterval;
+    }
+
+    public void setActionInterval(String actionInterval) {
+        this.actionInterval = actionInterval;
+    }
+
+    public Boolean getCanPublish() {
+        return canPublish;
+    }
+
+    public void setCanPublish(Boolean canPublish) {
+        this.canPublish = canPublish;
+    }
+
+    public Set<String> getTopicSets() {
+        return topicSets;
+    }
+
+    public void setTopicSets(Set<String> topicSets) {
+        this.topicSets = topicSets;
+    }
+
+    public Set<String> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(Set<String> partitions) {
+        this.partitions = partitions;
+    }
+}
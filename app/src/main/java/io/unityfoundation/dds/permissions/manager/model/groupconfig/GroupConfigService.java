@@ -0,0 +1,169 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.groupconfig;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.io.Writable;
+import io.micronaut.http.HttpStatus;
+import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports and exports a group's topics, topic sets, applications, durations, intervals, grants and actions as
+ * newline-delimited JSON. Imports are applied in batches, each committed on its own; re-importing a document is
+ * idempotent, so a failed import can be corrected and sent again. A failed import reports the line it stopped at and
+ * the last line that was committed.
+ */
+@Singleton
+public class GroupConfigService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GroupConfigService.class);
+
+    @Property(name = "permissions-manager.group-config.batch-size", defaultValue = "500")
+    protected int batchSize;
+
+    private final GroupConfigBatches groupConfigBatches;
+    private final GroupRepository groupRepository;
+    private final SecurityUtil securityUtil;
+    private final GroupUserService groupUserService;
+    private final ObjectMapper objectMapper;
+
+    public GroupConfigService(GroupConfigBatches groupConfigBatches, GroupRepository groupRepository, SecurityUtil securityUtil,
+                              GroupUserService groupUserService, ObjectMapper objectMapper) {
+        this.groupConfigBatches = groupConfigBatches;
+        this.groupRepository = groupRepository;
+        this.securityUtil = securityUtil;
+        this.groupUserService = groupUserService;
+        this.objectMapper = objectMapper;
+    }
+
+    public GroupConfigImportResult importConfig(Long groupId, InputStream document) {
+        checkGroupExists(groupId);
+        boolean admin = securityUtil.isCurrentUserAdmin();
+        if (!admin) {
+            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
+            if (!groupUserService.isUserTopicAdminOfGroup(groupId, user.getId()) ||
+                    !groupUserService.isUserApplicationAdminOfGroup(groupId, user.getId())) {
+                throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+            }
+        }
+
+        GroupConfigBatches.ImportState state = new GroupConfigBatches.ImportState(groupId, admin);
+        List<GroupConfigRecord> batch = new ArrayList<>();
+        List<Integer> batchLines = new ArrayList<>();
+        int lastCommittedLine = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(document, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(parse(groupId, line, lineNumber));
+                } catch (DPMException e) {
+                    throw new GroupConfigImportException(e, lineNumber, lastCommittedLine, state.getResult());
+                }
+                batchLines.add(lineNumber);
+                if (batch.size() >= batchSize) {
+                    apply(state, batch, batchLines, lastCommittedLine);
+                    lastCommittedLine = lineNumber;
+                    batch = new ArrayList<>();
+                    batchLines = new ArrayList<>();
+                }
+            }
+        } catch (IOException e) {
+            throw new DPMException(ResponseStatusCodes.GROUP_CONFIG_RECORD_IS_NOT_VALID);
+        }
+        if (!batch.isEmpty()) {
+            apply(state, batch, batchLines, lastCommittedLine);
+        }
+        return state.getResult();
+    }
+
+    public Writable export(Long groupId) {
+        checkGroupExists(groupId);
+        if (!securityUtil.isCurrentUserAdmin() && !groupUserService.isCurrentUserMemberOfGroup(groupId)) {
+            throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+        }
+
+        // each slice is read in its own short transaction as the document is written
+        return out -> {
+            for (GroupConfigRecordType type : GroupConfigRecordType.values()) {
+                long afterId = 0;
+                GroupConfigBatches.Slice slice;
+                do {
+                    slice = groupConfigBatches.read(groupId, type, afterId, batchSize);
+                    for (GroupConfigRecord record : slice.getRecords()) {
+                        out.write(objectMapper.writeValueAsString(record));
+                        out.write('\n');
+                    }
+                    afterId = slice.getLastId();
+                } while (slice.getRecords().size() == batchSize);
+            }
+            out.flush();
+        };
+    }
+
+    private void apply(GroupConfigBatches.ImportState state, List<GroupConfigRecord> batch, List<Integer> batchLines,
+                       int lastCommittedLine) {
+        // the failed batch rolls back, so its counts must not be reported
+        GroupConfigImportResult committed = new GroupConfigImportResult(state.getResult());
+        try {
+            groupConfigBatches.apply(state, batch);
+        } catch (DPMException e) {
+            int failedLine = batchLines.get(Math.max(state.getApplying(), 0));
+            LOG.warn("Group configuration import stopped at line {}; lines up to {} were applied", failedLine, lastCommittedLine);
+            throw new GroupConfigImportException(e, failedLine, lastCommittedLine, committed);
+        }
+    }
+
+    private GroupConfigRecord parse(Long groupId, String line, int lineNumber) {
+        GroupConfigRecord record = null;
+        try {
+            record = objectMapper.readValue(line, GroupConfigRecord.class);
+        } catch (JsonProcessingException e) {
+            LOG.debug("Unreadable group configuration record", e);
+        }
+        if (record == null || record.getType() == null) {
+            LOG.warn("Line {} of the configuration for group {} is not a valid record", lineNumber, groupId);
+            throw new DPMException(ResponseStatusCodes.GROUP_CONFIG_RECORD_IS_NOT_VALID);
+        }
+        return record;
+    }
+
+    private void checkGroupExists(Long groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new DPMException(ResponseStatusCodes.GROUP_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+    }
+}
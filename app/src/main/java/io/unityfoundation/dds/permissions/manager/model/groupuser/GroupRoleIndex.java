@@ -0,0 +1,140 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.model.groupuser;
+
+import io.micronaut.context.annotation.Property;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import jakarta.inject.Singleton;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user index of group roles. An entry is only served while its stamp matches the user's
+ * permissionsLastUpdated, so membership changes made on any instance are picked up on the next lookup.
+ * When token claims are trusted, the signed permissionsByGroup claim is used as long as its
+ * permissionsLastUpdated claim is current, and the database is only read once the claims are stale.
+ * Deciding that the claim is current still needs the user's row, which every request reads anyway, so the claims
+ * only spare the membership query this index would otherwise make after a change or on a cold instance.
+ */
+@Singleton
+public class GroupRoleIndex {
+
+    public static final int MEMBER = 1;
+    public static final int GROUP_ADMIN = 1 << 1;
+    public static final int TOPIC_ADMIN = 1 << 2;
+    public static final int APPLICATION_ADMIN = 1 << 3;
+
+    @Property(name = "permissions-manager.authorization.trust-token-claims", defaultValue = "false")
+    protected boolean trustTokenClaims;
+
+    private final GroupUserRepository groupUserRepository;
+    private final Map<Long, UserGroupRoles> rolesByUser = new ConcurrentHashMap<>();
+
+    public GroupRoleIndex(GroupUserRepository groupUserRepository) {
+        this.groupUserRepository = groupUserRepository;
+    }
+
+    public UserGroupRoles getRoles(User user) {
+        UserGroupRoles roles = rolesByUser.get(user.getId());
+        if (roles == null || !Objects.equals(roles.permissionsLastUpdated, user.getPermissionsLastUpdated())) {
+            roles = load(user);
+            rolesByUser.put(user.getId(), roles);
+        }
+        return roles;
+    }
+
+    public UserGroupRoles getRoles(User user, Map<String, Object> claims) {
+        if (trustTokenClaims) {
+            Optional<UserGroupRoles> claimedRoles = fromClaims(user, claims);
+            if (claimedRoles.isPresent()) {
+                return claimedRoles.get();
+            }
+        }
+        return getRoles(user);
+    }
+
+    public void invalidate(Long userId) {
+        rolesByUser.remove(userId);
+    }
+
+    private UserGroupRoles load(User user) {
+        Map<Long, Integer> rolesByGroup = new HashMap<>();
+        for (GroupUser groupUser : groupUserRepository.findAllByPermissionsUserId(user.getId())) {
+            int roles = MEMBER;
+            if (groupUser.isGroupAdmin()) {
+                roles |= GROUP_ADMIN;
+            }
+            if (groupUser.isTopicAdmin()) {
+                roles |= TOPIC_ADMIN;
+            }
+            if (groupUser.isApplicationAdmin()) {
+                roles |= APPLICATION_ADMIN;
+            }
+            rolesByGroup.put(groupUser.getPermissionsGroup().getId(), roles);
+        }
+        return new UserGroupRoles(user.getPermissionsLastUpdated(), rolesByGroup);
+    }
+
+    private Optional<UserGroupRoles> fromClaims(User user, Map<String, Object> claims) {
+        Object permissionsLastUpdated = claims.get("permissionsLastUpdated");
+        Object permissionsByGroup = claims.get("permissionsByGroup");
+        if (!(permissionsLastUpdated instanceof Number) || !(permissionsByGroup instanceof List) ||
+                !Objects.equals(((Number) permissionsLastUpdated).longValue(), user.getPermissionsLastUpdated())) {
+            return Optional.empty();
+        }
+
+        Map<Long, Integer> rolesByGroup = new HashMap<>();
+        for (Object permissions : (List<?>) permissionsByGroup) {
+            if (!(permissions instanceof Map) || !(((Map<?, ?>) permissions).get("groupId") instanceof Number)) {
+                return Optional.empty();
+            }
+            Map<?, ?> groupPermissions = (Map<?, ?>) permissions;
+            int roles = MEMBER;
+            if (Boolean.TRUE.equals(groupPermissions.get("isGroupAdmin"))) {
+                roles |= GROUP_ADMIN;
+            }
+            if (Boolean.TRUE.equals(groupPermissions.get("isTopicAdmin"))) {
+                roles |= TOPIC_ADMIN;
+            }
+            if (Boolean.TRUE.equals(groupPermissions.get("isApplicationAdmin"))) {
+                roles |= APPLICATION_ADMIN;
+            }
+            rolesByGroup.put(((Number) groupPermissions.get("groupId")).longValue(), roles);
+        }
+        return Optional.of(new UserGroupRoles(user.getPermissionsLastUpdated(), rolesByGroup));
+    }
+
+    public static class UserGroupRoles {
+
+        private final Long permissionsLastUpdated;
+        private final Map<Long, Integer> rolesByGroup;
+        private final List<Long> groupIds;
+
+        UserGroupRoles(Long permissionsLastUpdated, Map<Long, Integer> rolesByGroup) {
+            this.permissionsLastUpdated = permissionsLastUpdated;
+            this.rolesByGroup = rolesByGroup;
+            this.groupIds = List.copyOf(rolesByGroup.keySet());
+        }
+
+        public boolean hasRole(Long groupId, int role) {
+            Integer roles = rolesByGroup.get(groupId);
+            return roles != null && (roles & role) == role;
+        }
+
+        public List<Long> getGroupIds() {
+            return groupIds;
+        }
+    }
+}
@@ -14,6 +14,7 @@
 package io.unityfoundation.dds.permissions.manager.model.groupuser;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
@@ -41,21 +42,16 @@ public interface GroupUserRepository extends PageableRepository<GroupUser, Long>
 
     Page<GroupUser> findAllByPermissionsGroupNameContainsIgnoreCaseOrPermissionsUserEmailContainsIgnoreCase(@NotNull @NonNull String name, @NotNull @NonNull String email, Pageable pageable);
 
-    List<Long> findIdByPermissionsGroupNameContainsIgnoreCaseOrPermissionsUserEmailContainsIgnoreCase(String filter, String filter1);
-
-    Page<GroupUser> findAllByIdInAndPermissionsGroupIdIn(List<Long> groupUsersList, List<Long> groupsList, Pageable pageable);
-
     // todo: fix to have desired effect
 //    Page<GroupUser> findAllByPermissionsGroupNameContainsOrPermissionsUserEmailContainsAndPermissionsGroupIdIn(@NotNull @NonNull String name, @NotNull @NonNull String email, List<Long> groupsList, Pageable pageable);
 
     int countByPermissionsUserId(@NotNull @NonNull Long userId);
-    int countByPermissionsUserIdAndPermissionsGroupIdNotEqual(@NotNull @NonNull Long userId, @NotNull @NonNull Long groupId);
 
     boolean existsByPermissionsGroupIdAndPermissionsUserId(@NotNull @NonNull Long groupId, @NotNull @NonNull Long userId);
 
     List<GroupUser> findAllByPermissionsGroupId(@NotNull @NonNull Long groupId);
-    List<User> findPermissionsUserByPermissionsGroupIdAndPermissionsUserAdminFalse(Long permissionsGroup_id);
-    int countByPermissionsGroup(Group group);
+    @Query("SELECT gu.permissionsUser.id FROM GroupUser gu WHERE gu.permissionsGroup.id = :groupId")
+    List<Long> findPermissionsUserIdByPermissionsGroupId(Long groupId);
 
     Page<Group> findPermissionsGroupByPermissionsUserEqualsAndPermissionsGroupNameContainsIgnoreCaseAndGroupAdminTrue(User permissionsUser, String group, Pageable pageable);
     Page<Group> findPermissionsGroupByPermissionsUserEqualsAndPermissionsGroupNameContainsIgnoreCaseAndTopicAdminTrue(User permissionsUser, String group, Pageable pageable);
@@ -63,4 +59,11 @@ public interface GroupUserRepository extends PageableRepository<GroupUser, Long>
 
     List<User> findPermissionsUserByPermissionsGroupIdAndTopicAdminTrue(Long groupId);
     List<User> findPermissionsUserByPermissionsGroupIdAndApplicationAdminTrue(Long groupId);
+
+    String SEARCH_IN_GROUPS = "FROM GroupUser groupUser_ WHERE groupUser_.permissionsGroup.id IN (:groupIds) " +
+            "AND (LOWER(groupUser_.permissionsGroup.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(groupUser_.permissionsUser.email) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = "SELECT groupUser_ " + SEARCH_IN_GROUPS, countQuery = "SELECT COUNT(groupUser_) " + SEARCH_IN_GROUPS)
+    Page<GroupUser> searchInGroups(String filter, List<Long> groupIds, Pageable pageable);
 }
@@ -13,19 +13,29 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.groupuser;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupAdminRole;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.security.IntrospectionCache;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
 import jakarta.inject.Singleton;
 
@@ -36,29 +46,50 @@ import java.util.stream.Collectors;
 @Singleton
 public class GroupUserService {
 
+    // keeps IN lists well below the bind parameter limits of the supported databases
+    private static final int MEMBER_BATCH_SIZE = 1000;
+
     private final GroupUserRepository groupUserRepository;
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
     private final SecurityUtil securityUtil;
+    private final GroupRoleIndex groupRoleIndex;
+    private final IntrospectionCache introspectionCache;
+    private final KeysetPaginator keysetPaginator;
+    private final ChangeLog changeLog;
 
     public GroupUserService(GroupUserRepository groupUserRepository, GroupRepository groupRepository,
-            UserRepository userRepository, SecurityUtil securityUtil) {
+            UserRepository userRepository, SecurityUtil securityUtil, GroupRoleIndex groupRoleIndex,
+            IntrospectionCache introspectionCache, KeysetPaginator keysetPaginator, ChangeLog changeLog) {
         this.groupUserRepository = groupUserRepository;
         this.groupRepository = groupRepository;
         this.userRepository = userRepository;
         this.securityUtil = securityUtil;
+        this.groupRoleIndex = groupRoleIndex;
+        this.introspectionCache = introspectionCache;
+        this.keysetPaginator = keysetPaginator;
+        this.changeLog = changeLog;
     }
 
+    @ReadOnly
     public Page<GroupUserResponseDTO> findAll(Pageable pageable, String filter, Long groupId) {
         return getGroupMembers(pageable, filter, groupId).map(GroupUserResponseDTO::new);
     }
 
+    @ReadOnly
+    public CursorPage<GroupUserResponseDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long groupId) {
+        KeysetQuery<GroupUser> query = KeysetQuery.of(GroupUser.class)
+                .orderBy("permissionsUser.email", "permissionsGroup.name")
+                .visibleTo("permissionsGroup", getVisibility(groupId))
+                .filter(filter, "permissionsGroup.name", "permissionsUser.email");
+        return keysetPaginator.find(query, cursor, size).map(GroupUserResponseDTO::new);
+    }
+
     private Page<GroupUser> getGroupMembers(Pageable pageable, String filter, Long groupId) {
         if (!pageable.isSorted()) {
             pageable = pageable.order("permissionsUser.email").order("permissionsGroup.name");
         }
 
-        List<Long> all;
         if (securityUtil.isCurrentUserAdmin()) {
             if (filter == null) {
                 if (groupId == null) {
@@ -71,10 +102,7 @@ public class GroupUserService {
                         filter, pageable);
             }
 
-            all = groupUserRepository
-                        .findIdByPermissionsGroupNameContainsIgnoreCaseOrPermissionsUserEmailContainsIgnoreCase(filter, filter);
-
-            return groupUserRepository.findAllByIdInAndPermissionsGroupIdIn(all, List.of(groupId), pageable);
+            return groupUserRepository.searchInGroups(filter, List.of(groupId), pageable);
         } else {
             User user = securityUtil.getCurrentlyAuthenticatedUser().get();
             List<Long> groupsList = getAllGroupsUserIsAMemberOf(user.getId());
@@ -92,45 +120,78 @@ public class GroupUserService {
                 return groupUserRepository.findAllByPermissionsGroupIdIn(groupsList, pageable);
             }
 
-            all = groupUserRepository
-                    .findIdByPermissionsGroupNameContainsIgnoreCaseOrPermissionsUserEmailContainsIgnoreCase(filter, filter);
-            if (all.isEmpty()) {
-                return Page.empty();
-            }
-
-            return groupUserRepository.findAllByIdInAndPermissionsGroupIdIn(all, groupsList, pageable);
+            return groupUserRepository.searchInGroups(filter, groupsList, pageable);
         }
     }
 
     @Transactional(Transactional.TxType.REQUIRES_NEW)
     public void removeUserFromAllGroups(Long userId) {
+        for (GroupUser groupUser : groupUserRepository.findAllByPermissionsUserId(userId)) {
+            changeLog.append(ChangeLogEntityType.GROUP_MEMBERSHIP, groupUser.getId(), groupUser.getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
+        }
         groupUserRepository.deleteAllByPermissionsUserId(userId);
+        invalidateCachedPermissions(userId);
     }
 
     public boolean isUserGroupAdminOfGroup(Long groupId, Long userId) {
+        Optional<GroupRoleIndex.UserGroupRoles> indexedRoles = getIndexedRoles(userId);
+        if (indexedRoles.isPresent()) {
+            return indexedRoles.get().hasRole(groupId, GroupRoleIndex.GROUP_ADMIN);
+        }
         int groupUserCount = groupUserRepository.countByPermissionsGroupIdAndPermissionsUserIdAndGroupAdminTrue(groupId,
                 userId);
         return groupUserCount > 0;
     }
 
     public boolean isUserTopicAdminOfGroup(Long groupId, Long userId) {
+        Optional<GroupRoleIndex.UserGroupRoles> indexedRoles = getIndexedRoles(userId);
+        if (indexedRoles.isPresent()) {
+            return indexedRoles.get().hasRole(groupId, GroupRoleIndex.TOPIC_ADMIN);
+        }
         int groupUserCount = groupUserRepository.countByPermissionsGroupIdAndPermissionsUserIdAndTopicAdminTrue(groupId,
                 userId);
         return groupUserCount > 0;
     }
 
     public boolean isUserApplicationAdminOfGroup(Long groupId, Long userId) {
+        Optional<GroupRoleIndex.UserGroupRoles> indexedRoles = getIndexedRoles(userId);
+        if (indexedRoles.isPresent()) {
+            return indexedRoles.get().hasRole(groupId, GroupRoleIndex.APPLICATION_ADMIN);
+        }
         int groupUserCount = groupUserRepository
                 .countByPermissionsGroupIdAndPermissionsUserIdAndApplicationAdminTrue(groupId, userId);
         return groupUserCount > 0;
     }
 
     public List<Long> getAllGroupsUserIsAMemberOf(Long userId) {
+        Optional<GroupRoleIndex.UserGroupRoles> indexedRoles = getIndexedRoles(userId);
+        if (indexedRoles.isPresent()) {
+            return indexedRoles.get().getGroupIds();
+        }
         return groupUserRepository.findAllByPermissionsUserId(userId).stream().map(GroupUser::getPermissionsGroup)
                 .map(Group::getId).collect(Collectors.toList());
     }
 
+    /**
+     * Groups the current user may list, narrowed to {@code groupId} when given.
+     */
+    public GroupVisibility getVisibility(@Nullable Long groupId) {
+        if (securityUtil.isCurrentUserAdmin()) {
+            return groupId == null ? GroupVisibility.all() : GroupVisibility.group(groupId);
+        }
+
+        User user = securityUtil.getCurrentlyAuthenticatedUser().get();
+        if (groupId == null) {
+            return GroupVisibility.memberOf(user.getId());
+        }
+        return isUserMemberOfGroup(groupId, user.getId()) ? GroupVisibility.group(groupId) : GroupVisibility.none();
+    }
+
     public boolean isUserMemberOfGroup(Long groupId, Long userId) {
+        Optional<GroupRoleIndex.UserGroupRoles> indexedRoles = getIndexedRoles(userId);
+        if (indexedRoles.isPresent()) {
+            return indexedRoles.get().hasRole(groupId, GroupRoleIndex.MEMBER);
+        }
         return groupUserRepository.existsByPermissionsGroupIdAndPermissionsUserId(groupId, userId);
     }
 
@@ -139,6 +200,16 @@ public class GroupUserService {
         return isUserMemberOfGroup(groupId, userId);
     }
 
+    // the index is only consulted for the authenticated user, whose permissionsLastUpdated stamp is loaded once per request
+    private Optional<GroupRoleIndex.UserGroupRoles> getIndexedRoles(Long userId) {
+        if (!securityUtil.isAuthenticated()) {
+            return Optional.empty();
+        }
+        return securityUtil.getCurrentlyAuthenticatedUser()
+                .filter(user -> user.getId().equals(userId))
+                .map(user -> groupRoleIndex.getRoles(user, securityUtil.getAuthenticationAttributes()));
+    }
+
     public List<GroupUser> getUsersOfGroup(Long groupId) {
         return groupUserRepository.findAllByPermissionsGroupId(groupId);
     }
@@ -206,7 +277,11 @@ public class GroupUserService {
         groupUser.setTopicAdmin(groupUserDTO.isTopicAdmin());
         groupUser.setApplicationAdmin(groupUserDTO.isApplicationAdmin());
 
-        return groupUserRepository.save(groupUser);
+        touchPermissions(user);
+
+        GroupUser savedGroupUser = groupUserRepository.save(groupUser);
+        changeLog.append(ChangeLogEntityType.GROUP_MEMBERSHIP, savedGroupUser.getId(), savedGroupUser.getPermissionsGroup().getId(), ChangeLogOperation.CREATE);
+        return savedGroupUser;
     }
 
     private GroupUser updateFromDTO(GroupUser groupUser, GroupUserDTO groupUserDTO) {
@@ -215,12 +290,27 @@ public class GroupUserService {
         groupUser.setApplicationAdmin(groupUserDTO.isApplicationAdmin());
 
         User user = groupUser.getPermissionsUser();
-        user.setPermissionsLastUpdated(System.currentTimeMillis());
-        userRepository.update(user);
+        touchPermissions(user);
 
+        changeLog.append(ChangeLogEntityType.GROUP_MEMBERSHIP, groupUser.getId(), groupUser.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
         return groupUserRepository.update(groupUser);
     }
 
+    private void invalidateCachedPermissions(Long userId) {
+        groupRoleIndex.invalidate(userId);
+        introspectionCache.invalidate(userId);
+        securityUtil.evictUser(userId);
+    }
+
+    // the stamp always moves forward so cached role entries keyed on it are never reused after a change. The database
+    // applies the rule, as removeByGroup does, so a stale copy of the user or a concurrent change cannot reuse a stamp.
+    private void touchPermissions(User user) {
+        userRepository.updatePermissionsLastUpdatedById(user.getId(), System.currentTimeMillis());
+        user.setPermissionsLastUpdated(userRepository.findPermissionsLastUpdatedById(user.getId()));
+        invalidateCachedPermissions(user.getId());
+    }
+
+    @Transactional
     public HttpResponse removeMember(Long id) {
         Optional<GroupUser> groupUserOptional = groupUserRepository.findById(id);
 
@@ -237,14 +327,15 @@ public class GroupUserService {
 
         User user = groupUser.getPermissionsUser();
         groupUserRepository.deleteById(id);
+        changeLog.append(ChangeLogEntityType.GROUP_MEMBERSHIP, id, groupId, ChangeLogOperation.DELETE);
 
         int countByPermissionsUser = groupUserRepository.countByPermissionsUserId(user.getId());
         if (!user.isAdmin() && countByPermissionsUser == 0) {
             userRepository.delete(user);
         } else {
-            user.setPermissionsLastUpdated(System.currentTimeMillis());
-            userRepository.update(user);
+            touchPermissions(user);
         }
+        invalidateCachedPermissions(user.getId());
 
         return HttpResponse.ok();
     }
@@ -288,10 +379,6 @@ public class GroupUserService {
         return (Page<Group>) Page.EMPTY;
     }
 
-    public int getMembershipCountByGroup(Group group) {
-        return groupUserRepository.countByPermissionsGroup(group);
-    }
-
     public HashMap<String, Object> checkUserValidity() {
 
         Optional<User> userOptional = securityUtil.getCurrentlyAuthenticatedUser();
@@ -312,19 +399,23 @@ public class GroupUserService {
         return attributes;
     }
 
+    @Transactional
     public void removeByGroup(Group group) {
+        List<Long> memberIds = groupUserRepository.findPermissionsUserIdByPermissionsGroupId(group.getId());
 
-        // collect non-super admin users
-        List<User> nonAdminTargetGroupMembers = groupUserRepository.findPermissionsUserByPermissionsGroupIdAndPermissionsUserAdminFalse(group.getId());
-
+        userRepository.updatePermissionsLastUpdatedByGroupId(group.getId(), System.currentTimeMillis());
         groupUserRepository.deleteByPermissionsGroupId(group.getId());
 
-        nonAdminTargetGroupMembers.forEach( user -> {
-            int countByPermissionsUser = groupUserRepository.countByPermissionsUserIdAndPermissionsGroupIdNotEqual(user.getId(), group.getId());
-            if (countByPermissionsUser == 0) {
-                userRepository.delete(user);
+        // non-super admin users without any remaining membership are removed
+        for (int from = 0; from < memberIds.size(); from += MEMBER_BATCH_SIZE) {
+            List<Long> batch = memberIds.subList(from, Math.min(from + MEMBER_BATCH_SIZE, memberIds.size()));
+            List<Long> unaffiliated = userRepository.findIdsOfNonAdminsWithoutMemberships(batch);
+            if (!unaffiliated.isEmpty()) {
+                userRepository.deleteByIdIn(unaffiliated);
             }
-        });
+        }
+
+        memberIds.forEach(this::invalidateCachedPermissions);
     }
 
     public HttpResponse checkUserExists(Long id) {
@@ -19,6 +19,8 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.annotation.DateCreated;
 import io.micronaut.data.annotation.DateUpdated;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -27,6 +29,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "permissions_topic")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Topic {
 
     @Id
@@ -138,7 +142,11 @@ public class Topic {
     }
 
     public String deriveCanonicalName() {
-        return kind + "." + permissionsGroup.getId() + "." + name;
+        return canonicalName(kind, permissionsGroup.getId(), name);
+    }
+
+    public static String canonicalName(TopicKind kind, Long groupId, String name) {
+        return kind + "." + groupId + "." + name;
     }
 
     public Instant getDateCreated() {
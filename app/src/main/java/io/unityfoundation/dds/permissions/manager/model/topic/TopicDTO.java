@@ -63,6 +63,19 @@ public class TopicDTO implements EntityDTO {
         this.dateUpdated = topic.getDateUpdated();
     }
 
+    public TopicDTO(TopicSummary topic) {
+        this.id = topic.getId();
+        this.name = topic.getName();
+        this.kind = topic.getKind();
+        this.description = topic.getDescription();
+        this.isPublic = topic.getMakePublic();
+        this.group = topic.getGroupId();
+        this.groupName = topic.getGroupName();
+        this.canonicalName = Topic.canonicalName(topic.getKind(), topic.getGroupId(), topic.getName());
+        this.dateCreated = topic.getDateCreated();
+        this.dateUpdated = topic.getDateUpdated();
+    }
+
     public Long getId() {
         return id;
     }
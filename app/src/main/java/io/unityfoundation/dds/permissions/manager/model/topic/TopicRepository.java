@@ -14,41 +14,100 @@
 package io.unityfoundation.dds.permissions.manager.model.topic;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
+import io.unityfoundation.dds.permissions.manager.model.VisibleSummaries;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.search.SearchDocument;
 
 import javax.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TopicRepository extends PageableRepository<Topic, Long> {
+public interface TopicRepository extends PageableRepository<Topic, Long>, VisibleSummaries<TopicSummary> {
 
-    Page<Topic> findAllByPermissionsGroupIdIn(List<Long> groupIds, Pageable pageable);
+    Optional<Topic> findByNameAndPermissionsGroup(@NotNull @NonNull String name,
+                                                  @NotNull @NonNull Group group);
 
-    Page<Topic> findAllByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String topic, String topicDescription, String group, Pageable pageable);
+    @Query("UPDATE Topic t SET t.makePublic = false, t.dateUpdated = :updated " +
+            "WHERE t.permissionsGroup.id = :groupId AND t.makePublic = true")
+    void updateMakePublicFalseByPermissionsGroupId(Long groupId, Instant updated);
 
-    List<Long> findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String topic,String topicDescription, String group);
+    Page<Topic> findAllByMakePublicTrue(Pageable pageable);
 
-    Page<Topic> findAllByIdInAndPermissionsGroupIdIn(List<Long> all, List<Long> groups, Pageable pageable);
+    long countByMakePublicTrue();
 
-    Optional<Topic> findByNameAndPermissionsGroup(@NotNull @NonNull String name,
-                                                  @NotNull @NonNull Group group);
+    List<Topic> findAllByMakePublicTrueAndIdIn(List<Long> entityIds);
 
-    List<Long> findIdByPermissionsGroupIdIn(List<Long> groups);
+    @Query("SELECT t.id AS id, t.name AS name, t.description AS description, t.permissionsGroup.id AS groupId " +
+            "FROM Topic t WHERE t.makePublic = true")
+    List<SearchDocument> findPublicSearchDocuments();
 
-    Page<Topic> findAllByMakePublicTrue(Pageable pageable);
+    @Query("SELECT topic_.id AS id, topic_.name AS name, topic_.description AS description, topic_.permissionsGroup.id AS groupId " +
+            "FROM Topic topic_ WHERE topic_.makePublic = true")
+    List<SearchDocument> findPublicSearchDocuments(Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.name AS name, t.description AS description, t.permissionsGroup.id AS groupId " +
+            "FROM Topic t WHERE t.makePublic = true AND t.id IN (:ids)")
+    List<SearchDocument> findPublicSearchDocumentsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.name AS name, t.description AS description, t.permissionsGroup.id AS groupId " +
+            "FROM Topic t WHERE t.makePublic = true AND t.permissionsGroup.id IN (:groupIds)")
+    List<SearchDocument> findPublicSearchDocumentsByGroupIdIn(Collection<Long> groupIds);
+
+    List<Long> findIdByIdInAndPermissionsGroupId(Collection<Long> ids, Long groupId);
+
+    String SUMMARY_SELECT = "SELECT topic_.id AS id, " +
+            "topic_.name AS name, " +
+            "topic_.kind AS kind, " +
+            "topic_.description AS description, " +
+            "topic_.makePublic AS makePublic, " +
+            "topic_.permissionsGroup.id AS groupId, " +
+            "topic_.permissionsGroup.name AS groupName, " +
+            "topic_.dateCreated AS dateCreated, " +
+            "topic_.dateUpdated AS dateUpdated " +
+            "FROM Topic topic_ ";
+
+    String SUMMARY_COUNT = "SELECT COUNT(topic_) FROM Topic topic_ ";
+
+    String IN_GROUPS = "WHERE topic_.permissionsGroup.id IN (:groupIds) ";
+
+    String VISIBLE_TO_USER = "WHERE EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = topic_.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId) ";
+
+    String SUMMARY_FILTER = "(LOWER(topic_.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(topic_.description) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(topic_.permissionsGroup.name) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SUMMARY_FILTER, countQuery = SUMMARY_COUNT + "WHERE " + SUMMARY_FILTER)
+    @Override
+    Page<TopicSummary> findSummaries(String filter, Pageable pageable);
 
-    List<Topic> findTop50ByMakePublicTrue();
+    @Query(value = SUMMARY_SELECT, countQuery = SUMMARY_COUNT)
+    @Override
+    Page<TopicSummary> findSummaries(Pageable pageable);
 
-    List<Long> findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(String topic, String topicDescription);
+    @Query(value = SUMMARY_SELECT + IN_GROUPS + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + IN_GROUPS + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<TopicSummary> findSummariesInGroups(String filter, List<Long> groupIds, Pageable pageable);
 
-    Page<Topic> findByMakePublicTrueAndIdIn(List<Long> entityIds, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + IN_GROUPS, countQuery = SUMMARY_COUNT + IN_GROUPS)
+    @Override
+    Page<TopicSummary> findSummariesInGroups(List<Long> groupIds, Pageable pageable);
 
-    List<Topic> findTop50ByMakePublicTrueAndIdIn(List<Long> secondEntityIds);
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<TopicSummary> findSummariesVisibleTo(String filter, Long userId, Pageable pageable);
 
-    Optional<Topic> findByIdAndPermissionsGroupId(Long id, Long groupId);
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER, countQuery = SUMMARY_COUNT + VISIBLE_TO_USER)
+    @Override
+    Page<TopicSummary> findSummariesVisibleTo(Long userId, Pageable pageable);
 }
@@ -13,24 +13,32 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.topic;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.security.authentication.AuthenticationException;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
-import io.unityfoundation.dds.permissions.manager.model.actiontopic.ActionTopicRepository;
-import io.unityfoundation.dds.permissions.manager.model.applicationpermission.ApplicationPermissionService;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
-import io.unityfoundation.dds.permissions.manager.model.topicsettopic.TopicSetTopicRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
+import io.unityfoundation.dds.permissions.manager.util.ReferenceDataCache;
 import jakarta.inject.Singleton;
 
+import javax.transaction.Transactional;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
@@ -42,74 +50,43 @@ public class TopicService {
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
     private final GroupRepository groupRepository;
-    private final ActionTopicRepository actionTopicRepository;
-    private final TopicSetTopicRepository topicSetTopicRepository;
-    private final ApplicationPermissionService applicationPermissionService;
     private final OnUpdateTopicWebSocket onUpdateTopicWebSocket;
+    private final KeysetPaginator keysetPaginator;
+    private final ReferenceDataCache referenceDataCache;
+    private final ChangeLog changeLog;
 
-    public TopicService(TopicRepository topicRepository, SecurityUtil securityUtil, GroupUserService groupUserService, GroupRepository groupRepository, ActionTopicRepository actionTopicRepository, TopicSetTopicRepository topicSetTopicRepository, ApplicationPermissionService applicationPermissionService, OnUpdateTopicWebSocket onUpdateTopicWebSocket) {
+    public TopicService(TopicRepository topicRepository, SecurityUtil securityUtil, GroupUserService groupUserService, GroupRepository groupRepository, OnUpdateTopicWebSocket onUpdateTopicWebSocket, KeysetPaginator keysetPaginator, ReferenceDataCache referenceDataCache, ChangeLog changeLog) {
         this.topicRepository = topicRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
         this.groupRepository = groupRepository;
-        this.actionTopicRepository = actionTopicRepository;
-        this.topicSetTopicRepository = topicSetTopicRepository;
-        this.applicationPermissionService = applicationPermissionService;
         this.onUpdateTopicWebSocket = onUpdateTopicWebSocket;
+        this.keysetPaginator = keysetPaginator;
+        this.referenceDataCache = referenceDataCache;
+        this.changeLog = changeLog;
     }
 
+    @ReadOnly
     public Page<TopicDTO> findAll(Pageable pageable, String filter, Long groupId) {
-        return getTopicPage(pageable, filter, groupId).map(TopicDTO::new);
-    }
-
-    private Page<Topic> getTopicPage(Pageable pageable, String filter, Long groupId) {
-
-        if(!pageable.isSorted()) {
+        if (!pageable.isSorted()) {
             pageable = pageable.order("name").order("permissionsGroup.name");
         }
 
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (filter == null) {
-                if (groupId == null) {
-                    return topicRepository.findAll(pageable);
-                }
-                return topicRepository.findAllByPermissionsGroupIdIn(List.of(groupId), pageable);
-            }
-
-            if (groupId == null) {
-                return topicRepository.findAllByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, filter, pageable);
-            }
-
-            all = topicRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, filter);
-
-            return topicRepository.findAllByIdInAndPermissionsGroupIdIn(all, List.of(groupId), pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty() || (groupId != null && !groups.contains(groupId))) {
-                return Page.empty();
-            }
-
-            if (groupId != null) {
-                // implies groupId exists in member's groups
-                groups = List.of(groupId);
-            }
-
-            if (filter == null) {
-                return topicRepository.findAllByPermissionsGroupIdIn(groups, pageable);
-            }
-
-            all = topicRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, filter);
-            if (all.isEmpty()) {
-                return Page.empty();
-            }
+        GroupVisibility visibility = groupUserService.getVisibility(groupId);
+        Page<TopicSummary> page = visibility.findSummaries(topicRepository, filter, pageable);
+        return page.map(TopicDTO::new);
+    }
 
-            return topicRepository.findAllByIdInAndPermissionsGroupIdIn(all, groups, pageable);
-        }
+    @ReadOnly
+    public CursorPage<TopicDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long groupId) {
+        KeysetQuery<Topic> query = KeysetQuery.of(Topic.class)
+                .orderBy("name", "permissionsGroup.name")
+                .visibleTo("permissionsGroup", groupUserService.getVisibility(groupId))
+                .filter(filter, "name", "description", "permissionsGroup.name");
+        return keysetPaginator.find(query, cursor, size).map(TopicDTO::new);
     }
 
+    @Transactional
     public MutableHttpResponse<?> save(TopicDTO topicDTO) {
 
         Optional<Group> groupOptional = groupRepository.findById(topicDTO.getGroup());
@@ -145,6 +122,7 @@ public class TopicService {
             savedTopic.setMakePublic(isPublic);
 
             topic = topicRepository.update(savedTopic);
+            changeLog.append(ChangeLogEntityType.TOPIC, topic.getId(), topic.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
             onUpdateTopicWebSocket.broadcastResourceEvent(OnUpdateTopicWebSocket.TOPIC_UPDATED, topic.getId());
         } else {
             // save
@@ -161,12 +139,14 @@ public class TopicService {
             newTopic.setPermissionsGroup(groupOptional.get());
 
             topic = topicRepository.save(newTopic);
+            changeLog.append(ChangeLogEntityType.TOPIC, topic.getId(), topic.getPermissionsGroup().getId(), ChangeLogOperation.CREATE);
         }
 
         TopicDTO responseTopicDTO = new TopicDTO(topic);
         return HttpResponse.ok(responseTopicDTO);
     }
 
+    @Transactional
     public HttpResponse deleteById(Long id) throws AuthenticationException {
         Optional<Topic> optionalTopic = topicRepository.findById(id);
         if (optionalTopic.isEmpty()) {
@@ -178,20 +158,14 @@ public class TopicService {
             throw new DPMException(ResponseStatusCodes.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
         }
 
-        // TODO - Need to investigate cascade management to eliminate this
-        applicationPermissionService.deleteAllByTopic(topic);
-        removeFromAssociatedActions(topic);
-
+        // the database cascades the delete to the topic's permissions, topic set entries and action entries
         topicRepository.deleteById(id);
+        changeLog.append(ChangeLogEntityType.TOPIC, id, topic.getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
+        referenceDataCache.evictCascadedDeletes();
         onUpdateTopicWebSocket.broadcastResourceEvent(OnUpdateTopicWebSocket.TOPIC_DELETED, topic.getId());
         return HttpResponse.seeOther(URI.create("/api/topics"));
     }
 
-    private void removeFromAssociatedActions(Topic topic) {
-        actionTopicRepository.deleteByPermissionsTopicId(topic.getId());
-        topicSetTopicRepository.deleteByPermissionsTopicId(topic.getId());
-    }
-
     public HttpResponse show(Long id) {
         Optional<Topic> topicOptional = topicRepository.findById(id);
         if (topicOptional.isEmpty()) {
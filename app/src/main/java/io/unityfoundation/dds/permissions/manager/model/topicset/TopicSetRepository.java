@@ -13,25 +13,65 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.topicset;
 
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
+import io.unityfoundation.dds.permissions.manager.model.VisibleSummaries;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TopicSetRepository extends PageableRepository<TopicSet, Long> {
-    Page<TopicSet> findAllByPermissionsGroupIdIn(List<Long> groupIds, Pageable pageable);
+public interface TopicSetRepository extends PageableRepository<TopicSet, Long>, VisibleSummaries<TopicSetSummary> {
 
-    Page<TopicSet> findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName, Pageable pageable);
+    Optional<TopicSet> findByNameAndPermissionsGroup(String name, Group group);
+    List<TopicSet> findAllByIdInAndPermissionsGroupId(Collection<Long> ids, Long groupId);
 
-    List<Long> findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(String name, String groupName);
+    String SUMMARY_SELECT = "SELECT topicSet_.id AS id, " +
+            "topicSet_.name AS name, " +
+            "topicSet_.permissionsGroup.id AS groupId, " +
+            "topicSet_.permissionsGroup.name AS groupName, " +
+            "topicSet_.dateCreated AS dateCreated, " +
+            "topicSet_.dateUpdated AS dateUpdated " +
+            "FROM TopicSet topicSet_ ";
 
-    Page<TopicSet> findAllByIdInAndPermissionsGroupIdIn(List<Long> topicSets, List<Long> groupIds, Pageable pageable);
+    String SUMMARY_COUNT = "SELECT COUNT(topicSet_) FROM TopicSet topicSet_ ";
 
-    Optional<TopicSet> findByNameAndPermissionsGroup(String name, Group group);
-    Optional<TopicSet> findByIdAndPermissionsGroupId(Long id, Long groupId);
+    String IN_GROUPS = "WHERE topicSet_.permissionsGroup.id IN (:groupIds) ";
+
+    String VISIBLE_TO_USER = "WHERE EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsGroup = topicSet_.permissionsGroup " +
+            "AND gu.permissionsUser.id = :userId) ";
+
+    String SUMMARY_FILTER = "(LOWER(topicSet_.name) LIKE LOWER(CONCAT('%', :filter, '%')) " +
+            "OR LOWER(topicSet_.permissionsGroup.name) LIKE LOWER(CONCAT('%', :filter, '%')))";
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SUMMARY_FILTER, countQuery = SUMMARY_COUNT + "WHERE " + SUMMARY_FILTER)
+    @Override
+    Page<TopicSetSummary> findSummaries(String filter, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT, countQuery = SUMMARY_COUNT)
+    @Override
+    Page<TopicSetSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + IN_GROUPS + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<TopicSetSummary> findSummariesInGroups(String filter, List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + IN_GROUPS, countQuery = SUMMARY_COUNT + IN_GROUPS)
+    @Override
+    Page<TopicSetSummary> findSummariesInGroups(List<Long> groupIds, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER,
+            countQuery = SUMMARY_COUNT + VISIBLE_TO_USER + "AND " + SUMMARY_FILTER)
+    @Override
+    Page<TopicSetSummary> findSummariesVisibleTo(String filter, Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + VISIBLE_TO_USER, countQuery = SUMMARY_COUNT + VISIBLE_TO_USER)
+    @Override
+    Page<TopicSetSummary> findSummariesVisibleTo(Long userId, Pageable pageable);
 }
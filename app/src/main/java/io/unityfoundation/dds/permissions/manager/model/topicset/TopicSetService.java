@@ -13,13 +13,22 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.topicset;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.GroupVisibility;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
@@ -32,8 +41,10 @@ import io.unityfoundation.dds.permissions.manager.model.topicsettopic.TopicSetTo
 import io.unityfoundation.dds.permissions.manager.model.topicsettopic.TopicSetTopicRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
+import io.unityfoundation.dds.permissions.manager.util.ReferenceDataCache;
 import jakarta.inject.Singleton;
 
+import javax.transaction.Transactional;
 import javax.validation.constraints.NotNull;
 import java.time.Instant;
 import java.util.List;
@@ -50,70 +61,40 @@ public class TopicSetService {
     private final GroupRepository groupRepository;
     private final SecurityUtil securityUtil;
     private final GroupUserService groupUserService;
+    private final KeysetPaginator keysetPaginator;
+    private final ChangeLog changeLog;
+    private final ReferenceDataCache referenceDataCache;
 
-    public TopicSetService(TopicSetRepository topicSetRepository, TopicRepository topicRepository, TopicSetTopicRepository topicSetTopicRepository, GroupRepository groupRepository, SecurityUtil securityUtil, GroupUserService groupUserService) {
+    public TopicSetService(TopicSetRepository topicSetRepository, TopicRepository topicRepository, TopicSetTopicRepository topicSetTopicRepository, GroupRepository groupRepository, SecurityUtil securityUtil, GroupUserService groupUserService, KeysetPaginator keysetPaginator, ChangeLog changeLog, ReferenceDataCache referenceDataCache) {
         this.topicSetRepository = topicSetRepository;
         this.topicRepository = topicRepository;
         this.topicSetTopicRepository = topicSetTopicRepository;
         this.groupRepository = groupRepository;
         this.securityUtil = securityUtil;
         this.groupUserService = groupUserService;
+        this.keysetPaginator = keysetPaginator;
+        this.changeLog = changeLog;
+        this.referenceDataCache = referenceDataCache;
     }
 
+    @ReadOnly
     public Page<TopicSetDTO> findAll(Pageable pageable, String filter, Long groupId) {
-        return getTopicSetDTOPage(getTopicSetPage(pageable, filter, groupId));
-    }
-
-    private Page<TopicSet> getTopicSetPage(Pageable pageable, String filter, Long groupId) {
-
-        if(!pageable.isSorted()) {
+        if (!pageable.isSorted()) {
             pageable = pageable.order("name").order("permissionsGroup.name");
         }
 
-        List<Long> all;
-        if (securityUtil.isCurrentUserAdmin()) {
-            if (filter == null) {
-                if (groupId == null) {
-                    return topicSetRepository.findAll(pageable);
-                }
-                return topicSetRepository.findAllByPermissionsGroupIdIn(List.of(groupId), pageable);
-            }
-
-            if (groupId == null) {
-                return topicSetRepository.findAllByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter, pageable);
-            }
-
-            all = topicSetRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-
-            return topicSetRepository.findAllByIdInAndPermissionsGroupIdIn(all, List.of(groupId), pageable);
-        } else {
-            User user = securityUtil.getCurrentlyAuthenticatedUser().get();
-            List<Long> groups = groupUserService.getAllGroupsUserIsAMemberOf(user.getId());
-
-            if (groups.isEmpty() || (groupId != null && !groups.contains(groupId))) {
-                return Page.empty();
-            }
-
-            if (groupId != null) {
-                // implies groupId exists in member's groups
-                groups = List.of(groupId);
-            }
-
-            if (filter == null) {
-                return topicSetRepository.findAllByPermissionsGroupIdIn(groups, pageable);
-            }
-
-            all = topicSetRepository.findIdByNameContainsIgnoreCaseOrPermissionsGroupNameContainsIgnoreCase(filter, filter);
-            if (all.isEmpty()) {
-                return Page.empty();
-            }
-
-            return topicSetRepository.findAllByIdInAndPermissionsGroupIdIn(all, groups, pageable);
-        }
+        GroupVisibility visibility = groupUserService.getVisibility(groupId);
+        Page<TopicSetSummary> page = visibility.findSummaries(topicSetRepository, filter, pageable);
+        return page.map(this::createDTO);
     }
 
-    private Page<TopicSetDTO> getTopicSetDTOPage(Page<TopicSet> page) {
-        return page.map(this::createDTO);
+    @ReadOnly
+    public CursorPage<TopicSetDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter, @Nullable Long groupId) {
+        KeysetQuery<TopicSet> query = KeysetQuery.of(TopicSet.class)
+                .orderBy("name", "permissionsGroup.name")
+                .visibleTo("permissionsGroup", groupUserService.getVisibility(groupId))
+                .filter(filter, "name", "permissionsGroup.name");
+        return keysetPaginator.find(query, cursor, size).map(this::createDTO);
     }
 
     public TopicSetDTO findById(Long topicSetId) {
@@ -129,6 +110,7 @@ public class TopicSetService {
     }
 
     // POST /topic-set
+    @Transactional
     public MutableHttpResponse<?> create(CreateTopicSetDTO topicSetDTO) {
 
         Optional<Group> groupOptional = groupRepository.findById(topicSetDTO.getGroupId());
@@ -152,10 +134,13 @@ public class TopicSetService {
 
         TopicSet newTopicSet = new TopicSet(topicSetDTO.getName(), groupOptional.get());
 
-        TopicSetDTO responseTopicDTO = createDTO(topicSetRepository.save(newTopicSet));
+        TopicSet topicSet = topicSetRepository.save(newTopicSet);
+        changeLog.append(ChangeLogEntityType.TOPIC_SET, topicSet.getId(), topicSet.getPermissionsGroup().getId(), ChangeLogOperation.CREATE);
+        TopicSetDTO responseTopicDTO = createDTO(topicSet);
         return HttpResponse.ok(responseTopicDTO);
     }
 
+    @Transactional
     public MutableHttpResponse<?> update(@NotNull Long topicSetId, UpdateTopicSetDTO topicSetDTO) {
 
         Optional<TopicSet> topicSetOptional = topicSetRepository.findById(topicSetId);
@@ -173,19 +158,25 @@ public class TopicSetService {
         topicSet.setName(topicSetDTO.getName().trim());
 
         TopicSetDTO dto = createDTO(topicSetRepository.update(topicSet));
+        changeLog.append(ChangeLogEntityType.TOPIC_SET, topicSetId, topicSet.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
         return HttpResponse.ok(dto);
     }
 
+    @Transactional
     public HttpResponse deleteById(Long topicSetId) {
 
         Optional<TopicSet> topicSetOptional = topicSetRepository.findById(topicSetId);
 
         checkExistenceAndAdminAuthorization(topicSetOptional);
 
+        // the database also removes the set's topic entries and its use in actions
         topicSetRepository.delete(topicSetOptional.get());
+        changeLog.append(ChangeLogEntityType.TOPIC_SET, topicSetId, topicSetOptional.get().getPermissionsGroup().getId(), ChangeLogOperation.DELETE);
+        referenceDataCache.evictCascadedDeletes();
         return HttpResponse.noContent();
     }
 
+    @Transactional
     public HttpResponse<TopicSetDTO> addTopic(Long topicSetId, Long topicId) {
 
         Optional<TopicSet> topicSetOptional = topicSetRepository.findById(topicSetId);
@@ -208,9 +199,11 @@ public class TopicSetService {
 
         topicSetTopicRepository.save(new TopicSetTopic(topicSet, topic));
         topicSet.setDateUpdated(Instant.now());
+        changeLog.append(ChangeLogEntityType.TOPIC_SET, topicSetId, topicSet.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
         return HttpResponse.created(createDTO(topicSetRepository.update(topicSet)));
     }
 
+    @Transactional
     public HttpResponse<TopicSetDTO> removeTopic(Long topicSetId, Long topicId) {
 
         Optional<TopicSet> topicSetOptional = topicSetRepository.findById(topicSetId);
@@ -233,6 +226,7 @@ public class TopicSetService {
 
         topicSetTopicRepository.deleteByPermissionsTopicSetAndPermissionsTopic(topicSet, topic);
         topicSet.setDateUpdated(Instant.now());
+        changeLog.append(ChangeLogEntityType.TOPIC_SET, topicSetId, topicSet.getPermissionsGroup().getId(), ChangeLogOperation.UPDATE);
         return HttpResponse.ok(createDTO(topicSetRepository.update(topicSet)));
     }
 
@@ -255,6 +249,21 @@ public class TopicSetService {
         );
     }
 
+    private TopicSetDTO createDTO(TopicSetSummary topicSet) {
+        List<Topic> topics = topicSetTopicRepository.findPermissionsTopicByPermissionsTopicSetId(topicSet.getId());
+        return new TopicSetDTO(
+                topicSet.getId(),
+                topicSet.getName(),
+                topicSet.getGroupId(),
+                topicSet.getGroupName(),
+                topics.stream()
+                        .map(topic -> Map.of(topic.getId(), topic.getName()))
+                        .collect(Collectors.toSet()),
+                topicSet.getDateCreated(),
+                topicSet.getDateUpdated()
+        );
+    }
+
     private void checkExistenceAndAdminAuthorization(Optional<TopicSet> topicSetOptional) {
         if (topicSetOptional.isEmpty()) {
             throw new DPMException(ResponseStatusCodes.TOPIC_SET_NOT_FOUND, HttpStatus.NOT_FOUND);
@@ -13,6 +13,7 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.topicsettopic;
 
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.PageableRepository;
 import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
@@ -22,8 +23,11 @@ import java.util.List;
 
 @Repository
 public interface TopicSetTopicRepository extends PageableRepository<TopicSetTopic, Long> {
-    void deleteByPermissionsTopicId(Long topicId);
     void deleteByPermissionsTopicSetAndPermissionsTopic(TopicSet topicSet, Topic topic);
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
     List<Topic> findPermissionsTopicByPermissionsTopicSet(TopicSet topicSet);
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
+    List<Topic> findPermissionsTopicByPermissionsTopicSetId(Long topicSetId);
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
     boolean existsByPermissionsTopicSetAndPermissionsTopic(TopicSet topicSet, Topic topic);
 }
\ No newline at end of file
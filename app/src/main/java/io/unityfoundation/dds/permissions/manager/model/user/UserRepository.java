@@ -13,11 +13,14 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.model.user;
 
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.PageableRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -25,4 +28,24 @@ public interface UserRepository extends PageableRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Page<User> findByAdminTrue(Pageable pageable);
     Page<User> findByAdminTrueAndEmailContainsIgnoreCase(String email, Pageable pageable);
+    List<User> findByEmailIn(Collection<String> emails);
+    void deleteByIdIn(List<Long> ids);
+
+    // moves a stamp forward, by one if it is already at or past now; the row lock orders concurrent bumps
+    String BUMP_PERMISSIONS_LAST_UPDATED = "UPDATE User u SET u.permissionsLastUpdated = " +
+            "CASE WHEN u.permissionsLastUpdated >= :now THEN u.permissionsLastUpdated + 1 ELSE :now END ";
+
+    @Query(BUMP_PERMISSIONS_LAST_UPDATED + "WHERE u.id = :id")
+    void updatePermissionsLastUpdatedById(Long id, Long now);
+
+    @Query(BUMP_PERMISSIONS_LAST_UPDATED +
+            "WHERE u.id IN (SELECT gu.permissionsUser.id FROM GroupUser gu WHERE gu.permissionsGroup.id = :groupId)")
+    void updatePermissionsLastUpdatedByGroupId(Long groupId, Long now);
+
+    @Query("SELECT u.permissionsLastUpdated FROM User u WHERE u.id = :id")
+    Long findPermissionsLastUpdatedById(Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN (:userIds) AND u.admin = false " +
+            "AND NOT EXISTS (SELECT gu.id FROM GroupUser gu WHERE gu.permissionsUser.id = u.id)")
+    List<Long> findIdsOfNonAdminsWithoutMemberships(List<Long> userIds);
 }
@@ -14,15 +14,21 @@
 package io.unityfoundation.dds.permissions.manager.model.user;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.model.Sort;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
 import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import io.unityfoundation.dds.permissions.manager.model.CursorPage;
+import io.unityfoundation.dds.permissions.manager.model.KeysetPaginator;
+import io.unityfoundation.dds.permissions.manager.model.KeysetQuery;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUser;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
+import io.unityfoundation.dds.permissions.manager.security.IntrospectionCache;
 import io.unityfoundation.dds.permissions.manager.security.SecurityUtil;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
@@ -39,12 +45,17 @@ public class UserService {
     private final SecurityUtil securityUtil;
     private final UserRepository userRepository;
     private final GroupUserService groupUserService;
+    private final IntrospectionCache introspectionCache;
+    private final KeysetPaginator keysetPaginator;
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
-    public UserService(SecurityUtil securityUtil, UserRepository userRepository, GroupUserService groupUserService) {
+    public UserService(SecurityUtil securityUtil, UserRepository userRepository, GroupUserService groupUserService,
+                       IntrospectionCache introspectionCache, KeysetPaginator keysetPaginator) {
         this.securityUtil = securityUtil;
         this.userRepository = userRepository;
         this.groupUserService = groupUserService;
+        this.introspectionCache = introspectionCache;
+        this.keysetPaginator = keysetPaginator;
     }
 
     @Transactional
@@ -53,10 +64,20 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
+    @ReadOnly
     public Page<AdminDTO> findAll(Pageable pageable, String filter) {
         return getUsers(pageable, filter).map(user -> new AdminDTO(user.getId(), user.getEmail()));
     }
 
+    @ReadOnly
+    public CursorPage<AdminDTO> findAllAfter(@Nullable String cursor, int size, @Nullable String filter) {
+        KeysetQuery<User> query = KeysetQuery.of(User.class)
+                .orderBy("email")
+                .where("admin", true)
+                .filter(filter, "email");
+        return keysetPaginator.find(query, cursor, size).map(user -> new AdminDTO(user.getId(), user.getEmail()));
+    }
+
     private Page<User> getUsers(Pageable pageable, String filter) {
         if (!pageable.isSorted()) {
             pageable = pageable.order(Sort.Order.asc("email"));
@@ -96,6 +117,9 @@ public class UserService {
             user = userSearchByEmail.get();
             user.setAdmin(true);
             user = userRepository.update(user);
+            userRepository.updatePermissionsLastUpdatedById(user.getId(), System.currentTimeMillis());
+            introspectionCache.invalidate(user.getId());
+            securityUtil.evictUser(user.getId());
             LOG.info(user.getEmail() + " is now a super admin");
         }
 
@@ -107,6 +131,7 @@ public class UserService {
         user.setId(adminDTO.getId());
         user.setEmail(adminDTO.getEmail());
         user.setAdmin(true);
+        user.setPermissionsLastUpdated(System.currentTimeMillis());
         return user;
     }
 
@@ -114,6 +139,8 @@ public class UserService {
     public void deleteById(Long id) {
         removeUserFromGroups(id);
         userRepository.deleteById(id);
+        introspectionCache.invalidate(id);
+        securityUtil.evictUser(id);
     }
 
     @Transactional(Transactional.TxType.REQUIRES_NEW)
@@ -138,7 +165,10 @@ public class UserService {
         } else {
             user.setAdmin(false);
             userRepository.update(user);
+            userRepository.updatePermissionsLastUpdatedById(id, System.currentTimeMillis());
         }
+        introspectionCache.invalidate(id);
+        securityUtil.evictUser(id);
 
         return true;
     }
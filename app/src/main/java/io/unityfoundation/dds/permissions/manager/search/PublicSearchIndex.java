@@ -0,0 +1,428 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.search;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.unityfoundation.dds.permissions.manager.model.DPMEntity;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntry;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory n-gram index over the names and descriptions of public groups, topics and applications.
+ * Every substring of up to three characters is posted, so short queries are a single lookup and longer
+ * ones intersect their trigram postings before a final substring check.
+ * <p>
+ * Saves and deletes made through this instance are applied as they commit (see {@link PublicSearchIndexListener}).
+ * Every instance also replays the change log, re-reading the logged groups, topics and applications, so writes
+ * through any instance are searchable within the sync interval. The periodic rebuild picks up anything written
+ * around both, such as changes made directly in the database.
+ */
+@Singleton
+public class PublicSearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublicSearchIndex.class);
+    private static final int GRAM_LENGTH = 3;
+
+    private final GroupRepository groupRepository;
+    private final TopicRepository topicRepository;
+    private final ApplicationRepository applicationRepository;
+    private final ChangeLog changeLog;
+
+    @Property(name = "permissions-manager.search.index.sync-batch-size", defaultValue = "500")
+    protected int syncBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private Index index;
+    private List<Consumer<Index>> pendingChanges;
+    // the last change log revision the index reflects, guarded by rebuildMonitor
+    private long syncedRevision;
+
+    public PublicSearchIndex(GroupRepository groupRepository, TopicRepository topicRepository,
+                             ApplicationRepository applicationRepository, ChangeLog changeLog) {
+        this.groupRepository = groupRepository;
+        this.topicRepository = topicRepository;
+        this.applicationRepository = applicationRepository;
+        this.changeLog = changeLog;
+    }
+
+    public SearchHits search(String query, Set<DPMEntity> types, Pageable pageable) {
+        ensureBuilt();
+        String needle = query.toLowerCase(Locale.ROOT);
+
+        List<Document> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.find(needle).stream()
+                    .filter(document -> types.contains(document.key.type))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.<Document>comparingInt(document -> document.rank(needle))
+                .thenComparing(document -> document.lowerName)
+                .thenComparing(document -> document.key.type)
+                .thenComparing(document -> document.key.id));
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = pageable.getSize() > 0 ? Math.min(from + pageable.getSize(), matches.size()) : matches.size();
+        List<SearchHit> hits = matches.subList(from, to).stream()
+                .map(document -> new SearchHit(document.key.type, document.key.id))
+                .collect(Collectors.toList());
+        return new SearchHits(hits, matches.size());
+    }
+
+    public void put(DPMEntity type, SearchDocument document) {
+        apply(index -> index.put(new Document(type, document)));
+    }
+
+    public void remove(DPMEntity type, Long id) {
+        apply(index -> index.remove(new Key(type, id)));
+    }
+
+    public void removeGroup(Long groupId) {
+        apply(index -> index.removeGroup(groupId));
+    }
+
+    @Scheduled(fixedDelay = "${permissions-manager.search.index.refresh-interval:10m}",
+            initialDelay = "${permissions-manager.search.index.refresh-interval:10m}")
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            // changes committing while the rows are read are replayed afterwards, which re-reads the same rows
+            long head = changeLog.head();
+            Index rebuilt = new Index();
+            try {
+                groupRepository.findPublicSearchDocuments().forEach(document -> rebuilt.put(new Document(DPMEntity.GROUP, document)));
+                topicRepository.findPublicSearchDocuments().forEach(document -> rebuilt.put(new Document(DPMEntity.TOPIC, document)));
+                applicationRepository.findPublicSearchDocuments().forEach(document -> rebuilt.put(new Document(DPMEntity.APPLICATION, document)));
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                // changes committed while the rows were being read may not be in them
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                pendingChanges = null;
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            syncedRevision = head;
+            LOG.debug("Rebuilt public search index with {} entries", rebuilt.documents.size());
+        }
+    }
+
+    @Scheduled(fixedDelay = "${permissions-manager.search.index.sync-interval:1s}")
+    public void sync() {
+        synchronized (rebuildMonitor) {
+            if (index == null) {
+                // the first search builds it
+                return;
+            }
+
+            long head = changeLog.head();
+            while (syncedRevision < head) {
+                List<ChangeLogEntry> entries = changeLog.read(syncedRevision, head, syncBatchSize);
+                if (entries.isEmpty()) {
+                    syncedRevision = head;
+                } else {
+                    replay(entries);
+                    syncedRevision = entries.get(entries.size() - 1).getRevision();
+                }
+            }
+        }
+    }
+
+    // re-reads what the entries touched rather than trusting their operation, so deleted and private rows drop out
+    private void replay(List<ChangeLogEntry> entries) {
+        Set<Long> groupIds = new HashSet<>();
+        Set<Long> topicIds = new HashSet<>();
+        Set<Long> applicationIds = new HashSet<>();
+        for (ChangeLogEntry entry : entries) {
+            switch (entry.getEntityType()) {
+                case GROUP:
+                    groupIds.add(entry.getEntityId());
+                    break;
+                case TOPIC:
+                    topicIds.add(entry.getEntityId());
+                    break;
+                case APPLICATION:
+                    applicationIds.add(entry.getEntityId());
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (groupIds.isEmpty() && topicIds.isEmpty() && applicationIds.isEmpty()) {
+            return;
+        }
+
+        // a group change may have changed everything in it, so its topics and applications are re-read with it
+        List<Document> documents = new ArrayList<>();
+        if (!groupIds.isEmpty()) {
+            groupRepository.findPublicSearchDocumentsByIdIn(groupIds).forEach(document -> documents.add(new Document(DPMEntity.GROUP, document)));
+            topicRepository.findPublicSearchDocumentsByGroupIdIn(groupIds).forEach(document -> documents.add(new Document(DPMEntity.TOPIC, document)));
+            applicationRepository.findPublicSearchDocumentsByGroupIdIn(groupIds).forEach(document -> documents.add(new Document(DPMEntity.APPLICATION, document)));
+        }
+        if (!topicIds.isEmpty()) {
+            topicRepository.findPublicSearchDocumentsByIdIn(topicIds).forEach(document -> documents.add(new Document(DPMEntity.TOPIC, document)));
+        }
+        if (!applicationIds.isEmpty()) {
+            applicationRepository.findPublicSearchDocumentsByIdIn(applicationIds).forEach(document -> documents.add(new Document(DPMEntity.APPLICATION, document)));
+        }
+
+        apply(index -> {
+            groupIds.forEach(index::removeGroup);
+            topicIds.forEach(id -> index.remove(new Key(DPMEntity.TOPIC, id)));
+            applicationIds.forEach(id -> index.remove(new Key(DPMEntity.APPLICATION, id)));
+            documents.forEach(index::put);
+        });
+    }
+
+    private void ensureBuilt() {
+        lock.readLock().lock();
+        try {
+            if (index != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (rebuildMonitor) {
+            if (index == null) {
+                rebuild();
+            }
+        }
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < text.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, text.length()); end++) {
+                grams.add(text.substring(start, end));
+            }
+        }
+        return grams;
+    }
+
+    private static class Index {
+        private final Map<Key, Document> documents = new HashMap<>();
+        private final Map<String, Set<Key>> postings = new HashMap<>();
+
+        List<Document> find(String needle) {
+            if (needle.length() <= GRAM_LENGTH) {
+                return postings.getOrDefault(needle, Collections.emptySet()).stream()
+                        .map(documents::get)
+                        .collect(Collectors.toList());
+            }
+
+            List<Set<Key>> candidates = new ArrayList<>();
+            for (int start = 0; start + GRAM_LENGTH <= needle.length(); start++) {
+                Set<Key> posting = postings.get(needle.substring(start, start + GRAM_LENGTH));
+                if (posting == null) {
+                    return Collections.emptyList();
+                }
+                candidates.add(posting);
+            }
+            candidates.sort(Comparator.comparingInt(Set::size));
+
+            List<Document> found = new ArrayList<>();
+            for (Key key : candidates.get(0)) {
+                if (candidates.stream().allMatch(posting -> posting.contains(key))) {
+                    Document document = documents.get(key);
+                    if (document.contains(needle)) {
+                        found.add(document);
+                    }
+                }
+            }
+            return found;
+        }
+
+        void put(Document document) {
+            remove(document.key);
+            documents.put(document.key, document);
+            document.grams().forEach(gram -> postings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.key));
+        }
+
+        void remove(Key key) {
+            Document existing = documents.remove(key);
+            if (existing != null) {
+                existing.grams().forEach(gram -> {
+                    Set<Key> posting = postings.get(gram);
+                    if (posting != null) {
+                        posting.remove(key);
+                        if (posting.isEmpty()) {
+                            postings.remove(gram);
+                        }
+                    }
+                });
+            }
+        }
+
+        void removeGroup(Long groupId) {
+            documents.values().stream()
+                    .filter(document -> Objects.equals(document.groupId, groupId))
+                    .map(document -> document.key)
+                    .collect(Collectors.toList())
+                    .forEach(this::remove);
+        }
+    }
+
+    private static class Document {
+        private final Key key;
+        private final String lowerName;
+        private final String lowerDescription;
+        private final Long groupId;
+
+        Document(DPMEntity type, SearchDocument document) {
+            this.key = new Key(type, document.getId());
+            this.lowerName = document.getName() == null ? "" : document.getName().toLowerCase(Locale.ROOT);
+            this.lowerDescription = document.getDescription() == null ? "" : document.getDescription().toLowerCase(Locale.ROOT);
+            this.groupId = document.getGroupId();
+        }
+
+        Set<String> grams() {
+            Set<String> grams = PublicSearchIndex.grams(lowerName);
+            grams.addAll(PublicSearchIndex.grams(lowerDescription));
+            return grams;
+        }
+
+        boolean contains(String needle) {
+            return lowerName.contains(needle) || lowerDescription.contains(needle);
+        }
+
+        // exact name, then name prefix, then anywhere in the name, then description only
+        int rank(String needle) {
+            if (lowerName.equals(needle)) {
+                return 0;
+            } else if (lowerName.startsWith(needle)) {
+                return 1;
+            } else if (lowerName.contains(needle)) {
+                return 2;
+            }
+            return 3;
+        }
+    }
+
+    private static class Key {
+        private final DPMEntity type;
+        private final Long id;
+
+        Key(DPMEntity type, Long id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return type == key.type && Objects.equals(id, key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id);
+        }
+    }
+
+    public static class SearchHit {
+        private final DPMEntity type;
+        private final Long id;
+
+        SearchHit(DPMEntity type, Long id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        public DPMEntity getType() {
+            return type;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static class SearchHits {
+        private final List<SearchHit> hits;
+        private final long total;
+
+        SearchHits(List<SearchHit> hits, long total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<SearchHit> getHits() {
+            return hits;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.search;
+
+import io.micronaut.context.annotation.Context;
+import io.unityfoundation.dds.permissions.manager.model.DPMEntity;
+import io.unityfoundation.dds.permissions.manager.model.application.Application;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Keeps {@link PublicSearchIndex} in step with groups, topics and applications as their transactions commit.
+ */
+@Context
+public class PublicSearchIndexListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PublicSearchIndex publicSearchIndex;
+
+    public PublicSearchIndexListener(EntityManagerFactory entityManagerFactory, PublicSearchIndex publicSearchIndex) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.publicSearchIndex = publicSearchIndex;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        saved(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        saved(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Group) {
+            publicSearchIndex.removeGroup(((Group) entity).getId());
+        } else if (entity instanceof Topic) {
+            publicSearchIndex.remove(DPMEntity.TOPIC, ((Topic) entity).getId());
+        } else if (entity instanceof Application) {
+            publicSearchIndex.remove(DPMEntity.APPLICATION, ((Application) entity).getId());
+        }
+    }
+
+    private void saved(Object entity) {
+        if (entity instanceof Group) {
+            Group group = (Group) entity;
+            if (group.getMakePublic()) {
+                publicSearchIndex.put(DPMEntity.GROUP, new SearchDocument(group.getId(), group.getName(), group.getDescription(), group.getId()));
+            } else {
+                publicSearchIndex.remove(DPMEntity.GROUP, group.getId());
+            }
+        } else if (entity instanceof Topic) {
+            Topic topic = (Topic) entity;
+            if (topic.getMakePublic()) {
+                publicSearchIndex.put(DPMEntity.TOPIC, new SearchDocument(topic.getId(), topic.getName(), topic.getDescription(), topic.getPermissionsGroup().getId()));
+            } else {
+                publicSearchIndex.remove(DPMEntity.TOPIC, topic.getId());
+            }
+        } else if (entity instanceof Application) {
+            Application application = (Application) entity;
+            if (application.getMakePublic()) {
+                publicSearchIndex.put(DPMEntity.APPLICATION, new SearchDocument(application.getId(), application.getName(), application.getDescription(), application.getPermissionsGroup().getId()));
+            } else {
+                publicSearchIndex.remove(DPMEntity.APPLICATION, application.getId());
+            }
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == Group.class || entityClass == Topic.class || entityClass == Application.class;
+    }
+}
@@ -16,6 +16,8 @@ package io.unityfoundation.dds.permissions.manager.search;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.data.model.Page;
 import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import io.micronaut.transaction.annotation.ReadOnly;
 import io.unityfoundation.dds.permissions.manager.model.DPMEntity;
 import io.unityfoundation.dds.permissions.manager.model.application.Application;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationDTO;
@@ -28,164 +30,205 @@ import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
 import jakarta.inject.Singleton;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Singleton
 public class UniversalSearchService {
 
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_MERGE_BATCH_SIZE = 500;
+    private static final Sort MERGE_SORT = Sort.of(new Sort.Order("name", Sort.Order.Direction.ASC, true), Sort.Order.asc("id"));
+    private static final Comparator<PublicRows> MERGE_ORDER = Comparator
+            .<PublicRows, String>comparing(rows -> rows.peek().getName().toLowerCase(Locale.ROOT))
+            .thenComparing(rows -> rows.type)
+            .thenComparing(rows -> rows.peek().getId());
+
     private final GroupRepository groupRepository;
     private final TopicRepository topicRepository;
     private final ApplicationRepository applicationRepository;
+    private final PublicSearchIndex publicSearchIndex;
 
-    public UniversalSearchService(GroupRepository groupRepository, TopicRepository topicRepository, ApplicationRepository applicationRepository) {
+    public UniversalSearchService(GroupRepository groupRepository, TopicRepository topicRepository, ApplicationRepository applicationRepository,
+                                  PublicSearchIndex publicSearchIndex) {
         this.groupRepository = groupRepository;
         this.topicRepository = topicRepository;
         this.applicationRepository = applicationRepository;
+        this.publicSearchIndex = publicSearchIndex;
     }
 
 
+    @ReadOnly
     public Page<SearchResponseDTO> search(UniversalSearchParams searchParams) {
 
         boolean searchGroups = Boolean.TRUE.equals(searchParams.getGroups());
         boolean searchTopics = Boolean.TRUE.equals(searchParams.getTopics());
         boolean searchApplications = Boolean.TRUE.equals(searchParams.getApplications());
         String query = searchParams.getQuery();
-        List<Long> entityIds;
+
+        Set<DPMEntity> types = EnumSet.noneOf(DPMEntity.class);
+        if (searchGroups) {
+            types.add(DPMEntity.GROUP);
+        }
+        if (searchTopics) {
+            types.add(DPMEntity.TOPIC);
+        }
+        if (searchApplications) {
+            types.add(DPMEntity.APPLICATION);
+        }
+        if (types.isEmpty()) {
+            types = EnumSet.of(DPMEntity.GROUP, DPMEntity.TOPIC, DPMEntity.APPLICATION);
+        }
 
         Pageable searchParamsPageable = searchParams.getPageable();
-        int pageCount = Math.max(searchParamsPageable.getNumber(), 1);
-        int pageSize = 10;
-        if (searchParamsPageable.getSize() > 0) {
-            pageSize = searchParamsPageable.getSize();
+        if (StringUtils.hasText(query)) {
+            return searchIndex(query, types, searchParamsPageable);
+        } else if (types.size() > 1) {
+            return mergePublic(types, searchParamsPageable);
+        } else if (searchGroups) {
+            return groupRepository.findAllByMakePublicTrue(searchParamsPageable).map(this::createGroupResponse);
+        } else if (searchTopics) {
+            return topicRepository.findAllByMakePublicTrue(searchParamsPageable).map(this::createTopicResponse);
         }
-        int start = (pageCount - 1) * pageSize;
-        int end = pageCount * pageSize;
-        if (searchGroups && !searchTopics && !searchApplications) {
-            // just groups
-            Page<Group> groups;
-            if (!StringUtils.hasText(query)) {
-                groups = groupRepository.findAllByMakePublicTrue(searchParamsPageable);
-            } else {
-                entityIds = groupRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                groups = groupRepository.findByMakePublicTrueAndIdIn(entityIds, searchParamsPageable);
-            }
-            return groups.map(group -> new SearchResponseDTO(DPMEntity.GROUP, new SimpleGroupDTO(group.getId(), group.getName(), group.getDescription(), group.getMakePublic())));
-        } else if (!searchGroups && searchTopics && !searchApplications) {
-            // just topics
-            Page<Topic> topics;
-            if (!StringUtils.hasText(query)) {
-                topics = topicRepository.findAllByMakePublicTrue(searchParamsPageable);
-            } else {
-                entityIds = topicRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                topics = topicRepository.findByMakePublicTrueAndIdIn(entityIds, searchParamsPageable);
-            }
-            return topics.map(topic -> new SearchResponseDTO(DPMEntity.TOPIC, new TopicDTO(topic)));
-        } else if (!searchGroups && !searchTopics && searchApplications) {
-            // just applications
-            Page<Application> applications;
-            if (!StringUtils.hasText(query)) {
-                applications = applicationRepository.findAllByMakePublicTrue(searchParamsPageable);
-            } else {
-                entityIds = applicationRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                applications = applicationRepository.findByMakePublicTrueAndIdIn(entityIds, searchParamsPageable);
-            }
-            return applications.map(application -> new SearchResponseDTO(DPMEntity.APPLICATION, new ApplicationDTO(application)));
-        } else if (searchGroups && searchTopics && !searchApplications) {
-            // groups and topics
-
-            // the passed in pageable applies to the *combined* resultset (limited to 50 per resource)
-            List<Group> groupsTop50;
-            List<Topic> topicsTop50;
-            if (!StringUtils.hasText(query)) {
-                groupsTop50 = groupRepository.findTop50ByMakePublicTrue();
-                topicsTop50 = topicRepository.findTop50ByMakePublicTrue();
-            } else {
-                entityIds = groupRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                groupsTop50 = groupRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
-                entityIds = topicRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                topicsTop50 = topicRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
+        return applicationRepository.findAllByMakePublicTrue(searchParamsPageable).map(this::createApplicationResponse);
+    }
+
+    // merges the per-type name orderings, reading only as far into each as the requested page reaches
+    private Page<SearchResponseDTO> mergePublic(Set<DPMEntity> types, Pageable pageable) {
+        int size = pageable.getSize() > 0 ? pageable.getSize() : DEFAULT_PAGE_SIZE;
+        long offset = pageable.getSize() > 0 ? pageable.getOffset() : 0;
+        int batchSize = (int) Math.min(offset + size, MAX_MERGE_BATCH_SIZE);
+
+        long total = 0;
+        PriorityQueue<PublicRows> heads = new PriorityQueue<>(MERGE_ORDER);
+        for (DPMEntity type : types) {
+            total += countPublic(type);
+            PublicRows rows = new PublicRows(type, batchSize);
+            if (rows.peek() != null) {
+                heads.add(rows);
             }
-            List<SearchResponseDTO> combined = Stream.concat(
-                    groupsTop50.stream().map(group -> new SearchResponseDTO(DPMEntity.GROUP, new SimpleGroupDTO(group.getId(), group.getName(), group.getDescription(), group.getMakePublic()))),
-                    topicsTop50.stream().map(topic -> new SearchResponseDTO(DPMEntity.TOPIC, new TopicDTO(topic)))
-            ).collect(Collectors.toList());
-
-            end = Math.min(end, combined.size());
-
-            return Page.of(combined.subList(start, end), searchParamsPageable, combined.size());
-        } else if (searchGroups && !searchTopics && searchApplications) {
-            // groups and applications
-
-            List<Group> groupsTop50;
-            List<Application> applicationsTop50;
-            if (!StringUtils.hasText(query)) {
-                groupsTop50 = groupRepository.findTop50ByMakePublicTrue();
-                applicationsTop50 = applicationRepository.findTop50ByMakePublicTrue();
-            } else {
-                entityIds = groupRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                groupsTop50 = groupRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
-                entityIds = applicationRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                applicationsTop50 = applicationRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
+        }
+
+        List<PublicSearchIndex.SearchHit> hits = new ArrayList<>();
+        for (long position = 0; position < offset + size && !heads.isEmpty(); position++) {
+            PublicRows rows = heads.poll();
+            if (position >= offset) {
+                hits.add(new PublicSearchIndex.SearchHit(rows.type, rows.peek().getId()));
             }
-            List<SearchResponseDTO> combined = Stream.concat(
-                    groupsTop50.stream().map(group -> new SearchResponseDTO(DPMEntity.GROUP, new SimpleGroupDTO(group.getId(), group.getName(), group.getDescription(), group.getMakePublic()))),
-                    applicationsTop50.stream().map(application -> new SearchResponseDTO(DPMEntity.APPLICATION, new ApplicationDTO(application)))
-            ).collect(Collectors.toList());
-
-            end = Math.min(end, combined.size());
-
-            return Page.of(combined.subList(start, end), searchParamsPageable, combined.size());
-        } else if (!searchGroups && searchTopics && searchApplications) {
-            // topics and applications
-            List<Topic> topicsTop50;
-            List<Application> applicationsTop50;
-            if (!StringUtils.hasText(query)) {
-                topicsTop50 = topicRepository.findTop50ByMakePublicTrue();
-                applicationsTop50 = applicationRepository.findTop50ByMakePublicTrue();
-            } else {
-                entityIds = topicRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                topicsTop50 = topicRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
-                entityIds = applicationRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                applicationsTop50 = applicationRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
+            rows.advance();
+            if (rows.peek() != null) {
+                heads.add(rows);
             }
-            List<SearchResponseDTO> combined = Stream.concat(
-                    topicsTop50.stream().map(topic -> new SearchResponseDTO(DPMEntity.TOPIC, new TopicDTO(topic))),
-                    applicationsTop50.stream().map(application -> new SearchResponseDTO(DPMEntity.APPLICATION, new ApplicationDTO(application)))
-            ).collect(Collectors.toList());
-
-            end = Math.min(end, combined.size());
-
-            return Page.of(combined.subList(start, end), searchParamsPageable, combined.size());
-        } else {
-            // query all three entities in a pageable manner...
-            List<Group> groupsTop50;
-            List<Topic> topicsTop50;
-            List<Application> applicationsTop50;
-            if (!StringUtils.hasText(query)) {
-                groupsTop50 = groupRepository.findTop50ByMakePublicTrue();
-                topicsTop50 = topicRepository.findTop50ByMakePublicTrue();
-                applicationsTop50 = applicationRepository.findTop50ByMakePublicTrue();
-            } else {
-                entityIds = groupRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                groupsTop50 = groupRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
-                entityIds = topicRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                topicsTop50 = topicRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
-                entityIds = applicationRepository.findIdByNameContainsIgnoreCaseOrDescriptionContainsIgnoreCase(query, query);
-                applicationsTop50 = applicationRepository.findTop50ByMakePublicTrueAndIdIn(entityIds);
+        }
+
+        return Page.of(hydrate(hits), pageable.getSize() > 0 ? pageable : Pageable.from(0, size), total);
+    }
+
+    // the index orders and pages the matches; only the rows on the requested page are loaded
+    private Page<SearchResponseDTO> searchIndex(String query, Set<DPMEntity> types, Pageable pageable) {
+        PublicSearchIndex.SearchHits searchHits = publicSearchIndex.search(query, types, pageable);
+        return Page.of(hydrate(searchHits.getHits()), pageable, searchHits.getTotal());
+    }
+
+    // loads the rows behind the hits in hit order. A hit without a row is only dropped from the page: the replica may
+    // not have a row the primary just committed yet, and the index listener and change log replay remove deleted or private rows.
+    private List<SearchResponseDTO> hydrate(List<PublicSearchIndex.SearchHit> hits) {
+        Map<DPMEntity, List<Long>> idsByType = hits.stream()
+                .collect(Collectors.groupingBy(PublicSearchIndex.SearchHit::getType,
+                        Collectors.mapping(PublicSearchIndex.SearchHit::getId, Collectors.toList())));
+
+        Map<DPMEntity, Map<Long, SearchResponseDTO>> responses = new EnumMap<>(DPMEntity.class);
+        idsByType.forEach((type, ids) -> responses.put(type, load(type, ids)));
+
+        List<SearchResponseDTO> content = new ArrayList<>();
+        for (PublicSearchIndex.SearchHit hit : hits) {
+            SearchResponseDTO response = responses.get(hit.getType()).get(hit.getId());
+            if (response != null) {
+                content.add(response);
             }
+        }
+        return content;
+    }
 
-            List<SearchResponseDTO> combined = Stream.concat(
-                    groupsTop50.stream().map(group -> new SearchResponseDTO(DPMEntity.GROUP, new SimpleGroupDTO(group.getId(), group.getName(), group.getDescription(), group.getMakePublic()))),
-                    Stream.concat(
-                        topicsTop50.stream().map(topic -> new SearchResponseDTO(DPMEntity.TOPIC, new TopicDTO(topic))),
-                        applicationsTop50.stream().map(application -> new SearchResponseDTO(DPMEntity.APPLICATION, new ApplicationDTO(application))))
-            ).collect(Collectors.toList());
+    private Map<Long, SearchResponseDTO> load(DPMEntity type, List<Long> ids) {
+        if (type == DPMEntity.GROUP) {
+            return groupRepository.findAllByMakePublicTrueAndIdIn(ids).stream()
+                    .collect(Collectors.toMap(Group::getId, this::createGroupResponse));
+        } else if (type == DPMEntity.TOPIC) {
+            return topicRepository.findAllByMakePublicTrueAndIdIn(ids).stream()
+                    .collect(Collectors.toMap(Topic::getId, this::createTopicResponse));
+        }
+        return applicationRepository.findAllByMakePublicTrueAndIdIn(ids).stream()
+                .collect(Collectors.toMap(Application::getId, this::createApplicationResponse));
+    }
+
+    private long countPublic(DPMEntity type) {
+        if (type == DPMEntity.GROUP) {
+            return groupRepository.countByMakePublicTrue();
+        } else if (type == DPMEntity.TOPIC) {
+            return topicRepository.countByMakePublicTrue();
+        }
+        return applicationRepository.countByMakePublicTrue();
+    }
+
+    private List<SearchDocument> findPublic(DPMEntity type, Pageable pageable) {
+        if (type == DPMEntity.GROUP) {
+            return groupRepository.findPublicSearchDocuments(pageable);
+        } else if (type == DPMEntity.TOPIC) {
+            return topicRepository.findPublicSearchDocuments(pageable);
+        }
+        return applicationRepository.findPublicSearchDocuments(pageable);
+    }
+
+    private SearchResponseDTO createGroupResponse(Group group) {
+        return new SearchResponseDTO(DPMEntity.GROUP, new SimpleGroupDTO(group.getId(), group.getName(), group.getDescription(), group.getMakePublic()));
+    }
 
-            end = Math.min(end, combined.size());
+    private SearchResponseDTO createTopicResponse(Topic topic) {
+        return new SearchResponseDTO(DPMEntity.TOPIC, new TopicDTO(topic));
+    }
+
+    private SearchResponseDTO createApplicationResponse(Application application) {
+        return new SearchResponseDTO(DPMEntity.APPLICATION, new ApplicationDTO(application));
+    }
+
+    // public rows of one type in merge order, read a batch at a time
+    private class PublicRows {
+        private final DPMEntity type;
+        private final int batchSize;
+        private List<SearchDocument> batch;
+        private int batchNumber;
+        private int index;
+
+        PublicRows(DPMEntity type, int batchSize) {
+            this.type = type;
+            this.batchSize = batchSize;
+            this.batch = fetch();
+        }
+
+        SearchDocument peek() {
+            return index < batch.size() ? batch.get(index) : null;
+        }
+
+        void advance() {
+            index++;
+            if (index == batch.size() && batch.size() == batchSize) {
+                batchNumber++;
+                batch = fetch();
+                index = 0;
+            }
+        }
 
-            return Page.of(combined.subList(start, end), searchParamsPageable, combined.size());
+        private List<SearchDocument> fetch() {
+            return findPublic(type, Pageable.from(batchNumber, batchSize, MERGE_SORT));
         }
     }
 }
@@ -34,6 +34,7 @@ import io.micronaut.security.endpoints.introspection.IntrospectionController;
 import io.micronaut.security.endpoints.introspection.IntrospectionProcessor;
 import io.micronaut.security.endpoints.introspection.IntrospectionResponse;
 import io.micronaut.security.rules.SecurityRule;
+import io.micronaut.security.token.reader.TokenResolver;
 import io.micronaut.security.token.validator.RefreshTokenValidator;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
 import jakarta.inject.Singleton;
@@ -60,13 +61,18 @@ public class DPMIntrospectionController {
     private final GroupUserService groupUserService;
 
     private final RefreshTokenValidator refreshTokenValidator;
+    private final TokenResolver tokenResolver;
+    private final IntrospectionCache introspectionCache;
 
 
-    public DPMIntrospectionController(IntrospectionProcessor processor, JsonMapper jsonMapper, GroupUserService groupUserService, RefreshTokenValidator refreshTokenValidator) {
+    public DPMIntrospectionController(IntrospectionProcessor processor, JsonMapper jsonMapper, GroupUserService groupUserService, RefreshTokenValidator refreshTokenValidator,
+                                      TokenResolver tokenResolver, IntrospectionCache introspectionCache) {
         this.processor = processor;
         this.jsonMapper = jsonMapper;
         this.groupUserService = groupUserService;
         this.refreshTokenValidator = refreshTokenValidator;
+        this.tokenResolver = tokenResolver;
+        this.introspectionCache = introspectionCache;
     }
 
     @Get
@@ -96,7 +102,11 @@ public class DPMIntrospectionController {
 
     private Publisher<MutableHttpResponse<?>> getIntrospectionAndValidResponse(Authentication authentication, HttpRequest<?> request) {
         return Publishers.map(Publishers.map(processor.introspect(authentication, request), response -> {
-            groupUserService.checkUserValidity().forEach(response::addExtension);
+            Optional<String> token = tokenResolver.resolveToken(request);
+            Map<String, Object> userValidity = token.isPresent() ?
+                    introspectionCache.get(token.get(), groupUserService::checkUserValidity) :
+                    groupUserService.checkUserValidity();
+            userValidity.forEach(response::addExtension);
             return introspectionResponseAsJsonString(response);
         }), HttpResponse::ok);
     }
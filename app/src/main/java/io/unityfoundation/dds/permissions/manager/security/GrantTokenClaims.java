@@ -0,0 +1,67 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.security;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Instant;
+
+public class GrantTokenClaims {
+
+    private final Long applicationId;
+    private final String email;
+    private final String applicationName;
+    private final Long groupId;
+    private final String groupName;
+    private final Instant expiresAt;
+
+    public GrantTokenClaims(Long applicationId, @Nullable String email, @Nullable String applicationName,
+                            @Nullable Long groupId, @Nullable String groupName, @Nullable Instant expiresAt) {
+        this.applicationId = applicationId;
+        this.email = email;
+        this.applicationName = applicationName;
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    @Nullable
+    public String getEmail() {
+        return email;
+    }
+
+    @Nullable
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    @Nullable
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    @Nullable
+    public String getGroupName() {
+        return groupName;
+    }
+
+    @Nullable
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,160 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.security;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.jwt.generator.claims.JwtClaims;
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
+import io.unityfoundation.dds.permissions.manager.exception.DPMException;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies application grant tokens once and returns their claims. Recently verified tokens are kept
+ * until they expire (or the cache ttl passes), so repeated requests with the same token skip signature verification.
+ * When the cache is full, expired tokens are dropped first, then the least recently used ones.
+ */
+@Singleton
+public class GrantTokenVerifier {
+
+    @Property(name = "permissions-manager.application.grant-token.verification-cache.ttl", defaultValue = "10m")
+    protected Duration ttl;
+
+    @Property(name = "permissions-manager.application.grant-token.verification-cache.max-entries", defaultValue = "10000")
+    protected int maxEntries;
+
+    private final JwtTokenValidator jwtTokenValidator;
+
+    // least recently used first
+    private final LinkedHashMap<String, VerifiedToken> verifiedTokens = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong verifications = new AtomicLong();
+
+    public GrantTokenVerifier(JwtTokenValidator jwtTokenValidator) {
+        this.jwtTokenValidator = jwtTokenValidator;
+    }
+
+    public Publisher<GrantTokenClaims> verify(String grantToken) {
+        Instant now = Instant.now();
+        VerifiedToken verified;
+        synchronized (verifiedTokens) {
+            verified = verifiedTokens.get(grantToken);
+            if (verified != null && !now.isBefore(verified.validUntil)) {
+                verifiedTokens.remove(grantToken);
+                verified = null;
+            }
+        }
+        if (verified != null) {
+            hits.incrementAndGet();
+            return Publishers.just(verified.claims);
+        }
+
+        verifications.incrementAndGet();
+        return Publishers.map(jwtTokenValidator.validateToken(grantToken, null), authentication -> {
+            GrantTokenClaims claims = toClaims(authentication);
+            cache(grantToken, claims, now);
+            return claims;
+        });
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    // the number of tokens whose signature was checked, as opposed to served from the cache
+    public long getVerifications() {
+        return verifications.get();
+    }
+
+    public int getSize() {
+        synchronized (verifiedTokens) {
+            return verifiedTokens.size();
+        }
+    }
+
+    private void cache(String grantToken, GrantTokenClaims claims, Instant now) {
+        Instant validUntil = now.plus(ttl);
+        if (claims.getExpiresAt() != null && claims.getExpiresAt().isBefore(validUntil)) {
+            validUntil = claims.getExpiresAt();
+        }
+        if (!now.isBefore(validUntil)) {
+            return;
+        }
+
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(grantToken, new VerifiedToken(claims, validUntil));
+            evictOverflow(now);
+        }
+    }
+
+    // drops expired tokens first, then the least recently used ones
+    private void evictOverflow(Instant now) {
+        if (verifiedTokens.size() <= maxEntries) {
+            return;
+        }
+        verifiedTokens.values().removeIf(token -> !now.isBefore(token.validUntil));
+        Iterator<VerifiedToken> eldest = verifiedTokens.values().iterator();
+        while (verifiedTokens.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static GrantTokenClaims toClaims(Authentication authentication) {
+        Map<String, Object> attributes = authentication.getAttributes();
+        try {
+            return new GrantTokenClaims(
+                    Long.valueOf(authentication.getName()),
+                    (String) attributes.get("email"),
+                    (String) attributes.get("appName"),
+                    attributes.get("groupId") instanceof Number ? ((Number) attributes.get("groupId")).longValue() : null,
+                    (String) attributes.get("groupName"),
+                    toInstant(attributes.get(JwtClaims.EXPIRATION_TIME))
+            );
+        } catch (NumberFormatException | ClassCastException e) {
+            throw new DPMException(ResponseStatusCodes.APPLICATION_GRANT_TOKEN_PARSE_EXCEPTION, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static Instant toInstant(Object expiration) {
+        if (expiration instanceof Date) {
+            return ((Date) expiration).toInstant();
+        } else if (expiration instanceof Number) {
+            return Instant.ofEpochSecond(((Number) expiration).longValue());
+        }
+        return null;
+    }
+
+    private static class VerifiedToken {
+        private final GrantTokenClaims claims;
+        private final Instant validUntil;
+
+        VerifiedToken(GrantTokenClaims claims, Instant validUntil) {
+            this.claims = claims;
+            this.validUntil = validUntil;
+        }
+    }
+}
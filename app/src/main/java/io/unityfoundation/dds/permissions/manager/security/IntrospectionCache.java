@@ -0,0 +1,142 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.security;
+
+import io.micronaut.context.annotation.Property;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of the user validity attributes returned by /api/token_info, keyed by token.
+ * <p>
+ * A hit is only served while the user's permissionsLastUpdated stamp still matches the one the attributes were built
+ * from, so a membership or admin change on any instance is seen by the next request. Entries of a user are also
+ * dropped as soon as they change on this instance, and a load that started before such a drop is not cached.
+ */
+@Singleton
+public class IntrospectionCache {
+
+    @Property(name = "permissions-manager.introspection-cache.ttl", defaultValue = "5s")
+    protected Duration ttl;
+
+    @Property(name = "permissions-manager.introspection-cache.max-entries", defaultValue = "10000")
+    protected int maxEntries;
+
+    private final UserRepository userRepository;
+
+    // least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public IntrospectionCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Map<String, Object> get(String token, Supplier<Map<String, Object>> loader) {
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(token);
+        }
+        if (entry != null && entry.expiresAt - now > 0 && isCurrent(entry)) {
+            hits.incrementAndGet();
+            return new HashMap<>(entry.attributes);
+        }
+
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        Map<String, Object> attributes = loader.get();
+        if (ttl.isZero() || ttl.isNegative()) {
+            return attributes;
+        }
+
+        Entry loaded = new Entry((Long) attributes.get("id"), (Long) attributes.get("permissionsLastUpdated"),
+                Collections.unmodifiableMap(new HashMap<>(attributes)), now + ttl.toNanos());
+        synchronized (entries) {
+            // an invalidation during the load may have changed what the loader read
+            if (generation.get() == loadGeneration) {
+                entries.put(token, loaded);
+                evictOverflow(now);
+            }
+        }
+        return attributes;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> userId.equals(entry.userId));
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // a user without a stamp, or one that no longer exists, is never served from the cache
+    private boolean isCurrent(Entry entry) {
+        if (entry.userId == null || entry.permissionsLastUpdated == null) {
+            return false;
+        }
+        return entry.permissionsLastUpdated.equals(userRepository.findPermissionsLastUpdatedById(entry.userId));
+    }
+
+    // drops expired entries first, then the least recently used ones
+    private void evictOverflow(long now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(cached -> cached.expiresAt - now <= 0);
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static class Entry {
+        private final Long userId;
+        private final Long permissionsLastUpdated;
+        private final Map<String, Object> attributes;
+        private final long expiresAt;
+
+        Entry(Long userId, Long permissionsLastUpdated, Map<String, Object> attributes, long expiresAt) {
+            this.userId = userId;
+            this.permissionsLastUpdated = permissionsLastUpdated;
+            this.attributes = attributes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -16,6 +16,7 @@ package io.unityfoundation.dds.permissions.manager.security;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.DateCreated;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -35,9 +36,11 @@ class RefreshToken {
     @NotBlank
     String username;
 
+    // SHA-256 of the refresh token; the column keeps its original name and V7__HashRefreshTokens hashed the old values
     @NonNull
     @NotBlank
-    String refreshToken;
+    @Column(name = "refresh_token")
+    String tokenHash;
 
     @NonNull
     @NotNull
@@ -46,6 +49,7 @@ class RefreshToken {
     @DateCreated
     @NonNull
     @NotNull
+    @Column(name = "date_created")
     Instant dateCreated;
 
     public Long getId() {
@@ -75,11 +79,20 @@ class RefreshToken {
     }
 
     @NonNull
-    public String getRefreshToken() {
-        return refreshToken;
+    public String getTokenHash() {
+        return tokenHash;
     }
 
-    public void setRefreshToken(@NonNull String refreshToken) {
-        this.refreshToken = refreshToken;
+    public void setTokenHash(@NonNull String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    @NonNull
+    public Instant getDateCreated() {
+        return dateCreated;
+    }
+
+    public void setDateCreated(@NonNull Instant dateCreated) {
+        this.dateCreated = dateCreated;
     }
 }
\ No newline at end of file
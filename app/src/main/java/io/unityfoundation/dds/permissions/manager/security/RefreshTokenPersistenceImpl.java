@@ -27,6 +27,12 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.bind.DatatypeConverter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +52,9 @@ public class RefreshTokenPersistenceImpl implements RefreshTokenPersistence {
     @Property(name = "permissions-manager.test.is-admin", defaultValue = "false")
     protected boolean testUserIsAdmin;
 
+    @Property(name = "permissions-manager.refresh-token.max-age", defaultValue = "1d")
+    protected Duration maxAge;
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final PermissionsManagerAuthenticationMapper authenticationMapper;
     private final Environment environment;
@@ -62,7 +71,7 @@ public class RefreshTokenPersistenceImpl implements RefreshTokenPersistence {
         Authentication authentication = event.getAuthentication();
         if (refreshToken != null && authentication != null &&
                 authentication.getName() != null) {
-            refreshTokenRepository.save(authentication.getName(), refreshToken, false);
+            refreshTokenRepository.save(authentication.getName(), hash(refreshToken), false);
         } else {
             LOG.debug("DEBUG in persistToken");
         }
@@ -70,7 +79,11 @@ public class RefreshTokenPersistenceImpl implements RefreshTokenPersistence {
 
     @Override
     public Publisher<Authentication> getAuthentication(String refreshToken) {
-        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByRefreshToken(refreshToken);
+        // always read from the database, so a revocation made anywhere is seen by the next refresh
+        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (tokenOpt.isPresent() && tokenOpt.get().getDateCreated().isBefore(Instant.now().minus(maxAge))) {
+            throw new OauthErrorResponseException(INVALID_GRANT, "refresh token expired", null);
+        }
         if (tokenOpt.isPresent()) {
             RefreshToken token = tokenOpt.get();
             if (token.getRevoked()) {
@@ -98,4 +111,14 @@ public class RefreshTokenPersistenceImpl implements RefreshTokenPersistence {
             throw new OauthErrorResponseException(INVALID_GRANT, "refresh token not found", null);
         }
     }
+
+    public static String hash(String refreshToken) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] digest = md.digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return DatatypeConverter.printHexBinary(digest).toLowerCase();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.security;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Singleton
+public class RefreshTokenPurgeJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    @Property(name = "permissions-manager.refresh-token.max-age", defaultValue = "1d")
+    protected Duration maxAge;
+
+    @Property(name = "permissions-manager.refresh-token.purge.batch-size", defaultValue = "1000")
+    protected int batchSize;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Scheduled(fixedDelay = "${permissions-manager.refresh-token.purge.interval:1h}",
+            initialDelay = "${permissions-manager.refresh-token.purge.initial-delay:5m}")
+    public void purgeExpiredTokens() {
+        purgeTokensCreatedBefore(Instant.now().minus(maxAge));
+    }
+
+    // deletes in batches so a large backlog never holds long locks on the table
+    public long purgeTokensCreatedBefore(Instant createdBefore) {
+        long purged = 0;
+        List<Long> ids;
+        do {
+            ids = refreshTokenRepository.findIdByDateCreatedLessThan(createdBefore, Pageable.from(0, batchSize));
+            if (!ids.isEmpty()) {
+                purged += refreshTokenRepository.deleteByIdIn(ids);
+            }
+        } while (ids.size() == batchSize);
+
+        if (purged > 0) {
+            LOG.info("Purged {} expired refresh tokens", purged);
+        }
+        return purged;
+    }
+}
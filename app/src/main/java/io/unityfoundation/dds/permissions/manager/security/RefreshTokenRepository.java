@@ -15,11 +15,14 @@ package io.unityfoundation.dds.permissions.manager.security;
 
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.CrudRepository;
 
 import javax.transaction.Transactional;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -27,11 +30,16 @@ interface RefreshTokenRepository extends CrudRepository<RefreshToken, Long> {
 
     @Transactional
     RefreshToken save(@NonNull @NotBlank String username,
-                      @NonNull @NotBlank String refreshToken,
+                      @NonNull @NotBlank String tokenHash,
                       @NonNull @NotNull Boolean revoked);
 
     @NonNull
-    Optional<RefreshToken> findByRefreshToken(@NonNull @NotBlank String refreshToken);
+    Optional<RefreshToken> findByTokenHash(@NonNull @NotBlank String tokenHash);
+
+    List<Long> findIdByDateCreatedLessThan(@NonNull @NotNull Instant dateCreated, Pageable pageable);
+
+    @Transactional
+    int deleteByIdIn(@NonNull List<Long> ids);
 
     long updateByUsername(@NonNull @NotBlank String username,
                           boolean revoked);
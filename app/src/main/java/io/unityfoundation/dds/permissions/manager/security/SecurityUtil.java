@@ -13,7 +13,9 @@
 // limitations under the License.
 package io.unityfoundation.dds.permissions.manager.security;
 
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.security.authentication.Authentication;
 import io.micronaut.security.utils.SecurityService;
 import io.unityfoundation.dds.permissions.manager.ResponseStatusCodes;
@@ -22,13 +24,20 @@ import io.unityfoundation.dds.permissions.manager.model.application.Application;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRole;
 import jakarta.inject.Singleton;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Singleton
 public class SecurityUtil {
 
+    private static final String CURRENT_USER_ATTRIBUTE = "dpm.security.currentUser.";
+    private static final String CURRENT_APPLICATION_ATTRIBUTE = "dpm.security.currentApplication.";
+
     private final SecurityService securityService;
     private final UserRepository userRepository;
     private final ApplicationRepository applicationRepository;
@@ -47,15 +56,70 @@ public class SecurityUtil {
         return currentlyAuthenticatedUser.get().isAdmin();
     }
 
+    public boolean isCurrentApplication() {
+        return securityService.getAuthentication()
+                .map(authentication -> authentication.getRoles().contains(UserRole.APPLICATION.toString()))
+                .orElse(false);
+    }
+
+    // an application's principal name is its id, so no lookup is needed
+    public Long getCurrentApplicationId() {
+        return Long.valueOf(securityService.getAuthentication().get().getName());
+    }
+
+    public boolean isAuthenticated() {
+        return securityService.getAuthentication().isPresent();
+    }
+
+    public Map<String, Object> getAuthenticationAttributes() {
+        return securityService.getAuthentication().map(Authentication::getAttributes).orElse(Collections.emptyMap());
+    }
+
     public Optional<User> getCurrentlyAuthenticatedUser() {
         Authentication authentication = securityService.getAuthentication().get();
         String userEmail = authentication.getName();
-        return userRepository.findByEmail(userEmail);
+        return resolvePerRequest(CURRENT_USER_ATTRIBUTE + userEmail, User.class,
+                () -> userRepository.findByEmail(userEmail));
     }
 
     public Optional<Application> getCurrentlyAuthenticatedApplication() {
         Authentication authentication = securityService.getAuthentication().get();
         String applicationId = authentication.getName();
-        return applicationRepository.findById(Long.valueOf(applicationId));
+        return resolvePerRequest(CURRENT_APPLICATION_ATTRIBUTE + applicationId, Application.class,
+                () -> applicationRepository.findById(Long.valueOf(applicationId)));
+    }
+
+    // drops the request's copy of the user after its admin flag, memberships or permissions stamp change, so the rest
+    // of the request reads them again
+    public void evictUser(Long userId) {
+        Optional<HttpRequest<Object>> currentRequest = ServerRequestContext.currentRequest();
+        Optional<Authentication> authentication = securityService.getAuthentication();
+        if (currentRequest.isEmpty() || authentication.isEmpty()) {
+            return;
+        }
+
+        HttpRequest<Object> request = currentRequest.get();
+        String attribute = CURRENT_USER_ATTRIBUTE + authentication.get().getName();
+        request.getAttribute(attribute, User.class)
+                .filter(user -> userId.equals(user.getId()))
+                .ifPresent(user -> request.removeAttribute(attribute));
+    }
+
+    // the principal is looked up at most once per request; outside a request it is always looked up
+    private <T> Optional<T> resolvePerRequest(String attribute, Class<T> type, Supplier<Optional<T>> lookup) {
+        Optional<HttpRequest<Object>> currentRequest = ServerRequestContext.currentRequest();
+        if (currentRequest.isEmpty()) {
+            return lookup.get();
+        }
+
+        HttpRequest<Object> request = currentRequest.get();
+        Optional<T> cached = request.getAttribute(attribute, type);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<T> resolved = lookup.get();
+        resolved.ifPresent(principal -> request.setAttribute(attribute, principal));
+        return resolved;
     }
 }
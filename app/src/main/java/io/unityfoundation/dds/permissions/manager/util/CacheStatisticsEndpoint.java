@@ -0,0 +1,54 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.util;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.unityfoundation.dds.permissions.manager.security.GrantTokenVerifier;
+import io.unityfoundation.dds.permissions.manager.security.IntrospectionCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Endpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+
+    private final IntrospectionCache introspectionCache;
+    private final ReferenceDataCache referenceDataCache;
+    private final GrantTokenVerifier grantTokenVerifier;
+
+    public CacheStatisticsEndpoint(IntrospectionCache introspectionCache, ReferenceDataCache referenceDataCache,
+                                   GrantTokenVerifier grantTokenVerifier) {
+        this.introspectionCache = introspectionCache;
+        this.referenceDataCache = referenceDataCache;
+        this.grantTokenVerifier = grantTokenVerifier;
+    }
+
+    @Read
+    public Map<String, Object> statistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("introspection", Map.of(
+                "hits", introspectionCache.getHits(),
+                "misses", introspectionCache.getMisses(),
+                "size", introspectionCache.getSize()
+        ));
+        statistics.put("grantToken", Map.of(
+                "hits", grantTokenVerifier.getHits(),
+                "verifications", grantTokenVerifier.getVerifications(),
+                "size", grantTokenVerifier.getSize()
+        ));
+        statistics.put("secondLevel", referenceDataCache.getStatistics());
+        return statistics;
+    }
+}
@@ -0,0 +1,205 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.util;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import io.micronaut.transaction.support.TransactionSynchronizationManager;
+import io.unityfoundation.dds.permissions.manager.model.actioninterval.ActionInterval;
+import io.unityfoundation.dds.permissions.manager.model.actiontopic.ActionTopic;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntry;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
+import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDuration;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import io.unityfoundation.dds.permissions.manager.model.topicset.TopicSet;
+import io.unityfoundation.dds.permissions.manager.model.topicsettopic.TopicSetTopic;
+import jakarta.inject.Singleton;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access to the optional second-level cache of groups and the reference entities they own.
+ * Rows the database deletes through {@code ON DELETE CASCADE} are invisible to Hibernate, so callers that delete
+ * a group, application, topic or topic set evict the cached contents explicitly.
+ * <p>
+ * Hibernate only evicts for writes made through this instance. Every instance also follows the change log and evicts
+ * the entries each logged change touches, so writes through any instance are seen within the sync interval.
+ * Changes made directly in the database are not logged and are only seen once the cached entries expire.
+ */
+@Singleton
+public class ReferenceDataCache {
+
+    private final SessionFactory sessionFactory;
+    private final ChangeLog changeLog;
+
+    @Property(name = "permissions-manager.second-level-cache.sync-batch-size", defaultValue = "500")
+    protected int syncBatchSize;
+
+    private final Object syncMonitor = new Object();
+    private long syncedRevision = -1;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory, ChangeLog changeLog) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.changeLog = changeLog;
+    }
+
+    public boolean isEnabled() {
+        return sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+
+    public void evictCascadedDeletes() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // evicting before commit would let a concurrent read put the deleted rows back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAll();
+                }
+            });
+        } else {
+            evictAll();
+        }
+    }
+
+    // the log does not say which instance wrote an entry, so this instance's own writes are evicted again too,
+    // which costs one miss per entity written
+    @Scheduled(fixedDelay = "${permissions-manager.second-level-cache.sync-interval:1s}")
+    public void evictLoggedChanges() {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (syncMonitor) {
+            long head = changeLog.head();
+            if (syncedRevision < 0) {
+                // nothing says what was cached before the first sync
+                evictAll();
+                syncedRevision = head;
+                return;
+            }
+
+            while (syncedRevision < head) {
+                List<ChangeLogEntry> entries = changeLog.read(syncedRevision, head, syncBatchSize);
+                if (entries.isEmpty()) {
+                    syncedRevision = head;
+                } else {
+                    entries.forEach(this::evict);
+                    syncedRevision = entries.get(entries.size() - 1).getRevision();
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", isEnabled());
+        Statistics hibernateStatistics = sessionFactory.getStatistics();
+        if (!isEnabled() || !hibernateStatistics.isStatisticsEnabled()) {
+            return statistics;
+        }
+
+        statistics.put("hits", hibernateStatistics.getSecondLevelCacheHitCount());
+        statistics.put("misses", hibernateStatistics.getSecondLevelCacheMissCount());
+        statistics.put("puts", hibernateStatistics.getSecondLevelCachePutCount());
+        statistics.put("queryHits", hibernateStatistics.getQueryCacheHitCount());
+        statistics.put("queryMisses", hibernateStatistics.getQueryCacheMissCount());
+        statistics.put("queryPuts", hibernateStatistics.getQueryCachePutCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : hibernateStatistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = hibernateStatistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.put(regionName, Map.of(
+                        "hits", region.getHitCount(),
+                        "misses", region.getMissCount(),
+                        "puts", region.getPutCount(),
+                        "size", region.getElementCountInMemory()
+                ));
+            }
+        }
+        statistics.put("regions", regions);
+        return statistics;
+    }
+
+    private void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    // evicts the changed entity, and for deletes what the database cascaded away with it
+    private void evict(ChangeLogEntry entry) {
+        Cache cache = sessionFactory.getCache();
+        boolean deleted = entry.getOperation() == ChangeLogOperation.DELETE;
+        switch (entry.getEntityType()) {
+            case GROUP:
+                cache.evictEntityData(Group.class, entry.getEntityId());
+                if (deleted) {
+                    cache.evictEntityData(Topic.class);
+                    cache.evictEntityData(TopicSet.class);
+                    cache.evictEntityData(ActionInterval.class);
+                    cache.evictEntityData(GrantDuration.class);
+                    evictAssociations();
+                }
+                break;
+            case TOPIC:
+                cache.evictEntityData(Topic.class, entry.getEntityId());
+                if (deleted) {
+                    evictAssociations();
+                }
+                break;
+            case TOPIC_SET:
+                // its topics are logged as updates of the topic set
+                cache.evictEntityData(TopicSet.class, entry.getEntityId());
+                cache.evictEntityData(TopicSetTopic.class);
+                cache.evictQueryRegions();
+                break;
+            case ACTION_INTERVAL:
+                cache.evictEntityData(ActionInterval.class, entry.getEntityId());
+                break;
+            case GRANT_DURATION:
+                cache.evictEntityData(GrantDuration.class, entry.getEntityId());
+                break;
+            case ACTION:
+                cache.evictEntityData(ActionTopic.class);
+                break;
+            case APPLICATION:
+            case APPLICATION_GRANT:
+                if (deleted) {
+                    cache.evictEntityData(ActionTopic.class);
+                }
+                break;
+            default:
+                // memberships and application permissions are not cached
+                break;
+        }
+    }
+
+    private void evictAssociations() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(TopicSetTopic.class);
+        cache.evictEntityData(ActionTopic.class);
+        cache.evictQueryRegions();
+    }
+}
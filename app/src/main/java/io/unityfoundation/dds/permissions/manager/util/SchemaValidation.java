@@ -0,0 +1,60 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.util;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PostConstruct;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Fails startup when migrations are turned off and the database is missing some of them or they differ from the
+ * application's, so a schema that is managed by hand is checked rather than changed.
+ */
+@Context
+@Requires(beans = DataSource.class)
+@Requires(property = "flyway.datasources.default.enabled", value = StringUtils.FALSE)
+public class SchemaValidation {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaValidation.class);
+
+    private final DataSource dataSource;
+    private final List<String> locations;
+
+    public SchemaValidation(DataSource dataSource,
+                            @Property(name = "flyway.datasources.default.locations") List<String> locations) {
+        this.dataSource = dataSource;
+        this.locations = locations;
+    }
+
+    @PostConstruct
+    void validate() {
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations(locations.toArray(new String[0]))
+                .load();
+        flyway.validate();
+
+        MigrationInfo current = flyway.info().current();
+        LOG.info("Database schema is at version {}", current == null ? "none" : current.getVersion());
+    }
+}
@@ -0,0 +1,26 @@
+-- Indexes for foreign keys and name lookups used on every authorization and list request.
+
+CREATE INDEX idx_group_user_user ON permissions_group_user (permissions_user_id);
+CREATE INDEX idx_group_user_group_user ON permissions_group_user (permissions_group_id, permissions_user_id);
+
+CREATE INDEX idx_topic_group_name ON permissions_topic (permissions_group_id, name);
+CREATE INDEX idx_application_group_name ON permissions_application (permissions_group_id, name);
+CREATE INDEX idx_topic_set_group_name ON permissions_topic_set (permissions_group_id, name);
+CREATE INDEX idx_grant_duration_group_name ON permissions_grant_duration (permissions_group_id, name);
+CREATE INDEX idx_action_interval_group_name ON permissions_action_interval (permissions_group_id, name);
+
+CREATE INDEX idx_application_grant_application ON permissions_application_grant (permissions_application_id);
+CREATE INDEX idx_application_grant_group ON permissions_application_grant (permissions_group_id);
+CREATE INDEX idx_application_grant_grant_duration ON permissions_application_grant (grant_duration_id);
+
+CREATE INDEX idx_application_permission_application ON permissions_application_permission (permissions_application_id);
+CREATE INDEX idx_application_permission_topic ON permissions_application_permission (permissions_topic_id);
+
+CREATE INDEX idx_action_application_grant ON permissions_action (application_grant_id);
+CREATE INDEX idx_action_action_interval ON permissions_action (action_interval_id);
+
+CREATE INDEX idx_action_topic_action ON permissions_action_topic (permissions_action_id);
+CREATE INDEX idx_action_topic_topic ON permissions_action_topic (permissions_topic_id);
+
+CREATE INDEX idx_topic_set_topic_topic_set ON permissions_topic_set_topic (permissions_topic_set_id);
+CREATE INDEX idx_topic_set_topic_topic ON permissions_topic_set_topic (permissions_topic_id);
@@ -0,0 +1,8 @@
+-- Single row the primary stamps with the current time; reading it back from a read replica tells how far behind it is.
+
+CREATE TABLE permissions_replica_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
+
+INSERT INTO permissions_replica_heartbeat (id, beat_at) VALUES (1, 0);
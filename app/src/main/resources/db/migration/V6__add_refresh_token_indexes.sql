@@ -0,0 +1,4 @@
+-- Refresh tokens are looked up by hash on every refresh and purged by age.
+
+CREATE INDEX refresh_token_hash_idx ON refresh_token (refresh_token);
+CREATE INDEX refresh_token_date_created_idx ON refresh_token (date_created);
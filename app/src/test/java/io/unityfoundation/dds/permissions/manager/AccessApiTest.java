@@ -0,0 +1,239 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.authentication.ServerAuthentication;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.access.PermissionAccessIndex;
+import io.unityfoundation.dds.permissions.manager.impact.PermissionImpactIndex;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
+import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrantRepository;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.groupconfig.GroupConfigImportResult;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRole;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.micronaut.http.HttpStatus.UNAUTHORIZED;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "AccessApiTest")
+@MicronautTest
+class AccessApiTest {
+
+    private static final String DOCUMENT = String.join("\n",
+            "{\"type\":\"GRANT_DURATION\",\"name\":\"OneDay\",\"durationInMilliseconds\":86400000,\"durationMetadata\":\"DAY\"}",
+            "{\"type\":\"ACTION_INTERVAL\",\"name\":\"Always\",\"startDate\":\"2024-01-01T00:00:00Z\",\"endDate\":\"2099-01-01T00:00:00Z\"}",
+            "{\"type\":\"ACTION_INTERVAL\",\"name\":\"Expired\",\"startDate\":\"2020-01-01T00:00:00Z\",\"endDate\":\"2021-01-01T00:00:00Z\"}",
+            "{\"type\":\"TOPIC\",\"name\":\"Telemetry\",\"kind\":\"B\"}",
+            "{\"type\":\"TOPIC\",\"name\":\"Commands\",\"kind\":\"C\"}",
+            "{\"type\":\"TOPIC_SET\",\"name\":\"Vehicle\",\"topics\":[\"Telemetry\"]}",
+            "{\"type\":\"APPLICATION\",\"name\":\"GroundStation\"}",
+            "{\"type\":\"APPLICATION\",\"name\":\"Idle\"}",
+            "{\"type\":\"GRANT\",\"name\":\"GroundStationGrant\",\"application\":\"GroundStation\",\"grantDuration\":\"OneDay\"}",
+            "{\"type\":\"ACTION\",\"grant\":\"GroundStationGrant\",\"actionInterval\":\"Always\",\"canPublish\":true,\"topics\":[\"Commands\"],\"partitions\":[\"fleet\",\"depot-*\"]}",
+            "{\"type\":\"ACTION\",\"grant\":\"GroundStationGrant\",\"actionInterval\":\"Always\",\"canPublish\":false,\"topicSets\":[\"Vehicle\"]}",
+            "{\"type\":\"ACTION\",\"grant\":\"GroundStationGrant\",\"actionInterval\":\"Expired\",\"canPublish\":true,\"topicSets\":[\"Vehicle\"]}");
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    ApplicationRepository applicationRepository;
+
+    @Inject
+    ApplicationGrantRepository applicationGrantRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    PermissionImpactIndex permissionImpactIndex;
+
+    @Inject
+    PermissionAccessIndex permissionAccessIndex;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    AuthenticationFetcherReplacement mockAuthenticationFetcher;
+
+    private Group group;
+    private String telemetry;
+    private String commands;
+
+    @Requires(property = "spec.name", value = "AccessApiTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "AccessApiTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        permissionImpactIndex.rebuild();
+        userRepository.save(new User("montesm@test.test.com", true));
+        userRepository.save(new User("jjones@test.test"));
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        group = groupRepository.save(new Group("Theta"));
+        GroupConfigImportResult result = blockingClient.retrieve(HttpRequest.POST("/group_config/" + group.getId(), DOCUMENT)
+                .contentType(GroupConfigController.NDJSON), GroupConfigImportResult.class);
+        assertEquals(12, result.getCreated());
+        permissionAccessIndex.rebuild();
+
+        telemetry = "B." + group.getId() + ".Telemetry";
+        commands = "C." + group.getId() + ".Commands";
+    }
+
+    @Test
+    void checksFollowTopicsPartitionsAndIntervals() {
+        Long groundStation = applicationId("GroundStation");
+
+        assertTrue(check(groundStation, commands, "PUBLISH", "fleet"));
+        assertTrue(check(groundStation, commands, "PUBLISH", "depot-7"));
+        assertFalse(check(groundStation, commands, "PUBLISH", "depot"));
+        assertFalse(check(groundStation, commands, "PUBLISH", null));
+        assertFalse(check(groundStation, commands, "SUBSCRIBE", "fleet"));
+
+        // through the topic set, with no partitions
+        assertTrue(check(groundStation, telemetry, "SUBSCRIBE", null));
+        assertFalse(check(groundStation, telemetry, "SUBSCRIBE", "fleet"));
+        // the publish action's interval has ended
+        assertFalse(check(groundStation, telemetry, "PUBLISH", null));
+
+        assertFalse(check(applicationId("Idle"), telemetry, "SUBSCRIBE", null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchAnswersEachCheckInOrder() {
+        Long groundStation = applicationId("GroundStation");
+        Map<String, Object> batch = Map.of("checks", List.of(
+                body(groundStation, telemetry, "SUBSCRIBE", null),
+                body(groundStation, commands, "SUBSCRIBE", null),
+                body(groundStation, commands, "PUBLISH", "fleet")));
+
+        List<Map<String, Object>> results = blockingClient.retrieve(HttpRequest.POST("/access/check/batch", batch), List.class);
+
+        assertEquals(List.of(true, false, true), results.stream()
+                .map(result -> result.get("allowed"))
+                .collect(Collectors.toList()));
+        assertEquals(commands, results.get(1).get("topic"));
+    }
+
+    @Test
+    void changesAreCompiledIncrementally() {
+        Long groundStation = applicationId("GroundStation");
+        Long grantId = applicationGrantRepository.findByNameAndPermissionsGroup("GroundStationGrant", group).get().getId();
+        assertTrue(check(groundStation, telemetry, "SUBSCRIBE", null));
+
+        blockingClient.exchange(HttpRequest.DELETE("/application_grants/" + grantId));
+        permissionImpactIndex.refresh();
+
+        assertFalse(check(groundStation, telemetry, "SUBSCRIBE", null));
+        assertFalse(check(groundStation, commands, "PUBLISH", "fleet"));
+    }
+
+    @Test
+    void applicationsCanOnlyCheckThemselves() {
+        Long groundStation = applicationId("GroundStation");
+        Long idle = applicationId("Idle");
+        mockSecurityService.setServerAuthentication(new ServerAuthentication(
+                String.valueOf(groundStation),
+                List.of(UserRole.APPLICATION.toString()),
+                Map.of()
+        ));
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        assertTrue(check(groundStation, telemetry, "SUBSCRIBE", null));
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class,
+                () -> check(idle, telemetry, "SUBSCRIBE", null));
+        assertEquals(UNAUTHORIZED, exception.getStatus());
+    }
+
+    @Test
+    void usersMustBeAdminsToCheck() {
+        mockSecurityService.setServerAuthentication(new ServerAuthentication(
+                "jjones@test.test",
+                Collections.emptyList(),
+                Map.of("isAdmin", false)
+        ));
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class,
+                () -> check(applicationId("GroundStation"), telemetry, "SUBSCRIBE", null));
+        assertEquals(UNAUTHORIZED, exception.getStatus());
+    }
+
+    private boolean check(Long applicationId, String topic, String action, String partition) {
+        Map<?, ?> result = blockingClient.retrieve(HttpRequest.POST("/access/check",
+                body(applicationId, topic, action, partition)), Map.class);
+        return (Boolean) result.get("allowed");
+    }
+
+    private Map<String, Object> body(Long applicationId, String topic, String action, String partition) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("applicationId", applicationId);
+        body.put("topic", topic);
+        body.put("action", action);
+        if (partition != null) {
+            body.put("partition", partition);
+        }
+        return body;
+    }
+
+    private Long applicationId(String name) {
+        return applicationRepository.findByNameAndPermissionsGroup(name, group).get().getId();
+    }
+}
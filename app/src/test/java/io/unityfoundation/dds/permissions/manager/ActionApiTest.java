@@ -34,22 +34,29 @@ import io.unityfoundation.dds.permissions.manager.model.action.dto.UpdateActionD
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.dto.ActionIntervalDTO;
 import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.GrantDTO;
 import io.unityfoundation.dds.permissions.manager.model.grantduration.dto.GrantDurationDTO;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.group.SimpleGroupDTO;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserRepository;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
 import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
 import io.unityfoundation.dds.permissions.manager.testing.util.EntityLifecycleUtil;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static io.micronaut.http.HttpStatus.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -79,6 +86,12 @@ public class ActionApiTest {
     @Inject
     ActionPartitionRepository actionPartitionRepository;
 
+    @Inject
+    TopicRepository topicRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
     @Inject
     DbCleanup dbCleanup;
 
@@ -226,6 +239,95 @@ public class ActionApiTest {
             assertEquals(map.get("id"), actionDTO.getId().intValue());
         }
 
+        @Test
+        void manyTopicsCostAConstantNumberOfStatements() {
+            GrantDTO applicationGrant = entityUtil.createGenericApplicationGrant();
+            Group group = groupRepository.findById(applicationGrant.getGroupId()).get();
+
+            HttpResponse<?> response = entityUtil.createActionInterval("MyActionInterval", group.getId());
+            assertEquals(OK, response.getStatus());
+            ActionIntervalDTO actionInterval = response.getBody(ActionIntervalDTO.class).get();
+
+            List<Topic> topics = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                topics.add(new Topic("Topic" + i, TopicKind.B, group));
+            }
+            Set<Long> topicIds = topicRepository.saveAll(topics).stream().map(Topic::getId).collect(Collectors.toSet());
+            Long topicSetId = entityUtil.createTopicSetWithTopics("MyTopicSet", group.getId(), Set.of());
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            response = entityUtil.createAction(applicationGrant.getId(), actionInterval.getId(), true,
+                    topicIds, Set.of(topicSetId), Set.of("p1", "p2"));
+            assertEquals(OK, response.getStatus());
+            ActionDTO actionDTO = response.getBody(ActionDTO.class).get();
+            assertEquals(200, actionDTO.getTopics().size());
+            assertEquals(1, actionDTO.getTopicSets().size());
+            assertTrue(statistics.getPrepareStatementCount() < 30);
+
+            UpdateActionDTO updateActionDTO = new UpdateActionDTO();
+            updateActionDTO.setActionIntervalId(actionInterval.getId());
+            updateActionDTO.setTopicIds(topicIds.stream().limit(150).collect(Collectors.toSet()));
+            updateActionDTO.setTopicSetIds(Set.of(topicSetId));
+            updateActionDTO.setPartitions(Set.of("p3"));
+
+            statistics.clear();
+            response = blockingClient.exchange(HttpRequest.PUT("/actions/" + actionDTO.getId(), updateActionDTO), ActionDTO.class);
+            assertEquals(OK, response.getStatus());
+            actionDTO = response.getBody(ActionDTO.class).get();
+            assertEquals(150, actionDTO.getTopics().size());
+            assertEquals(Set.of("p3"), actionDTO.getPartitions());
+            assertTrue(statistics.getPrepareStatementCount() < 30);
+
+            // one unknown id fails the whole request
+            Set<Long> withUnknownTopic = new HashSet<>(topicIds);
+            withUnknownTopic.add(-1L);
+            HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () ->
+                    entityUtil.createAction(applicationGrant.getId(), actionInterval.getId(), true, withUnknownTopic, null, null));
+            assertEquals(NOT_FOUND, exception.getStatus());
+            List<Map> list = exception.getResponse().getBody(List.class).get();
+            assertTrue(list.stream().anyMatch(map -> ResponseStatusCodes.A_PROVIDED_TOPIC_WAS_NOT_FOUND_OR_DOES_NOT_BELONG_TO_SAME_GROUP.equals(map.get("code"))));
+        }
+
+        @Test
+        void listingActionsLoadsTheirAssociationsInBatches() {
+            GrantDTO applicationGrant = entityUtil.createGenericApplicationGrant();
+            Long groupId = applicationGrant.getGroupId();
+
+            HttpResponse<?> response = entityUtil.createActionInterval("MyActionInterval", groupId);
+            assertEquals(OK, response.getStatus());
+            ActionIntervalDTO actionInterval = response.getBody(ActionIntervalDTO.class).get();
+
+            response = entityUtil.createTopic("MyTopic", TopicKind.B, groupId);
+            assertEquals(OK, response.getStatus());
+            Long topicId = response.getBody(TopicDTO.class).get().getId();
+            Long topicSetId = entityUtil.createTopicSetWithTopics("MyTopicSet", groupId, Set.of(topicId));
+
+            for (int i = 0; i < 12; i++) {
+                response = entityUtil.createAction(applicationGrant.getId(), actionInterval.getId(), i % 2 == 0,
+                        Set.of(topicId), Set.of(topicSetId), Set.of("p" + i));
+                assertEquals(OK, response.getStatus());
+            }
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            Page page = blockingClient.retrieve(HttpRequest.GET("/actions"), Page.class);
+            assertEquals(12, page.getContent().size());
+            Map action = (Map) page.getContent().get(0);
+            assertEquals(1, ((List) action.get("topics")).size());
+            assertEquals(1, ((List) action.get("topicSets")).size());
+            assertEquals(1, ((List) action.get("partitions")).size());
+            assertTrue(statistics.getPrepareStatementCount() < 15);
+
+            statistics.clear();
+            page = blockingClient.retrieve(HttpRequest.GET("/application_grants/application/" + applicationGrant.getApplicationId()), Page.class);
+            assertEquals(1, page.getContent().size());
+            assertEquals(12, ((List) ((Map) page.getContent().get(0)).get("actions")).size());
+            assertTrue(statistics.getPrepareStatementCount() < 15);
+        }
+
         // update
         @Test
         public void cannotUpdateApplicationGrantAssociation() {
@@ -472,6 +574,39 @@ public class ActionApiTest {
             assertTrue(allPartitions.isEmpty());
         }
 
+        @Test
+        void deletingATopicSetRemovesItFromActions(){
+            HttpRequest<?> request;
+            HttpResponse<?> response;
+
+            GrantDTO applicationGrant = entityUtil.createGenericApplicationGrant();
+
+            response = entityUtil.createActionInterval("MyActionInterval", applicationGrant.getGroupId());
+            assertEquals(OK, response.getStatus());
+            ActionIntervalDTO actionInterval = response.getBody(ActionIntervalDTO.class).get();
+
+            response = entityUtil.createTopic("MyTopicB", TopicKind.B, applicationGrant.getGroupId());
+            assertEquals(OK, response.getStatus());
+            TopicDTO topicDTO = response.getBody(TopicDTO.class).get();
+
+            Long topicSetId = entityUtil.createTopicSetWithTopics("MyTopicSet", applicationGrant.getGroupId(), Set.of(topicDTO.getId()));
+
+            response = entityUtil.createAction(applicationGrant.getId(), actionInterval.getId(), true,
+                    Set.of(), Set.of(topicSetId), Set.of());
+            assertEquals(OK, response.getStatus());
+            ActionDTO action = response.getBody(ActionDTO.class).get();
+
+            // the foreign keys cascade, so a topic set in use can be deleted
+            request = HttpRequest.DELETE("/topic-sets/" + topicSetId);
+            response = blockingClient.exchange(request);
+            assertEquals(NO_CONTENT, response.getStatus());
+
+            request = HttpRequest.GET("/actions/" + action.getId());
+            response = blockingClient.exchange(request, ActionDTO.class);
+            assertEquals(OK, response.getStatus());
+            assertTrue(response.getBody(ActionDTO.class).get().getTopicSets().isEmpty());
+        }
+
         @Test
         public void canViewAllApplicationGrantsAndActionsByApplicationId() {
             GrantDTO applicationGrant = entityUtil.createGenericApplicationGrant();
@@ -28,6 +28,8 @@ import io.micronaut.http.cookie.Cookie;
 import io.micronaut.security.authentication.ServerAuthentication;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.datasource.FleetExecutor;
+import io.unityfoundation.dds.permissions.manager.datasource.PoolStatisticsEndpoint;
 import io.unityfoundation.dds.permissions.manager.model.action.dto.ActionDTO;
 import io.unityfoundation.dds.permissions.manager.model.actioninterval.dto.ActionIntervalDTO;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationDTO;
@@ -61,6 +63,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @Property(name = "spec.name", value = "ApplicationApiTest")
 @MicronautTest(environments={"app-api-test-data"})
 @Property(name = "micronaut.http.client.follow-redirects", value = StringUtils.FALSE)
+@Property(name = "permissions-manager.fleet.pool-size", value = "2")
 public class ApplicationApiTest {
 
     private BlockingHttpClient blockingClient;
@@ -86,6 +89,12 @@ public class ApplicationApiTest {
     @Inject
     DbCleanup dbCleanup;
 
+    @Inject
+    FleetExecutor fleetExecutor;
+
+    @Inject
+    PoolStatisticsEndpoint poolStatisticsEndpoint;
+
     @Inject
     @Client("/api")
     HttpClient client;
@@ -2485,6 +2494,27 @@ public class ApplicationApiTest {
             assertNotNull(updatedEtag);
         }
 
+        @Test
+        void permissionDownloadsRunOnTheFleetExecutor() {
+            GrantDTO applicationGrant = entityUtil.createGenericApplicationGrant();
+            loginAsApplication(applicationGrant.getApplicationId());
+
+            long submitted = fleetExecutor.getThreadPool().getTaskCount();
+            long served = fleetConnectionsServed();
+            HttpResponse<?> response = blockingClient.exchange(HttpRequest.GET("/applications/permissions.json"));
+            assertEquals(OK, response.getStatus());
+            assertTrue(fleetExecutor.getThreadPool().getTaskCount() > submitted);
+            assertTrue(fleetConnectionsServed() > served);
+        }
+
+        @SuppressWarnings("unchecked")
+        private long fleetConnectionsServed() {
+            Map<String, Object> fleet = (Map<String, Object>) poolStatisticsEndpoint.statistics().get("fleet");
+            Map<String, Object> connections = (Map<String, Object>) fleet.get("connections");
+            assertEquals(2, connections.get("max"));
+            return (Long) connections.get("served");
+        }
+
         @Test
         void canRetrieveClientCertAndPrivateKey() {
             HttpRequest request;
@@ -198,6 +198,34 @@ public class ApplicationGrantApiTest {
             assertTrue(applicationGrantRepository.findById(grantOptional.get().getId()).isEmpty());
         }
 
+        @Test
+        public void canReuseGrantTokenForSeveralGrants() {
+            HttpResponse<?> response;
+            Long applicationGroupId = applicationOne.getPermissionsGroup().getId();
+
+            // create grant duration
+            response = entityUtil.createGrantDuration("30s Duration", applicationGroupId);
+            assertEquals(OK, response.getStatus());
+            Optional<GrantDurationDTO> durationOptional = response.getBody(GrantDurationDTO.class);
+            assertTrue(durationOptional.isPresent());
+
+            // generate grant token for application
+            response = entityUtil.getApplicationGrantToken(applicationOne.getId());
+            assertEquals(OK, response.getStatus());
+            Optional<String> optional = response.getBody(String.class);
+            assertTrue(optional.isPresent());
+            String applicationGrantToken = optional.get();
+
+            // the second grant is created with the already verified token
+            for (String grantName : List.of("MyGrant", "MyOtherGrant")) {
+                response = entityUtil.createApplicationGrant(applicationGrantToken, applicationGroupId, grantName, durationOptional.get().getId());
+                assertEquals(CREATED, response.getStatus());
+                Optional<GrantDTO> grantOptional = response.getBody(GrantDTO.class);
+                assertTrue(grantOptional.isPresent());
+                assertEquals(applicationOne.getId(), grantOptional.get().getApplicationId());
+            }
+        }
+
         @Test
         public void canUpdateApplicationGrant() {
             HttpResponse<?> response;
@@ -0,0 +1,213 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.authentication.ServerAuthentication;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLog;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserDTO;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserResponseDTO;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.micronaut.http.HttpStatus.UNAUTHORIZED;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "ChangeLogApiTest")
+@Property(name = "permissions-manager.change-log.batch-size", value = "2")
+@MicronautTest
+class ChangeLogApiTest {
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    ChangeLog changeLog;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    AuthenticationFetcherReplacement mockAuthenticationFetcher;
+
+    @Requires(property = "spec.name", value = "ChangeLogApiTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "ChangeLogApiTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        userRepository.save(new User("montesm@test.test.com", true));
+        userRepository.save(new User("jjones@test.test"));
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+    }
+
+    @Test
+    void changesAreStreamedInRevisionOrder() {
+        long head = changeLog.head();
+
+        Group group = blockingClient.retrieve(HttpRequest.POST("/groups/save", new Group("Theta")), Group.class);
+
+        TopicDTO topicDTO = new TopicDTO();
+        topicDTO.setName("Abc123");
+        topicDTO.setKind(TopicKind.B);
+        topicDTO.setGroup(group.getId());
+        TopicDTO topic = blockingClient.retrieve(HttpRequest.POST("/topics/save", topicDTO), TopicDTO.class);
+        blockingClient.exchange(HttpRequest.DELETE("/topics/" + topic.getId(), Map.of()));
+
+        // the batch size of two makes the stream span several reads
+        List<Map<String, Object>> entries = read(head);
+        assertEquals(3, entries.size());
+        assertEquals(List.of("GROUP", "TOPIC", "TOPIC"), entries.stream().map(entry -> entry.get("entityType")).collect(Collectors.toList()));
+        assertEquals(List.of("CREATE", "CREATE", "DELETE"), entries.stream().map(entry -> entry.get("operation")).collect(Collectors.toList()));
+        assertEquals(topic.getId(), ((Number) entries.get(2).get("entityId")).longValue());
+        assertEquals(group.getId(), ((Number) entries.get(2).get("groupId")).longValue());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(head + i + 1, ((Number) entries.get(i).get("revision")).longValue());
+        }
+
+        assertTrue(read(head + 3).isEmpty());
+        assertEquals(2, read(head + 1).size());
+    }
+
+    @Test
+    void concurrentMembershipChangesForOneUserAllCommitInOrder() throws Exception {
+        Group first = blockingClient.retrieve(HttpRequest.POST("/groups/save", new Group("Iota")), Group.class);
+        Group second = blockingClient.retrieve(HttpRequest.POST("/groups/save", new Group("Kappa")), Group.class);
+        GroupUserResponseDTO membership = blockingClient.retrieve(
+                HttpRequest.POST("/group_membership", membership(first, null, false)), GroupUserResponseDTO.class);
+        long head = changeLog.head();
+
+        // updates in one group race adds and removes in another, all touching the same user's row
+        int rounds = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> updates = executor.submit(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    blockingClient.exchange(HttpRequest.PUT("/group_membership", membership(first, membership.getId(), i % 2 == 0)));
+                }
+            });
+            Future<?> addsAndRemoves = executor.submit(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    GroupUserResponseDTO added = blockingClient.retrieve(
+                            HttpRequest.POST("/group_membership", membership(second, null, false)), GroupUserResponseDTO.class);
+                    blockingClient.exchange(HttpRequest.DELETE("/group_membership", Map.of("id", added.getId())));
+                }
+            });
+            updates.get(1, TimeUnit.MINUTES);
+            addsAndRemoves.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Map<String, Object>> entries = read(head);
+        assertEquals(3 * rounds, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(head + i + 1, ((Number) entries.get(i).get("revision")).longValue());
+        }
+    }
+
+    @Test
+    void onlyAdminsCanReadTheLog() {
+        mockSecurityService.setServerAuthentication(new ServerAuthentication(
+                "jjones@test.test",
+                Collections.emptyList(),
+                Map.of("isAdmin", false)
+        ));
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class, () -> read(0));
+        assertEquals(UNAUTHORIZED, exception.getStatus());
+    }
+
+    private static GroupUserDTO membership(Group group, Long id, boolean topicAdmin) {
+        GroupUserDTO dto = new GroupUserDTO();
+        dto.setId(id);
+        dto.setPermissionsGroup(group.getId());
+        dto.setEmail("jjones@test.test");
+        dto.setTopicAdmin(topicAdmin);
+        return dto;
+    }
+
+    private List<Map<String, Object>> read(long after) {
+        String body = blockingClient.retrieve(HttpRequest.GET("/change_log?after=" + after)
+                .accept(GroupConfigController.NDJSON), String.class);
+        if (body == null) {
+            return List.of();
+        }
+        return body.lines()
+                .filter(line -> !line.isBlank())
+                .map(this::parse)
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(String line) {
+        try {
+            return objectMapper.readValue(line, Map.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -53,10 +53,13 @@ import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
 import io.unityfoundation.dds.permissions.manager.testing.util.EntityLifecycleUtil;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -107,6 +110,9 @@ public class GroupApiTest {
     @Inject
     DbCleanup dbCleanup;
 
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
     @Inject
     @Client("/api")
     HttpClient client;
@@ -601,6 +607,22 @@ public class GroupApiTest {
             assertEquals(1, groupOne.get("grantCount"));
         }
 
+        @Test
+        void listGroupsDoesNotLoadGroupContents() {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            HttpRequest<?> request = HttpRequest.GET("/groups");
+            HashMap<String, Object> responseMap = blockingClient.retrieve(request, HashMap.class);
+            List<Map> content = (List<Map>) responseMap.get("content");
+            assertEquals(2, content.size());
+
+            assertEquals(0, statistics.getEntityStatistics(Topic.class.getName()).getLoadCount());
+            assertEquals(0, statistics.getEntityStatistics(Application.class.getName()).getLoadCount());
+            assertEquals(0, statistics.getEntityStatistics(ApplicationGrant.class.getName()).getLoadCount());
+            assertEquals(0, statistics.getEntityStatistics(GroupUser.class.getName()).getLoadCount());
+        }
+
         // delete
         @Test
         void canDeleteGroup(){
@@ -1003,4 +1025,68 @@ public class GroupApiTest {
         HttpRequest<?> request = HttpRequest.POST("/group_membership", dto);
         return  blockingClient.exchange(request, GroupUserDTO.class);
     }
+
+    @Nested
+    class WhenChangingALargeGroup {
+
+        private static final int CONTENT_COUNT = 500;
+        private static final int MEMBER_COUNT = 1000;
+
+        private Group largeGroup;
+
+        @BeforeEach
+        void setup() {
+            dbCleanup.cleanup();
+            mockSecurityService.postConstruct();
+            mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+            userRepository.save(new User("montesm@test.test.com", true));
+
+            largeGroup = groupRepository.save(new Group("LargeGroup", "", true));
+            List<Application> applications = new ArrayList<>();
+            List<Topic> topics = new ArrayList<>();
+            for (int i = 0; i < CONTENT_COUNT; i++) {
+                applications.add(new Application("Application" + i, largeGroup, "", true));
+                topics.add(new Topic("Topic" + i, TopicKind.B, "", true, largeGroup));
+            }
+            applicationRepository.saveAll(applications);
+            topicRepository.saveAll(topics);
+
+            List<User> members = new ArrayList<>();
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                members.add(new User("member" + i + "@test.test"));
+            }
+            userRepository.saveAll(members);
+            groupUserRepository.saveAll(members.stream()
+                    .map(member -> new GroupUser(largeGroup, member))
+                    .collect(Collectors.toList()));
+        }
+
+        @Test
+        void makingItPrivateUpdatesItsContentsInBulk() {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            SimpleGroupDTO groupDTO = new SimpleGroupDTO(largeGroup.getId(), largeGroup.getName(), largeGroup.getDescription(), false);
+            HttpResponse<?> response = blockingClient.exchange(HttpRequest.POST("/groups/save", groupDTO));
+            assertEquals(OK, response.getStatus());
+
+            assertTrue(statistics.getPrepareStatementCount() < 30);
+            assertEquals(0, applicationRepository.countByMakePublicTrue());
+            assertEquals(0, topicRepository.countByMakePublicTrue());
+        }
+
+        @Test
+        void deletingItRemovesMembersInBulk() {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            HttpResponse<?> response = blockingClient.exchange(HttpRequest.DELETE("/groups/" + largeGroup.getId(), Map.of()));
+            assertEquals(OK, response.getStatus());
+
+            assertTrue(statistics.getPrepareStatementCount() < 50);
+            assertEquals(0, groupUserRepository.count());
+            // only the super admin is left
+            assertEquals(1, userRepository.count());
+        }
+    }
 }
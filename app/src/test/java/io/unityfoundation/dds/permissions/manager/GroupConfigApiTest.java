@@ -0,0 +1,210 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.groupconfig.GroupConfigImportResult;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static io.micronaut.http.HttpStatus.NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "GroupConfigApiTest")
+@Property(name = "permissions-manager.group-config.batch-size", value = "3")
+@MicronautTest
+class GroupConfigApiTest {
+
+    private static final String DOCUMENT = String.join("\n",
+            "{\"type\":\"GRANT_DURATION\",\"name\":\"OneDay\",\"durationInMilliseconds\":86400000,\"durationMetadata\":\"DAY\"}",
+            "{\"type\":\"ACTION_INTERVAL\",\"name\":\"Always\",\"startDate\":\"2024-01-01T00:00:00Z\",\"endDate\":\"2034-01-01T00:00:00Z\"}",
+            "{\"type\":\"TOPIC\",\"name\":\"Telemetry\",\"kind\":\"B\",\"description\":\"vehicle telemetry\"}",
+            "{\"type\":\"TOPIC\",\"name\":\"Commands\",\"kind\":\"C\"}",
+            "",
+            "{\"type\":\"TOPIC_SET\",\"name\":\"Vehicle\",\"topics\":[\"Telemetry\",\"Commands\"]}",
+            "{\"type\":\"APPLICATION\",\"name\":\"GroundStation\",\"description\":\"operator console\"}",
+            "{\"type\":\"GRANT\",\"name\":\"GroundStationGrant\",\"application\":\"GroundStation\",\"grantDuration\":\"OneDay\"}",
+            "{\"type\":\"ACTION\",\"grant\":\"GroundStationGrant\",\"actionInterval\":\"Always\",\"canPublish\":true,\"topics\":[\"Commands\"],\"partitions\":[\"fleet\"]}",
+            "{\"type\":\"ACTION\",\"grant\":\"GroundStationGrant\",\"actionInterval\":\"Always\",\"canPublish\":false,\"topicSets\":[\"Vehicle\"]}");
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    AuthenticationFetcherReplacement mockAuthenticationFetcher;
+
+    private Group source;
+    private Group target;
+
+    @Requires(property = "spec.name", value = "GroupConfigApiTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "GroupConfigApiTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        userRepository.save(new User("montesm@test.test.com", true));
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        source = groupRepository.save(new Group("SourceGroup"));
+        target = groupRepository.save(new Group("TargetGroup"));
+    }
+
+    @Test
+    void exportedConfigurationRoundTripsIntoAnotherGroup() {
+        GroupConfigImportResult result = importConfig(source, DOCUMENT);
+        assertEquals(9, result.getRecords());
+        assertEquals(9, result.getCreated());
+        assertEquals(3, result.getBatches());
+
+        String exported = exportConfig(source);
+        assertEquals(9, exported.lines().count());
+
+        result = importConfig(target, exported);
+        assertEquals(9, result.getCreated());
+        assertEquals(exported, exportConfig(target));
+    }
+
+    @Test
+    void reimportingADocumentChangesNothing() {
+        importConfig(source, DOCUMENT);
+
+        GroupConfigImportResult result = importConfig(source, DOCUMENT);
+        assertEquals(0, result.getCreated());
+        assertEquals(0, result.getUpdated());
+        assertEquals(9, result.getUnchanged());
+    }
+
+    @Test
+    void changedRecordsUpdateTheExistingEntities() {
+        importConfig(source, DOCUMENT);
+
+        GroupConfigImportResult result = importConfig(source, String.join("\n",
+                "{\"type\":\"GRANT_DURATION\",\"name\":\"OneDay\",\"durationInMilliseconds\":3600000,\"durationMetadata\":\"HOUR\"}",
+                "{\"type\":\"TOPIC_SET\",\"name\":\"Vehicle\",\"topics\":[\"Telemetry\"]}"));
+        assertEquals(2, result.getUpdated());
+
+        String exported = exportConfig(source);
+        assertTrue(exported.contains("\"durationInMilliseconds\":3600000"));
+        assertTrue(exported.contains("\"topics\":[\"Telemetry\"]"));
+    }
+
+    @Test
+    void unknownReferencesAreRejected() {
+        HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () ->
+                importConfig(source, "{\"type\":\"TOPIC_SET\",\"name\":\"Vehicle\",\"topics\":[\"Missing\"]}"));
+        assertEquals(NOT_FOUND, exception.getStatus());
+        Optional<List> bodyOptional = exception.getResponse().getBody(List.class);
+        assertTrue(bodyOptional.isPresent());
+        assertTrue(bodyOptional.get().toString().contains(ResponseStatusCodes.TOPIC_SET_AND_TOPIC_DOES_NOT_BELONG_TO_SAME_GROUP));
+    }
+
+    @Test
+    void malformedRecordsAreRejected() {
+        HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () ->
+                importConfig(source, "{\"name\":\"NoType\"}"));
+        assertEquals(BAD_REQUEST, exception.getStatus());
+        Optional<List> bodyOptional = exception.getResponse().getBody(List.class);
+        assertTrue(bodyOptional.isPresent());
+        assertTrue(bodyOptional.get().toString().contains(ResponseStatusCodes.GROUP_CONFIG_RECORD_IS_NOT_VALID));
+    }
+
+    @Test
+    void failedImportsReportWhereTheyStopped() {
+        String document = String.join("\n", DOCUMENT.lines().limit(7).collect(Collectors.joining("\n")),
+                "{\"type\":\"APPLICATION\",\"name\":\"Spare\"}",
+                "{\"type\":\"TOPIC_SET\",\"name\":\"Broken\",\"topics\":[\"Missing\"]}");
+        HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () ->
+                importConfig(source, document));
+        assertEquals(NOT_FOUND, exception.getStatus());
+        Map error = (Map) exception.getResponse().getBody(List.class).get().get(0);
+        assertEquals(ResponseStatusCodes.TOPIC_SET_AND_TOPIC_DOES_NOT_BELONG_TO_SAME_GROUP, error.get("code"));
+        assertEquals(9, error.get("failedLine"));
+        assertEquals(7, error.get("lastCommittedLine"));
+        Map committed = (Map) error.get("committed");
+        assertEquals(6, committed.get("records"));
+        assertEquals(2, committed.get("batches"));
+
+        // the committed batches stay, the failed one is rolled back
+        String exported = exportConfig(source);
+        assertTrue(exported.contains("\"name\":\"GroundStation\""));
+        assertFalse(exported.contains("\"name\":\"Spare\""));
+    }
+
+    @Test
+    void malformedRecordsReportTheirLine() {
+        HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () ->
+                importConfig(source, DOCUMENT.lines().findFirst().get() + "\n{\"name\":\"NoType\"}"));
+        assertEquals(BAD_REQUEST, exception.getStatus());
+        Map error = (Map) exception.getResponse().getBody(List.class).get().get(0);
+        assertEquals(2, error.get("failedLine"));
+        assertEquals(0, error.get("lastCommittedLine"));
+    }
+
+    private GroupConfigImportResult importConfig(Group group, String document) {
+        return blockingClient.retrieve(HttpRequest.POST("/group_config/" + group.getId(), document)
+                .contentType(GroupConfigController.NDJSON), GroupConfigImportResult.class);
+    }
+
+    private String exportConfig(Group group) {
+        return blockingClient.retrieve(HttpRequest.GET("/group_config/" + group.getId())
+                .accept(GroupConfigController.NDJSON), String.class);
+    }
+}
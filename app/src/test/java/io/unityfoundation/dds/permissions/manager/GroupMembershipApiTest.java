@@ -25,6 +25,7 @@ import io.micronaut.http.client.BlockingHttpClient;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.http.cookie.Cookie;
 import io.micronaut.security.authentication.ServerAuthentication;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
@@ -32,8 +33,10 @@ import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserDTO;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserResponseDTO;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.security.IntrospectionCache;
 import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -67,6 +70,9 @@ public class GroupMembershipApiTest {
     @Inject
     DbCleanup dbCleanup;
 
+    @Inject
+    IntrospectionCache introspectionCache;
+
     @Inject
     @Client("/api")
     HttpClient client;
@@ -507,6 +513,36 @@ public class GroupMembershipApiTest {
             assertTrue(groupUser.isTopicAdmin());
         }
 
+        @Test
+        public void permissionStampsMoveForwardWhenAheadOfTheClock() {
+            Group primaryGroup = blockingClient.retrieve(HttpRequest.POST("/groups/save", new Group("PrimaryGroup")), Group.class);
+            Group secondaryGroup = blockingClient.retrieve(HttpRequest.POST("/groups/save", new Group("SecondaryGroup")), Group.class);
+
+            GroupUserDTO dto = new GroupUserDTO();
+            dto.setPermissionsGroup(primaryGroup.getId());
+            dto.setEmail("bob.builder@test.test");
+            GroupUserResponseDTO groupUser = blockingClient.retrieve(HttpRequest.POST("/group_membership", dto), GroupUserResponseDTO.class);
+            dto.setPermissionsGroup(secondaryGroup.getId());
+            blockingClient.exchange(HttpRequest.POST("/group_membership", dto));
+
+            // a stamp written by an instance whose clock runs ahead
+            long ahead = System.currentTimeMillis() + 3_600_000;
+            User bob = userRepository.findByEmail("bob.builder@test.test").get();
+            bob.setPermissionsLastUpdated(ahead);
+            userRepository.update(bob);
+
+            HttpResponse<?> response = blockingClient.exchange(HttpRequest.DELETE("/groups/" + secondaryGroup.getId(), Map.of()));
+            assertEquals(OK, response.getStatus());
+            assertEquals(ahead + 1, userRepository.findByEmail("bob.builder@test.test").get().getPermissionsLastUpdated());
+
+            dto.setId(groupUser.getId());
+            dto.setPermissionsGroup(primaryGroup.getId());
+            dto.setGroupAdmin(true);
+            response = blockingClient.exchange(HttpRequest.PUT("/group_membership", dto));
+            assertEquals(OK, response.getStatus());
+            assertEquals(ahead + 2, userRepository.findByEmail("bob.builder@test.test").get().getPermissionsLastUpdated());
+        }
+
         @Test
         public void cannotAttemptToSaveNewWithUpdateEndpoint() {
             Group primaryGroup = new Group("PrimaryGroup");
@@ -1513,6 +1549,144 @@ public class GroupMembershipApiTest {
             assertEquals(1, permissionsByGroup.size());
         }
 
+        @Test
+        public void tokenInfoIsCachedPerTokenUntilMembershipChanges() {
+            mockSecurityService.postConstruct();
+
+            HttpRequest request;
+            HttpResponse response;
+
+            // group
+            Group primaryGroup = new Group("PrimaryGroup");
+            request = HttpRequest.POST("/groups/save", primaryGroup);
+            response = blockingClient.exchange(request, Group.class);
+            assertEquals(OK, response.getStatus());
+            primaryGroup = (Group) response.getBody(Group.class).get();
+
+            // add non-admin test user
+            GroupUserDTO dto = new GroupUserDTO();
+            dto.setPermissionsGroup(primaryGroup.getId());
+            dto.setEmail("jjones@test.test");
+            request = HttpRequest.POST("/group_membership", dto);
+            response = blockingClient.exchange(request, GroupUserResponseDTO.class);
+            assertEquals(OK, response.getStatus());
+            GroupUserResponseDTO membership = (GroupUserResponseDTO) response.getBody(GroupUserResponseDTO.class).get();
+
+            loginAsNonAdmin();
+
+            long hits = introspectionCache.getHits();
+            long misses = introspectionCache.getMisses();
+
+            request = HttpRequest.GET("/token_info").cookie(Cookie.of("JWT", "jjones-token"));
+            response = blockingClient.exchange(request, Map.class);
+            assertEquals(OK, response.getStatus());
+            Map map = (Map) response.getBody(Map.class).get();
+            Map groupPermissions = (Map) ((List) map.get("permissionsByGroup")).get(0);
+            assertFalse((Boolean) groupPermissions.get("isTopicAdmin"));
+
+            response = blockingClient.exchange(request, Map.class);
+            assertEquals(OK, response.getStatus());
+            assertEquals(map, response.getBody(Map.class).get());
+            assertEquals(misses + 1, introspectionCache.getMisses());
+            assertEquals(hits + 1, introspectionCache.getHits());
+
+            // update permissions
+            mockSecurityService.postConstruct();
+            dto.setId(membership.getId());
+            dto.setTopicAdmin(true);
+            response = blockingClient.exchange(HttpRequest.PUT("/group_membership", dto), GroupUserResponseDTO.class);
+            assertEquals(OK, response.getStatus());
+
+            loginAsNonAdmin();
+
+            response = blockingClient.exchange(request, Map.class);
+            assertEquals(OK, response.getStatus());
+            map = (Map) response.getBody(Map.class).get();
+            groupPermissions = (Map) ((List) map.get("permissionsByGroup")).get(0);
+            assertTrue((Boolean) groupPermissions.get("isTopicAdmin"));
+            assertEquals(misses + 2, introspectionCache.getMisses());
+        }
+
+        @Test
+        public void tokenInfoIsReloadedWhenTheStampChangesElsewhere() {
+            mockSecurityService.postConstruct();
+
+            Group primaryGroup = blockingClient.retrieve(HttpRequest.POST("/groups/save", new Group("PrimaryGroup")), Group.class);
+            GroupUserDTO dto = new GroupUserDTO();
+            dto.setPermissionsGroup(primaryGroup.getId());
+            dto.setEmail("jjones@test.test");
+            blockingClient.exchange(HttpRequest.POST("/group_membership", dto));
+
+            loginAsNonAdmin();
+
+            HttpRequest<?> request = HttpRequest.GET("/token_info").cookie(Cookie.of("JWT", "jjones-stamp-token"));
+            assertEquals(OK, blockingClient.exchange(request, Map.class).getStatus());
+            long misses = introspectionCache.getMisses();
+            assertEquals(OK, blockingClient.exchange(request, Map.class).getStatus());
+            assertEquals(misses, introspectionCache.getMisses());
+
+            // another instance changed the user's permissions; nothing was invalidated here
+            User justin = userRepository.findByEmail("jjones@test.test").get();
+            userRepository.updatePermissionsLastUpdatedById(justin.getId(), System.currentTimeMillis());
+
+            HttpResponse<Map> response = blockingClient.exchange(request, Map.class);
+            assertEquals(OK, response.getStatus());
+            assertEquals(misses + 1, introspectionCache.getMisses());
+            assertEquals(userRepository.findPermissionsLastUpdatedById(justin.getId()),
+                    ((Number) response.getBody().get().get("permissionsLastUpdated")).longValue());
+        }
+
+        @Test
+        public void shouldLoseTopicAdminRightsIfAdminUpdatesMembership() {
+            mockSecurityService.postConstruct();
+
+            HttpRequest request;
+            HttpResponse response;
+
+            // group
+            Group primaryGroup = new Group("PrimaryGroup");
+            request = HttpRequest.POST("/groups/save", primaryGroup);
+            response = blockingClient.exchange(request, Group.class);
+            assertEquals(OK, response.getStatus());
+            primaryGroup = (Group) response.getBody(Group.class).get();
+
+            // add non-admin test user as topic admin
+            GroupUserDTO dto = new GroupUserDTO();
+            dto.setPermissionsGroup(primaryGroup.getId());
+            dto.setEmail("jjones@test.test");
+            dto.setTopicAdmin(true);
+            request = HttpRequest.POST("/group_membership", dto);
+            response = blockingClient.exchange(request, GroupUserResponseDTO.class);
+            assertEquals(OK, response.getStatus());
+            GroupUserResponseDTO membership = (GroupUserResponseDTO) response.getBody(GroupUserResponseDTO.class).get();
+
+            loginAsNonAdmin();
+
+            TopicDTO topicDTO = new TopicDTO();
+            topicDTO.setName("MyTopicA");
+            topicDTO.setGroup(primaryGroup.getId());
+            request = HttpRequest.POST("/topics/save", topicDTO);
+            response = blockingClient.exchange(request, TopicDTO.class);
+            assertEquals(OK, response.getStatus());
+
+            // revoke topic admin
+            mockSecurityService.postConstruct();
+            dto.setId(membership.getId());
+            dto.setTopicAdmin(false);
+            request = HttpRequest.PUT("/group_membership", dto);
+            response = blockingClient.exchange(request, GroupUserResponseDTO.class);
+            assertEquals(OK, response.getStatus());
+
+            loginAsNonAdmin();
+
+            topicDTO.setName("MyTopicB");
+            HttpRequest<?> topicRequest = HttpRequest.POST("/topics/save", topicDTO);
+            HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () -> {
+                blockingClient.exchange(topicRequest, TopicDTO.class);
+            });
+            assertEquals(UNAUTHORIZED, exception.getStatus());
+        }
+
     }
 
     @Nested
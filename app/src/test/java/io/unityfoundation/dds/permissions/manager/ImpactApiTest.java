@@ -0,0 +1,212 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.authentication.ServerAuthentication;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.impact.ApplicationsAffectedEvent;
+import io.unityfoundation.dds.permissions.manager.impact.PermissionImpactIndex;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
+import io.unityfoundation.dds.permissions.manager.model.applicationgrant.ApplicationGrantRepository;
+import io.unityfoundation.dds.permissions.manager.model.grantduration.GrantDurationRepository;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.groupconfig.GroupConfigImportResult;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.micronaut.http.HttpStatus.UNAUTHORIZED;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "ImpactApiTest")
+@MicronautTest
+class ImpactApiTest {
+
+    private static final String DOCUMENT = String.join("\n",
+            "{\"type\":\"GRANT_DURATION\",\"name\":\"OneDay\",\"durationInMilliseconds\":86400000,\"durationMetadata\":\"DAY\"}",
+            "{\"type\":\"ACTION_INTERVAL\",\"name\":\"Always\",\"startDate\":\"2024-01-01T00:00:00Z\",\"endDate\":\"2034-01-01T00:00:00Z\"}",
+            "{\"type\":\"TOPIC\",\"name\":\"Telemetry\",\"kind\":\"B\"}",
+            "{\"type\":\"TOPIC\",\"name\":\"Commands\",\"kind\":\"C\"}",
+            "{\"type\":\"TOPIC\",\"name\":\"Unused\",\"kind\":\"B\"}",
+            "{\"type\":\"TOPIC_SET\",\"name\":\"Vehicle\",\"topics\":[\"Telemetry\"]}",
+            "{\"type\":\"APPLICATION\",\"name\":\"GroundStation\"}",
+            "{\"type\":\"APPLICATION\",\"name\":\"Idle\"}",
+            "{\"type\":\"GRANT\",\"name\":\"GroundStationGrant\",\"application\":\"GroundStation\",\"grantDuration\":\"OneDay\"}",
+            "{\"type\":\"ACTION\",\"grant\":\"GroundStationGrant\",\"actionInterval\":\"Always\",\"canPublish\":true,\"topics\":[\"Commands\"]}",
+            "{\"type\":\"ACTION\",\"grant\":\"GroundStationGrant\",\"actionInterval\":\"Always\",\"canPublish\":false,\"topicSets\":[\"Vehicle\"]}");
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    TopicRepository topicRepository;
+
+    @Inject
+    ApplicationRepository applicationRepository;
+
+    @Inject
+    ApplicationGrantRepository applicationGrantRepository;
+
+    @Inject
+    GrantDurationRepository grantDurationRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    PermissionImpactIndex permissionImpactIndex;
+
+    @Inject
+    AffectedApplicationsListener affectedApplicationsListener;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    AuthenticationFetcherReplacement mockAuthenticationFetcher;
+
+    private Group group;
+
+    @Requires(property = "spec.name", value = "ImpactApiTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "ImpactApiTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "ImpactApiTest")
+    @Singleton
+    static class AffectedApplicationsListener implements ApplicationEventListener<ApplicationsAffectedEvent> {
+        final List<ApplicationsAffectedEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onApplicationEvent(ApplicationsAffectedEvent event) {
+            events.add(event);
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        permissionImpactIndex.rebuild();
+        userRepository.save(new User("montesm@test.test.com", true));
+        userRepository.save(new User("jjones@test.test"));
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        group = groupRepository.save(new Group("Theta"));
+        GroupConfigImportResult result = blockingClient.retrieve(HttpRequest.POST("/group_config/" + group.getId(), DOCUMENT)
+                .contentType(GroupConfigController.NDJSON), GroupConfigImportResult.class);
+        assertEquals(11, result.getCreated());
+    }
+
+    @Test
+    void dependentApplicationsAreFoundThroughTopicSetsAndGrants() {
+        Long groundStation = applicationId("GroundStation");
+
+        assertEquals(List.of(groundStation), impact("TOPIC", topicId("Telemetry")));
+        assertEquals(List.of(groundStation), impact("TOPIC", topicId("Commands")));
+        assertEquals(List.of(), impact("TOPIC", topicId("Unused")));
+        assertEquals(List.of(groundStation), impact("GRANT_DURATION",
+                grantDurationRepository.findByNameAndPermissionsGroup("OneDay", group).get().getId()));
+        assertEquals(List.of(applicationId("Idle")), impact("APPLICATION", applicationId("Idle")));
+        assertEquals(Stream.of(groundStation, applicationId("Idle")).sorted().collect(Collectors.toList()),
+                impact("GROUP", group.getId()));
+    }
+
+    @Test
+    void replayedChangesPublishTheApplicationsTheyAffected() {
+        Long groundStation = applicationId("GroundStation");
+        Long grantId = applicationGrantRepository.findByNameAndPermissionsGroup("GroundStationGrant", group).get().getId();
+        permissionImpactIndex.refresh();
+        affectedApplicationsListener.events.clear();
+
+        blockingClient.exchange(HttpRequest.DELETE("/application_grants/" + grantId));
+        permissionImpactIndex.refresh();
+
+        Set<Long> affected = affectedApplicationsListener.events.stream()
+                .flatMap(event -> event.getApplicationIds().stream())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(groundStation), affected);
+        assertEquals(List.of(), impact("TOPIC", topicId("Telemetry")));
+    }
+
+    @Test
+    void onlyAdminsCanQueryImpact() {
+        mockSecurityService.setServerAuthentication(new ServerAuthentication(
+                "jjones@test.test",
+                Collections.emptyList(),
+                Map.of("isAdmin", false)
+        ));
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class,
+                () -> impact("TOPIC", topicId("Telemetry")));
+        assertEquals(UNAUTHORIZED, exception.getStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> impact(String entityType, Long id) {
+        Map<String, Object> impact = blockingClient.retrieve(HttpRequest.GET("/impact/" + entityType + "/" + id), Map.class);
+        return ((List<Number>) impact.get("applicationIds")).stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+    }
+
+    private Long topicId(String name) {
+        return topicRepository.findByNameAndPermissionsGroup(name, group).get().getId();
+    }
+
+    private Long applicationId(String name) {
+        return applicationRepository.findByNameAndPermissionsGroup(name, group).get().getId();
+    }
+}
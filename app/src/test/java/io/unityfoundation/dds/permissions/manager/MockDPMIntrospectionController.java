@@ -34,8 +34,10 @@ import io.micronaut.security.endpoints.introspection.IntrospectionController;
 import io.micronaut.security.endpoints.introspection.IntrospectionProcessor;
 import io.micronaut.security.endpoints.introspection.IntrospectionResponse;
 import io.micronaut.security.rules.SecurityRule;
+import io.micronaut.security.token.reader.TokenResolver;
 import io.micronaut.security.token.validator.RefreshTokenValidator;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserService;
+import io.unityfoundation.dds.permissions.manager.security.IntrospectionCache;
 import org.reactivestreams.Publisher;
 
 import java.io.IOException;
@@ -56,12 +58,17 @@ public class MockDPMIntrospectionController {
     private final GroupUserService groupUserService;
 
     private final RefreshTokenValidator refreshTokenValidator;
+    private final TokenResolver tokenResolver;
+    private final IntrospectionCache introspectionCache;
 
-    public MockDPMIntrospectionController(IntrospectionProcessor processor, JsonMapper jsonMapper, GroupUserService groupUserService, RefreshTokenValidator refreshTokenValidator) {
+    public MockDPMIntrospectionController(IntrospectionProcessor processor, JsonMapper jsonMapper, GroupUserService groupUserService, RefreshTokenValidator refreshTokenValidator,
+                                          TokenResolver tokenResolver, IntrospectionCache introspectionCache) {
         this.processor = processor;
         this.jsonMapper = jsonMapper;
         this.groupUserService = groupUserService;
         this.refreshTokenValidator = refreshTokenValidator;
+        this.tokenResolver = tokenResolver;
+        this.introspectionCache = introspectionCache;
     }
 
     @Get
@@ -91,7 +98,11 @@ public class MockDPMIntrospectionController {
 
     private Publisher<MutableHttpResponse<?>> getIntrospectionAndValidResponse(Authentication authentication, HttpRequest<?> request) {
         return Publishers.map(Publishers.map(processor.introspect(authentication, request), response -> {
-            groupUserService.checkUserValidity().forEach(response::addExtension);
+            Optional<String> token = tokenResolver.resolveToken(request);
+            Map<String, Object> userValidity = token.isPresent() ?
+                    introspectionCache.get(token.get(), groupUserService::checkUserValidity) :
+                    groupUserService.checkUserValidity();
+            userValidity.forEach(response::addExtension);
             return introspectionResponseAsJsonString(response);
         }), HttpResponse::ok);
     }
@@ -0,0 +1,179 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.security.authentication.ServerAuthentication;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationDTO;
+import io.unityfoundation.dds.permissions.manager.model.applicationgrant.dto.GrantDTO;
+import io.unityfoundation.dds.permissions.manager.model.grantduration.dto.GrantDurationDTO;
+import io.unityfoundation.dds.permissions.manager.model.group.SimpleGroupDTO;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserDTO;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import io.unityfoundation.dds.permissions.manager.testing.util.EntityLifecycleUtil;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.micronaut.http.HttpStatus.CREATED;
+import static io.micronaut.http.HttpStatus.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Property(name = "spec.name", value = "PrincipalLookupTest")
+@MicronautTest
+public class PrincipalLookupTest {
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    MockAuthenticationFetcher mockAuthenticationFetcher;
+
+    @Inject
+    EntityLifecycleUtil entityUtil;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    private Long groupId;
+
+    @Requires(property = "spec.name", value = "PrincipalLookupTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "PrincipalLookupTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        userRepository.save(new User("montesm@test.test.com", true));
+        userRepository.save(new User("jjones@test.test"));
+
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        HttpResponse<?> response = entityUtil.createGroup("PrimaryGroup");
+        assertEquals(OK, response.getStatus());
+        Optional<SimpleGroupDTO> groupOptional = response.getBody(SimpleGroupDTO.class);
+        assertTrue(groupOptional.isPresent());
+        groupId = groupOptional.get().getId();
+
+        GroupUserDTO dto = new GroupUserDTO();
+        dto.setPermissionsGroup(groupId);
+        dto.setEmail("jjones@test.test");
+        dto.setTopicAdmin(true);
+        dto.setApplicationAdmin(true);
+        response = blockingClient.exchange(HttpRequest.POST("/group_membership", dto));
+        assertEquals(OK, response.getStatus());
+    }
+
+    void loginAsNonAdmin() {
+        mockSecurityService.setServerAuthentication(new ServerAuthentication(
+                "jjones@test.test",
+                Collections.emptyList(),
+                Map.of("isAdmin", false)
+        ));
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+    }
+
+    @Test
+    public void applicationSaveLooksUpPrincipalOnce() {
+        loginAsNonAdmin();
+
+        Statistics statistics = statistics();
+        HttpResponse<?> response = entityUtil.createApplication("ApplicationOne", groupId);
+        assertEquals(OK, response.getStatus());
+
+        assertEquals(1, principalLookupCount(statistics));
+    }
+
+    @Test
+    public void applicationGrantCreateLooksUpPrincipalOnce() {
+        HttpResponse<?> response = entityUtil.createApplication("ApplicationOne", groupId);
+        assertEquals(OK, response.getStatus());
+        Optional<ApplicationDTO> applicationOptional = response.getBody(ApplicationDTO.class);
+        assertTrue(applicationOptional.isPresent());
+
+        response = entityUtil.createGrantDuration("30s Duration", groupId);
+        assertEquals(OK, response.getStatus());
+        Optional<GrantDurationDTO> durationOptional = response.getBody(GrantDurationDTO.class);
+        assertTrue(durationOptional.isPresent());
+
+        response = entityUtil.getApplicationGrantToken(applicationOptional.get().getId());
+        assertEquals(OK, response.getStatus());
+        Optional<String> tokenOptional = response.getBody(String.class);
+        assertTrue(tokenOptional.isPresent());
+
+        loginAsNonAdmin();
+
+        Statistics statistics = statistics();
+        response = entityUtil.createApplicationGrant(tokenOptional.get(), groupId, "MyGrant", durationOptional.get().getId());
+        assertEquals(CREATED, response.getStatus());
+        assertTrue(response.getBody(GrantDTO.class).isPresent());
+
+        assertEquals(1, principalLookupCount(statistics));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private long principalLookupCount(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+                .filter(query -> query.contains(User.class.getName()) && query.contains("email"))
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+                .sum();
+    }
+}
@@ -0,0 +1,120 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.data.model.Page;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.filters.AuthenticationFetcher;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.datasource.ReadReplica;
+import io.unityfoundation.dds.permissions.manager.datasource.ReplicaHeartbeat;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import java.time.Duration;
+
+import static io.micronaut.http.HttpStatus.OK;
+import static org.junit.jupiter.api.Assertions.*;
+
+// the "replica" is a second pool on the same in-memory database, so it replicates instantly
+@Property(name = "spec.name", value = "ReadReplicaApiTest")
+@Property(name = "permissions-manager.read-replica.enabled", value = "true")
+@Property(name = "permissions-manager.read-replica.url", value = "jdbc:h2:mem:devDb;LOCK_TIMEOUT=10000;DB_CLOSE_ON_EXIT=FALSE;IGNORECASE=TRUE")
+@Property(name = "permissions-manager.read-replica.username", value = "sa")
+@Property(name = "permissions-manager.read-replica.heartbeat-interval", value = "1h")
+@MicronautTest
+class ReadReplicaApiTest {
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    ReadReplica readReplica;
+
+    @Inject
+    ReplicaHeartbeat replicaHeartbeat;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    @Requires(property = "spec.name", value = "ReadReplicaApiTest")
+    @Singleton
+    static class MockAuthenticationFetcher implements AuthenticationFetcher {
+        @Override
+        public Publisher<Authentication> fetchAuthentication(HttpRequest<?> request) {
+            return Publishers.just(Authentication.build("montesm@test.test.com"));
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+
+        userRepository.save(new User("montesm@test.test.com", true));
+        groupRepository.save(new Group("GroupOne", "GroupOne", true));
+    }
+
+    @Test
+    void readOnlyTransactionsUseAFreshReplica() {
+        replicaHeartbeat.beat();
+        assertTrue(readReplica.isUsable());
+
+        long served = readReplica.getServedConnections();
+        HttpResponse<Page> response = blockingClient.exchange(HttpRequest.GET("/search"), Page.class);
+        assertEquals(OK, response.getStatus());
+        assertEquals(1, response.getBody().get().getTotalSize());
+        assertTrue(readReplica.getServedConnections() > served);
+    }
+
+    @Test
+    void staleReplicaFallsBackToThePrimary() {
+        replicaHeartbeat.write(System.currentTimeMillis() - Duration.ofMinutes(1).toMillis());
+        replicaHeartbeat.check();
+        assertFalse(readReplica.isUsable());
+
+        long served = readReplica.getServedConnections();
+        long fallbacks = readReplica.getFallbacks();
+        HttpResponse<Page> response = blockingClient.exchange(HttpRequest.GET("/search"), Page.class);
+        assertEquals(OK, response.getStatus());
+        assertEquals(1, response.getBody().get().getTotalSize());
+        assertEquals(served, readReplica.getServedConnections());
+        assertTrue(readReplica.getFallbacks() > fallbacks);
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.transaction.annotation.ReadOnly;
+import io.unityfoundation.dds.permissions.manager.datasource.ReadReplica;
+import io.unityfoundation.dds.permissions.manager.datasource.ReplicaHeartbeat;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the "replica" is a second pool on the same in-memory database, so it replicates instantly
+@Property(name = "spec.name", value = "ReadReplicaCacheApiTest")
+@Property(name = "permissions-manager.read-replica.enabled", value = "true")
+@Property(name = "permissions-manager.read-replica.url", value = "jdbc:h2:mem:devDb;LOCK_TIMEOUT=10000;DB_CLOSE_ON_EXIT=FALSE;IGNORECASE=TRUE")
+@Property(name = "permissions-manager.read-replica.username", value = "sa")
+@Property(name = "permissions-manager.read-replica.heartbeat-interval", value = "1h")
+@Property(name = "jpa.default.properties.hibernate.cache.use_second_level_cache", value = "true")
+@Property(name = "jpa.default.properties.hibernate.cache.use_query_cache", value = "true")
+@MicronautTest
+class ReadReplicaCacheApiTest {
+
+    @Inject
+    ReadReplica readReplica;
+
+    @Inject
+    ReplicaHeartbeat replicaHeartbeat;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    TopicRepository topicRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    TopicReader topicReader;
+
+    private Topic topic;
+
+    @Requires(property = "spec.name", value = "ReadReplicaCacheApiTest")
+    @Singleton
+    static class TopicReader {
+
+        private final TopicRepository topicRepository;
+
+        TopicReader(TopicRepository topicRepository) {
+            this.topicRepository = topicRepository;
+        }
+
+        @ReadOnly
+        public String readOnly(Long id) {
+            return topicRepository.findById(id).orElseThrow().getName();
+        }
+
+        @Transactional
+        public String readWrite(Long id) {
+            return topicRepository.findById(id).orElseThrow().getName();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        dbCleanup.cleanup();
+        Group group = groupRepository.save(new Group("CachedGroup"));
+        topic = topicRepository.save(new Topic("CachedTopic", TopicKind.B, group));
+        sessionFactory().getCache().evictAllRegions();
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotFillTheCacheFromTheReplica() {
+        replicaHeartbeat.beat();
+        assertTrue(readReplica.isUsable());
+        Statistics statistics = sessionFactory().getStatistics();
+        statistics.clear();
+
+        long served = readReplica.getServedConnections();
+        assertEquals("CachedTopic", topicReader.readOnly(topic.getId()));
+        assertTrue(readReplica.getServedConnections() > served);
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+        assertFalse(sessionFactory().getCache().containsEntity(Topic.class, topic.getId()));
+    }
+
+    @Test
+    void readOnlyTransactionsStillReadWhatThePrimaryCached() {
+        assertEquals("CachedTopic", topicReader.readWrite(topic.getId()));
+        assertTrue(sessionFactory().getCache().containsEntity(Topic.class, topic.getId()));
+
+        replicaHeartbeat.beat();
+        Statistics statistics = sessionFactory().getStatistics();
+        statistics.clear();
+        assertEquals("CachedTopic", topicReader.readOnly(topic.getId()));
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,210 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
+import io.unityfoundation.dds.permissions.manager.model.group.Group;
+import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.ChangeLogAppender;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import io.unityfoundation.dds.permissions.manager.util.CacheStatisticsEndpoint;
+import io.unityfoundation.dds.permissions.manager.util.ReferenceDataCache;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static io.micronaut.http.HttpStatus.NOT_FOUND;
+import static io.micronaut.http.HttpStatus.OK;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "ReferenceDataCacheApiTest")
+@Property(name = "jpa.default.properties.hibernate.cache.use_second_level_cache", value = "true")
+@Property(name = "jpa.default.properties.hibernate.cache.use_query_cache", value = "true")
+@MicronautTest
+class ReferenceDataCacheApiTest {
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    TopicRepository topicRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    CacheStatisticsEndpoint cacheStatisticsEndpoint;
+
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ChangeLogAppender changeLogAppender;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    AuthenticationFetcherReplacement mockAuthenticationFetcher;
+
+    private Group group;
+    private Topic topic;
+
+    @Requires(property = "spec.name", value = "ReferenceDataCacheApiTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "ReferenceDataCacheApiTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        userRepository.save(new User("montesm@test.test.com", true));
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        group = groupRepository.save(new Group("CachedGroup"));
+        topic = topicRepository.save(new Topic("CachedTopic", TopicKind.B, group));
+        // catch up with earlier tests' changes, so the scheduled sync does not evict in the middle of a test
+        referenceDataCache.evictLoggedChanges();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 2; i++) {
+            HttpResponse<?> response = blockingClient.exchange(HttpRequest.GET("/topics/show/" + topic.getId()), Map.class);
+            assertEquals(OK, response.getStatus());
+        }
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+
+        Map<String, Object> secondLevel = (Map<String, Object>) cacheStatisticsEndpoint.statistics().get("secondLevel");
+        assertEquals(true, secondLevel.get("enabled"));
+        assertTrue((Long) secondLevel.get("hits") > 0);
+    }
+
+    @Test
+    void deletingAGroupEvictsTheTopicsTheDatabaseCascadedAway() {
+        HttpResponse<?> response = blockingClient.exchange(HttpRequest.GET("/topics/show/" + topic.getId()), Map.class);
+        assertEquals(OK, response.getStatus());
+
+        response = blockingClient.exchange(HttpRequest.DELETE("/groups/" + group.getId(), Map.of()));
+        assertEquals(OK, response.getStatus());
+
+        HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () ->
+                blockingClient.exchange(HttpRequest.GET("/topics/show/" + topic.getId()), Map.class));
+        assertEquals(NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void changesLoggedByAnotherInstanceEvictTheCache() throws SQLException {
+        assertNull(showTopic().get("description"));
+
+        // another instance updates the topic; only the database and the change log see it
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE permissions_topic SET description = ? WHERE id = ?")) {
+            statement.setString(1, "Changed elsewhere");
+            statement.setLong(2, topic.getId());
+            statement.executeUpdate();
+        }
+        assertNull(showTopic().get("description"));
+
+        changeLogAppender.append(ChangeLogEntityType.TOPIC, topic.getId(), group.getId(), ChangeLogOperation.UPDATE);
+        referenceDataCache.evictLoggedChanges();
+
+        assertEquals("Changed elsewhere", showTopic().get("description"));
+    }
+
+    @Test
+    void loggedChangesOnlyEvictWhatTheyTouch() throws SQLException {
+        Topic other = topicRepository.save(new Topic("OtherTopic", TopicKind.B, group));
+        referenceDataCache.evictLoggedChanges();
+        showTopic();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertTrue(cache.containsEntity(Topic.class, topic.getId()));
+        assertTrue(cache.containsEntity(Group.class, group.getId()));
+
+        changeLogAppender.append(ChangeLogEntityType.GROUP_MEMBERSHIP, 1L, group.getId(), ChangeLogOperation.CREATE);
+        changeLogAppender.append(ChangeLogEntityType.APPLICATION, 1L, group.getId(), ChangeLogOperation.UPDATE);
+        changeLogAppender.append(ChangeLogEntityType.TOPIC, other.getId(), group.getId(), ChangeLogOperation.UPDATE);
+        referenceDataCache.evictLoggedChanges();
+
+        assertTrue(cache.containsEntity(Topic.class, topic.getId()));
+        assertTrue(cache.containsEntity(Group.class, group.getId()));
+        assertFalse(cache.containsEntity(Topic.class, other.getId()));
+
+        changeLogAppender.append(ChangeLogEntityType.GROUP, group.getId(), group.getId(), ChangeLogOperation.UPDATE);
+        referenceDataCache.evictLoggedChanges();
+
+        assertTrue(cache.containsEntity(Topic.class, topic.getId()));
+        assertFalse(cache.containsEntity(Group.class, group.getId()));
+    }
+
+    private Map<?, ?> showTopic() {
+        return blockingClient.retrieve(HttpRequest.GET("/topics/show/" + topic.getId()), Map.class);
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Property(name = "spec.name", value = "SchemaIndexTest")
+@MicronautTest
+public class SchemaIndexTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @BeforeEach
+    void onlyOnH2() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assumeTrue("H2".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+    }
+
+    @Test
+    void migrationsCreateTheSchema() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT \"version\", \"type\" FROM \"flyway_schema_history\" WHERE \"success\" = TRUE " +
+                             "ORDER BY \"installed_rank\"")) {
+            assertTrue(resultSet.next());
+            assertEquals("1", resultSet.getString("version"));
+            assertEquals("JDBC", resultSet.getString("type"));
+            int applied = 1;
+            while (resultSet.next()) {
+                applied++;
+            }
+            assertEquals(7, applied);
+        }
+    }
+
+    @Test
+    void dependentRowsAreDeletedByTheDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[]{"PERMISSIONS_ACTION_TOPIC", "PERMISSIONS_TOPIC_SET_TOPIC",
+                    "PERMISSIONS_APPLICATION_PERMISSION", "PERMISSIONS_APPLICATION_GRANT", "PERMISSIONS_ACTION"}) {
+                try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+                    int foreignKeys = 0;
+                    while (keys.next()) {
+                        foreignKeys++;
+                        assertEquals(DatabaseMetaData.importedKeyCascade, keys.getShort("DELETE_RULE"),
+                                table + "." + keys.getString("FKCOLUMN_NAME"));
+                    }
+                    assertTrue(foreignKeys > 0, table);
+                }
+            }
+        }
+    }
+
+    @Test
+    void membershipLookupsUseIndexes() throws SQLException {
+        assertUsesIndex("SELECT * FROM permissions_group_user WHERE permissions_user_id = 1", null);
+        assertUsesIndex("SELECT COUNT(*) FROM permissions_group_user WHERE permissions_group_id = 1 AND permissions_user_id = 1",
+                "IDX_GROUP_USER_GROUP_USER");
+    }
+
+    @Test
+    void nameAndGroupLookupsUseCompositeIndexes() throws SQLException {
+        assertUsesIndex("SELECT * FROM permissions_topic WHERE name = 'Topic' AND permissions_group_id = 1",
+                "IDX_TOPIC_GROUP_NAME");
+        assertUsesIndex("SELECT * FROM permissions_application WHERE name = 'Application' AND permissions_group_id = 1",
+                "IDX_APPLICATION_GROUP_NAME");
+        assertUsesIndex("SELECT * FROM permissions_topic_set WHERE name = 'TopicSet' AND permissions_group_id = 1",
+                "IDX_TOPIC_SET_GROUP_NAME");
+    }
+
+    @Test
+    void actionLookupsUseIndexes() throws SQLException {
+        assertUsesIndex("SELECT * FROM permissions_action WHERE application_grant_id = 1", null);
+        assertUsesIndex("SELECT * FROM permissions_action_topic WHERE permissions_action_id = 1", null);
+        assertUsesIndex("SELECT * FROM permissions_application_permission WHERE permissions_application_id = 1", null);
+    }
+
+    @Test
+    void refreshTokenLookupsUseIndexes() throws SQLException {
+        assertUsesIndex("SELECT * FROM refresh_token WHERE refresh_token = 'hash'", "REFRESH_TOKEN_HASH_IDX");
+    }
+
+    private void assertUsesIndex(String query, String expectedIndex) throws SQLException {
+        String plan;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            assertTrue(resultSet.next());
+            plan = resultSet.getString(1).toUpperCase();
+        }
+
+        assertFalse(plan.contains("TABLESCAN"), plan);
+        if (expectedIndex != null) {
+            assertTrue(plan.contains(expectedIndex), plan);
+        }
+    }
+}
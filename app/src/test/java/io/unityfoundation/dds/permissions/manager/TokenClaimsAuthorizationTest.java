@@ -0,0 +1,172 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.authentication.ServerAuthentication;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.model.group.SimpleGroupDTO;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUser;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupRoleIndex;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserDTO;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import io.unityfoundation.dds.permissions.manager.testing.util.EntityLifecycleUtil;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.micronaut.http.HttpStatus.OK;
+import static io.micronaut.http.HttpStatus.UNAUTHORIZED;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "TokenClaimsAuthorizationTest")
+@Property(name = "permissions-manager.authorization.trust-token-claims", value = StringUtils.TRUE)
+@MicronautTest
+public class TokenClaimsAuthorizationTest {
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    MockAuthenticationFetcher mockAuthenticationFetcher;
+
+    @Inject
+    EntityLifecycleUtil entityUtil;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    GroupRoleIndex groupRoleIndex;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    private Long groupId;
+
+    @Requires(property = "spec.name", value = "TokenClaimsAuthorizationTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "TokenClaimsAuthorizationTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        userRepository.save(new User("montesm@test.test.com", true));
+        userRepository.save(new User("jjones@test.test"));
+
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        HttpResponse<?> response = entityUtil.createGroup("PrimaryGroup");
+        assertEquals(OK, response.getStatus());
+        Optional<SimpleGroupDTO> groupOptional = response.getBody(SimpleGroupDTO.class);
+        assertTrue(groupOptional.isPresent());
+        groupId = groupOptional.get().getId();
+
+        // plain member in the database
+        GroupUserDTO dto = new GroupUserDTO();
+        dto.setPermissionsGroup(groupId);
+        dto.setEmail("jjones@test.test");
+        response = blockingClient.exchange(HttpRequest.POST("/group_membership", dto));
+        assertEquals(OK, response.getStatus());
+    }
+
+    void loginAsTopicAdminByClaims(Long permissionsLastUpdated) {
+        mockSecurityService.setServerAuthentication(new ServerAuthentication(
+                "jjones@test.test",
+                Collections.emptyList(),
+                Map.of(
+                        "permissionsLastUpdated", permissionsLastUpdated,
+                        "permissionsByGroup", List.of(Map.of(
+                                "groupId", groupId,
+                                "groupName", "PrimaryGroup",
+                                "isGroupAdmin", false,
+                                "isTopicAdmin", true,
+                                "isApplicationAdmin", false)))
+        ));
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+    }
+
+    @Test
+    public void currentClaimsAreTrustedWithoutReadingMemberships() {
+        User jjones = userRepository.findByEmail("jjones@test.test").get();
+        loginAsTopicAdminByClaims(jjones.getPermissionsLastUpdated());
+        // as on an instance that has not seen the user yet, where the index would read the memberships
+        groupRoleIndex.invalidate(jjones.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        HttpResponse<?> response = entityUtil.createTopic(groupId, "MyTopicA");
+        assertEquals(OK, response.getStatus());
+        assertTrue(response.getBody(TopicDTO.class).isPresent());
+
+        long membershipQueries = Arrays.stream(statistics.getQueries())
+                .filter(query -> query.contains(GroupUser.class.getName()))
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+                .sum();
+        assertEquals(0, membershipQueries);
+    }
+
+    @Test
+    public void staleClaimsFallBackToDatabase() {
+        Long permissionsLastUpdated = userRepository.findByEmail("jjones@test.test").get().getPermissionsLastUpdated();
+        loginAsTopicAdminByClaims(permissionsLastUpdated - 1);
+
+        HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () -> {
+            entityUtil.createTopic(groupId, "MyTopicA");
+        });
+        assertEquals(UNAUTHORIZED, exception.getStatus());
+    }
+}
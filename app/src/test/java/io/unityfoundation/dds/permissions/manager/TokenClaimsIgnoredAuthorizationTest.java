@@ -0,0 +1,129 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.authentication.ServerAuthentication;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.model.group.SimpleGroupDTO;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserDTO;
+import io.unityfoundation.dds.permissions.manager.model.user.User;
+import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
+import io.unityfoundation.dds.permissions.manager.testing.util.EntityLifecycleUtil;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static io.micronaut.http.HttpStatus.OK;
+import static io.micronaut.http.HttpStatus.UNAUTHORIZED;
+import static org.junit.jupiter.api.Assertions.*;
+
+// the counterpart of TokenClaimsAuthorizationTest with the claims left untrusted, the default
+@Property(name = "spec.name", value = "TokenClaimsIgnoredAuthorizationTest")
+@MicronautTest
+public class TokenClaimsIgnoredAuthorizationTest {
+
+    private BlockingHttpClient blockingClient;
+
+    @Inject
+    MockSecurityService mockSecurityService;
+
+    @Inject
+    MockAuthenticationFetcher mockAuthenticationFetcher;
+
+    @Inject
+    EntityLifecycleUtil entityUtil;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DbCleanup dbCleanup;
+
+    @Inject
+    @Client("/api")
+    HttpClient client;
+
+    private Long groupId;
+
+    @Requires(property = "spec.name", value = "TokenClaimsIgnoredAuthorizationTest")
+    @Singleton
+    static class MockAuthenticationFetcher extends AuthenticationFetcherReplacement {
+    }
+
+    @Requires(property = "spec.name", value = "TokenClaimsIgnoredAuthorizationTest")
+    @Replaces(SecurityService.class)
+    @Singleton
+    static class MockSecurityService extends SecurityServiceReplacement {
+    }
+
+    @BeforeEach
+    void setup() {
+        blockingClient = client.toBlocking();
+        dbCleanup.cleanup();
+        userRepository.save(new User("montesm@test.test.com", true));
+        userRepository.save(new User("jjones@test.test"));
+
+        mockSecurityService.postConstruct();
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        HttpResponse<?> response = entityUtil.createGroup("PrimaryGroup");
+        assertEquals(OK, response.getStatus());
+        groupId = response.getBody(SimpleGroupDTO.class).get().getId();
+
+        GroupUserDTO dto = new GroupUserDTO();
+        dto.setPermissionsGroup(groupId);
+        dto.setEmail("jjones@test.test");
+        response = blockingClient.exchange(HttpRequest.POST("/group_membership", dto));
+        assertEquals(OK, response.getStatus());
+    }
+
+    @Test
+    public void currentClaimsAreIgnoredWhenNotTrusted() {
+        Long permissionsLastUpdated = userRepository.findByEmail("jjones@test.test").get().getPermissionsLastUpdated();
+        mockSecurityService.setServerAuthentication(new ServerAuthentication(
+                "jjones@test.test",
+                Collections.emptyList(),
+                Map.of(
+                        "permissionsLastUpdated", permissionsLastUpdated,
+                        "permissionsByGroup", List.of(Map.of(
+                                "groupId", groupId,
+                                "groupName", "PrimaryGroup",
+                                "isGroupAdmin", false,
+                                "isTopicAdmin", true,
+                                "isApplicationAdmin", false)))
+        ));
+        mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+        // the database says plain member, and only the database is asked
+        HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () ->
+                entityUtil.createTopic(groupId, "MyTopicA"));
+        assertEquals(UNAUTHORIZED, exception.getStatus());
+    }
+}
@@ -30,8 +30,10 @@ import io.unityfoundation.dds.permissions.manager.model.application.ApplicationD
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
 import io.unityfoundation.dds.permissions.manager.model.group.SimpleGroupDTO;
+import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUser;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserDTO;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserRepository;
+import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
@@ -41,8 +43,12 @@ import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
 import io.unityfoundation.dds.permissions.manager.testing.util.EntityLifecycleUtil;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 
+import javax.persistence.EntityManagerFactory;
+
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -79,6 +85,9 @@ public class TopicApiTest {
     @Inject
     DbCleanup dbCleanup;
 
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
     @Inject
     MockSecurityService mockSecurityService;
 
@@ -826,6 +835,113 @@ public class TopicApiTest {
             assertEquals(1, topicPage.get().getContent().size());
         }
 
+        @Test
+        void listTopicsSelectsColumnsWithoutLoadingEntities(){
+            HttpResponse<?> response = entityUtil.createGroup("Theta");
+            Optional<Group> thetaOptional = response.getBody(Group.class);
+            assertTrue(thetaOptional.isPresent());
+            Group theta = thetaOptional.get();
+
+            TopicDTO topicDTO = new TopicDTO();
+            topicDTO.setName("Abc123");
+            topicDTO.setKind(TopicKind.B);
+            topicDTO.setGroup(theta.getId());
+            HttpRequest<?> request = HttpRequest.POST("/topics/save", topicDTO);
+            response = blockingClient.exchange(request);
+            assertEquals(OK, response.getStatus());
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            request = HttpRequest.GET("/topics");
+            HashMap<String, Object> responseMap = blockingClient.retrieve(request, HashMap.class);
+            List<Map> content = (List<Map>) responseMap.get("content");
+            assertEquals(1, content.size());
+            assertEquals("Abc123", content.get(0).get("name"));
+            assertEquals("Theta", content.get(0).get("groupName"));
+            assertEquals("B." + theta.getId() + ".Abc123", content.get(0).get("canonicalName"));
+
+            assertEquals(0, statistics.getEntityStatistics(Topic.class.getName()).getLoadCount());
+            assertEquals(0, statistics.getEntityStatistics(Group.class.getName()).getLoadCount());
+        }
+
+        @Test
+        void listingWithoutAFilterDoesNotMatchText(){
+            HttpResponse<?> response = entityUtil.createGroup("Theta");
+            Optional<Group> thetaOptional = response.getBody(Group.class);
+            assertTrue(thetaOptional.isPresent());
+
+            TopicDTO topicDTO = new TopicDTO();
+            topicDTO.setName("Abc123");
+            topicDTO.setKind(TopicKind.B);
+            topicDTO.setGroup(thetaOptional.get().getId());
+            response = blockingClient.exchange(HttpRequest.POST("/topics/save", topicDTO));
+            assertEquals(OK, response.getStatus());
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            Page page = blockingClient.retrieve(HttpRequest.GET("/topics"), Page.class);
+            assertEquals(1, page.getTotalSize());
+            assertTrue(Arrays.stream(statistics.getQueries()).noneMatch(query -> query.contains("LIKE")));
+
+            statistics.clear();
+            page = blockingClient.retrieve(HttpRequest.GET("/topics?filter=abc"), Page.class);
+            assertEquals(1, page.getTotalSize());
+            assertTrue(Arrays.stream(statistics.getQueries()).anyMatch(query -> query.contains("LIKE")));
+        }
+
+        @Test
+        void canWalkTopicsWithCursor(){
+            Group theta = new Group("Theta");
+            HttpRequest<?> request = HttpRequest.POST("/groups/save", theta);
+            HttpResponse<?> response = blockingClient.exchange(request, Group.class);
+            assertEquals(OK, response.getStatus());
+            Optional<Group> thetaOptional = response.getBody(Group.class);
+            assertTrue(thetaOptional.isPresent());
+            theta = thetaOptional.get();
+
+            for (String name : List.of("Delta", "Alpha", "Echo", "Charlie", "Bravo")) {
+                TopicDTO topicDTO = new TopicDTO();
+                topicDTO.setName(name);
+                topicDTO.setKind(TopicKind.B);
+                topicDTO.setGroup(theta.getId());
+                request = HttpRequest.POST("/topics/save", topicDTO);
+                response = blockingClient.exchange(request);
+                assertEquals(OK, response.getStatus());
+            }
+
+            List<String> names = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                String uri = "/topics/cursor?size=2" + (cursor == null ? "" : "&cursor=" + cursor);
+                response = blockingClient.exchange(HttpRequest.GET(uri), Map.class);
+                assertEquals(OK, response.getStatus());
+                Map body = response.getBody(Map.class).get();
+                List<Map> content = (List<Map>) body.get("content");
+                content.forEach(topic -> names.add((String) topic.get("name")));
+                cursor = (String) body.get("nextCursor");
+                pages++;
+            } while (cursor != null);
+
+            assertEquals(List.of("Alpha", "Bravo", "Charlie", "Delta", "Echo"), names);
+            assertEquals(3, pages);
+
+            // continues within the filter
+            response = blockingClient.exchange(HttpRequest.GET("/topics/cursor?size=1&filter=a"), Map.class);
+            Map body = response.getBody(Map.class).get();
+            assertEquals("Alpha", ((List<Map>) body.get("content")).get(0).get("name"));
+            response = blockingClient.exchange(HttpRequest.GET("/topics/cursor?size=1&filter=a&cursor=" + body.get("nextCursor")), Map.class);
+            body = response.getBody(Map.class).get();
+            assertEquals("Bravo", ((List<Map>) body.get("content")).get(0).get("name"));
+
+            HttpRequest<?> invalidRequest = HttpRequest.GET("/topics/cursor?cursor=not-a-cursor");
+            HttpClientResponseException exception = assertThrowsExactly(HttpClientResponseException.class, () -> {
+                blockingClient.exchange(invalidRequest);
+            });
+            assertEquals(BAD_REQUEST, exception.getStatus());
+        }
+
         @Test
         void canLisTopicsWithGroupId(){
             // Group - Topics
@@ -1561,6 +1677,40 @@ public class TopicApiTest {
             assertEquals("Xyz789", expectedTopic.get("name"));
         }
 
+        @Test
+        void membershipIsCheckedInsideTheListingQuery(){
+            mockSecurityService.postConstruct();
+            mockAuthenticationFetcher.setAuthentication(mockSecurityService.getAuthentication().get());
+
+            User member = userRepository.findByEmail("jjones@test.test").get();
+            List<Group> groups = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                groups.add(new Group("Group" + i));
+            }
+            groups = (List<Group>) groupRepository.saveAll(groups);
+            // the last group is not one of the member's
+            groupUserRepository.saveAll(groups.subList(0, 149).stream()
+                    .map(group -> new GroupUser(group, member))
+                    .collect(Collectors.toList()));
+            topicRepository.saveAll(groups.stream()
+                    .map(group -> new Topic("Topic" + group.getName(), TopicKind.B, group))
+                    .collect(Collectors.toList()));
+            Group outsider = groups.get(149);
+
+            loginAsNonAdmin();
+
+            Page page = blockingClient.retrieve(HttpRequest.GET("/topics"), Page.class);
+            assertEquals(149, page.getTotalSize());
+            assertTrue(page.getContent().stream().noneMatch(topic -> outsider.getId().equals(((Number) ((Map) topic).get("group")).longValue())));
+
+            HashMap<String, Object> cursorPage = blockingClient.retrieve(HttpRequest.GET("/topics/cursor?size=100"), HashMap.class);
+            assertEquals(100, ((List) cursorPage.get("content")).size());
+            assertNotNull(cursorPage.get("nextCursor"));
+
+            page = blockingClient.retrieve(HttpRequest.GET("/topics?group=" + outsider.getId()), Page.class);
+            assertTrue(page.isEmpty());
+        }
+
         @Test
         void canListTopicsWithFilterLimitedToGroupMembership(){
             mockSecurityService.postConstruct();
@@ -16,6 +16,7 @@ package io.unityfoundation.dds.permissions.manager;
 import io.micronaut.context.annotation.Property;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.util.StringUtils;
 import io.micronaut.data.model.Page;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
@@ -27,18 +28,25 @@ import io.micronaut.security.filters.AuthenticationFetcher;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.unityfoundation.dds.permissions.manager.model.DPMEntity;
 import io.unityfoundation.dds.permissions.manager.model.application.Application;
+import io.unityfoundation.dds.permissions.manager.model.application.ApplicationDTO;
 import io.unityfoundation.dds.permissions.manager.model.application.ApplicationRepository;
 import io.unityfoundation.dds.permissions.manager.model.applicationpermission.ApplicationPermission;
 import io.unityfoundation.dds.permissions.manager.model.applicationpermission.ApplicationPermissionRepository;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
 import io.unityfoundation.dds.permissions.manager.model.group.Group;
 import io.unityfoundation.dds.permissions.manager.model.group.GroupRepository;
+import io.unityfoundation.dds.permissions.manager.model.group.SimpleGroupDTO;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUser;
 import io.unityfoundation.dds.permissions.manager.model.groupuser.GroupUserRepository;
 import io.unityfoundation.dds.permissions.manager.model.topic.Topic;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicKind;
 import io.unityfoundation.dds.permissions.manager.model.topic.TopicRepository;
+import io.unityfoundation.dds.permissions.manager.model.topic.TopicDTO;
 import io.unityfoundation.dds.permissions.manager.model.user.User;
 import io.unityfoundation.dds.permissions.manager.model.user.UserRepository;
+import io.unityfoundation.dds.permissions.manager.search.PublicSearchIndex;
+import io.unityfoundation.dds.permissions.manager.testing.util.ChangeLogAppender;
 import io.unityfoundation.dds.permissions.manager.testing.util.DbCleanup;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -46,18 +54,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.reactivestreams.Publisher;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static io.micronaut.http.HttpStatus.OK;
+import static io.micronaut.http.HttpStatus.SEE_OTHER;
 import static org.junit.jupiter.api.Assertions.*;
 
 @Property(name = "spec.name", value = "UniversalSearchApiTest")
+@Property(name = "micronaut.http.client.follow-redirects", value = StringUtils.FALSE)
 @MicronautTest
 class UniversalSearchApiTest {
 
     private BlockingHttpClient blockingClient;
+    private Group searchGroup;
+    private Topic xAlpha;
+    private Topic alphaPrivate;
 
     @Inject
     GroupRepository groupRepository;
@@ -80,6 +98,15 @@ class UniversalSearchApiTest {
     @Inject
     DbCleanup dbCleanup;
 
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ChangeLogAppender changeLogAppender;
+
+    @Inject
+    PublicSearchIndex publicSearchIndex;
+
     @Inject
     @Client("/api")
     HttpClient client;
@@ -116,6 +143,14 @@ class UniversalSearchApiTest {
         Application applicationTwo1 = applicationRepository.save(new Application("ApplicationTwo1", groupTwo, "ApplicationTwo1", true));
         applicationPermissionRepository.save(new ApplicationPermission(applicationTwo, topicTwo, true, true));
         groupUserRepository.save(new GroupUser(groupTwo, eclair));
+
+        searchGroup = groupRepository.save(new Group("SearchGroup", "all about alpha", true));
+        xAlpha = topicRepository.save(new Topic("xAlpha", TopicKind.B, "", true, searchGroup));
+        topicRepository.save(new Topic("AlphaBeta", TopicKind.B, "", true, searchGroup));
+        alphaPrivate = topicRepository.save(new Topic("AlphaPrivate", TopicKind.B, "", false, searchGroup));
+        applicationRepository.save(new Application("Alpha", searchGroup, "", true));
+        // the cleanup's bulk deletes are neither seen by the index listener nor logged
+        publicSearchIndex.rebuild();
     }
 
     @Test
@@ -345,4 +380,153 @@ class UniversalSearchApiTest {
             return type.equals(DPMEntity.TOPIC.name());
         }));
     }
+
+    @Test
+    void queryResultsAreRankedAndPagedAcrossEntities() {
+        List<String> names = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            HttpResponse<Page> response = blockingClient.exchange(HttpRequest.GET("/search?query=alpha&size=2&page=" + page), Page.class);
+            assertEquals(OK, response.getStatus());
+            Page searchPage = response.getBody(Page.class).get();
+            assertEquals(4, searchPage.getTotalSize());
+            List<Map> content = searchPage.getContent();
+            content.forEach(map -> names.add((String) ((Map) map.get("entity")).get("name")));
+        }
+
+        // exact name, name prefix, name contains, then description only
+        assertEquals(List.of("Alpha", "AlphaBeta", "xAlpha", "SearchGroup"), names);
+    }
+
+    @Test
+    void emptyQueryPagesThroughEveryPublicEntityInNameOrder() {
+        List<String> names = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            HttpResponse<Page> response = blockingClient.exchange(HttpRequest.GET("/search?size=5&page=" + page), Page.class);
+            assertEquals(OK, response.getStatus());
+            Page searchPage = response.getBody(Page.class).get();
+            assertEquals(12, searchPage.getTotalSize());
+            List<Map> content = searchPage.getContent();
+            content.forEach(map -> names.add((String) ((Map) map.get("entity")).get("name")));
+        }
+
+        assertEquals(List.of("Alpha", "AlphaBeta", "ApplicationOnez3", "ApplicationTwo", "ApplicationTwo1",
+                "GroupOne", "GroupTwo", "SearchGroup", "TopicOne", "TopicOne1", "TopicTwo", "xAlpha"), names);
+    }
+
+    @Test
+    void createdEntitiesAreSearchableWithoutARebuild() {
+        TopicDTO topic = new TopicDTO();
+        topic.setName("AlphaGamma");
+        topic.setKind(TopicKind.B);
+        topic.setGroup(searchGroup.getId());
+        topic.setPublic(true);
+        assertEquals(OK, blockingClient.exchange(HttpRequest.POST("/topics/save", topic), TopicDTO.class).getStatus());
+
+        ApplicationDTO application = new ApplicationDTO();
+        application.setName("AlphaDelta");
+        application.setGroup(searchGroup.getId());
+        application.setPublic(true);
+        assertEquals(OK, blockingClient.exchange(HttpRequest.POST("/applications/save", application), ApplicationDTO.class).getStatus());
+
+        Page searchPage = search("alpha");
+        assertEquals(6, searchPage.getTotalSize());
+        assertTrue(names(searchPage).containsAll(List.of("AlphaGamma", "AlphaDelta")));
+    }
+
+    @Test
+    void topicsMadePrivateLeaveTheSearchWithoutARebuild() {
+        TopicDTO topic = new TopicDTO();
+        topic.setId(xAlpha.getId());
+        topic.setName(xAlpha.getName());
+        topic.setKind(xAlpha.getKind());
+        topic.setGroup(searchGroup.getId());
+        topic.setPublic(false);
+        assertEquals(OK, blockingClient.exchange(HttpRequest.POST("/topics/save", topic), TopicDTO.class).getStatus());
+
+        Page searchPage = search("alpha");
+        assertEquals(3, searchPage.getTotalSize());
+        assertFalse(names(searchPage).contains("xAlpha"));
+    }
+
+    @Test
+    void groupsMadePrivateTakeTheirTopicsAndApplicationsOutOfTheSearch() {
+        SimpleGroupDTO group = new SimpleGroupDTO(searchGroup.getId(), searchGroup.getName(), searchGroup.getDescription(), false);
+        assertEquals(OK, blockingClient.exchange(HttpRequest.POST("/groups/save", group), SimpleGroupDTO.class).getStatus());
+
+        assertEquals(0, search("alpha").getTotalSize());
+    }
+
+    @Test
+    void deletedTopicsLeaveTheSearchWithoutARebuild() {
+        HttpResponse<?> response = blockingClient.exchange(HttpRequest.DELETE("/topics/" + xAlpha.getId(), Map.of()));
+        assertEquals(SEE_OTHER, response.getStatus());
+
+        Page searchPage = search("alpha");
+        assertEquals(3, searchPage.getTotalSize());
+        assertFalse(names(searchPage).contains("xAlpha"));
+    }
+
+    @Test
+    void deletingAGroupRemovesEverythingInItFromTheSearchWithoutARebuild() {
+        HttpResponse<?> response = blockingClient.exchange(HttpRequest.DELETE("/groups/" + searchGroup.getId(), Map.of()));
+        assertEquals(SEE_OTHER, response.getStatus());
+
+        Page searchPage = search("alpha");
+        assertEquals(0, searchPage.getTotalSize());
+        assertTrue(searchPage.getContent().isEmpty());
+    }
+
+    @Test
+    void changesLoggedByAnotherInstanceReachTheSearchWithoutARebuild() throws SQLException {
+        assertEquals(4, search("alpha").getTotalSize());
+
+        // another instance swaps which topic is public; only the database and the change log see it
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE permissions_topic SET make_public = ? WHERE id = ?")) {
+            statement.setBoolean(1, false);
+            statement.setLong(2, xAlpha.getId());
+            statement.executeUpdate();
+            statement.setBoolean(1, true);
+            statement.setLong(2, alphaPrivate.getId());
+            statement.executeUpdate();
+        }
+        changeLogAppender.append(ChangeLogEntityType.TOPIC, xAlpha.getId(), searchGroup.getId(), ChangeLogOperation.UPDATE);
+        changeLogAppender.append(ChangeLogEntityType.TOPIC, alphaPrivate.getId(), searchGroup.getId(), ChangeLogOperation.UPDATE);
+        publicSearchIndex.sync();
+
+        Page searchPage = search("alpha");
+        assertEquals(4, searchPage.getTotalSize());
+        assertEquals(4, searchPage.getContent().size());
+        assertFalse(names(searchPage).contains("xAlpha"));
+        assertTrue(names(searchPage).contains("AlphaPrivate"));
+    }
+
+    @Test
+    void groupsDeletedByAnotherInstanceLeaveTheSearchWithoutARebuild() throws SQLException {
+        assertEquals(4, search("alpha").getTotalSize());
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM permissions_group WHERE id = ?")) {
+            statement.setLong(1, searchGroup.getId());
+            statement.executeUpdate();
+        }
+        changeLogAppender.append(ChangeLogEntityType.GROUP, searchGroup.getId(), searchGroup.getId(), ChangeLogOperation.DELETE);
+        publicSearchIndex.sync();
+
+        assertEquals(0, search("alpha").getTotalSize());
+    }
+
+    private Page search(String query) {
+        HttpResponse<Page> response = blockingClient.exchange(HttpRequest.GET("/search?size=10&query=" + query), Page.class);
+        assertEquals(OK, response.getStatus());
+        return response.getBody(Page.class).get();
+    }
+
+    private static List<String> names(Page searchPage) {
+        List<String> names = new ArrayList<>();
+        List<Map> content = searchPage.getContent();
+        content.forEach(map -> names.add((String) ((Map) map.get("entity")).get("name")));
+        return names;
+    }
 }
@@ -0,0 +1,92 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.security;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.security.token.jwt.generator.JwtTokenGenerator;
+import io.micronaut.security.token.jwt.generator.claims.JWTClaimsSetGenerator;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "GrantTokenVerifierTest")
+@Property(name = "permissions-manager.application.grant-token.verification-cache.max-entries", value = "2")
+@MicronautTest
+public class GrantTokenVerifierTest {
+
+    @Inject
+    GrantTokenVerifier grantTokenVerifier;
+
+    @Inject
+    JwtTokenGenerator jwtTokenGenerator;
+
+    @Inject
+    JWTClaimsSetGenerator jwtClaimsSetGenerator;
+
+    @Test
+    public void cachedTokensSkipVerification() {
+        String token = grantToken("App1");
+
+        GrantTokenClaims first = verify(token);
+        long hits = grantTokenVerifier.getHits();
+        long verifications = grantTokenVerifier.getVerifications();
+
+        GrantTokenClaims second = verify(token);
+        assertEquals(hits + 1, grantTokenVerifier.getHits());
+        assertEquals(verifications, grantTokenVerifier.getVerifications());
+        assertEquals(first.getApplicationName(), second.getApplicationName());
+        assertEquals("App1", second.getApplicationName());
+    }
+
+    @Test
+    public void leastRecentlyUsedTokenIsDroppedWhenFull() {
+        String tokenA = grantToken("AppA");
+        String tokenB = grantToken("AppB");
+        String tokenC = grantToken("AppC");
+
+        verify(tokenA);
+        verify(tokenB);
+        // touch A so B becomes the least recently used
+        verify(tokenA);
+        verify(tokenC);
+        assertEquals(2, grantTokenVerifier.getSize());
+
+        long verifications = grantTokenVerifier.getVerifications();
+        verify(tokenA);
+        assertEquals(verifications, grantTokenVerifier.getVerifications());
+
+        verify(tokenB);
+        assertEquals(verifications + 1, grantTokenVerifier.getVerifications());
+    }
+
+    private GrantTokenClaims verify(String token) {
+        return Mono.from(grantTokenVerifier.verify(token)).block();
+    }
+
+    private String grantToken(String appName) {
+        Map<String, Object> claims = jwtClaimsSetGenerator.generateClaimsSet(Map.of(
+                "sub", "1",
+                "email", appName.toLowerCase() + "@test.test",
+                "appName", appName,
+                "groupId", 1L,
+                "groupName", "Group1"
+        ), 3600);
+        return jwtTokenGenerator.generateToken(claims).orElseThrow();
+    }
+}
@@ -0,0 +1,136 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.security;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.errors.OauthErrorResponseException;
+import io.micronaut.security.token.event.RefreshTokenGeneratedEvent;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.unityfoundation.dds.permissions.manager.migration.V7__HashRefreshTokens;
+import jakarta.inject.Inject;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Property(name = "spec.name", value = "RefreshTokenPersistenceTest")
+@MicronautTest
+public class RefreshTokenPersistenceTest {
+
+    @Inject
+    RefreshTokenPersistenceImpl refreshTokenPersistence;
+
+    @Inject
+    RefreshTokenPurgeJob refreshTokenPurgeJob;
+
+    @Inject
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Inject
+    DataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        refreshTokenRepository.deleteAll();
+    }
+
+    @Test
+    public void tokensAreStoredByHash() {
+        refreshTokenPersistence.persistToken(new RefreshTokenGeneratedEvent(Authentication.build("1"), "my-refresh-token"));
+
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(RefreshTokenPersistenceImpl.hash("my-refresh-token"));
+        assertTrue(stored.isPresent());
+        assertEquals(64, stored.get().getTokenHash().length());
+        assertFalse(stored.get().getTokenHash().contains("my-refresh-token"));
+        assertEquals("1", stored.get().getUsername());
+    }
+
+    @Test
+    public void revocationsInTheDatabaseAreSeenByTheNextRefresh() {
+        refreshTokenPersistence.persistToken(new RefreshTokenGeneratedEvent(Authentication.build("1"), "my-refresh-token"));
+        refreshTokenPersistence.getAuthentication("my-refresh-token");
+
+        // as another instance or an operator would revoke it
+        refreshTokenRepository.updateByUsername("1", true);
+
+        OauthErrorResponseException exception = assertThrows(OauthErrorResponseException.class, () ->
+                refreshTokenPersistence.getAuthentication("my-refresh-token"));
+        assertEquals("refresh token revoked", exception.getErrorDescription());
+    }
+
+    @Test
+    public void expiredTokensArePurgedInBatches() {
+        for (int i = 0; i < 5; i++) {
+            refreshTokenPersistence.persistToken(new RefreshTokenGeneratedEvent(Authentication.build("1"), "refresh-token-" + i));
+        }
+        refreshTokenPersistence.getAuthentication("refresh-token-0");
+
+        int batchSize = refreshTokenPurgeJob.batchSize;
+        refreshTokenPurgeJob.batchSize = 2;
+        try {
+            assertEquals(5, refreshTokenPurgeJob.purgeTokensCreatedBefore(Instant.now().plusSeconds(1)));
+        } finally {
+            refreshTokenPurgeJob.batchSize = batchSize;
+        }
+        assertEquals(0, refreshTokenRepository.count());
+
+        OauthErrorResponseException exception = assertThrows(OauthErrorResponseException.class, () ->
+                refreshTokenPersistence.getAuthentication("refresh-token-0"));
+        assertEquals("refresh token not found", exception.getErrorDescription());
+    }
+
+    @Test
+    public void rawTokensStoredBeforeTheUpgradeAreHashedByTheMigration() throws Exception {
+        refreshTokenPersistence.persistToken(new RefreshTokenGeneratedEvent(Authentication.build("1"), "hashed-refresh-token"));
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO refresh_token (username, refresh_token, revoked, date_created) VALUES (?, ?, ?, ?)")) {
+                insert.setString(1, "2");
+                insert.setString(2, "legacy.raw.refresh-token");
+                insert.setBoolean(3, false);
+                insert.setTimestamp(4, Timestamp.from(Instant.now()));
+                insert.executeUpdate();
+            }
+
+            new V7__HashRefreshTokens().migrate(new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return null;
+                }
+
+                @Override
+                public Connection getConnection() {
+                    return connection;
+                }
+            });
+        }
+
+        assertEquals(2, refreshTokenRepository.count());
+        for (RefreshToken token : refreshTokenRepository.findAll()) {
+            assertEquals(64, token.getTokenHash().length());
+        }
+        assertNotNull(refreshTokenPersistence.getAuthentication("legacy.raw.refresh-token"));
+        assertNotNull(refreshTokenPersistence.getAuthentication("hashed-refresh-token"));
+    }
+}
@@ -0,0 +1,60 @@
+// Copyright 2023 DDS Permissions Manager Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package io.unityfoundation.dds.permissions.manager.testing.util;
+
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogEntityType;
+import io.unityfoundation.dds.permissions.manager.model.changelog.ChangeLogOperation;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Appends to the change log over plain JDBC, the way another instance's commit would, so this instance only learns
+ * of the change by reading the log.
+ */
+@Singleton
+public class ChangeLogAppender {
+
+    private final DataSource dataSource;
+
+    public ChangeLogAppender(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void append(ChangeLogEntityType entityType, Long entityId, Long groupId, ChangeLogOperation operation) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE permissions_change_log_revision SET revision = revision + 1 WHERE id = 1");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO permissions_change_log (revision, entity_type, entity_id, group_id, operation, changed_at) " +
+                            "SELECT revision, ?, ?, ?, ?, ? FROM permissions_change_log_revision WHERE id = 1")) {
+                statement.setString(1, entityType.name());
+                statement.setLong(2, entityId);
+                statement.setLong(3, groupId);
+                statement.setString(4, operation.name());
+                statement.setTimestamp(5, Timestamp.from(Instant.now()));
+                statement.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+}